@@ -0,0 +1,82 @@
+package ragamuffin.bench;
+
+import ragamuffin.world.Chunk;
+import ragamuffin.world.World;
+
+/**
+ * Reports chunk block-storage memory after a full world generation.
+ *
+ * <p>Compares the palette-compressed {@link Chunk} layout against the original
+ * {@code BlockType[16][64][16]} layout, whose size is computed analytically
+ * (one outer array, 16 middle arrays, 1024 inner arrays of 16 references, with
+ * compressed object pointers). Also prints the measured heap delta of the whole
+ * {@link World} for context.</p>
+ *
+ * <p>Usage: {@code ./gradlew chunkMemoryReport [--args="seed"]}</p>
+ */
+public class ChunkMemoryReport {
+
+    private static final long ARRAY_HEADER = 16;
+    private static final long REFERENCE = 4;
+
+    /** Bytes retained by the legacy nested-array layout for one chunk. */
+    static long legacyChunkBytes() {
+        long inner = align(ARRAY_HEADER + REFERENCE * Chunk.SIZE);
+        long middle = align(ARRAY_HEADER + REFERENCE * Chunk.HEIGHT);
+        long outer = align(ARRAY_HEADER + REFERENCE * Chunk.SIZE);
+        long chunkObject = 32; // header, three int coords, array reference
+        return chunkObject + outer + Chunk.SIZE * middle + (long) Chunk.SIZE * Chunk.HEIGHT * inner;
+    }
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        World world = new World(seed);
+        world.generate();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+        long heapAfter = usedHeap();
+
+        int chunks = 0;
+        int uniform = 0, nibble = 0, wide = 0;
+        long paletteBytes = 0;
+        for (Chunk chunk : world.getLoadedChunks()) {
+            chunks++;
+            paletteBytes += chunk.estimateMemoryBytes();
+            switch (chunk.getBitsPerBlock()) {
+                case Chunk.BITS_UNIFORM: uniform++; break;
+                case Chunk.BITS_NIBBLE: nibble++; break;
+                default: wide++; break;
+            }
+        }
+        long legacyBytes = legacyChunkBytes() * chunks;
+
+        System.out.println("=== Chunk memory report (seed " + seed + ") ===");
+        System.out.printf("Generation time:            %,d ms%n", elapsedMs);
+        System.out.printf("Loaded chunks:              %,d%n", chunks);
+        System.out.printf("  uniform (single block):   %,d%n", uniform);
+        System.out.printf("  4 bits per voxel:         %,d%n", nibble);
+        System.out.printf("  8 bits per voxel:         %,d%n", wide);
+        System.out.printf("Legacy BlockType[][][]:     %,d bytes/chunk, %,.1f MiB total%n",
+            legacyChunkBytes(), legacyBytes / (1024.0 * 1024.0));
+        System.out.printf("Palette-compressed:         %,d bytes/chunk, %,.1f MiB total%n",
+            chunks == 0 ? 0 : paletteBytes / chunks, paletteBytes / (1024.0 * 1024.0));
+        System.out.printf("Reduction:                  %.1fx%n",
+            paletteBytes == 0 ? 0.0 : (double) legacyBytes / paletteBytes);
+        System.out.printf("Measured World heap delta:  %,.1f MiB%n",
+            (heapAfter - heapBefore) / (1024.0 * 1024.0));
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,155 @@
+package ragamuffin.bench;
+
+import com.badlogic.gdx.math.Vector3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ragamuffin.ai.LineOfSight;
+import ragamuffin.entity.NPC;
+import ragamuffin.entity.NPCType;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures police-to-player sight lines with the DDA {@link LineOfSight} trace
+ * against a replica of the original {@code NPCManager.hasLineOfSight}, which
+ * sampled the ray every 0.4 blocks.
+ *
+ * <p>A generated world (seed 42) with {@value #OBSERVERS} officers at street level
+ * within {@value #MAX_RANGE} blocks of a player near the town centre, roughly the
+ * vision range police check at. {@code perOfficer*} traces each line
+ * independently; {@code cachedTick} answers every officer through
+ * {@link LineOfSight#canSee} after {@link LineOfSight#beginTick()}, then re-checks
+ * each once more as the chase and suspicion states do.</p>
+ *
+ * <p>Usage: {@code ./gradlew jmh --args="LineOfSight"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LineOfSightBenchmark {
+
+    private static final int OBSERVERS = 64;
+    private static final float MAX_RANGE = 20f;
+
+    private World world;
+    private List<NPC> officers;
+    private Vector3 player;
+    private LineOfSight lineOfSight;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new World(42);
+        world.generate();
+        Random random = new Random(42);
+        player = new Vector3(0.5f, streetLevel(0, 0), 0.5f);
+        officers = new ArrayList<>();
+        for (int i = 0; i < OBSERVERS; i++) {
+            float angle = random.nextFloat() * (float) Math.PI * 2f;
+            float dist = 4f + random.nextFloat() * (MAX_RANGE - 4f);
+            int x = (int) Math.floor(player.x + Math.sin(angle) * dist);
+            int z = (int) Math.floor(player.z + Math.cos(angle) * dist);
+            officers.add(new NPC(NPCType.POLICE, x + 0.5f, streetLevel(x, z), z + 0.5f));
+        }
+        lineOfSight = new LineOfSight();
+    }
+
+    /** Height of the first air block above the highest solid block, scanning down from y=40. */
+    private float streetLevel(int x, int z) {
+        for (int y = 40; y > 0; y--) {
+            if (world.getBlock(x, y - 1, z).isSolid()) return y;
+        }
+        return 1f;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OBSERVERS)
+    public void perOfficerDda(Blackhole bh) {
+        for (int i = 0; i < OBSERVERS; i++) {
+            bh.consume(LineOfSight.isClear(world, officers.get(i).getPosition(), player));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OBSERVERS)
+    public void perOfficerLegacyStepped(Blackhole bh) {
+        for (int i = 0; i < OBSERVERS; i++) {
+            bh.consume(legacyHasLineOfSight(world, officers.get(i).getPosition(), player));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OBSERVERS)
+    public void cachedTick(Blackhole bh) {
+        lineOfSight.beginTick();
+        for (int i = 0; i < OBSERVERS; i++) {
+            bh.consume(lineOfSight.canSee(world, officers.get(i).getPosition(), player));
+        }
+        for (int i = 0; i < OBSERVERS; i++) {
+            bh.consume(lineOfSight.canSee(world, officers.get(i).getPosition(), player));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OBSERVERS)
+    public void legacyTick(Blackhole bh) {
+        // The same two checks per officer per tick, without a cache
+        for (int i = 0; i < OBSERVERS; i++) {
+            bh.consume(legacyHasLineOfSight(world, officers.get(i).getPosition(), player));
+            bh.consume(legacyHasLineOfSight(world, officers.get(i).getPosition(), player));
+        }
+    }
+
+    /** The original stepped NPCManager.hasLineOfSight, verbatim. */
+    private static boolean legacyHasLineOfSight(World world, Vector3 from, Vector3 to) {
+        float eyeHeight = 1.0f;
+        float fx = from.x, fy = from.y + eyeHeight, fz = from.z;
+        float tx = to.x,   ty = to.y   + eyeHeight, tz = to.z;
+
+        float dx = tx - fx;
+        float dy = ty - fy;
+        float dz = tz - fz;
+        float dist = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (dist < 0.001f) return true;
+
+        float ndx = dx / dist;
+        float ndy = dy / dist;
+        float ndz = dz / dist;
+
+        float step = 0.4f;
+        int steps = (int) (dist / step) + 1;
+        for (int i = 1; i <= steps; i++) {
+            float t = Math.min(i * step, dist);
+            int bx = (int) Math.floor(fx + ndx * t);
+            int by = (int) Math.floor(fy + ndy * t);
+            int bz = (int) Math.floor(fz + ndz * t);
+
+            if (bx == (int) Math.floor(fx) && by == (int) Math.floor(fy) && bz == (int) Math.floor(fz)) continue;
+            if (bx == (int) Math.floor(tx) && by == (int) Math.floor(ty) && bz == (int) Math.floor(tz)) break;
+
+            BlockType block = world.getBlock(bx, by, bz);
+            if (block.isSolid() && block != BlockType.GLASS) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,185 @@
+package ragamuffin.bench;
+
+import com.badlogic.gdx.math.Vector3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ragamuffin.ai.NavigationGraph;
+import ragamuffin.ai.Pathfinder;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-town routing through {@link NavigationGraph} on a generated world (seed 42).
+ *
+ * <p>Queries are fixed pairs of street-level positions 120-300 blocks apart — trips
+ * the flat Pathfinder mostly gives up on. Setup runs every query once so the
+ * clusters are built; {@code crossTownRoute} then measures steady-state routing,
+ * which is what NPCs pay on each re-plan. {@code crossTownRouteCold} runs the
+ * same pairs on an empty graph, paying for every cluster build and edge flood
+ * the route needs, as the first trips after loading do. {@code flatPathfinder}
+ * runs the same pairs through the flat search for comparison.</p>
+ *
+ * <p>The unreachable cases run on a copy of the world where each target stands
+ * in a walled-off yard several clusters across, so the search explores the yard
+ * and the town outside before failing. They use the pairs whose route the walls
+ * actually cut: {@code unreachableRouteCold} on an empty graph, the bounded
+ * worst case of one failed trip, and {@code unreachableRouteRepeated} on one
+ * long-lived graph, where re-plans are answered by the failed-route cache.</p>
+ *
+ * <p>Usage: {@code ./gradlew jmh --args="NavigationGraphBenchmark"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NavigationGraphBenchmark {
+
+    private static final int QUERY_COUNT = 64;
+    private static final int TOWN_HALF_EXTENT = 200;
+    private static final int YARD_RADIUS = 20;
+
+    private World world;
+    private World walledWorld;
+    private Pathfinder pathfinder;
+    private NavigationGraph navigation;
+    private NavigationGraph walledNavigation;
+    private Vector3[] starts;
+    private Vector3[] ends;
+    private Vector3[] walledStarts;
+    private Vector3[] walledEnds;
+    private int next;
+
+    /** A graph with nothing cached, fresh for every invocation. */
+    @State(Scope.Thread)
+    public static class ColdGraph {
+        NavigationGraph navigation;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            navigation = new NavigationGraph(new Pathfinder());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new World(42);
+        world.generate();
+        pathfinder = new Pathfinder();
+        navigation = new NavigationGraph(pathfinder);
+
+        Random random = new Random(42);
+        List<Vector3> s = new ArrayList<>();
+        List<Vector3> e = new ArrayList<>();
+        int attempts = 0;
+        while (s.size() < QUERY_COUNT && attempts++ < 100_000) {
+            Vector3 a = randomGroundPosition(random);
+            Vector3 b = randomGroundPosition(random);
+            if (a == null || b == null) {
+                continue;
+            }
+            float d = Math.abs(a.x - b.x) + Math.abs(a.z - b.z);
+            if (d >= 120 && d <= 300 && navigation.findPath(world, a, b) != null) {
+                s.add(a);
+                e.add(b);
+            }
+        }
+        starts = s.toArray(new Vector3[0]);
+        ends = e.toArray(new Vector3[0]);
+
+        walledWorld = new World(42);
+        walledWorld.generate();
+        for (Vector3 end : ends) {
+            wallOffYard(walledWorld, (int) end.x, (int) end.y, (int) end.z);
+        }
+        // Filter on a throwaway graph so the measured graphs start cold
+        NavigationGraph probe = new NavigationGraph(new Pathfinder());
+        List<Vector3> ws = new ArrayList<>();
+        List<Vector3> we = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            if (probe.findPath(walledWorld, starts[i], ends[i]) == null) {
+                ws.add(starts[i]);
+                we.add(ends[i]);
+            }
+        }
+        walledStarts = ws.toArray(new Vector3[0]);
+        walledEnds = we.toArray(new Vector3[0]);
+        walledNavigation = new NavigationGraph(new Pathfinder());
+    }
+
+    /** Fence the square of YARD_RADIUS around a cell with a wall too tall to climb. */
+    private static void wallOffYard(World world, int x, int y, int z) {
+        for (int i = -YARD_RADIUS; i <= YARD_RADIUS; i++) {
+            for (int wy = y - 1; wy <= y + 4; wy++) {
+                world.setBlock(x + i, wy, z - YARD_RADIUS, BlockType.BRICK);
+                world.setBlock(x + i, wy, z + YARD_RADIUS, BlockType.BRICK);
+                world.setBlock(x - YARD_RADIUS, wy, z + i, BlockType.BRICK);
+                world.setBlock(x + YARD_RADIUS, wy, z + i, BlockType.BRICK);
+            }
+        }
+    }
+
+    /** A random open-air position standing on solid ground, or null. */
+    private Vector3 randomGroundPosition(Random random) {
+        int x = random.nextInt(TOWN_HALF_EXTENT * 2 + 1) - TOWN_HALF_EXTENT;
+        int z = random.nextInt(TOWN_HALF_EXTENT * 2 + 1) - TOWN_HALF_EXTENT;
+        for (int y = 1; y < 8; y++) {
+            if (world.getBlock(x, y - 1, z).isSolid()
+                    && !world.getBlock(x, y, z).isSolid()
+                    && !world.getBlock(x, y + 1, z).isSolid()) {
+                return new Vector3(x, y, z);
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public List<Vector3> crossTownRoute() {
+        int i = next;
+        next = (i + 1) % starts.length;
+        return navigation.findPath(world, starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public List<Vector3> crossTownRouteCold(ColdGraph cold) {
+        int i = next;
+        next = (i + 1) % starts.length;
+        return cold.navigation.findPath(world, starts[i], ends[i]);
+    }
+
+    @Benchmark
+    public List<Vector3> unreachableRouteCold(ColdGraph cold) {
+        int i = next % walledStarts.length;
+        next = i + 1;
+        return cold.navigation.findPath(walledWorld, walledStarts[i], walledEnds[i]);
+    }
+
+    @Benchmark
+    public List<Vector3> unreachableRouteRepeated() {
+        int i = next % walledStarts.length;
+        next = i + 1;
+        return walledNavigation.findPath(walledWorld, walledStarts[i], walledEnds[i]);
+    }
+
+    @Benchmark
+    public List<Vector3> flatPathfinder() {
+        int i = next;
+        next = (i + 1) % starts.length;
+        return pathfinder.findPath(world, starts[i], ends[i]);
+    }
+}
@@ -0,0 +1,101 @@
+package ragamuffin.bench;
+
+import com.badlogic.gdx.math.Vector3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ragamuffin.ai.Pathfinder;
+import ragamuffin.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paths per second for {@link Pathfinder#findPath} on a generated world (seed 42).
+ *
+ * <p>Queries are fixed pairs of walkable street-level positions 25-60 blocks apart,
+ * beyond the straight-line shortcut, so every query runs the full A* search. Each
+ * benchmark op is one query; the harness cycles through the pairs. Run with
+ * {@code -prof gc} to see allocation per query.</p>
+ *
+ * <p>Usage: {@code ./gradlew jmh --args="PathfinderBenchmark"}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PathfinderBenchmark {
+
+    private static final int QUERY_COUNT = 256;
+    private static final int TOWN_HALF_EXTENT = 200;
+
+    private World world;
+    private Pathfinder pathfinder;
+    private Vector3[] starts;
+    private Vector3[] ends;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new World(42);
+        world.generate();
+        pathfinder = new Pathfinder();
+
+        Random random = new Random(42);
+        List<Vector3> s = new ArrayList<>();
+        List<Vector3> e = new ArrayList<>();
+        while (s.size() < QUERY_COUNT) {
+            Vector3 a = randomGroundPosition(random, 0, 0, TOWN_HALF_EXTENT);
+            if (a == null) {
+                continue;
+            }
+            Vector3 b = randomGroundPosition(random, (int) a.x, (int) a.z, 60);
+            if (b == null) {
+                continue;
+            }
+            float d = Math.abs(a.x - b.x) + Math.abs(a.z - b.z);
+            if (d >= 25) {
+                s.add(a);
+                e.add(b);
+            }
+        }
+        starts = s.toArray(new Vector3[0]);
+        ends = e.toArray(new Vector3[0]);
+    }
+
+    /** A random open-air position standing on solid ground near (cx, cz), or null. */
+    private Vector3 randomGroundPosition(Random random, int cx, int cz, int radius) {
+        int x = cx + random.nextInt(radius * 2 + 1) - radius;
+        int z = cz + random.nextInt(radius * 2 + 1) - radius;
+        if (Math.abs(x) > TOWN_HALF_EXTENT || Math.abs(z) > TOWN_HALF_EXTENT) {
+            return null;
+        }
+        for (int y = 1; y < 8; y++) {
+            if (world.getBlock(x, y - 1, z).isSolid()
+                    && !world.getBlock(x, y, z).isSolid()
+                    && !world.getBlock(x, y + 1, z).isSolid()) {
+                return new Vector3(x, y, z);
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public List<Vector3> findPath() {
+        int i = next;
+        next = (i + 1) % QUERY_COUNT;
+        return pathfinder.findPath(world, starts[i], ends[i]);
+    }
+}
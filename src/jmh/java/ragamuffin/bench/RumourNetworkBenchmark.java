@@ -0,0 +1,68 @@
+package ragamuffin.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ragamuffin.core.Rumour;
+import ragamuffin.core.RumourNetwork;
+import ragamuffin.core.RumourType;
+import ragamuffin.entity.NPC;
+import ragamuffin.entity.NPCType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link RumourNetwork#update} frame with a full town of NPCs
+ * ({@code MAX_NPCS} = 200) scattered over the 160x160 block town centre, each
+ * nudged a little every frame so pairs keep drifting in and out of range.
+ *
+ * <p>Usage: {@code ./gradlew jmh --args="RumourNetworkBenchmark -prof gc"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RumourNetworkBenchmark {
+
+    private static final int NPC_COUNT = 200;
+    private static final float TOWN_SIZE = 160f;
+    private static final float FRAME = 1f / 60f;
+
+    private List<NPC> npcs;
+    private RumourNetwork network;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        network = new RumourNetwork(new Random(42));
+        npcs = new ArrayList<>();
+        for (int i = 0; i < NPC_COUNT; i++) {
+            NPC npc = new NPC(NPCType.PUBLIC, random.nextFloat() * TOWN_SIZE, 1,
+                random.nextFloat() * TOWN_SIZE);
+            npc.getRumours().add(new Rumour(RumourType.LOOT_TIP, "Tip " + i));
+            npcs.add(npc);
+        }
+    }
+
+    @Benchmark
+    public List<NPC> updateFrame() {
+        NPC mover = npcs.get(random.nextInt(NPC_COUNT));
+        mover.getPosition().set(random.nextFloat() * TOWN_SIZE, 1, random.nextFloat() * TOWN_SIZE);
+        network.update(npcs, FRAME);
+        return npcs;
+    }
+}
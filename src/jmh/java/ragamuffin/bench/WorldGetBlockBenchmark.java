@@ -0,0 +1,135 @@
+package ragamuffin.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.Chunk;
+import ragamuffin.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link World#getBlock} against a replica of the original lookup, which
+ * built an {@code "x,y,z"} string key and probed a {@code HashMap<String, Chunk>}
+ * on every call.
+ *
+ * <p>Two access patterns over a generated world (seed 42): {@code scattered} picks
+ * uniformly random blocks across the town, so almost every query lands in a
+ * different chunk; {@code clustered} walks small neighbourhoods the way collision,
+ * line-of-sight and pathfinding queries do, so consecutive queries mostly share a
+ * chunk.</p>
+ *
+ * <p>Usage: {@code ./gradlew jmh --args="WorldGetBlock"}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldGetBlockBenchmark {
+
+    private static final int QUERIES = 4096;
+    private static final int TOWN_HALF_EXTENT = 230; // Just inside WORLD_CHUNK_RADIUS * Chunk.SIZE
+
+    private World world;
+    private Map<String, Chunk> legacyChunks;
+    private int[] scattered;
+    private int[] clustered;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new World(42);
+        world.generate();
+
+        legacyChunks = new HashMap<>();
+        for (Chunk chunk : world.getLoadedChunks()) {
+            legacyChunks.put(chunk.getChunkX() + "," + chunk.getChunkY() + "," + chunk.getChunkZ(), chunk);
+        }
+
+        Random random = new Random(42);
+        scattered = new int[QUERIES * 3];
+        for (int i = 0; i < QUERIES; i++) {
+            scattered[i * 3] = random.nextInt(TOWN_HALF_EXTENT * 2) - TOWN_HALF_EXTENT;
+            scattered[i * 3 + 1] = random.nextInt(Chunk.HEIGHT + 16) - 16;
+            scattered[i * 3 + 2] = random.nextInt(TOWN_HALF_EXTENT * 2) - TOWN_HALF_EXTENT;
+        }
+
+        // 3x3x3 neighbourhoods around random-walk centres, as an AABB collision sweep would query
+        clustered = new int[QUERIES * 3];
+        int cx = 0, cy = 2, cz = 0;
+        for (int i = 0; i < QUERIES; i += 27) {
+            cx = Math.max(-TOWN_HALF_EXTENT, Math.min(TOWN_HALF_EXTENT, cx + random.nextInt(5) - 2));
+            cz = Math.max(-TOWN_HALF_EXTENT, Math.min(TOWN_HALF_EXTENT, cz + random.nextInt(5) - 2));
+            for (int n = 0; n < 27 && i + n < QUERIES; n++) {
+                int q = (i + n) * 3;
+                clustered[q] = cx + n % 3 - 1;
+                clustered[q + 1] = cy + n / 3 % 3 - 1;
+                clustered[q + 2] = cz + n / 9 - 1;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void scatteredWorld(Blackhole bh) {
+        int[] q = scattered;
+        for (int i = 0; i < q.length; i += 3) {
+            bh.consume(world.getBlock(q[i], q[i + 1], q[i + 2]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void scatteredLegacyStringKey(Blackhole bh) {
+        int[] q = scattered;
+        for (int i = 0; i < q.length; i += 3) {
+            bh.consume(legacyGetBlock(q[i], q[i + 1], q[i + 2]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void clusteredWorld(Blackhole bh) {
+        int[] q = clustered;
+        for (int i = 0; i < q.length; i += 3) {
+            bh.consume(world.getBlock(q[i], q[i + 1], q[i + 2]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void clusteredLegacyStringKey(Blackhole bh) {
+        int[] q = clustered;
+        for (int i = 0; i < q.length; i += 3) {
+            bh.consume(legacyGetBlock(q[i], q[i + 1], q[i + 2]));
+        }
+    }
+
+    /** The pre-ChunkPos World.getBlock lookup path, verbatim apart from the map field. */
+    private BlockType legacyGetBlock(int x, int y, int z) {
+        int chunkX = Math.floorDiv(x, Chunk.SIZE);
+        int chunkZ = Math.floorDiv(z, Chunk.SIZE);
+        int chunkY = Math.floorDiv(y, Chunk.HEIGHT);
+
+        Chunk chunk = legacyChunks.get(chunkX + "," + chunkY + "," + chunkZ);
+        if (chunk == null) {
+            return BlockType.AIR;
+        }
+        return chunk.getBlock(Math.floorMod(x, Chunk.SIZE), Math.floorMod(y, Chunk.HEIGHT), Math.floorMod(z, Chunk.SIZE));
+    }
+}
@@ -0,0 +1,198 @@
+package ragamuffin.ai;
+
+import com.badlogic.gdx.math.Vector3;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.World;
+
+import java.util.Arrays;
+
+/**
+ * Eye-to-eye line-of-sight checks through the voxel grid, with a per-tick result cache.
+ *
+ * <p>{@link #isClear} walks every block the sight line passes through exactly once,
+ * using the same DDA traversal as {@link ragamuffin.world.Raycast#cast}, from the
+ * observer's eye to the target's eye ({@link #EYE_HEIGHT} above each position). The
+ * observer's and target's own blocks never block; any other solid block except
+ * {@link BlockType#GLASS} does.</p>
+ *
+ * <p>An instance remembers answers keyed by the (observer eye block, target eye block)
+ * pair until the next {@link #beginTick()}, so several officers standing in the same
+ * block, or one officer checked from several AI states in a tick, trace the line once.
+ * Two positions in the same pair of blocks are treated as having the same sight line
+ * for the rest of the tick. Not thread-safe.</p>
+ */
+public class LineOfSight {
+
+    /** Height of the eye above an entity's position, in blocks. */
+    public static final float EYE_HEIGHT = 1.0f;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    // Open-addressing cache: observer cell, target cell, result. A slot belongs to the
+    // current tick only if its stamp matches, so beginTick() clears it in O(1).
+    private long[] observerKeys;
+    private long[] targetKeys;
+    private boolean[] results;
+    private int[] stamps;
+    private int mask;
+    private int threshold;
+    private int size;
+    private int tick = 1;
+
+    // Lines actually traced, for tests and the benchmark
+    private int traceCount;
+
+    public LineOfSight() {
+        allocate(64);
+    }
+
+    private void allocate(int capacity) {
+        observerKeys = new long[capacity];
+        targetKeys = new long[capacity];
+        results = new boolean[capacity];
+        stamps = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /** Forget every cached answer. Call once per simulation tick, before any query. */
+    public void beginTick() {
+        tick++;
+        size = 0;
+        if (tick == 0) {
+            // Stamp wrapped around: old slots could look current again
+            Arrays.fill(stamps, 0);
+            tick = 1;
+        }
+    }
+
+    /**
+     * Whether an observer at {@code from} can see a target at {@code to}, answered
+     * from this tick's cache when the same pair of eye blocks was already traced.
+     */
+    public boolean canSee(World world, Vector3 from, Vector3 to) {
+        int ox = floor(from.x), oy = floor(from.y + EYE_HEIGHT), oz = floor(from.z);
+        int tx = floor(to.x), ty = floor(to.y + EYE_HEIGHT), tz = floor(to.z);
+        long observer = pack(ox, oy, oz);
+        long target = pack(tx, ty, tz);
+
+        int i = slot(observer, target);
+        while (stamps[i] == tick) {
+            if (observerKeys[i] == observer && targetKeys[i] == target) {
+                return results[i];
+            }
+            i = (i + 1) & mask;
+        }
+
+        boolean clear = isClear(world, from, to);
+        traceCount++;
+        stamps[i] = tick;
+        observerKeys[i] = observer;
+        targetKeys[i] = target;
+        results[i] = clear;
+        if (++size > threshold) {
+            grow();
+        }
+        return clear;
+    }
+
+    /** Number of sight lines traced rather than answered from the cache. */
+    int getTraceCount() {
+        return traceCount;
+    }
+
+    private void grow() {
+        long[] oldObservers = observerKeys;
+        long[] oldTargets = targetKeys;
+        boolean[] oldResults = results;
+        int[] oldStamps = stamps;
+        allocate(oldStamps.length * 2);
+        for (int j = 0; j < oldStamps.length; j++) {
+            if (oldStamps[j] != tick) continue;
+            int i = slot(oldObservers[j], oldTargets[j]);
+            while (stamps[i] == tick) {
+                i = (i + 1) & mask;
+            }
+            stamps[i] = tick;
+            observerKeys[i] = oldObservers[j];
+            targetKeys[i] = oldTargets[j];
+            results[i] = oldResults[j];
+        }
+    }
+
+    private int slot(long observer, long target) {
+        long h = (observer * 31 + target) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /** Pack a block position into a key: 24 bits of X, 16 of Y, 24 of Z. */
+    private static long pack(int x, int y, int z) {
+        return ((long) x & 0xFFFFFFL) << 40 | ((long) z & 0xFFFFFFL) << 16 | ((long) y & 0xFFFFL);
+    }
+
+    private static int floor(float v) {
+        return (int) Math.floor(v);
+    }
+
+    /**
+     * Trace the sight line from the eye at {@code from} to the eye at {@code to}
+     * without caching.
+     *
+     * @return true if no block between the two eye blocks obstructs the line
+     */
+    public static boolean isClear(World world, Vector3 from, Vector3 to) {
+        float fx = from.x, fy = from.y + EYE_HEIGHT, fz = from.z;
+        float dx = to.x - fx, dy = to.y + EYE_HEIGHT - fy, dz = to.z - fz;
+
+        int x = floor(fx), y = floor(fy), z = floor(fz);
+        int endX = floor(to.x), endY = floor(to.y + EYE_HEIGHT), endZ = floor(to.z);
+
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+        int stepZ = dz > 0 ? 1 : (dz < 0 ? -1 : 0);
+
+        // Parametric distance along the segment (0 = observer eye, 1 = target eye)
+        // to cross one block, and to the next block boundary, on each axis
+        float tDeltaX = stepX != 0 ? Math.abs(1f / dx) : Float.MAX_VALUE;
+        float tDeltaY = stepY != 0 ? Math.abs(1f / dy) : Float.MAX_VALUE;
+        float tDeltaZ = stepZ != 0 ? Math.abs(1f / dz) : Float.MAX_VALUE;
+        float tMaxX = stepX > 0 ? (x + 1 - fx) / dx : (stepX < 0 ? (fx - x) / -dx : Float.MAX_VALUE);
+        float tMaxY = stepY > 0 ? (y + 1 - fy) / dy : (stepY < 0 ? (fy - y) / -dy : Float.MAX_VALUE);
+        float tMaxZ = stepZ > 0 ? (z + 1 - fz) / dz : (stepZ < 0 ? (fz - z) / -dz : Float.MAX_VALUE);
+
+        while (x != endX || y != endY || z != endZ) {
+            float t;
+            if (tMaxX < tMaxY) {
+                if (tMaxX < tMaxZ) {
+                    x += stepX;
+                    t = tMaxX;
+                    tMaxX += tDeltaX;
+                } else {
+                    z += stepZ;
+                    t = tMaxZ;
+                    tMaxZ += tDeltaZ;
+                }
+            } else {
+                if (tMaxY < tMaxZ) {
+                    y += stepY;
+                    t = tMaxY;
+                    tMaxY += tDeltaY;
+                } else {
+                    z += stepZ;
+                    t = tMaxZ;
+                    tMaxZ += tDeltaZ;
+                }
+            }
+            // Past the target eye: rounding stepped around the end block
+            if (t > 1f) return true;
+            if (x == endX && y == endY && z == endZ) return true;
+
+            BlockType block = world.getBlock(x, y, z);
+            // Glass and air don't block LOS; all other solid blocks do
+            if (block.isSolid() && block != BlockType.GLASS) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
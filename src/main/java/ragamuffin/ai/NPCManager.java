@@ -30,6 +30,10 @@ public class NPCManager {
 
     private final List<NPC> npcs;
     private final Pathfinder pathfinder;
+    private final NavigationGraph navigation; // Long trips route over chunk-level portals
+    private final NPCSpatialIndex spatialIndex; // Proximity queries over npcs, rebuilt each tick
+    private final List<NPC> nearbyNpcs = new ArrayList<>(); // Reused result list for spatialIndex queries
+    private final LineOfSight lineOfSight = new LineOfSight(); // Police sight lines, cached per tick
     private final Random random;
     private float gameTime; // Game time in hours (0-24)
     private int previousTimeBand = -1; // -1 = uninitialised; 0=night, 1=work, 2=evening
@@ -276,13 +280,15 @@ public class NPCManager {
 
     // Council builder system (Phase 7)
     private StructureTracker structureTracker;
-    private Map<String, Integer> structureBuilderCount; // Track builders per structure (keyed by "x,y,z" of centre)
+    private Map<StructureTracker.Structure, Integer> structureBuilderCount; // Builders spawned per structure (identity-keyed)
     private Map<NPC, StructureTracker.Structure> builderTargets; // Track which structure each builder is targeting
     private Map<NPC, Float> builderKnockbackTimers; // Track knockback delay per builder
     private Map<NPC, Float> builderDemolishTimers; // Track demolition cooldown per builder
-    private float structureScanTimer; // Periodic structure scanning
+    private static final float COUNCIL_REACTION_DELAY = 1.0f; // Seconds after a structure changes
+    private float structureScanTimer; // Time since council builders were last updated
+    private boolean structuresChanged; // Structures changed since council builders were last updated
     private float npcStructureScanTimer; // Throttle per-NPC structure checks
-    private Set<String> notifiedStructures; // Track which structure positions already have notices ("x,y,z")
+    private Set<StructureTracker.Structure> notifiedStructures; // Structures that already have notices (identity-keyed)
 
     // NPC idle timers — pause between wanders
     private Map<NPC, Float> npcIdleTimers;
@@ -363,6 +369,8 @@ public class NPCManager {
     public NPCManager() {
         this.npcs = new ArrayList<>();
         this.pathfinder = new Pathfinder();
+        this.navigation = new NavigationGraph(pathfinder);
+        this.spatialIndex = new NPCSpatialIndex(npcs);
         this.random = new Random();
         this.gameTime = 8.0f; // Start at 8:00 AM
         this.playerStructures = new HashMap<>();
@@ -372,13 +380,13 @@ public class NPCManager {
 
         // Phase 7: Council builder system
         this.structureTracker = new StructureTracker();
-        this.structureBuilderCount = new HashMap<>();
+        this.structureBuilderCount = new IdentityHashMap<>();
         this.builderTargets = new HashMap<>();
         this.builderKnockbackTimers = new HashMap<>();
         this.builderDemolishTimers = new HashMap<>();
         this.structureScanTimer = 0;
         this.npcStructureScanTimer = 0;
-        this.notifiedStructures = new HashSet<>();
+        this.notifiedStructures = Collections.newSetFromMap(new IdentityHashMap<>());
         this.npcIdleTimers = new HashMap<>();
         this.npcPathRecalcTimers = new HashMap<>();
         this.npcStructureCheckTimers = new HashMap<>();
@@ -457,6 +465,7 @@ public class NPCManager {
         }
 
         npcs.add(npc);
+        spatialIndex.markDirty();
         return npc;
     }
 
@@ -684,6 +693,15 @@ public class NPCManager {
         return npcs;
     }
 
+    /**
+     * Spatial index over {@link #getNPCs()}, rebuilt at the end of every
+     * {@link #update}. Systems that are handed the NPC list can use it to find
+     * nearby NPCs without scanning the whole list.
+     */
+    public NPCSpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
     /**
      * Remove an NPC and clean up all per-NPC map entries to prevent memory leaks.
      */
@@ -697,6 +715,7 @@ public class NPCManager {
      * Must be called before removing an NPC from the main {@code npcs} list.
      */
     private void cleanupNPC(NPC npc) {
+        spatialIndex.markDirty();
         policeWarningTimers.remove(npc);
         policeTargetStructures.remove(npc);
         builderTargets.remove(npc);
@@ -870,6 +889,7 @@ public class NPCManager {
     public void update(float delta, World world, Player player, Inventory inventory, TooltipSystem tooltipSystem) {
         // Fix #687: cache inventory for HIGH_VIS_JACKET police escalation delay
         this.currentInventory = inventory;
+        lineOfSight.beginTick();
 
         // Tick police spawn cooldown
         if (policeSpawnCooldown > 0) {
@@ -882,12 +902,20 @@ public class NPCManager {
         }
 
         // Update structure tracking (Phase 7)
-        // Scanned at a long interval — the 200x200x19 block scan is expensive
+        // Incremental — only structures next to blocks changed this frame are re-traced,
+        // so planning notices go up within a second of a structure growing large enough.
+        // Builders are still dispatched on the 30-second council cycle.
+        if (structureTracker.update(world)) {
+            structuresChanged = true;
+        }
         structureScanTimer += delta;
-        if (structureScanTimer >= 30.0f) { // Scan every 30 seconds, not 2
-            structureTracker.scanForStructures(world);
-            updateCouncilBuilders(world, tooltipSystem);
+        if (structureScanTimer >= 30.0f) {
+            updateCouncilBuilders(world, tooltipSystem, true);
             structureScanTimer = 0;
+            structuresChanged = false;
+        } else if (structuresChanged && structureScanTimer >= COUNCIL_REACTION_DELAY) {
+            updateCouncilBuilders(world, tooltipSystem, false);
+            structuresChanged = false;
         }
 
         // Throttle per-NPC structure checks (expensive block scanning)
@@ -963,6 +991,9 @@ public class NPCManager {
                 }
             }
         }
+
+        // Re-bucket everyone at their new positions for the systems that run after us
+        spatialIndex.rebuild();
     }
 
     /**
@@ -1639,8 +1670,9 @@ public class NPCManager {
         }
         npcPathRecalcTimers.put(npc, 0.0f);
 
-        // Find path
-        List<Vector3> path = pathfinder.findPath(world, npc.getPosition(), adjustedTarget);
+        // Find path — cross-town trips are planned on the navigation graph rather than
+        // by a flat A* that would run out of search nodes
+        List<Vector3> path = navigation.findPath(world, npc.getPosition(), adjustedTarget);
 
         if (path != null) {
             npc.setPath(path);
@@ -1962,19 +1994,19 @@ public class NPCManager {
      * alertPoliceToGreggRaid().
      */
     private void alertNearbyPoliceToPlayerAttack(NPC attackedOfficer, Vector3 playerPos, World world) {
-        for (NPC npc : npcs) {
+        List<NPC> nearby = spatialIndex.collectWithin(attackedOfficer.getPosition(), 20.0f, nearbyNpcs);
+        for (int i = 0; i < nearby.size(); i++) {
+            NPC npc = nearby.get(i);
             if (npc == attackedOfficer) continue;
             if (npc.getType() != NPCType.POLICE || !npc.isAlive()) continue;
             if (npc.getState() == NPCState.AGGRESSIVE || npc.getState() == NPCState.ARRESTING
                     || npc.getState() == NPCState.KNOCKED_OUT) continue;
-            float dist = npc.getPosition().dst(attackedOfficer.getPosition());
-            if (dist <= 20.0f) {
-                npc.setState(NPCState.AGGRESSIVE);
-                npc.setSpeechText("Oi! Assaulting an officer!", 3.0f);
-                alertedPoliceNPCs.add(npc);
-                setNPCTarget(npc, playerPos, world);
-            }
+            npc.setState(NPCState.AGGRESSIVE);
+            npc.setSpeechText("Oi! Assaulting an officer!", 3.0f);
+            alertedPoliceNPCs.add(npc);
+            setNPCTarget(npc, playerPos, world);
         }
+        nearby.clear();
     }
 
     /**
@@ -2149,27 +2181,19 @@ public class NPCManager {
         // Low random chance per frame — keeps exchanges feeling organic
         if (random.nextFloat() >= 0.002f) return;
 
-        // Find a nearby NPC to talk to
-        for (NPC other : npcs) {
-            if (other == npc || !other.isAlive() || other.isSpeaking()) continue;
-            if (other.getPosition().dst(npc.getPosition()) > NPC_CONVERSATION_RANGE) continue;
-
-            // Other NPC must also be in a calm state
-            NPCState otherState = other.getState();
-            if (otherState == NPCState.AGGRESSIVE || otherState == NPCState.FLEEING
-                    || otherState == NPCState.KNOCKED_OUT || otherState == NPCState.KNOCKED_BACK
-                    || otherState == NPCState.ARRESTING || otherState == NPCState.WARNING
-                    || otherState == NPCState.STEALING || otherState == NPCState.DEMOLISHING) {
-                continue;
+        // Find a nearby NPC to talk to — the first in list order that is free to reply
+        NPC other = null;
+        List<NPC> nearby = spatialIndex.collectWithin(npc.getPosition(), NPC_CONVERSATION_RANGE, nearbyNpcs);
+        for (int i = 0; i < nearby.size(); i++) {
+            if (canReplyToConversation(npc, nearby.get(i))) {
+                other = nearby.get(i);
+                break;
             }
-
-            // Also check other NPC's cooldown
-            float otherCooldown = npcConversationCooldowns.getOrDefault(other, 0f);
-            if (otherCooldown > 0f) continue;
-
+        }
+        nearby.clear();
+        if (other != null) {
             // Look up exchange lines for this type pair
             String[][] exchanges = getNPCToNPCExchanges(npc.getType(), other.getType());
-            if (exchanges == null || exchanges.length == 0) continue;
 
             // Pick a random exchange
             String[] exchange = exchanges[random.nextInt(exchanges.length)];
@@ -2193,10 +2217,34 @@ public class NPCManager {
             // Set cooldowns so neither NPC initiates another exchange right away
             npcConversationCooldowns.put(npc, NPC_CONVERSATION_COOLDOWN);
             npcConversationCooldowns.put(other, NPC_CONVERSATION_COOLDOWN);
-            break; // Only one exchange per NPC per frame
         }
     }
 
+    /**
+     * Whether {@code other} can answer a conversation started by {@code npc}: alive,
+     * not already speaking, in a calm state, off cooldown, and with lines defined
+     * for the type pair.
+     */
+    private boolean canReplyToConversation(NPC npc, NPC other) {
+        if (other == npc || !other.isAlive() || other.isSpeaking()) return false;
+
+        // Other NPC must also be in a calm state
+        NPCState otherState = other.getState();
+        if (otherState == NPCState.AGGRESSIVE || otherState == NPCState.FLEEING
+                || otherState == NPCState.KNOCKED_OUT || otherState == NPCState.KNOCKED_BACK
+                || otherState == NPCState.ARRESTING || otherState == NPCState.WARNING
+                || otherState == NPCState.STEALING || otherState == NPCState.DEMOLISHING) {
+            return false;
+        }
+
+        // Also check other NPC's cooldown
+        float otherCooldown = npcConversationCooldowns.getOrDefault(other, 0f);
+        if (otherCooldown > 0f) return false;
+
+        String[][] exchanges = getNPCToNPCExchanges(npc.getType(), other.getType());
+        return exchanges != null && exchanges.length > 0;
+    }
+
     /**
      * Return the set of dialogue exchange lines appropriate for the given NPC
      * type pair, or {@code null} if no exchanges are defined for that pairing.
@@ -2304,18 +2352,19 @@ public class NPCManager {
      * If there are no police nearby, spawn a fresh unit.
      */
     public void alertPoliceToGreggRaid(Player player, World world) {
-        for (NPC npc : npcs) {
+        List<NPC> nearby = spatialIndex.collectWithin(player.getPosition(), 40.0f, nearbyNpcs);
+        for (int i = 0; i < nearby.size(); i++) {
+            NPC npc = nearby.get(i);
             if (npc.getType() == NPCType.POLICE && npc.isAlive()
-                    && npc.getState() != NPCState.AGGRESSIVE) {
-                float dist = npc.getPosition().dst(player.getPosition());
-                if (dist < 40.0f) {
-                    npc.setState(NPCState.AGGRESSIVE);
-                    npc.setSpeechText("Oi! Put the pasty down!", 3.0f);
-                    alertedPoliceNPCs.add(npc);
-                    setNPCTarget(npc, player.getPosition(), world);
-                }
+                    && npc.getState() != NPCState.AGGRESSIVE
+                    && npc.getPosition().dst(player.getPosition()) < 40.0f) {
+                npc.setState(NPCState.AGGRESSIVE);
+                npc.setSpeechText("Oi! Put the pasty down!", 3.0f);
+                alertedPoliceNPCs.add(npc);
+                setNPCTarget(npc, player.getPosition(), world);
             }
         }
+        nearby.clear();
         // Spawn an additional police unit homing in on the player
         float angle = random.nextFloat() * (float) Math.PI * 2;
         float spawnDist = 20 + random.nextFloat() * 10;
@@ -2666,7 +2715,7 @@ public class NPCManager {
 
         // Check if player has gone quiet (noise < 0.3) — allow escape
         boolean playerGoneQuiet = player.getNoiseLevel() < 0.3f;
-        boolean hasLoS = hasLineOfSight(world, police.getPosition(), player.getPosition());
+        boolean hasLoS = lineOfSight.canSee(world, police.getPosition(), player.getPosition());
 
         if (timer >= SUSPICIOUS_TIMEOUT || (playerGoneQuiet && !hasLoS)) {
             // Player escaped detection — return to patrol
@@ -2729,7 +2778,7 @@ public class NPCManager {
         }
 
         // Line-of-sight check: solid blocks block vision
-        return hasLineOfSight(world, police.getPosition(), player.getPosition());
+        return lineOfSight.canSee(world, police.getPosition(), player.getPosition());
     }
 
     /**
@@ -2842,7 +2891,7 @@ public class NPCManager {
         // Line-of-sight check: if the officer cannot see the player (blocked by solid blocks),
         // accumulate lost-sight time. After POLICE_LOST_SIGHT_TIMEOUT seconds the officer
         // gives up the chase and returns to PATROLLING.
-        if (!hasLineOfSight(world, police.getPosition(), player.getPosition())) {
+        if (!lineOfSight.canSee(world, police.getPosition(), player.getPosition())) {
             float lostTime = policeLostSightTimers.getOrDefault(police, 0.0f) + delta;
             policeLostSightTimers.put(police, lostTime);
             if (lostTime >= POLICE_LOST_SIGHT_TIMEOUT) {
@@ -2873,47 +2922,12 @@ public class NPCManager {
 
     /**
      * Check whether a police officer has an unobstructed line of sight to the player.
-     * Uses a 3D DDA ray march through the voxel grid from the officer's eye position
-     * to the player's eye position. Returns false if any solid, non-transparent block
-     * intersects the ray.
+     * Traces the voxel grid from the officer's eye position to the player's eye
+     * position, see {@link LineOfSight#isClear}. Returns false if any solid,
+     * non-transparent block intersects the ray.
      */
     public static boolean hasLineOfSight(World world, Vector3 from, Vector3 to) {
-        // Eye-level offsets (NPCs/player are approximately 1 block tall)
-        float eyeHeight = 1.0f;
-        float fx = from.x, fy = from.y + eyeHeight, fz = from.z;
-        float tx = to.x,   ty = to.y   + eyeHeight, tz = to.z;
-
-        float dx = tx - fx;
-        float dy = ty - fy;
-        float dz = tz - fz;
-        float dist = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
-        if (dist < 0.001f) return true; // Same position — trivially in sight
-
-        // Normalise direction
-        float ndx = dx / dist;
-        float ndy = dy / dist;
-        float ndz = dz / dist;
-
-        // Step through blocks along the ray using small steps (0.4 block increments)
-        float step = 0.4f;
-        int steps = (int) (dist / step) + 1;
-        for (int i = 1; i <= steps; i++) {
-            float t = Math.min(i * step, dist);
-            int bx = (int) Math.floor(fx + ndx * t);
-            int by = (int) Math.floor(fy + ndy * t);
-            int bz = (int) Math.floor(fz + ndz * t);
-
-            // Skip the exact start/end blocks
-            if (bx == (int) Math.floor(fx) && by == (int) Math.floor(fy) && bz == (int) Math.floor(fz)) continue;
-            if (bx == (int) Math.floor(tx) && by == (int) Math.floor(ty) && bz == (int) Math.floor(tz)) break;
-
-            BlockType block = world.getBlock(bx, by, bz);
-            // Glass and air don't block LOS; all other solid blocks do
-            if (block.isSolid() && block != BlockType.GLASS) {
-                return false;
-            }
-        }
-        return true;
+        return LineOfSight.isClear(world, from, to);
     }
 
     /**
@@ -3009,37 +3023,41 @@ public class NPCManager {
 
     /**
      * Update council builders based on detected structures.
-     */
-    private void updateCouncilBuilders(World world, TooltipSystem tooltipSystem) {
+     *
+     * @param dispatchBuilders true on the 30-second council cycle, which may send one
+     *                         more builder to each notified structure; otherwise only
+     *                         planning notices are put up
+     */
+    private void updateCouncilBuilders(World world, TooltipSystem tooltipSystem, boolean dispatchBuilders) {
+        // Forget structures that have been demolished or broken up
+        notifiedStructures.retainAll(structureTracker.getStructures());
+        structureBuilderCount.keySet().retainAll(structureTracker.getStructures());
         List<StructureTracker.Structure> largeStructures = structureTracker.getLargeStructures();
 
         for (StructureTracker.Structure structure : largeStructures) {
             int requiredBuilders = structureTracker.calculateBuilderCount(structure);
-            Vector3 structureCenter = structure.getCenter();
 
-            // Check if this structure already has a notice (by position).
-            // Use a "x,y,z" string key to avoid Vector3 identity-equality pitfalls —
-            // LibGDX's Vector3 does not override hashCode()/equals(), so two Vector3
-            // instances with the same coordinates are NOT equal under HashSet.contains().
-            String structureKey = (int)structureCenter.x + "," + (int)structureCenter.y + "," + (int)structureCenter.z;
-            boolean alreadyNotified = notifiedStructures.contains(structureKey);
+            // Structures keep their identity while the player extends them and across
+            // rescans, so notices and builder counts are keyed by the structure itself
+            // (Issue #145: keying by centre position re-notified moved centres).
+            boolean alreadyNotified = notifiedStructures.contains(structure);
 
             // Add planning notice after structure is detected (first time only)
             if (!alreadyNotified && requiredBuilders > 0) {
                 applyPlanningNotice(world, structure);
-                notifiedStructures.add(structureKey);
+                notifiedStructures.add(structure);
                 structure.setHasNotice(true);
             } else if (alreadyNotified) {
                 structure.setHasNotice(true); // Mark as having notice
             }
 
-            int currentBuilders = structureBuilderCount.getOrDefault(structureKey, 0);
+            int currentBuilders = structureBuilderCount.getOrDefault(structure, 0);
 
             // Spawn builders after planning notice has been up for a bit
             // Only spawn if structure has notice
-            if (structure.hasNotice() && currentBuilders < requiredBuilders) {
+            if (dispatchBuilders && structure.hasNotice() && currentBuilders < requiredBuilders) {
                 spawnCouncilBuilder(structure, world);
-                structureBuilderCount.put(structureKey, currentBuilders + 1);
+                structureBuilderCount.put(structure, currentBuilders + 1);
             }
         }
     }
@@ -3217,12 +3235,12 @@ public class NPCManager {
     }
 
     /**
-     * Force an immediate structure scan (for testing).
-     * In production, scans happen automatically every 30 seconds.
+     * Force an immediate full structure scan and council update (for testing).
+     * In production, structures are tracked incrementally every frame.
      */
     public void forceStructureScan(World world, TooltipSystem tooltipSystem) {
         structureTracker.scanForStructures(world);
-        updateCouncilBuilders(world, tooltipSystem);
+        updateCouncilBuilders(world, tooltipSystem, true);
     }
 
     /**
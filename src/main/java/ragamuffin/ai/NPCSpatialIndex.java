@@ -0,0 +1,367 @@
+package ragamuffin.ai;
+
+import com.badlogic.gdx.math.Vector3;
+import ragamuffin.entity.NPC;
+import ragamuffin.entity.NPCType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Uniform-grid spatial index over an NPC list, so systems can find the NPCs near a
+ * point without scanning every NPC in the world.
+ *
+ * <p>NPCs are bucketed by their X/Z position into {@link #CELL_SIZE}-block columns.
+ * The index is owned by {@link NPCManager}, which rebuilds it once per tick after
+ * NPCs have moved and marks it dirty whenever NPCs are spawned or removed; a dirty
+ * index (or one whose list has changed size) rebuilds itself on the next query.
+ * Positions are sampled at rebuild time, so queries widen their cell search by
+ * {@link #MOVE_SLACK} blocks to cover NPCs that have moved since, and every hit is
+ * checked against the NPC's current position.</p>
+ *
+ * <p>Queries visit NPCs in the order they appear in the indexed list, so a loop
+ * that takes the first match behaves exactly like the list scan it replaces.
+ * Queries allocate nothing and may be nested (a visitor can query the index again).
+ * Not thread-safe.</p>
+ */
+public class NPCSpatialIndex {
+
+    /** Width of a grid cell in blocks. Most proximity checks use a 2–20 block radius. */
+    public static final float CELL_SIZE = 8f;
+
+    /** How far an NPC may move between rebuilds and still be found by a query. */
+    public static final float MOVE_SLACK = 2f;
+
+    private static final float INV_CELL_SIZE = 1f / CELL_SIZE;
+
+    private final List<NPC> source;
+
+    // Snapshot of the source list at rebuild time; order index -> NPC
+    private NPC[] ordered = new NPC[64];
+    private int count;
+    // Per-NPC singly-linked list through the cell it was bucketed into
+    private int[] next = new int[64];
+
+    // Open-addressing table: packed cell key -> first NPC order index.
+    // Entries whose stamp is not the current one are empty, so a rebuild never clears.
+    private long[] cellKeys = new long[128];
+    private int[] cellHeads = new int[128];
+    private int[] cellStamps = new int[128];
+    private int cellMask = 127;
+    private int stamp;
+
+    // Occupied cell bounds, so nearest() knows when to stop widening
+    private int minCellX, maxCellX, minCellZ, maxCellZ;
+
+    // Query results; nested queries push above the enclosing query's results
+    private int[] results = new int[64];
+    private int resultTop;
+    private int queryDepth;
+
+    private boolean dirty = true;
+    private int rebuildCount;
+
+    /**
+     * @param source the live NPC list to index; it is read, never modified
+     */
+    public NPCSpatialIndex(List<NPC> source) {
+        this.source = source;
+    }
+
+    /**
+     * Whether this index covers the given list, i.e. a system was handed the same
+     * list the index was built from. Systems fall back to a list scan otherwise.
+     */
+    public boolean indexes(List<NPC> npcs) {
+        return npcs == source;
+    }
+
+    /**
+     * Mark the index stale; it will be rebuilt before the next query. Call after
+     * adding or removing NPCs.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Number of times the grid has been rebuilt. Exposed for tests.
+     */
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     * Re-bucket every NPC in the source list at its current position.
+     */
+    public void rebuild() {
+        int n = source.size();
+        if (ordered.length < n) {
+            int capacity = Math.max(n, ordered.length * 2);
+            ordered = new NPC[capacity];
+            next = new int[capacity];
+        } else if (n < count) {
+            Arrays.fill(ordered, n, count, null); // Drop references to removed NPCs
+        }
+        if (cellKeys.length < n * 2) {
+            int capacity = Integer.highestOneBit(n * 2 - 1) << 1;
+            cellKeys = new long[capacity];
+            cellHeads = new int[capacity];
+            cellStamps = new int[capacity];
+            cellMask = capacity - 1;
+            stamp = 0;
+        }
+        stamp++;
+        count = n;
+        minCellX = minCellZ = Integer.MAX_VALUE;
+        maxCellX = maxCellZ = Integer.MIN_VALUE;
+
+        // Insert in reverse so each cell's list runs in ascending order index
+        for (int i = n - 1; i >= 0; i--) {
+            NPC npc = source.get(i);
+            ordered[i] = npc;
+            Vector3 pos = npc.getPosition();
+            int cx = cellCoord(pos.x);
+            int cz = cellCoord(pos.z);
+            int slot = findSlot(cx, cz, true);
+            next[i] = cellHeads[slot];
+            cellHeads[slot] = i;
+            minCellX = Math.min(minCellX, cx);
+            maxCellX = Math.max(maxCellX, cx);
+            minCellZ = Math.min(minCellZ, cz);
+            maxCellZ = Math.max(maxCellZ, cz);
+        }
+        dirty = false;
+        rebuildCount++;
+    }
+
+    /**
+     * Visit every NPC (alive or not) within {@code radius} blocks of {@code center},
+     * in list order.
+     */
+    public void forEachWithin(Vector3 center, float radius, Consumer<NPC> action) {
+        forEachWithin(center.x, center.y, center.z, radius, action);
+    }
+
+    /**
+     * Visit every NPC (alive or not) within {@code radius} blocks of (x, y, z),
+     * in list order.
+     */
+    public void forEachWithin(float x, float y, float z, float radius, Consumer<NPC> action) {
+        int base = gather(x, y, z, radius);
+        queryDepth++;
+        try {
+            for (int i = base; i < resultTop; i++) {
+                action.accept(ordered[results[i]]);
+            }
+        } finally {
+            queryDepth--;
+            resultTop = base;
+        }
+    }
+
+    /**
+     * Replace the contents of {@code out} with every NPC (alive or not) within
+     * {@code radius} blocks of {@code center}, in list order. Lets hot callers
+     * reuse one list instead of passing a capturing lambda to
+     * {@link #forEachWithin}.
+     *
+     * @return {@code out}
+     */
+    public List<NPC> collectWithin(Vector3 center, float radius, List<NPC> out) {
+        return collectWithin(center.x, center.y, center.z, radius, out);
+    }
+
+    /**
+     * Replace the contents of {@code out} with every NPC (alive or not) within
+     * {@code radius} blocks of (x, y, z), in list order.
+     *
+     * @return {@code out}
+     */
+    public List<NPC> collectWithin(float x, float y, float z, float radius, List<NPC> out) {
+        out.clear();
+        int base = gather(x, y, z, radius);
+        for (int i = base; i < resultTop; i++) {
+            out.add(ordered[results[i]]);
+        }
+        resultTop = base;
+        return out;
+    }
+
+    /**
+     * The first NPC in list order within {@code radius} blocks of {@code center}
+     * that matches the filter, or null if there is none.
+     */
+    public NPC findFirstWithin(Vector3 center, float radius, Predicate<NPC> filter) {
+        return findFirstWithin(center.x, center.y, center.z, radius, filter);
+    }
+
+    /**
+     * The first NPC in list order within {@code radius} blocks of (x, y, z) that
+     * matches the filter, or null if there is none.
+     */
+    public NPC findFirstWithin(float x, float y, float z, float radius, Predicate<NPC> filter) {
+        int base = gather(x, y, z, radius);
+        queryDepth++;
+        try {
+            for (int i = base; i < resultTop; i++) {
+                NPC npc = ordered[results[i]];
+                if (filter.test(npc)) {
+                    return npc;
+                }
+            }
+            return null;
+        } finally {
+            queryDepth--;
+            resultTop = base;
+        }
+    }
+
+    /**
+     * The living NPC of the given type closest to {@code center}, or null if there
+     * is none. Ties go to the NPC earliest in the list.
+     *
+     * @param type the NPC type to look for, or null for any type
+     */
+    public NPC nearest(NPCType type, Vector3 center) {
+        return nearest(type, center, Float.MAX_VALUE);
+    }
+
+    /**
+     * The living NPC of the given type closest to {@code center} and no further than
+     * {@code maxRadius} blocks away, or null if there is none. Ties go to the NPC
+     * earliest in the list.
+     *
+     * @param type the NPC type to look for, or null for any type
+     */
+    public NPC nearest(NPCType type, Vector3 center, float maxRadius) {
+        refresh();
+        if (count == 0) {
+            return null;
+        }
+        int ccx = cellCoord(center.x);
+        int ccz = cellCoord(center.z);
+        int maxRing = Math.max(
+            Math.max(Math.abs(ccx - minCellX), Math.abs(maxCellX - ccx)),
+            Math.max(Math.abs(ccz - minCellZ), Math.abs(maxCellZ - ccz))) + 1;
+
+        int best = -1;
+        float bestDist2 = maxRadius == Float.MAX_VALUE ? Float.MAX_VALUE : maxRadius * maxRadius;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Everything beyond this ring was at least ring - 1 cells away at rebuild time
+            float reach = (ring - 1) * CELL_SIZE - MOVE_SLACK;
+            if (reach > 0 && reach * reach > bestDist2) {
+                break;
+            }
+            for (int cx = ccx - ring; cx <= ccx + ring; cx++) {
+                boolean edgeColumn = cx == ccx - ring || cx == ccx + ring;
+                int step = edgeColumn ? 1 : 2 * ring; // Interior columns: top and bottom cells only
+                for (int cz = ccz - ring; cz <= ccz + ring; cz += step) {
+                    int slot = findSlot(cx, cz, false);
+                    if (slot < 0) {
+                        continue;
+                    }
+                    for (int i = cellHeads[slot]; i >= 0; i = next[i]) {
+                        NPC npc = ordered[i];
+                        if (!npc.isAlive() || (type != null && npc.getType() != type)) {
+                            continue;
+                        }
+                        float d2 = npc.getPosition().dst2(center);
+                        if (d2 < bestDist2 || (d2 == bestDist2 && (best < 0 || i < best))) {
+                            best = i;
+                            bestDist2 = d2;
+                        }
+                    }
+                }
+            }
+        }
+        return best >= 0 ? ordered[best] : null;
+    }
+
+    /**
+     * Collect the order indices of NPCs within radius onto the result stack, sorted
+     * ascending, and return the stack position they start at.
+     */
+    private int gather(float x, float y, float z, float radius) {
+        refresh();
+        int base = resultTop;
+        float r2 = radius * radius;
+        float reach = radius + MOVE_SLACK;
+        int minCx = cellCoord(x - reach);
+        int maxCx = cellCoord(x + reach);
+        int minCz = cellCoord(z - reach);
+        int maxCz = cellCoord(z + reach);
+
+        long cells = ((long) maxCx - minCx + 1) * ((long) maxCz - minCz + 1);
+        if (cells > count) {
+            // Wide query: a straight scan is cheaper than probing mostly-empty cells
+            for (int i = 0; i < count; i++) {
+                if (ordered[i].getPosition().dst2(x, y, z) <= r2) {
+                    push(i);
+                }
+            }
+            return base;
+        }
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                int slot = findSlot(cx, cz, false);
+                if (slot < 0) {
+                    continue;
+                }
+                for (int i = cellHeads[slot]; i >= 0; i = next[i]) {
+                    if (ordered[i].getPosition().dst2(x, y, z) <= r2) {
+                        push(i);
+                    }
+                }
+            }
+        }
+        if (resultTop - base > 1) {
+            Arrays.sort(results, base, resultTop);
+        }
+        return base;
+    }
+
+    private void push(int orderIndex) {
+        if (resultTop == results.length) {
+            results = Arrays.copyOf(results, results.length * 2);
+        }
+        results[resultTop++] = orderIndex;
+    }
+
+    private void refresh() {
+        // Never rebuild underneath an in-progress query; it finishes on the old grid
+        if (queryDepth == 0 && (dirty || count != source.size())) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Find the table slot for a cell. With {@code create}, claims an empty slot
+     * (head -1) for a missing cell; otherwise returns -1 when the cell is empty.
+     */
+    private int findSlot(int cx, int cz, boolean create) {
+        long key = ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+        long h = key * 0x9E3779B97F4A7C15L;
+        int i = (int) (h ^ (h >>> 32)) & cellMask;
+        while (cellStamps[i] == stamp) {
+            if (cellKeys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & cellMask;
+        }
+        if (!create) {
+            return -1;
+        }
+        cellStamps[i] = stamp;
+        cellKeys[i] = key;
+        cellHeads[i] = -1;
+        return i;
+    }
+
+    private static int cellCoord(float v) {
+        return (int) Math.floor(v * INV_CELL_SIZE);
+    }
+}
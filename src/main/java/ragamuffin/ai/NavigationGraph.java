@@ -0,0 +1,661 @@
+package ragamuffin.ai;
+
+import com.badlogic.gdx.math.Vector3;
+import ragamuffin.world.Chunk;
+import ragamuffin.world.ChunkMap;
+import ragamuffin.world.ChunkPos;
+import ragamuffin.world.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical (HPA*) navigation for long NPC trips across town.
+ *
+ * <p>The world is split into clusters, one per chunk column (16x16 blocks, all
+ * heights). Where NPCs can step straight across a cluster border, each contiguous
+ * run of crossable cells becomes an entrance with a portal node on either side at
+ * its midpoint. Within a cluster portal nodes are joined by the cheapest path that
+ * stays inside the cluster, found with bounded A* the first time a search needs
+ * that edge and then cached (cells and cost). A long query searches this small
+ * abstract graph and then stitches the cached intra-cluster paths together, so
+ * only the first and last clusters — where the NPC and the target actually are —
+ * need a fresh local search.</p>
+ *
+ * <p>Clusters are built lazily the first time a search touches them and rebuilt
+ * when {@link World#setBlock} edits their column or a bordering one, detected via
+ * {@link World#getColumnRevision}. Edits elsewhere in town cost nothing until a
+ * route passes through the edited area.</p>
+ *
+ * <p>A query stops after expanding {@link #MAX_EXPANSIONS} portals, or after
+ * {@link #MAX_EDGE_FLOODS} first-use edge floods on a cold graph, returning the
+ * best route found by then, if any. Failed routes are remembered per (start
+ * cluster, end cluster) pair for {@link #FAILED_ROUTE_TTL_NANOS}, or until the
+ * next block edit, so NPCs re-planning towards a walled-in target don't pay for
+ * the search every tick.</p>
+ *
+ * <p>Short trips (within {@link #LOCAL_SEARCH_RANGE} blocks) are handed to the
+ * flat {@link Pathfinder} first, which returns the same paths as before. Not
+ * thread-safe.</p>
+ */
+public class NavigationGraph {
+
+    /** Trips with an XZ Manhattan distance up to this many blocks use the flat Pathfinder. */
+    public static final int LOCAL_SEARCH_RANGE = 32;
+
+    private static final int CLUSTER_SIZE = Chunk.SIZE;
+    // Walkable feet positions covered by the graph: the sewer layer (chunk Y -1) and street level (chunk Y 0)
+    private static final int MIN_Y = -Chunk.HEIGHT + 1;
+    private static final int MAX_Y = Chunk.HEIGHT - 1;
+    // Node indices share the Y slot of a ChunkPos key, so keep them small
+    private static final int MAX_CLUSTER_NODES = 64;
+    private static final int MAX_ABSTRACT_NODES = 4096;
+    /** Portal expansions one abstract search may make before settling for what it found. */
+    static final int MAX_EXPANSIONS = 1536;
+    /**
+     * First-use edge floods (bounded A* inside a cluster) one abstract search may
+     * run. Only a cold graph needs them; a search cut short by this limit returns
+     * what it found so far, and a retry finds the edges it did flood cached.
+     */
+    static final int MAX_EDGE_FLOODS = 384;
+    /** How long a failed cluster-to-cluster route is remembered. */
+    static final long FAILED_ROUTE_TTL_NANOS = 2_000_000_000L;
+    // Direct-mapped, so a colliding failure simply replaces the older one
+    private static final int FAILED_ROUTE_SLOTS = 64;
+
+    // Border directions: west (-X), east (+X), north (-Z), south (+Z)
+    private static final int[] BORDER_DX = {-1, 1, 0, 0};
+    private static final int[] BORDER_DZ = {0, 0, -1, 1};
+
+    private final Pathfinder pathfinder;
+    private final ChunkMap<Cluster> clusters = new ChunkMap<>(1024);
+    private final AbstractSearch search = new AbstractSearch();
+    private World boundWorld;
+    private int clusterBuilds;
+    private int abstractSearches;
+
+    // Recently failed routes: start and end cluster keys, world revision, expiry
+    private final long[] failedStart = new long[FAILED_ROUTE_SLOTS];
+    private final long[] failedEnd = new long[FAILED_ROUTE_SLOTS];
+    private final long[] failedRevision = new long[FAILED_ROUTE_SLOTS];
+    private final long[] failedUntil = new long[FAILED_ROUTE_SLOTS];
+
+    public NavigationGraph(Pathfinder pathfinder) {
+        this.pathfinder = pathfinder;
+        clearFailedRoutes();
+    }
+
+    /**
+     * Find a path from start to end. Trips within {@link #LOCAL_SEARCH_RANGE} go
+     * to the flat Pathfinder first; longer ones, and short ones the flat search
+     * cannot solve, are routed over the cluster graph.
+     * Returns a list of Vector3 waypoints (block centres), or null if no path found.
+     */
+    public List<Vector3> findPath(World world, Vector3 start, Vector3 end) {
+        int startX = (int) Math.floor(start.x);
+        int startY = (int) Math.floor(start.y);
+        int startZ = (int) Math.floor(start.z);
+        int endX = (int) Math.floor(end.x);
+        int endY = (int) Math.floor(end.y);
+        int endZ = (int) Math.floor(end.z);
+
+        int startClusterX = Math.floorDiv(startX, CLUSTER_SIZE);
+        int startClusterZ = Math.floorDiv(startZ, CLUSTER_SIZE);
+        int endClusterX = Math.floorDiv(endX, CLUSTER_SIZE);
+        int endClusterZ = Math.floorDiv(endZ, CLUSTER_SIZE);
+
+        boolean sameCluster = startClusterX == endClusterX && startClusterZ == endClusterZ;
+        if (sameCluster || Math.abs(endX - startX) + Math.abs(endZ - startZ) <= LOCAL_SEARCH_RANGE) {
+            List<Vector3> path = pathfinder.findPath(world, start, end);
+            if (path != null || sameCluster) {
+                return path;
+            }
+            // Close by but the way round is long (e.g. the far side of a long wall)
+        }
+
+        if (!Pathfinder.isWalkable(world, startX, startY, startZ)
+                || !Pathfinder.isWalkable(world, endX, endY, endZ)) {
+            return null;
+        }
+
+        bindWorld(world);
+        long startKey = ChunkPos.pack(startClusterX, 0, startClusterZ);
+        long endKey = ChunkPos.pack(endClusterX, 0, endClusterZ);
+        int failedSlot = failedSlot(startKey, endKey);
+        long now = System.nanoTime();
+        if (failedStart[failedSlot] == startKey && failedEnd[failedSlot] == endKey
+                && failedRevision[failedSlot] == world.getBlockRevision() && now - failedUntil[failedSlot] < 0) {
+            return null;
+        }
+
+        abstractSearches++;
+        Cluster startCluster = getCluster(world, startClusterX, startClusterZ);
+        Cluster endCluster = getCluster(world, endClusterX, endClusterZ);
+        List<Vector3> path = search.run(world, startCluster, startX, startY, startZ, endCluster, endX, endY, endZ);
+        if (path == null) {
+            failedStart[failedSlot] = startKey;
+            failedEnd[failedSlot] = endKey;
+            failedRevision[failedSlot] = world.getBlockRevision();
+            failedUntil[failedSlot] = now + FAILED_ROUTE_TTL_NANOS;
+        }
+        return path;
+    }
+
+    private static int failedSlot(long startKey, long endKey) {
+        long h = (startKey * 31 + endKey) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 58); // Top 6 bits: FAILED_ROUTE_SLOTS
+    }
+
+    /**
+     * Number of cluster (re)builds so far. Exposed for tests and diagnostics.
+     */
+    public int getClusterBuildCount() {
+        return clusterBuilds;
+    }
+
+    /**
+     * Number of searches run over the cluster graph so far, not counting queries
+     * answered from the failed-route cache. Exposed for tests and diagnostics.
+     */
+    public int getAbstractSearchCount() {
+        return abstractSearches;
+    }
+
+    /**
+     * Drop every cached cluster and failed route.
+     */
+    public void clear() {
+        clusters.clear();
+        clearFailedRoutes();
+        boundWorld = null;
+    }
+
+    private void bindWorld(World world) {
+        if (boundWorld != world) {
+            clusters.clear();
+            clearFailedRoutes();
+            boundWorld = world;
+        }
+    }
+
+    private void clearFailedRoutes() {
+        Arrays.fill(failedRevision, -1L); // World revisions are never negative
+    }
+
+    /**
+     * Return the cluster for a chunk column, building or rebuilding it if its
+     * column or any bordering column has been edited since it was built.
+     */
+    private Cluster getCluster(World world, int clusterX, int clusterZ) {
+        long key = ChunkPos.pack(clusterX, 0, clusterZ);
+        Cluster cluster = clusters.get(key);
+        if (cluster != null && cluster.isCurrent(world)) {
+            return cluster;
+        }
+        cluster = new Cluster(clusterX, clusterZ);
+        cluster.build(world);
+        clusters.put(key, cluster);
+        clusterBuilds++;
+        return cluster;
+    }
+
+    private static float pathCost(int[] cells) {
+        float cost = 0;
+        for (int i = 3; i < cells.length; i += 3) {
+            boolean diagonal = cells[i] != cells[i - 3] && cells[i + 2] != cells[i - 1];
+            cost += diagonal ? Pathfinder.DIAGONAL_COST : Pathfinder.STRAIGHT_COST;
+        }
+        return cost;
+    }
+
+    /** A path of x,y,z triples in the opposite direction. */
+    private static int[] reversed(int[] cells) {
+        int[] out = new int[cells.length];
+        for (int i = 0; i < cells.length; i += 3) {
+            int j = cells.length - 3 - i;
+            out[j] = cells[i];
+            out[j + 1] = cells[i + 1];
+            out[j + 2] = cells[i + 2];
+        }
+        return out;
+    }
+
+    /**
+     * The cell the flat Pathfinder would step to from (x, y, z) one block along
+     * (dx, dz): same level, else one up, else one down. Returns the Y, or
+     * Integer.MIN_VALUE if the step is blocked.
+     */
+    private static int stepY(World world, int x, int y, int z, int dx, int dz) {
+        int nx = x + dx;
+        int nz = z + dz;
+        if (Pathfinder.isWalkable(world, nx, y, nz)) {
+            return y;
+        } else if (Pathfinder.isWalkable(world, nx, y + 1, nz)) {
+            return y + 1;
+        } else if (Pathfinder.isWalkable(world, nx, y - 1, nz)) {
+            return y - 1;
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * One chunk column of the abstract graph: its portal nodes, the cell each
+     * portal steps across to, and cached paths between pairs of portals.
+     */
+    private static final class Cluster {
+        final int clusterX, clusterZ;
+        // Column revisions this cluster was built from: own column, then each border neighbour
+        final long[] revisions = new long[1 + BORDER_DX.length];
+
+        int nodeCount;
+        final int[] nodeX = new int[MAX_CLUSTER_NODES];
+        final int[] nodeY = new int[MAX_CLUSTER_NODES];
+        final int[] nodeZ = new int[MAX_CLUSTER_NODES];
+        final int[] partnerY = new int[MAX_CLUSTER_NODES];
+        final int[] border = new int[MAX_CLUSTER_NODES]; // Index into BORDER_DX/DZ
+        float[] cost;  // nodeCount x nodeCount; NaN until computed, +Inf when unreachable in the cluster
+        int[][] paths; // x,y,z triples from node i to node j for i < j; null when unreachable
+
+        Cluster(int clusterX, int clusterZ) {
+            this.clusterX = clusterX;
+            this.clusterZ = clusterZ;
+        }
+
+        boolean isCurrent(World world) {
+            if (revisions[0] != world.getColumnRevision(clusterX, clusterZ)) {
+                return false;
+            }
+            for (int b = 0; b < BORDER_DX.length; b++) {
+                if (revisions[b + 1] != world.getColumnRevision(clusterX + BORDER_DX[b], clusterZ + BORDER_DZ[b])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void build(World world) {
+            revisions[0] = world.getColumnRevision(clusterX, clusterZ);
+            for (int b = 0; b < BORDER_DX.length; b++) {
+                revisions[b + 1] = world.getColumnRevision(clusterX + BORDER_DX[b], clusterZ + BORDER_DZ[b]);
+            }
+
+            for (int b = 0; b < BORDER_DX.length; b++) {
+                scanBorder(world, b);
+            }
+
+            cost = new float[nodeCount * nodeCount];
+            Arrays.fill(cost, Float.NaN);
+            paths = new int[nodeCount * nodeCount][];
+        }
+
+        /** Whether {@link #edgeCost} would flood from portal i to fill in missing edges. */
+        boolean hasUnknownEdges(int i) {
+            for (int k = 0; k < nodeCount; k++) {
+                float c = cost[i * nodeCount + k];
+                if (k != i && c != c) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Cost of the cheapest in-cluster path between two portals, or +Inf if there
+         * is none. The first time any edge of portal i is needed, one bounded
+         * flood from i fills in (and caches) all of its still-unknown edges.
+         */
+        float edgeCost(World world, Pathfinder pathfinder, int i, int j) {
+            float c = cost[i * nodeCount + j];
+            if (c == c) { // Not NaN: already computed
+                return c;
+            }
+            int minX = clusterX * CLUSTER_SIZE;
+            int minZ = clusterZ * CLUSTER_SIZE;
+            int[][] found = pathfinder.findBoundedPaths(world, nodeX[i], nodeY[i], nodeZ[i],
+                nodeX, nodeY, nodeZ, nodeCount, minX, minZ, minX + CLUSTER_SIZE - 1, minZ + CLUSTER_SIZE - 1);
+            for (int k = 0; k < nodeCount; k++) {
+                if (k == i || cost[i * nodeCount + k] == cost[i * nodeCount + k]) {
+                    continue;
+                }
+                int[] cells = found[k];
+                float edge = cells != null ? pathCost(cells) : Float.POSITIVE_INFINITY;
+                cost[i * nodeCount + k] = edge;
+                cost[k * nodeCount + i] = edge;
+                // Stored from the lower index to the higher
+                paths[Math.min(i, k) * nodeCount + Math.max(i, k)] = i < k || cells == null ? cells : reversed(cells);
+            }
+            return cost[i * nodeCount + j];
+        }
+
+        /**
+         * Find the entrances on one border and add a portal node at the middle of
+         * each. A border cell is an entrance cell when the flat Pathfinder would
+         * step across in both directions; runs are split by height so a run is
+         * one walkway. Scanning always runs from the west/north side of the border,
+         * so both clusters that share it agree on where the portals are.
+         */
+        private void scanBorder(World world, int b) {
+            int dx = BORDER_DX[b];
+            int dz = BORDER_DZ[b];
+            boolean ownSideFirst = dx > 0 || dz > 0; // Are we the west/north side?
+            // First cell of the scan line on the west/north side of the border
+            int baseX = clusterX * CLUSTER_SIZE + (dx > 0 ? CLUSTER_SIZE - 1 : dx < 0 ? -1 : 0);
+            int baseZ = clusterZ * CLUSTER_SIZE + (dz > 0 ? CLUSTER_SIZE - 1 : dz < 0 ? -1 : 0);
+            int stepX = dx == 0 ? 1 : 0;
+            int stepZ = dz == 0 ? 1 : 0;
+            int crossX = Math.abs(dx);
+            int crossZ = Math.abs(dz);
+
+            for (int y = MIN_Y; y <= MAX_Y; y++) {
+                int runStart = -1;
+                for (int i = 0; i <= CLUSTER_SIZE; i++) {
+                    boolean open = i < CLUSTER_SIZE
+                        && crossingY(world, baseX + i * stepX, y, baseZ + i * stepZ, crossX, crossZ) != Integer.MIN_VALUE;
+                    if (open && runStart < 0) {
+                        runStart = i;
+                    } else if (!open && runStart >= 0) {
+                        int mid = (runStart + i - 1) / 2;
+                        int ax = baseX + mid * stepX;
+                        int az = baseZ + mid * stepZ;
+                        int by = crossingY(world, ax, y, az, crossX, crossZ);
+                        if (ownSideFirst) {
+                            addNode(ax, y, az, by, b);
+                        } else {
+                            addNode(ax + crossX, by, az + crossZ, y, b);
+                        }
+                        runStart = -1;
+                    }
+                }
+            }
+        }
+
+        /** Y of the cell across the border from (x, y, z), if the step works both ways. */
+        private static int crossingY(World world, int x, int y, int z, int crossX, int crossZ) {
+            if (!Pathfinder.isWalkable(world, x, y, z)) {
+                return Integer.MIN_VALUE;
+            }
+            int by = stepY(world, x, y, z, crossX, crossZ);
+            if (by == Integer.MIN_VALUE || stepY(world, x + crossX, by, z + crossZ, -crossX, -crossZ) != y) {
+                return Integer.MIN_VALUE;
+            }
+            return by;
+        }
+
+        private void addNode(int x, int y, int z, int acrossY, int b) {
+            if (nodeCount == MAX_CLUSTER_NODES) {
+                return; // Pathological multi-storey border; extra entrances are ignored
+            }
+            nodeX[nodeCount] = x;
+            nodeY[nodeCount] = y;
+            nodeZ[nodeCount] = z;
+            partnerY[nodeCount] = acrossY;
+            border[nodeCount] = b;
+            nodeCount++;
+        }
+
+        /** Index of the portal at (x, y, z) on border b, or -1. */
+        int findNode(int x, int y, int z, int b) {
+            for (int i = 0; i < nodeCount; i++) {
+                if (border[i] == b && nodeX[i] == x && nodeY[i] == y && nodeZ[i] == z) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /** Append the cached path from node i to node j (excluding node i's cell); the edge must be computed. */
+        void appendPath(int i, int j, List<Vector3> out) {
+            if (i == j) {
+                return;
+            }
+            int[] cells = i < j ? paths[i * nodeCount + j] : paths[j * nodeCount + i];
+            int count = cells.length / 3;
+            for (int k = 1; k < count; k++) {
+                int c = (i < j ? k : count - 1 - k) * 3;
+                out.add(new Vector3(cells[c] + 0.5f, cells[c + 1], cells[c + 2] + 0.5f));
+            }
+        }
+    }
+
+    /**
+     * A* over portal nodes, with the start and end positions joined to the
+     * portals of their clusters by bounded local searches. Reused across queries.
+     */
+    private final class AbstractSearch {
+        private static final int CLOSED = -1;
+        // Twice MAX_ABSTRACT_NODES, so the id table is at most half full
+        private static final int TABLE_BITS = 13;
+        private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+
+        final Cluster[] cluster = new Cluster[MAX_ABSTRACT_NODES];
+        final int[] index = new int[MAX_ABSTRACT_NODES];
+        final float[] g = new float[MAX_ABSTRACT_NODES];
+        final float[] f = new float[MAX_ABSTRACT_NODES];
+        final int[] parent = new int[MAX_ABSTRACT_NODES];
+        final int[] heapIndex = new int[MAX_ABSTRACT_NODES];
+        final int[] heap = new int[MAX_ABSTRACT_NODES];
+        int nodeCount;
+        int heapSize;
+        // Search node id per (cluster, portal) key; slots are stamped with the query
+        // generation, so only this query's entries count and clearing is O(1)
+        private final long[] slotKey = new long[1 << TABLE_BITS];
+        private final int[] slotNode = new int[1 << TABLE_BITS];
+        private final int[] slotStamp = new int[1 << TABLE_BITS];
+        private int generation;
+
+        // Local legs: start -> each start-cluster portal, end -> each end-cluster portal
+        int[][] startLegs;
+        int[][] endLegs;
+        final float[] endCost = new float[MAX_CLUSTER_NODES];
+
+        List<Vector3> run(World world, Cluster startCluster, int sx, int sy, int sz,
+                          Cluster endCluster, int ex, int ey, int ez) {
+            nodeCount = 0;
+            heapSize = 0;
+            if (++generation == 0) {
+                // Stamp wrapped — old stamps could now look current
+                Arrays.fill(slotStamp, 0);
+                generation = 1;
+            }
+
+            // Legs run from the end outwards and are reversed when the route is built
+            int endMinX = endCluster.clusterX * CLUSTER_SIZE;
+            int endMinZ = endCluster.clusterZ * CLUSTER_SIZE;
+            endLegs = pathfinder.findBoundedPaths(world, ex, ey, ez,
+                endCluster.nodeX, endCluster.nodeY, endCluster.nodeZ, endCluster.nodeCount,
+                endMinX, endMinZ, endMinX + CLUSTER_SIZE - 1, endMinZ + CLUSTER_SIZE - 1);
+            boolean anyEnd = false;
+            for (int j = 0; j < endCluster.nodeCount; j++) {
+                endCost[j] = endLegs[j] != null ? pathCost(endLegs[j]) : Float.POSITIVE_INFINITY;
+                anyEnd |= endLegs[j] != null;
+            }
+            if (!anyEnd) {
+                return null;
+            }
+
+            int startMinX = startCluster.clusterX * CLUSTER_SIZE;
+            int startMinZ = startCluster.clusterZ * CLUSTER_SIZE;
+            startLegs = pathfinder.findBoundedPaths(world, sx, sy, sz,
+                startCluster.nodeX, startCluster.nodeY, startCluster.nodeZ, startCluster.nodeCount,
+                startMinX, startMinZ, startMinX + CLUSTER_SIZE - 1, startMinZ + CLUSTER_SIZE - 1);
+            for (int i = 0; i < startCluster.nodeCount; i++) {
+                if (startLegs[i] != null && !relax(startCluster, i, pathCost(startLegs[i]), -1, ex, ez)) {
+                    return null;
+                }
+            }
+
+            float bestCost = Float.POSITIVE_INFINITY;
+            int bestNode = -1;
+            int expansions = 0;
+            int floods = 0;
+            while (heapSize > 0) {
+                if (++expansions > MAX_EXPANSIONS) {
+                    break; // Too far round, or unreachable: settle for what we have rather than stall the tick
+                }
+                int n = poll();
+                if (f[n] >= bestCost) {
+                    break; // Nothing left in the open set can beat the route found
+                }
+                heapIndex[n] = CLOSED;
+                Cluster c = cluster[n];
+                int i = index[n];
+                if (c.hasUnknownEdges(i) && ++floods > MAX_EDGE_FLOODS) {
+                    break;
+                }
+
+                if (c == endCluster && endCost[i] < Float.POSITIVE_INFINITY && g[n] + endCost[i] < bestCost) {
+                    bestCost = g[n] + endCost[i];
+                    bestNode = n;
+                }
+
+                // Intra-cluster edges (cached after first use)
+                for (int j = 0; j < c.nodeCount; j++) {
+                    if (j == i) {
+                        continue;
+                    }
+                    float edge = c.edgeCost(world, pathfinder, i, j);
+                    if (edge < Float.POSITIVE_INFINITY) {
+                        if (!relax(c, j, g[n] + edge, n, ex, ez)) {
+                            return null;
+                        }
+                    }
+                }
+
+                // Inter-cluster edge: step across the border to the matching portal
+                int b = c.border[i];
+                Cluster across = getCluster(world, c.clusterX + BORDER_DX[b], c.clusterZ + BORDER_DZ[b]);
+                int j = across.findNode(c.nodeX[i] + BORDER_DX[b], c.partnerY[i], c.nodeZ[i] + BORDER_DZ[b], b ^ 1);
+                if (j >= 0 && !relax(across, j, g[n] + Pathfinder.STRAIGHT_COST, n, ex, ez)) {
+                    return null;
+                }
+            }
+            return bestNode >= 0 ? buildPath(bestNode, sx, sy, sz) : null;
+        }
+
+        /**
+         * Offer a cheaper route to a portal. Returns false if the search ran out of
+         * node slots.
+         */
+        private boolean relax(Cluster c, int i, float cost, int from, int ex, int ez) {
+            long key = ChunkPos.pack(c.clusterX, i, c.clusterZ); // Portal index in the Y slot
+            int slot = slot(key);
+            int n = -1;
+            while (slotStamp[slot] == generation) {
+                if (slotKey[slot] == key) {
+                    n = slotNode[slot];
+                    break;
+                }
+                slot = (slot + 1) & TABLE_MASK;
+            }
+            if (n < 0) {
+                if (nodeCount == MAX_ABSTRACT_NODES) {
+                    return false;
+                }
+                n = nodeCount++;
+                slotKey[slot] = key;
+                slotNode[slot] = n;
+                slotStamp[slot] = generation;
+                cluster[n] = c;
+                index[n] = i;
+                g[n] = cost;
+                parent[n] = from;
+                f[n] = cost + heuristic(c.nodeX[i], c.nodeZ[i], ex, ez);
+                siftUp(heapSize++, n);
+            } else if (heapIndex[n] != CLOSED && cost < g[n]) {
+                f[n] += cost - g[n];
+                g[n] = cost;
+                parent[n] = from;
+                siftUp(heapIndex[n], n);
+            }
+            return true;
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> (64 - TABLE_BITS));
+        }
+
+        private float heuristic(int x, int z, int ex, int ez) {
+            int dx = ex - x;
+            int dz = ez - z;
+            return (float) Math.sqrt(dx * dx + dz * dz);
+        }
+
+        private List<Vector3> buildPath(int last, int sx, int sy, int sz) {
+            // Walk parents back to the first portal, recording the route in heap[] (free now)
+            int length = 0;
+            for (int n = last; n >= 0; n = parent[n]) {
+                heap[length++] = n;
+            }
+
+            List<Vector3> path = new ArrayList<>();
+            path.add(new Vector3(sx + 0.5f, sy, sz + 0.5f));
+            int first = heap[length - 1];
+            appendCells(startLegs[index[first]], path);
+            for (int k = length - 1; k > 0; k--) {
+                int from = heap[k];
+                int to = heap[k - 1];
+                if (cluster[from] == cluster[to]) {
+                    cluster[from].appendPath(index[from], index[to], path);
+                } else {
+                    Cluster c = cluster[to];
+                    path.add(new Vector3(c.nodeX[index[to]] + 0.5f, c.nodeY[index[to]], c.nodeZ[index[to]] + 0.5f));
+                }
+            }
+            appendCells(reversed(endLegs[index[last]]), path);
+            return path;
+        }
+
+        /** Append cells (x,y,z triples) to the path, skipping the first, which is already there. */
+        private void appendCells(int[] cells, List<Vector3> out) {
+            for (int c = 3; c < cells.length; c += 3) {
+                out.add(new Vector3(cells[c] + 0.5f, cells[c + 1], cells[c + 2] + 0.5f));
+            }
+        }
+
+        private int poll() {
+            int result = heap[0];
+            int last = heap[--heapSize];
+            if (heapSize > 0) {
+                siftDown(0, last);
+            }
+            return result;
+        }
+
+        private void siftUp(int k, int node) {
+            while (k > 0) {
+                int p = (k - 1) >>> 1;
+                int e = heap[p];
+                if (f[node] >= f[e]) {
+                    break;
+                }
+                heap[k] = e;
+                heapIndex[e] = k;
+                k = p;
+            }
+            heap[k] = node;
+            heapIndex[node] = k;
+        }
+
+        private void siftDown(int k, int node) {
+            int half = heapSize >>> 1;
+            while (k < half) {
+                int child = (k << 1) + 1;
+                int c = heap[child];
+                int right = child + 1;
+                if (right < heapSize && f[c] > f[heap[right]]) {
+                    c = heap[child = right];
+                }
+                if (f[node] <= f[c]) {
+                    break;
+                }
+                heap[k] = c;
+                heapIndex[c] = k;
+                k = child;
+            }
+            heap[k] = node;
+            heapIndex[node] = k;
+        }
+    }
+}
@@ -9,12 +9,26 @@ import java.util.*;
 /**
  * A* pathfinding on the 3D voxel grid.
  * Finds paths for NPCs to navigate around obstacles in the block world.
+ *
+ * <p>The search runs entirely in a reusable per-thread {@link SearchWorkspace}:
+ * no node objects, boxed keys or collections are allocated per query — only
+ * the returned waypoint list.</p>
  */
 public class Pathfinder {
 
     private static final int MAX_SEARCH_NODES = 2000; // Allow larger search area for buildings
-    private static final float DIAGONAL_COST = 1.414f;
-    private static final float STRAIGHT_COST = 1.0f;
+    static final float DIAGONAL_COST = 1.414f;
+    static final float STRAIGHT_COST = 1.0f;
+
+    // 8 horizontal directions: N, S, E, W, NE, NW, SE, SW
+    private static final int[] DIR_X = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final int[] DIR_Z = {1, -1, 0, 0, 1, 1, -1, -1};
+
+    private static final int CLOSED = -1;
+
+    // Search state is reused across queries; one workspace per thread so
+    // pathfinding stays safe if it is ever moved off the main thread
+    private static final ThreadLocal<SearchWorkspace> WORKSPACE = ThreadLocal.withInitial(SearchWorkspace::new);
 
     /**
      * Find a path from start to end position in the world.
@@ -54,72 +68,154 @@ public class Pathfinder {
         }
 
         // A* search
-        PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.f));
-        Map<String, Node> allNodes = new HashMap<>();
+        SearchWorkspace ws = WORKSPACE.get();
+        int goal = search(world, ws, startX, startY, startZ, endX, endY, endZ,
+            Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+        return goal >= 0 ? reconstructPath(ws, goal) : null;
+    }
 
-        Node startNode = new Node(startX, startY, startZ);
-        startNode.g = 0;
-        startNode.h = heuristic(startX, startY, startZ, endX, endY, endZ);
-        startNode.f = startNode.h;
+    /**
+     * Paths from one start cell to several targets without leaving the XZ
+     * rectangle [minX, maxX] x [minZ, maxZ]: a single uniform-cost flood from the
+     * start instead of one A* per target. Used by {@link NavigationGraph} to plan
+     * inside a single cluster. Skips the line-of-sight shortcut.
+     *
+     * @return one path per target as x,y,z triples from start to target
+     *         inclusive, null where the target was not reached
+     */
+    int[][] findBoundedPaths(World world, int startX, int startY, int startZ,
+                             int[] targetX, int[] targetY, int[] targetZ, int targetCount,
+                             int minX, int minZ, int maxX, int maxZ) {
+        int[][] paths = new int[targetCount][];
+        if (!isWalkable(world, startX, startY, startZ)) {
+            return paths;
+        }
+        SearchWorkspace ws = WORKSPACE.get();
+        search(world, ws, startX, startY, startZ, 0, 0, 0, minX, minZ, maxX, maxZ, true);
+        for (int t = 0; t < targetCount; t++) {
+            int key = ws.pack(targetX[t], targetY[t], targetZ[t]);
+            int node = key == SearchWorkspace.OUT_OF_RANGE ? -1 : ws.find(key);
+            if (node >= 0) {
+                paths[t] = cellsTo(ws, node);
+            }
+        }
+        return paths;
+    }
 
-        openSet.add(startNode);
-        allNodes.put(startNode.key(), startNode);
+    /** The path from the search start to a node, as x,y,z triples. */
+    private static int[] cellsTo(SearchWorkspace ws, int goal) {
+        int length = 0;
+        for (int node = goal; node >= 0; node = ws.parent[node]) {
+            length++;
+        }
+        int[] cells = new int[length * 3];
+        int i = cells.length;
+        for (int node = goal; node >= 0; node = ws.parent[node]) {
+            cells[--i] = ws.nodeZ[node];
+            cells[--i] = ws.nodeY[node];
+            cells[--i] = ws.nodeX[node];
+        }
+        return cells;
+    }
+
+    /**
+     * Core A* loop. Returns the goal's node id in the workspace, or -1 if the
+     * goal was not reached within MAX_SEARCH_NODES expansions. With {@code flood}
+     * set there is no goal and no heuristic: the search expands uniformly until
+     * the bounds or node budget are exhausted, leaving every reached cell's
+     * cheapest-known path in the workspace.
+     */
+    private int search(World world, SearchWorkspace ws, int startX, int startY, int startZ,
+                       int endX, int endY, int endZ, int minX, int minZ, int maxX, int maxZ, boolean flood) {
+        ws.reset(startX, startY, startZ);
+
+        int startNode = ws.addNode(startX, startY, startZ);
+        ws.g[startNode] = 0;
+        ws.h[startNode] = flood ? 0 : heuristic(startX, startY, startZ, endX, endY, endZ);
+        ws.f[startNode] = ws.h[startNode];
+        ws.parent[startNode] = -1;
+        ws.push(startNode);
 
-        Set<String> closedSet = new HashSet<>();
         int nodesExplored = 0;
 
-        while (!openSet.isEmpty() && nodesExplored < MAX_SEARCH_NODES) {
-            Node current = openSet.poll();
+        while (ws.heapSize > 0 && nodesExplored < MAX_SEARCH_NODES) {
+            int current = ws.poll();
             nodesExplored++;
 
+            int cx = ws.nodeX[current];
+            int cy = ws.nodeY[current];
+            int cz = ws.nodeZ[current];
+
             // Check if we reached the goal
-            if (current.x == endX && current.y == endY && current.z == endZ) {
-                return reconstructPath(current);
+            if (!flood && cx == endX && cy == endY && cz == endZ) {
+                return current;
             }
 
-            closedSet.add(current.key());
+            ws.heapIndex[current] = CLOSED;
 
             // Explore neighbors
-            for (Node neighbor : getNeighbors(world, current)) {
-                if (closedSet.contains(neighbor.key())) {
+            for (int d = 0; d < DIR_X.length; d++) {
+                int nx = cx + DIR_X[d];
+                int nz = cz + DIR_Z[d];
+                int ny;
+                if (nx < minX || nx > maxX || nz < minZ || nz > maxZ) {
+                    continue;
+                }
+
+                // Same level, else one level up (climbing), else one level down (descending)
+                if (isWalkable(world, nx, cy, nz)) {
+                    ny = cy;
+                } else if (isWalkable(world, nx, cy + 1, nz)) {
+                    ny = cy + 1;
+                } else if (isWalkable(world, nx, cy - 1, nz)) {
+                    ny = cy - 1;
+                } else {
+                    continue;
+                }
+
+                int key = ws.pack(nx, ny, nz);
+                if (key == SearchWorkspace.OUT_OF_RANGE) {
+                    continue;
+                }
+                int neighbor = ws.find(key);
+                if (neighbor >= 0 && ws.heapIndex[neighbor] == CLOSED) {
                     continue;
                 }
 
-                float tentativeG = current.g + cost(current, neighbor);
-
-                Node existingNeighbor = allNodes.get(neighbor.key());
-                if (existingNeighbor == null) {
-                    neighbor.g = tentativeG;
-                    neighbor.h = heuristic(neighbor.x, neighbor.y, neighbor.z, endX, endY, endZ);
-                    neighbor.f = neighbor.g + neighbor.h;
-                    neighbor.parent = current;
-
-                    openSet.add(neighbor);
-                    allNodes.put(neighbor.key(), neighbor);
-                } else if (tentativeG < existingNeighbor.g) {
-                    existingNeighbor.g = tentativeG;
-                    existingNeighbor.f = existingNeighbor.g + existingNeighbor.h;
-                    existingNeighbor.parent = current;
-
-                    // Re-add to priority queue with updated priority
-                    openSet.remove(existingNeighbor);
-                    openSet.add(existingNeighbor);
+                // Diagonal movement costs more
+                float tentativeG = ws.g[current] + (DIR_X[d] != 0 && DIR_Z[d] != 0 ? DIAGONAL_COST : STRAIGHT_COST);
+
+                if (neighbor < 0) {
+                    neighbor = ws.addNode(nx, ny, nz);
+                    ws.insert(key, neighbor);
+                    ws.g[neighbor] = tentativeG;
+                    ws.h[neighbor] = flood ? 0 : heuristic(nx, ny, nz, endX, endY, endZ);
+                    ws.f[neighbor] = ws.g[neighbor] + ws.h[neighbor];
+                    ws.parent[neighbor] = current;
+                    ws.push(neighbor);
+                } else if (tentativeG < ws.g[neighbor]) {
+                    ws.g[neighbor] = tentativeG;
+                    ws.f[neighbor] = ws.g[neighbor] + ws.h[neighbor];
+                    ws.parent[neighbor] = current;
+                    ws.decreaseKey(neighbor);
                 }
             }
         }
 
         // No path found
-        return null;
+        return -1;
     }
 
     /**
      * Attempt to find a direct line-of-sight path between two nearby points.
      * Uses Bresenham's line algorithm to check each block along the line.
      * Returns the path if clear, or null if any block is not walkable.
+     * The walk is recorded in the workspace and only turned into waypoints once
+     * it is known to be clear, so a blocked line allocates nothing.
      */
     private List<Vector3> tryLineOfSightPath(World world, int x0, int y0, int z0, int x1, int y1, int z1) {
-        List<Vector3> path = new ArrayList<>();
-        path.add(new Vector3(x0 + 0.5f, y0, z0 + 0.5f));
+        SearchWorkspace ws = WORKSPACE.get();
+        int steps = 0;
 
         // Bresenham's line in XZ, checking walkability at each step
         int dx = Math.abs(x1 - x0);
@@ -152,16 +248,24 @@ public class Pathfinder {
                 }
             }
 
-            path.add(new Vector3(cx + 0.5f, cy, cz + 0.5f));
+            ws.nodeX[steps] = cx;
+            ws.nodeY[steps] = cy;
+            ws.nodeZ[steps] = cz;
+            steps++;
         }
 
+        List<Vector3> path = new ArrayList<>(steps + 1);
+        path.add(new Vector3(x0 + 0.5f, y0, z0 + 0.5f));
+        for (int i = 0; i < steps; i++) {
+            path.add(new Vector3(ws.nodeX[i] + 0.5f, ws.nodeY[i], ws.nodeZ[i] + 0.5f));
+        }
         return path;
     }
 
     /**
      * Check if a block position is walkable (air above solid ground).
      */
-    private boolean isWalkable(World world, int x, int y, int z) {
+    static boolean isWalkable(World world, int x, int y, int z) {
         // Check if there's a solid block below (ground)
         BlockType below = world.getBlock(x, y - 1, z);
         if (!below.isSolid()) {
@@ -175,46 +279,6 @@ public class Pathfinder {
         return !atPos.isSolid() && !above.isSolid();
     }
 
-    /**
-     * Get walkable neighbors of a node.
-     */
-    private List<Node> getNeighbors(World world, Node node) {
-        List<Node> neighbors = new ArrayList<>();
-
-        // 8 horizontal directions (N, S, E, W, NE, NW, SE, SW)
-        int[][] directions = {
-            {0, 0, 1},   // North
-            {0, 0, -1},  // South
-            {1, 0, 0},   // East
-            {-1, 0, 0},  // West
-            {1, 0, 1},   // NE
-            {-1, 0, 1},  // NW
-            {1, 0, -1},  // SE
-            {-1, 0, -1}  // SW
-        };
-
-        for (int[] dir : directions) {
-            int nx = node.x + dir[0];
-            int ny = node.y + dir[1];
-            int nz = node.z + dir[2];
-
-            // Check same level
-            if (isWalkable(world, nx, ny, nz)) {
-                neighbors.add(new Node(nx, ny, nz));
-            }
-            // Check one level up (climbing)
-            else if (isWalkable(world, nx, ny + 1, nz)) {
-                neighbors.add(new Node(nx, ny + 1, nz));
-            }
-            // Check one level down (descending)
-            else if (isWalkable(world, nx, ny - 1, nz)) {
-                neighbors.add(new Node(nx, ny - 1, nz));
-            }
-        }
-
-        return neighbors;
-    }
-
     /**
      * Calculate heuristic (Euclidean distance).
      */
@@ -226,54 +290,189 @@ public class Pathfinder {
     }
 
     /**
-     * Calculate cost between two adjacent nodes.
+     * Reconstruct path from end node back to start.
      */
-    private float cost(Node from, Node to) {
-        // Diagonal movement costs more
-        int dx = Math.abs(to.x - from.x);
-        int dz = Math.abs(to.z - from.z);
+    private List<Vector3> reconstructPath(SearchWorkspace ws, int end) {
+        int length = 0;
+        for (int node = end; node >= 0; node = ws.parent[node]) {
+            length++;
+        }
 
-        if (dx > 0 && dz > 0) {
-            return DIAGONAL_COST;
+        // Fill back to front so no reverse is needed
+        Vector3[] waypoints = new Vector3[length];
+        int i = length;
+        for (int node = end; node >= 0; node = ws.parent[node]) {
+            // Center of block
+            waypoints[--i] = new Vector3(ws.nodeX[node] + 0.5f, ws.nodeY[node], ws.nodeZ[node] + 0.5f);
         }
-        return STRAIGHT_COST;
+        return new ArrayList<>(Arrays.asList(waypoints));
     }
 
     /**
-     * Reconstruct path from end node back to start.
+     * Per-thread A* state, reused across searches so a query allocates nothing
+     * but its result.
+     *
+     * <p>Nodes live in parallel arrays indexed by node id. Coordinates are packed
+     * into an int relative to the search start (12 bits each for X and Z, 8 for Y),
+     * which covers everything MAX_SEARCH_NODES expansions can reach. Packed keys map
+     * to node ids through an open-addressing table whose slots are stamped with the
+     * search generation, so resetting between searches is O(1).</p>
+     *
+     * <p>The open set is a binary heap of node ids that tracks each node's heap
+     * position. Pops and decrease-key are O(log n) and mirror the sift order of
+     * the {@code java.util.PriorityQueue} remove-and-re-add this replaced, so
+     * equal-cost ties break the same way and paths are identical.</p>
      */
-    private List<Vector3> reconstructPath(Node end) {
-        List<Vector3> path = new ArrayList<>();
-        Node current = end;
+    private static final class SearchWorkspace {
+        static final int OUT_OF_RANGE = -1;
+        // Each expansion discovers at most 8 neighbours, plus the start node
+        static final int MAX_NODES = MAX_SEARCH_NODES * 8 + 1;
+        private static final int TABLE_BITS = 15;
+        private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+
+        final int[] nodeX = new int[MAX_NODES];
+        final int[] nodeY = new int[MAX_NODES];
+        final int[] nodeZ = new int[MAX_NODES];
+        final float[] g = new float[MAX_NODES]; // Cost from start
+        final float[] h = new float[MAX_NODES]; // Heuristic to end
+        final float[] f = new float[MAX_NODES]; // Total cost (g + h)
+        final int[] parent = new int[MAX_NODES];
+        final int[] heapIndex = new int[MAX_NODES]; // Position in heap, or CLOSED
+        int nodeCount;
+
+        final int[] heap = new int[MAX_NODES];
+        int heapSize;
+
+        private final int[] slotKey = new int[1 << TABLE_BITS];
+        private final int[] slotNode = new int[1 << TABLE_BITS];
+        private final int[] slotStamp = new int[1 << TABLE_BITS];
+        private int generation;
+
+        private int originX, originY, originZ;
+
+        void reset(int x, int y, int z) {
+            originX = x;
+            originY = y;
+            originZ = z;
+            nodeCount = 0;
+            heapSize = 0;
+            if (++generation == 0) {
+                // Stamp wrapped — old stamps could now look current
+                Arrays.fill(slotStamp, 0);
+                generation = 1;
+            }
+        }
 
-        while (current != null) {
-            // Center of block
-            path.add(new Vector3(current.x + 0.5f, current.y, current.z + 0.5f));
-            current = current.parent;
+        /** Pack a block position relative to the search origin, or OUT_OF_RANGE. */
+        int pack(int x, int y, int z) {
+            int dx = x - originX;
+            int dy = y - originY;
+            int dz = z - originZ;
+            if (dx < -2048 || dx > 2047 || dz < -2048 || dz > 2047 || dy < -128 || dy > 127) {
+                return OUT_OF_RANGE;
+            }
+            return (dx & 0xFFF) << 20 | (dz & 0xFFF) << 8 | (dy & 0xFF);
         }
 
-        Collections.reverse(path);
-        return path;
-    }
+        private static int slot(int key) {
+            return (key * 0x9E3779B9) >>> (32 - TABLE_BITS);
+        }
 
-    /**
-     * A* search node.
-     */
-    private static class Node {
-        int x, y, z;
-        float g; // Cost from start
-        float h; // Heuristic to end
-        float f; // Total cost (g + h)
-        Node parent;
-
-        Node(int x, int y, int z) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
+        /** Node id for a packed key, or -1 if not yet discovered this search. */
+        int find(int key) {
+            int i = slot(key);
+            while (slotStamp[i] == generation) {
+                if (slotKey[i] == key) {
+                    return slotNode[i];
+                }
+                i = (i + 1) & TABLE_MASK;
+            }
+            return -1;
+        }
+
+        void insert(int key, int node) {
+            int i = slot(key);
+            while (slotStamp[i] == generation) {
+                i = (i + 1) & TABLE_MASK;
+            }
+            slotKey[i] = key;
+            slotNode[i] = node;
+            slotStamp[i] = generation;
         }
 
-        String key() {
-            return x + "," + y + "," + z;
+        int addNode(int x, int y, int z) {
+            int node = nodeCount++;
+            nodeX[node] = x;
+            nodeY[node] = y;
+            nodeZ[node] = z;
+            return node;
+        }
+
+        void push(int node) {
+            siftUp(heapSize++, node);
+        }
+
+        int poll() {
+            int result = heap[0];
+            int last = heap[--heapSize];
+            if (heapSize > 0) {
+                siftDown(0, last);
+            }
+            return result;
+        }
+
+        /**
+         * Restore heap order after lowering a node's f. Removes the node and
+         * re-appends it, matching PriorityQueue.remove + add.
+         */
+        void decreaseKey(int node) {
+            int i = heapIndex[node];
+            int s = --heapSize;
+            if (s != i) {
+                int moved = heap[s];
+                siftDown(i, moved);
+                if (heap[i] == moved) {
+                    siftUp(i, moved);
+                }
+            }
+            push(node);
+        }
+
+        private void siftUp(int k, int node) {
+            float nodeF = f[node];
+            while (k > 0) {
+                int p = (k - 1) >>> 1;
+                int e = heap[p];
+                if (nodeF >= f[e]) {
+                    break;
+                }
+                heap[k] = e;
+                heapIndex[e] = k;
+                k = p;
+            }
+            heap[k] = node;
+            heapIndex[node] = k;
+        }
+
+        private void siftDown(int k, int node) {
+            float nodeF = f[node];
+            int half = heapSize >>> 1;
+            while (k < half) {
+                int child = (k << 1) + 1;
+                int c = heap[child];
+                int right = child + 1;
+                if (right < heapSize && f[c] > f[heap[right]]) {
+                    c = heap[child = right];
+                }
+                if (nodeF <= f[c]) {
+                    break;
+                }
+                heap[k] = c;
+                heapIndex[c] = k;
+                k = child;
+            }
+            heap[k] = node;
+            heapIndex[node] = k;
         }
     }
 }
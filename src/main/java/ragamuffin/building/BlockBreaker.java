@@ -194,6 +194,18 @@ public class BlockBreaker {
         return Raycast.cast(world, origin, direction, maxDistance);
     }
 
+    /**
+     * Get the block the player is currently looking at without allocating, for
+     * per-frame callers.
+     * @param out reusable holder that receives the hit
+     * @return true if looking at a block, in which case {@code out} holds it
+     */
+    public boolean getTargetBlock(World world, Vector3 origin, Vector3 direction, float maxDistance,
+                                  RaycastResult out) {
+        return Raycast.cast(world, origin.x, origin.y, origin.z, direction.x, direction.y, direction.z,
+            maxDistance, Raycast.TARGETABLE, out);
+    }
+
     /**
      * Return the set of block positions (as "x,y,z" keys) that have at least one hit recorded.
      * Used by the renderer to draw crack overlays on all partially-damaged blocks.
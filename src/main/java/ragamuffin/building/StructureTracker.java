@@ -1,7 +1,9 @@
 package ragamuffin.building;
 
 import com.badlogic.gdx.math.Vector3;
-import ragamuffin.world.BlockType;
+import ragamuffin.world.ChunkKeySet;
+import ragamuffin.world.ChunkMap;
+import ragamuffin.world.ChunkPos;
 import ragamuffin.world.World;
 
 import java.util.*;
@@ -10,6 +12,10 @@ import java.util.*;
  * Tracks player-built structures for council detection.
  * A structure is a connected group of player-placeable blocks (WOOD, BRICK, STONE,
  * GLASS, CARDBOARD, CONCRETE, ROOF_TILE, CORRUGATED_METAL, DOOR_WOOD, and others).
+ *
+ * <p>Tracking is incremental: {@link #update} reads the world's player-block change
+ * log and re-traces only the structures next to changed blocks, so structures are
+ * current within a frame of a block being placed or knocked out.</p>
  */
 public class StructureTracker {
 
@@ -18,14 +24,14 @@ public class StructureTracker {
      */
     public static class Structure {
         private final Set<Vector3> blocks;
-        private final Vector3 center;
+        private final Vector3 center = new Vector3();
         private int complexity;
         private float noticeTime; // Time when planning notice appeared
         private boolean hasNotice;
 
         public Structure(Set<Vector3> blocks) {
             this.blocks = new HashSet<>(blocks);
-            this.center = calculateCenter(blocks);
+            this.center.set(calculateCenter(blocks));
             this.complexity = blocks.size();
             this.noticeTime = 0;
             this.hasNotice = false;
@@ -82,79 +88,255 @@ public class StructureTracker {
         public boolean isEmpty() {
             return blocks.isEmpty();
         }
+
+        /**
+         * Replace this structure's blocks after it was re-traced, keeping its notice
+         * state. Used by {@link StructureTracker} so a structure keeps its identity
+         * as the player extends it or builders demolish it.
+         */
+        void setBlocks(Set<Vector3> newBlocks) {
+            blocks.clear();
+            blocks.addAll(newBlocks);
+            center.set(calculateCenter(newBlocks));
+            complexity = newBlocks.size();
+        }
     }
 
     private final List<Structure> structures;
     private static final int SMALL_STRUCTURE_THRESHOLD = 10; // Blocks
     private static final int LARGE_STRUCTURE_THRESHOLD = 50; // Blocks for more builders
+    private static final int MAX_STRUCTURE_BLOCKS = 500; // Flood fill limit per structure
+
+    // Seeds are only taken from the area around the town centre (the flood itself may
+    // run outside it), matching the extent of the original full-volume scan
+    private static final int SCAN_RADIUS = 100;
+    private static final int SCAN_MIN_Y = 1;
+    private static final int SCAN_MAX_Y = 19;
+
+    private static final int[][] NEIGHBOURS = {{1,0,0}, {-1,0,0}, {0,1,0}, {0,-1,0}, {0,0,1}, {0,0,-1}};
+
+    // Block position (ChunkPos layout, block coordinates) -> structure containing it
+    private ChunkMap<Structure> owners = new ChunkMap<>();
+    // Owners before the current update, so re-flooded structures keep their identity
+    private ChunkMap<Structure> previousOwners = new ChunkMap<>();
+    // Per-update scratch: positions already flooded, seeds waiting to be flooded, flood
+    // stack, and the blocks of the structure being traced
+    private final ChunkKeySet visited = new ChunkKeySet();
+    private long[] seeds = new long[64];
+    private int seedCount;
+    private long[] stack = new long[64];
+    private final long[] component = new long[MAX_STRUCTURE_BLOCKS];
+
+    // World whose change log this tracker is consuming; any other world needs a full scan
+    private World trackedWorld;
+    private int fullScanCount;
 
     public StructureTracker() {
         this.structures = new ArrayList<>();
     }
 
     /**
-     * Scan the world for player-built structures.
-     * This is called periodically to detect new structures.
+     * Bring the structure list up to date with blocks changed since the last call.
+     * Only structures touching a changed block are re-traced; everything else is
+     * left alone. The first call for a world (or after the world's change log
+     * overflowed) falls back to {@link #scanForStructures}. Cheap enough to call
+     * every frame.
+     *
+     * @return true if any structure was added, changed or removed
+     */
+    public boolean update(World world) {
+        if (world != trackedWorld) {
+            scanForStructures(world);
+            return true;
+        }
+        seedCount = 0;
+        if (!world.drainPlayerBlockChanges(this::addChangeSeeds)) {
+            scanForStructures(world);
+            return true;
+        }
+        if (seedCount == 0) {
+            return false;
+        }
+
+        // Structures touching a change may have grown, shrunk, split or merged:
+        // dissolve them and re-trace from their blocks plus the changed positions
+        List<Structure> affected = new ArrayList<>();
+        for (int i = 0, n = seedCount; i < n; i++) {
+            Structure structure = owners.get(seeds[i]);
+            if (structure != null && !containsIdentity(affected, structure)) {
+                affected.add(structure);
+            }
+        }
+        previousOwners.clear();
+        for (Structure structure : affected) {
+            for (Vector3 block : structure.getBlocks()) {
+                long key = ChunkPos.pack((int) block.x, (int) block.y, (int) block.z);
+                owners.remove(key);
+                previousOwners.put(key, structure);
+                addSeed(key);
+            }
+            removeIdentity(structures, structure);
+        }
+
+        visited.clear();
+        for (int i = 0; i < seedCount; i++) {
+            traceFrom(world, seeds[i]);
+        }
+        return true;
+    }
+
+    /**
+     * Rescan every player-placed block from scratch. Structures that survive keep
+     * their identity, so callers holding a {@link Structure} still see its blocks.
      */
     public void scanForStructures(World world) {
+        // Discard the change log: this scan covers everything it would report
+        world.drainPlayerBlockChanges(key -> {});
+        trackedWorld = world;
+        fullScanCount++;
+
+        ChunkMap<Structure> swap = previousOwners;
+        previousOwners = owners;
+        owners = swap;
+        owners.clear();
         structures.clear();
 
-        Set<String> visited = new HashSet<>();
+        seedCount = 0;
+        world.forEachPlayerPlacedBlock(this::addScanSeed);
+        // Trace in a fixed order so structure order does not depend on set iteration
+        Arrays.sort(seeds, 0, seedCount);
 
-        // Scan a reasonable area around world center
-        for (int x = -100; x <= 100; x++) {
-            for (int z = -100; z <= 100; z++) {
-                for (int y = 1; y < 20; y++) {
-                    String key = x + "," + y + "," + z;
-                    if (visited.contains(key)) {
-                        continue;
-                    }
+        visited.clear();
+        for (int i = 0; i < seedCount; i++) {
+            traceFrom(world, seeds[i]);
+        }
+        previousOwners.clear();
+    }
 
-                    BlockType block = world.getBlock(x, y, z);
-                    if (block.isPlayerPlaceable() && world.isPlayerPlaced(x, y, z)) {
-                        // Found a player-placed block - trace the structure
-                        Set<Vector3> structureBlocks = traceStructure(world, x, y, z, visited);
-                        if (structureBlocks.size() >= SMALL_STRUCTURE_THRESHOLD) {
-                            structures.add(new Structure(structureBlocks));
-                        }
+    /**
+     * Number of full rescans performed so far (for testing).
+     */
+    public int getFullScanCount() {
+        return fullScanCount;
+    }
+
+    private void addChangeSeeds(long key) {
+        int x = ChunkPos.x(key), y = ChunkPos.y(key), z = ChunkPos.z(key);
+        addSeed(key);
+        for (int[] offset : NEIGHBOURS) {
+            addSeed(ChunkPos.pack(x + offset[0], y + offset[1], z + offset[2]));
+        }
+    }
+
+    private void addScanSeed(long key) {
+        int x = ChunkPos.x(key), y = ChunkPos.y(key), z = ChunkPos.z(key);
+        if (Math.abs(x) <= SCAN_RADIUS && Math.abs(z) <= SCAN_RADIUS && y >= SCAN_MIN_Y && y <= SCAN_MAX_Y) {
+            addSeed(key);
+        }
+    }
+
+    private void addSeed(long key) {
+        if (seedCount == seeds.length) {
+            seeds = Arrays.copyOf(seeds, seedCount * 2);
+        }
+        seeds[seedCount++] = key;
+    }
+
+    /**
+     * Flood fill the structure containing a seed position, if the seed is a
+     * player-placed block not already part of a structure traced this update, and
+     * record it when it is large enough to count.
+     */
+    private void traceFrom(World world, long seed) {
+        if (visited.contains(seed) || owners.containsKey(seed) || !isStructureBlock(world, seed)) {
+            return;
+        }
+        int size = 0;
+        visited.add(seed);
+        stack[0] = seed;
+        int top = 1;
+        while (top > 0 && size < MAX_STRUCTURE_BLOCKS) {
+            long current = stack[--top];
+            component[size++] = current;
+            int cx = ChunkPos.x(current), cy = ChunkPos.y(current), cz = ChunkPos.z(current);
+            for (int[] offset : NEIGHBOURS) {
+                long next = ChunkPos.pack(cx + offset[0], cy + offset[1], cz + offset[2]);
+                if (!visited.contains(next) && !owners.containsKey(next) && isStructureBlock(world, next)) {
+                    visited.add(next);
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
                     }
+                    stack[top++] = next;
                 }
             }
         }
+        // Blocks queued beyond the size limit stay visited, as in the original scan
+        if (size < SMALL_STRUCTURE_THRESHOLD) {
+            return;
+        }
+
+        Set<Vector3> blocks = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            long key = component[i];
+            blocks.add(new Vector3(ChunkPos.x(key), ChunkPos.y(key), ChunkPos.z(key)));
+        }
+        Structure structure = claimPredecessor(size);
+        if (structure != null) {
+            structure.setBlocks(blocks);
+        } else {
+            structure = new Structure(blocks);
+        }
+        structures.add(structure);
+        for (int i = 0; i < size; i++) {
+            owners.put(component[i], structure);
+        }
     }
 
     /**
-     * Trace a connected structure from a starting block using flood fill.
+     * The previous structure sharing the most blocks with the newly traced one in
+     * the first {@code size} entries of {@link #component}, if it has not already
+     * been reused this update.
      */
-    private Set<Vector3> traceStructure(World world, int startX, int startY, int startZ, Set<String> visited) {
-        Set<Vector3> structure = new HashSet<>();
-        Queue<Vector3> queue = new LinkedList<>();
-        queue.add(new Vector3(startX, startY, startZ));
-        visited.add(startX + "," + startY + "," + startZ);
-
-        while (!queue.isEmpty() && structure.size() < 500) { // Limit to prevent infinite loops
-            Vector3 current = queue.poll();
-            structure.add(current);
-
-            // Check 6 adjacent blocks
-            int[][] offsets = {{1,0,0}, {-1,0,0}, {0,1,0}, {0,-1,0}, {0,0,1}, {0,0,-1}};
-            for (int[] offset : offsets) {
-                int x = (int)current.x + offset[0];
-                int y = (int)current.y + offset[1];
-                int z = (int)current.z + offset[2];
-                String key = x + "," + y + "," + z;
-
-                if (!visited.contains(key)) {
-                    visited.add(key);
-                    BlockType block = world.getBlock(x, y, z);
-                    if (block.isPlayerPlaceable() && world.isPlayerPlaced(x, y, z)) {
-                        queue.add(new Vector3(x, y, z));
-                    }
-                }
+    private Structure claimPredecessor(int size) {
+        Map<Structure, Integer> overlap = new IdentityHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Structure previous = previousOwners.get(component[i]);
+            if (previous != null) {
+                overlap.merge(previous, 1, Integer::sum);
+            }
+        }
+        Structure best = null;
+        int bestCount = 0;
+        for (Map.Entry<Structure, Integer> entry : overlap.entrySet()) {
+            if (entry.getValue() > bestCount && !containsIdentity(structures, entry.getKey())) {
+                best = entry.getKey();
+                bestCount = entry.getValue();
+            }
+        }
+        return best;
+    }
+
+    private static boolean isStructureBlock(World world, long key) {
+        int x = ChunkPos.x(key), y = ChunkPos.y(key), z = ChunkPos.z(key);
+        return world.getBlock(x, y, z).isPlayerPlaceable() && world.isPlayerPlaced(x, y, z);
+    }
+
+    private static boolean containsIdentity(List<Structure> list, Structure structure) {
+        for (Structure s : list) {
+            if (s == structure) {
+                return true;
             }
         }
+        return false;
+    }
 
-        return structure;
+    private static void removeIdentity(List<Structure> list, Structure structure) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == structure) {
+                list.remove(i);
+                return;
+            }
+        }
     }
 
     /**
@@ -200,6 +382,7 @@ public class StructureTracker {
         for (Structure structure : structures) {
             structure.removeBlock(blockPos);
         }
+        owners.remove(ChunkPos.pack(x, y, z));
         // Remove empty structures
         structures.removeIf(Structure::isEmpty);
     }
@@ -12,6 +12,7 @@ import ragamuffin.world.Landmark;
 import ragamuffin.world.LandmarkType;
 import ragamuffin.world.World;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -87,6 +88,9 @@ public class BuskingSystem {
     /** Whether BUCKET_LIST (20 coins) has already been awarded. */
     private boolean bucketListAwarded = false;
 
+    /** Scratch list for landmark area queries. */
+    private final List<Landmark> nearbyLandmarks = new ArrayList<>();
+
     /** Seconds elapsed since the current session started. */
     private float sessionTimer = 0f;
 
@@ -412,8 +416,16 @@ public class BuskingSystem {
     }
 
     private boolean isNearShopLandmark(Player player, World world) {
+        // Only landmarks overlapping the reach box can have their centre in reach
+        float px = player.getPosition().x;
+        float pz = player.getPosition().z;
+        nearbyLandmarks.clear();
+        world.getLandmarksInArea(
+            (int) Math.floor(px - MAX_PITCH_DISTANCE_TO_SHOP), (int) Math.floor(pz - MAX_PITCH_DISTANCE_TO_SHOP),
+            (int) Math.floor(px + MAX_PITCH_DISTANCE_TO_SHOP), (int) Math.floor(pz + MAX_PITCH_DISTANCE_TO_SHOP),
+            nearbyLandmarks);
         // Shop landmarks: anything that isn't a park/house/industrial type
-        for (Landmark lm : world.getAllLandmarks()) {
+        for (Landmark lm : nearbyLandmarks) {
             if (!isShopLandmark(lm.getType())) continue;
             float lx = lm.getPosition().x + lm.getWidth() / 2f;
             float lz = lm.getPosition().z + lm.getDepth() / 2f;
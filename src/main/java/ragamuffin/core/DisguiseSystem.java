@@ -1,5 +1,6 @@
 package ragamuffin.core;
 
+import ragamuffin.ai.NPCSpatialIndex;
 import ragamuffin.building.Inventory;
 import ragamuffin.building.Material;
 import ragamuffin.entity.NPC;
@@ -122,6 +123,9 @@ public class DisguiseSystem {
     private final Random random;
     private AchievementSystem achievementSystem;
     private RumourNetwork rumourNetwork;
+    private NPCSpatialIndex npcIndex;
+    // Reused result list for proximity queries on the index
+    private final List<NPC> nearbyNpcs = new ArrayList<>();
 
     // ── Construction ──────────────────────────────────────────────────────────
 
@@ -141,6 +145,14 @@ public class DisguiseSystem {
         this.rumourNetwork = rumourNetwork;
     }
 
+    /**
+     * Attach the NPC spatial index so scrutiny checks only look at NPCs near the
+     * player. Only used when the NPC list passed in is the one the index covers.
+     */
+    public void setNPCSpatialIndex(NPCSpatialIndex npcIndex) {
+        this.npcIndex = npcIndex;
+    }
+
     // ── Equip / unequip ───────────────────────────────────────────────────────
 
     /**
@@ -197,18 +209,12 @@ public class DisguiseSystem {
         if (activeDisguise == null || coverBlown) return;
 
         // GREGGS_APRON special case: immediately blown within GREGGS_APRON_FAIL_RANGE
-        if (activeDisguise == Material.GREGGS_APRON) {
-            for (NPC npc : npcs) {
-                if (!npc.isAlive()) continue;
-                float dist = npc.getPosition().dst(player.getPosition());
-                if (dist <= GREGGS_APRON_FAIL_RANGE) {
-                    blowCover("That's just Dave in an apron!", player, npcs);
-                    if (achievementSystem != null) {
-                        achievementSystem.unlock(AchievementType.OBVIOUS_IN_HINDSIGHT);
-                    }
-                    return;
-                }
+        if (activeDisguise == Material.GREGGS_APRON && isAnyoneWithin(player, npcs, GREGGS_APRON_FAIL_RANGE)) {
+            blowCover("That's just Dave in an apron!", player, npcs);
+            if (achievementSystem != null) {
+                achievementSystem.unlock(AchievementType.OBVIOUS_IN_HINDSIGHT);
             }
+            return;
         }
 
         // Update scrutiny events
@@ -228,17 +234,15 @@ public class DisguiseSystem {
         boolean isRunning = playerSpeed >= RUN_SPEED_THRESHOLD;
 
         // Check for new NPCs entering scrutiny range
-        for (NPC npc : npcs) {
-            if (!npc.isAlive()) continue;
-            if (npc.getState() == NPCState.SCRUTINISING) continue; // already scrutinising
-
-            float dist = npc.getPosition().dst(player.getPosition());
-            if (dist <= SCRUTINY_RANGE && shouldNPCScrutinise(npc)) {
-                // Start scrutiny
-                npc.setState(NPCState.SCRUTINISING);
-                npc.setSpeechText("Oi... 'ang on a minute...", SCRUTINY_DURATION);
-                scrutinyEvents.add(new ScrutinyEvent(npc, SCRUTINY_DURATION));
-                wasEverScrutinised = true;
+        if (npcIndex != null && npcIndex.indexes(npcs)) {
+            List<NPC> nearby = npcIndex.collectWithin(player.getPosition(), SCRUTINY_RANGE, nearbyNpcs);
+            for (int i = 0; i < nearby.size(); i++) {
+                checkScrutiny(nearby.get(i), player);
+            }
+            nearby.clear();
+        } else {
+            for (NPC npc : npcs) {
+                checkScrutiny(npc, player);
             }
         }
 
@@ -291,6 +295,34 @@ public class DisguiseSystem {
         underScrutiny = !scrutinyEvents.isEmpty();
     }
 
+    /** Start a scrutiny event if this NPC is close enough and suspicious of the disguise. */
+    private void checkScrutiny(NPC npc, Player player) {
+        if (!npc.isAlive()) return;
+        if (npc.getState() == NPCState.SCRUTINISING) return; // already scrutinising
+
+        float dist = npc.getPosition().dst(player.getPosition());
+        if (dist <= SCRUTINY_RANGE && shouldNPCScrutinise(npc)) {
+            // Start scrutiny
+            npc.setState(NPCState.SCRUTINISING);
+            npc.setSpeechText("Oi... 'ang on a minute...", SCRUTINY_DURATION);
+            scrutinyEvents.add(new ScrutinyEvent(npc, SCRUTINY_DURATION));
+            wasEverScrutinised = true;
+        }
+    }
+
+    /** Whether any living NPC is within {@code range} blocks of the player. */
+    private boolean isAnyoneWithin(Player player, List<NPC> npcs, float range) {
+        if (npcIndex != null && npcIndex.indexes(npcs)) {
+            return npcIndex.findFirstWithin(player.getPosition(), range, NPC::isAlive) != null;
+        }
+        for (NPC npc : npcs) {
+            if (npc.isAlive() && npc.getPosition().dst(player.getPosition()) <= range) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns whether the given NPC type would scrutinise the player's disguise.
      * Police scrutinise non-police disguises, faction NPCs scrutinise rival disguises, etc.
@@ -371,13 +403,17 @@ public class DisguiseSystem {
             String disguiseName = activeDisguise != null ? activeDisguise.getDisplayName() : "disguise";
             String rumourText = "Someone in a " + disguiseName + " was spotted — turned out to be an impostor";
             NPC nearestNpc = null;
-            float nearestDist = Float.MAX_VALUE;
-            for (NPC npc : npcs) {
-                if (!npc.isAlive()) continue;
-                float d = npc.getPosition().dst(player.getPosition());
-                if (d < nearestDist) {
-                    nearestDist = d;
-                    nearestNpc = npc;
+            if (npcIndex != null && npcIndex.indexes(npcs)) {
+                nearestNpc = npcIndex.nearest(null, player.getPosition());
+            } else {
+                float nearestDist = Float.MAX_VALUE;
+                for (NPC npc : npcs) {
+                    if (!npc.isAlive()) continue;
+                    float d = npc.getPosition().dst(player.getPosition());
+                    if (d < nearestDist) {
+                        nearestDist = d;
+                        nearestNpc = npc;
+                    }
                 }
             }
             if (nearestNpc != null) {
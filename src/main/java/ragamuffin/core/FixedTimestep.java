@@ -0,0 +1,83 @@
+package ragamuffin.core;
+
+/**
+ * Accumulator that turns variable render-frame deltas into a whole number of
+ * fixed-length simulation steps.
+ *
+ * <p>Each frame, {@link #advance(float)} adds the frame's delta and returns how
+ * many steps of {@link #getStep()} seconds to simulate; the unsimulated remainder
+ * carries over to the next frame and is reported by {@link #getAlpha()} as the
+ * fraction of a step the renderer should interpolate towards. A long frame runs
+ * at most {@code maxStepsPerFrame} steps and drops the rest of its time, so a
+ * hitch slows the game down briefly instead of spiralling into ever longer
+ * catch-up frames.</p>
+ */
+public class FixedTimestep {
+
+    /** Default simulation rate: 30 steps per second. */
+    public static final float DEFAULT_STEP = 1f / 30f;
+
+    /** Default catch-up limit: about a quarter of a second of simulation per frame. */
+    public static final int DEFAULT_MAX_STEPS_PER_FRAME = 8;
+
+    private final float step;
+    private final int maxStepsPerFrame;
+    private float accumulator;
+
+    public FixedTimestep() {
+        this(DEFAULT_STEP, DEFAULT_MAX_STEPS_PER_FRAME);
+    }
+
+    /**
+     * @param step             length of one simulation step, in seconds
+     * @param maxStepsPerFrame most steps {@link #advance} will return for one frame
+     */
+    public FixedTimestep(float step, int maxStepsPerFrame) {
+        if (step <= 0f || maxStepsPerFrame < 1) {
+            throw new IllegalArgumentException("step must be positive and maxStepsPerFrame at least 1");
+        }
+        this.step = step;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Add a frame's elapsed time and take the whole steps it completes.
+     *
+     * @param frameDelta seconds since the previous frame; negative values count as zero
+     * @return number of steps to simulate this frame, 0 to {@code maxStepsPerFrame}
+     */
+    public int advance(float frameDelta) {
+        if (frameDelta > 0f) {
+            accumulator += frameDelta;
+        }
+        int steps = (int) (accumulator / step);
+        accumulator -= steps * step;
+        // Rounding can leave the remainder a hair outside [0, step)
+        if (accumulator < 0f) {
+            accumulator = 0f;
+        } else if (accumulator >= step) {
+            accumulator -= step;
+            steps++;
+        }
+        return Math.min(steps, maxStepsPerFrame);
+    }
+
+    /**
+     * Fraction of a step simulated time trails real time by, in {@code [0, 1)}:
+     * how far the renderer should interpolate from the previous step's state
+     * towards the latest one.
+     */
+    public float getAlpha() {
+        return accumulator / step;
+    }
+
+    /** Length of one simulation step, in seconds. */
+    public float getStep() {
+        return step;
+    }
+
+    /** Discard any partially accumulated step, e.g. when the simulation resumes. */
+    public void reset() {
+        accumulator = 0f;
+    }
+}
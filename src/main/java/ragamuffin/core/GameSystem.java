@@ -0,0 +1,74 @@
+package ragamuffin.core;
+
+import com.badlogic.gdx.math.Vector3;
+
+import java.util.function.Predicate;
+
+/**
+ * A piece of game simulation that {@link SystemScheduler} ticks on its own
+ * timetable instead of every simulation step.
+ *
+ * <p>A system declares how often it needs ticking and, optionally, when it is
+ * relevant at all: a closed shop or a rave that isn't running, or anything that
+ * only matters near a landmark. Each tick receives the time since the system's
+ * previous tick, so timers advance at the right rate however the ticks fall.</p>
+ */
+public interface GameSystem {
+
+    /** Advances a system by the time since its previous tick. */
+    @FunctionalInterface
+    interface Ticker {
+        void tick(float delta);
+    }
+
+    /** Name shown in the system timing overlay. */
+    String getName();
+
+    /** Seconds between ticks; 0 to tick on every simulation step. */
+    float getTickInterval();
+
+    /**
+     * Whether the system needs ticking with the player at {@code playerPosition}.
+     * Time spent irrelevant is discarded, as if the system were paused.
+     */
+    default boolean isRelevant(Vector3 playerPosition) {
+        return true;
+    }
+
+    /**
+     * Advance the system.
+     *
+     * @param delta seconds since this system last ticked (or became relevant)
+     */
+    void tick(float delta);
+
+    /**
+     * Adapt an existing system's update call.
+     *
+     * @param relevance when the system needs ticking, given the player position;
+     *                  null for always
+     */
+    static GameSystem of(String name, float tickInterval, Predicate<Vector3> relevance, Ticker ticker) {
+        return new GameSystem() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public float getTickInterval() {
+                return tickInterval;
+            }
+
+            @Override
+            public boolean isRelevant(Vector3 playerPosition) {
+                return relevance == null || relevance.test(playerPosition);
+            }
+
+            @Override
+            public void tick(float delta) {
+                ticker.tick(delta);
+            }
+        };
+    }
+}
@@ -31,6 +31,7 @@ public class InputHandler implements InputProcessor {
     private boolean skillsPressed; // K key for skills screen (Issue #809)
     private boolean tagPressed; // T key for graffiti spray (Issue #781)
     private boolean broadcastPressed; // B key for pirate radio broadcast toggle (Issue #783)
+    private boolean systemTimingPressed; // F3 key for the system timing overlay
     private int hotbarSlotPressed = -1; // 0-8 for slots 1-9, -1 for none
     private int craftingSlotPressed = -1; // For selecting recipes in crafting menu
     private float mouseDeltaX, mouseDeltaY;
@@ -85,6 +86,7 @@ public class InputHandler implements InputProcessor {
     public boolean isSkillsPressed() { return skillsPressed; }
     public boolean isTagPressed() { return tagPressed; }
     public boolean isBroadcastPressed() { return broadcastPressed; }
+    public boolean isSystemTimingPressed() { return systemTimingPressed; }
     public int getHotbarSlotPressed() { return hotbarSlotPressed; }
     public int getCraftingSlotPressed() { return craftingSlotPressed; }
 
@@ -122,6 +124,7 @@ public class InputHandler implements InputProcessor {
     public void resetSkills() { skillsPressed = false; }
     public void resetTag() { tagPressed = false; }
     public void resetBroadcast() { broadcastPressed = false; }
+    public void resetSystemTiming() { systemTimingPressed = false; }
     public void resetHotbarSlot() { hotbarSlotPressed = -1; }
     public void resetCraftingSlot() { craftingSlotPressed = -1; }
 
@@ -168,6 +171,8 @@ public class InputHandler implements InputProcessor {
             tagPressed = true;
         } else if (keycode == Input.Keys.B) {
             broadcastPressed = true;
+        } else if (keycode == Input.Keys.F3) {
+            systemTimingPressed = true;
         } else if (keycode == Input.Keys.ENTER) {
             enterPressed = true;
         } else if (keycode == Input.Keys.UP) {
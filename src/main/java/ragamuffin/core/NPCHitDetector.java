@@ -65,18 +65,32 @@ public class NPCHitDetector {
      */
     public static NPC findNPCInReach(Vector3 cameraPos, Vector3 direction, float reach,
                                       List<NPC> npcs, BlockBreaker blockBreaker, World world) {
+        return findNPCInReach(cameraPos, direction, reach, npcs, blockBreaker, world, new RaycastResult());
+    }
+
+    /**
+     * As {@link #findNPCInReach(Vector3, Vector3, float, List, BlockBreaker, World)},
+     * without allocating: the occlusion raycast writes into {@code scratch}.
+     *
+     * @param scratch reusable raycast holder; overwritten
+     */
+    public static NPC findNPCInReach(Vector3 cameraPos, Vector3 direction, float reach,
+                                      List<NPC> npcs, BlockBreaker blockBreaker, World world,
+                                      RaycastResult scratch) {
         NPC closestNPC = null;
         float closestDistance = reach;
 
         // Find the nearest solid block along the ray — cannot punch NPCs behind walls.
-        RaycastResult blockHit = blockBreaker.getTargetBlock(world, cameraPos, direction, reach);
+        RaycastResult blockHit = blockBreaker.getTargetBlock(world, cameraPos, direction, reach, scratch)
+                ? scratch : null;
         float blockDistance = (blockHit != null)
                 ? cameraPos.dst(blockHit.getBlockX() + 0.5f,
                                 blockHit.getBlockY() + 0.5f,
                                 blockHit.getBlockZ() + 0.5f)
                 : reach;
 
-        for (NPC npc : npcs) {
+        for (int i = 0; i < npcs.size(); i++) {
+            NPC npc = npcs.get(i);
             if (!npc.isAlive()) continue;
 
             float npcCentreY = npc.getPosition().y + ragamuffin.entity.NPC.HEIGHT * 0.5f;
@@ -0,0 +1,108 @@
+package ragamuffin.core;
+
+import com.badlogic.gdx.math.Vector3;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Smooths entity movement between fixed simulation steps for rendering.
+ *
+ * <p>Before each step, {@link #capture} records where every tracked position
+ * vector (the live {@code getPosition()} of the player, an NPC or a car) stood.
+ * Before drawing, {@link #apply} moves each one {@code alpha} of the way from
+ * that recorded point to where the latest step left it, and {@link #restore}
+ * puts the simulated positions back afterwards, so the renderers need no
+ * changes and the simulation never sees an interpolated value. Positions that
+ * moved further than {@link #SNAP_DISTANCE} in one step (respawns, arrests,
+ * getting in a car) are drawn where they are rather than sliding across the
+ * map.</p>
+ */
+public class PositionInterpolator {
+
+    /** A step that moves a position further than this, in blocks, is a teleport. */
+    public static final float SNAP_DISTANCE = 4f;
+
+    private static final class Track {
+        final Vector3 previous = new Vector3();
+        final Vector3 simulated = new Vector3();
+        int capturedStep;
+        boolean applied;
+    }
+
+    private final Map<Vector3, Track> tracks = new IdentityHashMap<>();
+    private int step;
+    private boolean applied;
+
+    /** Start recording positions for the next simulation step. */
+    public void beginCapture() {
+        step++;
+    }
+
+    /** Record where a position stands before the coming step. */
+    public void capture(Vector3 position) {
+        Track track = tracks.get(position);
+        if (track == null) {
+            track = new Track();
+            tracks.put(position, track);
+        }
+        track.previous.set(position);
+        track.capturedStep = step;
+    }
+
+    /** Stop tracking positions not captured since {@link #beginCapture()} (despawned entities). */
+    public void endCapture() {
+        Iterator<Track> it = tracks.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().capturedStep != step) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Move every tracked position to its interpolated point for drawing. Must be
+     * followed by {@link #restore()} before the simulation runs again.
+     *
+     * @param alpha fraction of the last step to show, 0 (previous) to 1 (latest)
+     */
+    public void apply(float alpha) {
+        if (applied) return;
+        applied = true;
+        float snap2 = SNAP_DISTANCE * SNAP_DISTANCE;
+        for (Map.Entry<Vector3, Track> entry : tracks.entrySet()) {
+            Vector3 position = entry.getKey();
+            Track track = entry.getValue();
+            track.simulated.set(position);
+            track.applied = track.previous.dst2(position) <= snap2;
+            if (track.applied) {
+                position.set(track.previous).lerp(track.simulated, alpha);
+            }
+        }
+    }
+
+    /** Put back the simulated positions moved by {@link #apply(float)}. */
+    public void restore() {
+        if (!applied) return;
+        applied = false;
+        for (Map.Entry<Vector3, Track> entry : tracks.entrySet()) {
+            Track track = entry.getValue();
+            if (track.applied) {
+                entry.getKey().set(track.simulated);
+                track.applied = false;
+            }
+        }
+    }
+
+    /** Forget all recorded positions, e.g. after loading a new world. */
+    public void clear() {
+        restore();
+        tracks.clear();
+    }
+
+    /** Number of positions currently tracked (for testing). */
+    int getTrackedCount() {
+        return tracks.size();
+    }
+}
@@ -1,5 +1,6 @@
 package ragamuffin.core;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
@@ -24,8 +25,10 @@ import ragamuffin.entity.NPC;
 import ragamuffin.entity.NPCState;
 import ragamuffin.entity.NPCType;
 import ragamuffin.entity.Player;
+import ragamuffin.render.AsyncChunkMesher;
 import ragamuffin.render.ChunkMeshBuilder;
 import ragamuffin.render.ChunkRenderer;
+import ragamuffin.render.ChunkShaderProvider;
 import ragamuffin.render.FirstPersonArm;
 import ragamuffin.render.NPCRenderer;
 import ragamuffin.ui.*;
@@ -39,13 +42,21 @@ public class RagamuffinGame extends ApplicationAdapter {
     private GameState state;
     private PerspectiveCamera camera;
     private ModelBatch modelBatch;
+    private ModelBatch transparentBatch; // Keeps submission order; ChunkRenderer pre-sorts its glass
     private Environment environment;
     private InputHandler inputHandler;
 
     private Player player;
     private World world;
+
+    // World persistence — null on WebGL, which has no local file storage
+    private WorldSave worldSave;
+    private float autosaveTimer = 0f;
+    private static final float AUTOSAVE_INTERVAL = 60f;
+    private static final String SAVE_DIRECTORY = "saves/world";
     private ChunkRenderer chunkRenderer;
     private ChunkMeshBuilder meshBuilder;
+    private AsyncChunkMesher chunkMesher;
 
     // Phase 3: Resource & Inventory System
     private Inventory inventory;
@@ -268,6 +279,19 @@ public class RagamuffinGame extends ApplicationAdapter {
     private final Vector3 tmpMoveDir = new Vector3();
     private final Vector3 tmpCameraPos = new Vector3();
     private final Vector3 tmpDirection = new Vector3();
+    // Reusable raycast holders for the per-frame targeting path (block target, NPC occlusion)
+    private final RaycastResult targetHit = new RaycastResult();
+    private final RaycastResult npcOcclusionHit = new RaycastResult();
+
+    // Fixed-rate PLAYING simulation; entities are drawn interpolated between steps
+    private final FixedTimestep simulationClock = new FixedTimestep();
+    private final PositionInterpolator positionInterpolator = new PositionInterpolator();
+    private final Vector3 tmpFollowPos = new Vector3();
+    private final Vector3 simulatedCameraPos = new Vector3();
+
+    // Systems that only need ticking every so often, and the F3 overlay showing their cost
+    private final SystemScheduler systemScheduler = new SystemScheduler();
+    private final ragamuffin.ui.SystemTimingOverlay systemTimingOverlay = new ragamuffin.ui.SystemTimingOverlay();
 
     // Sky colour components (reused each frame)
     private float skyR = 0.53f, skyG = 0.81f, skyB = 0.92f;
@@ -286,7 +310,13 @@ public class RagamuffinGame extends ApplicationAdapter {
     // Issue #265: Hold-to-break repeat-fire timer
     private float punchHeldTimer = 0f;
     private static final float PUNCH_REPEAT_INTERVAL = 0.25f;
-    private String lastPunchTargetKey = null; // reset timer when target block changes
+    // Target the hold timer is tracking; reset the timer when it changes.
+    // The key is a packed block position (ChunkPos.pack) or a prop index.
+    private static final int PUNCH_TARGET_NONE = 0;
+    private static final int PUNCH_TARGET_BLOCK = 1;
+    private static final int PUNCH_TARGET_PROP = 2;
+    private int lastPunchTargetType = PUNCH_TARGET_NONE;
+    private long lastPunchTargetKey;
 
     // Tool durability is now tracked per inventory slot via Inventory.getToolInSlot()
 
@@ -320,7 +350,9 @@ public class RagamuffinGame extends ApplicationAdapter {
         camera.update();
 
         // Setup rendering infrastructure (lightweight)
-        modelBatch = new ModelBatch();
+        ChunkShaderProvider shaderProvider = new ChunkShaderProvider();
+        modelBatch = new ModelBatch(shaderProvider);
+        transparentBatch = new ModelBatch(shaderProvider, (sortCamera, renderables) -> { });
         environment = new Environment();
         environment.set(new ColorAttribute(ColorAttribute.AmbientLight, 0.4f, 0.4f, 0.4f, 1f));
         environment.add(new DirectionalLight().set(0.8f, 0.8f, 0.8f, -1f, -0.8f, -0.2f));
@@ -343,6 +375,47 @@ public class RagamuffinGame extends ApplicationAdapter {
         // after the loading screen has had at least one frame to paint.
     }
 
+    /**
+     * Load the saved world if there is one, otherwise generate a fresh town from a
+     * new seed. Saving is disabled on WebGL.
+     */
+    private World loadOrGenerateWorld() {
+        if (Gdx.app.getType() != Application.ApplicationType.WebGL) {
+            worldSave = new WorldSave(Gdx.files.local(SAVE_DIRECTORY));
+            if (worldSave.exists()) {
+                try {
+                    World loaded = worldSave.load();
+                    Gdx.app.log("Ragamuffin", "Loaded saved world (seed " + loaded.getSeed() + ")");
+                    return loaded;
+                } catch (java.io.IOException | RuntimeException e) {
+                    Gdx.app.error("Ragamuffin", "Could not load saved world, generating a new one", e);
+                    worldSave.delete();
+                }
+            }
+        }
+        World generated = new World(System.currentTimeMillis());
+        generated.generate();
+        return generated;
+    }
+
+    /**
+     * Write edited chunks and world state to disk. Failures are logged, never fatal.
+     */
+    private void saveWorld() {
+        if (worldSave == null || world == null) {
+            return;
+        }
+        try {
+            int chunks = worldSave.save(world);
+            if (chunks > 0) {
+                Gdx.app.log("Ragamuffin", "Saved " + chunks + " chunks in "
+                    + worldSave.getLastRegionsWritten() + " regions");
+            }
+        } catch (java.io.IOException e) {
+            Gdx.app.error("Ragamuffin", "Could not save world", e);
+        }
+    }
+
     /**
      * Heavy initialisation: world generation, chunk mesh building, NPC spawning,
      * and all game systems. Called once from render() after the loading screen
@@ -351,8 +424,7 @@ public class RagamuffinGame extends ApplicationAdapter {
     private void initGame() {
         // Generate the world (Phase 2)
         Gdx.app.log("Ragamuffin", "Generating British town...");
-        world = new World(System.currentTimeMillis());
-        world.generate();
+        world = loadOrGenerateWorld();
 
         // Create player at the park (world center) - calculate spawn Y based on terrain
         float spawnY = calculateSpawnHeight(world, 0, 0) + 1.0f;
@@ -367,7 +439,10 @@ public class RagamuffinGame extends ApplicationAdapter {
         meshBuilder = new ChunkMeshBuilder();
         meshBuilder.setWorld(world);
         chunkRenderer = new ChunkRenderer();
+        chunkMesher = new AsyncChunkMesher();
         npcRenderer = new NPCRenderer();
+        npcRenderer.setInstancedRendering(true);
+        npcRenderer.buildImpostorAtlas();
         firstPersonArm = new FirstPersonArm();
 
         // Issue #10: Build sign list from all world landmarks
@@ -524,6 +599,7 @@ public class RagamuffinGame extends ApplicationAdapter {
 
         // Issue #803: Initialize wanted and notoriety systems — police pursuit & criminal reputation
         wantedSystem = new WantedSystem();
+        wantedSystem.setNPCSpatialIndex(npcManager.getSpatialIndex());
         notorietySystem = new NotorietySystem();
         gameHUD.setNotorietySystem(notorietySystem);
         // Issue #816: Initialize neighbourhood watch system — community uprising in response to player crimes
@@ -538,12 +614,14 @@ public class RagamuffinGame extends ApplicationAdapter {
         disguiseSystem = new DisguiseSystem();
         disguiseSystem.setAchievementSystem(achievementSystem);
         disguiseSystem.setRumourNetwork(rumourNetwork);
+        disguiseSystem.setNPCSpatialIndex(npcManager.getSpatialIndex());
         gameHUD.setDisguiseSystem(disguiseSystem);
         // Issue #781: Initialize graffiti system and renderer — territorial marking and turf-war
         graffitiSystem = new GraffitiSystem();
         graffitiRenderer = new ragamuffin.render.GraffitiRenderer();
         // Issue #824: Initialize street economy system — NPC needs, black market, protection rackets
         streetEconomySystem = new StreetEconomySystem();
+        streetEconomySystem.setNPCSpatialIndex(npcManager.getSpatialIndex());
         // Fix #899: Randomise initial cooldown so events don't all fire at the same time after start
         marketEventCooldown = 120f + new java.util.Random().nextFloat() * 180f;
 
@@ -552,6 +630,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         witnessSystem.setCriminalRecord(player.getCriminalRecord());
         witnessSystem.setRumourNetwork(rumourNetwork);
         witnessSystem.setAchievementSystem(achievementSystem);
+        witnessSystem.setNPCSpatialIndex(npcManager.getSpatialIndex());
 
         // Issue #828: Initialize newspaper system (required by JobCentreSystem)
         newspaperSystem = new NewspaperSystem();
@@ -648,6 +727,8 @@ public class RagamuffinGame extends ApplicationAdapter {
         // Issue #672: Initialize car renderer so cars are visible in-game
         carRenderer = new ragamuffin.render.CarRenderer();
 
+        registerScheduledSystems();
+
         loadingComplete = true;
         state = GameState.MENU;
         Gdx.app.log("Ragamuffin", "Loading complete.");
@@ -779,6 +860,24 @@ public class RagamuffinGame extends ApplicationAdapter {
         }
     }
 
+    /**
+     * Hand dirty chunks to the background mesher and upload finished meshes within
+     * the per-frame time budget. A chunk is marked clean once it is submitted; if it
+     * is dirtied again before its mesh lands, it is resubmitted and the older mesh
+     * is discarded by the mesher.
+     */
+    private void updateChunkMeshes() {
+        // Distant chunks whose level of detail changed are marked dirty here
+        chunkRenderer.updateLevelsOfDetail(camera.position, world);
+        for (Chunk chunk : world.getDirtyChunks()) {
+            if (!chunkMesher.submit(chunk, world, chunkRenderer.getLodScale(chunk))) {
+                break; // Mesher saturated — remaining chunks stay dirty until next frame
+            }
+            world.markChunkClean(chunk);
+        }
+        chunkMesher.uploadCompleted(chunkRenderer, AsyncChunkMesher.DEFAULT_UPLOAD_BUDGET_MS);
+    }
+
     /**
      * Mark the chunk containing the given world coordinates dirty for rebuild,
      * plus any neighbouring chunks if the block is on a chunk boundary.
@@ -952,7 +1051,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (cinematicJustDied) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
             boolean cinematicWasRespawning = respawnSystem.isRespawning();
             respawnSystem.update(delta, player);
@@ -975,7 +1074,7 @@ public class RagamuffinGame extends ApplicationAdapter {
                 inputHandler.resetPunch();
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
                 inputHandler.resetPlace();
                 inputHandler.resetInventory();
                 inputHandler.resetHelp();
@@ -1036,7 +1135,7 @@ public class RagamuffinGame extends ApplicationAdapter {
                 inputHandler.resetPunch();
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
                 inputHandler.resetPlace();
                 inputHandler.resetInventory();
                 inputHandler.resetHelp();
@@ -1126,21 +1225,12 @@ public class RagamuffinGame extends ApplicationAdapter {
             // dirty-queue entries and pop in visibly when PLAYING begins.
             // Use the player's spawn position as the centre for chunk-load decisions —
             // all cinematic waypoints are within render distance of the origin.
-            java.util.Set<String> cinematicUnloaded = world.updateLoadedChunks(player.getPosition());
-            for (String key : cinematicUnloaded) {
+            long[] cinematicUnloaded = world.updateLoadedChunks(player.getPosition());
+            for (long key : cinematicUnloaded) {
                 chunkRenderer.removeChunkByKey(key);
+                chunkMesher.cancel(key);
             }
-            List<Chunk> cinematicDirty = world.getDirtyChunks();
-            if (!cinematicDirty.isEmpty()) {
-                int built = 0;
-                java.util.Iterator<Chunk> cit = cinematicDirty.iterator();
-                while (cit.hasNext() && built < 16) {
-                    Chunk chunk = cit.next();
-                    chunkRenderer.updateChunk(chunk, meshBuilder);
-                    world.markChunkClean(chunk);
-                    built++;
-                }
-            }
+            updateChunkMeshes();
 
             // Transition to PLAYING once cinematic completes
             if (cinematicCamera.isCompleted()) {
@@ -1182,6 +1272,7 @@ public class RagamuffinGame extends ApplicationAdapter {
                     smallItemRenderer.render(modelBatch, environment);
                 }
                 modelBatch.end();
+                renderTransparentChunks();
 
                 // Render letterbox and skip hint overlay
                 int sw = Gdx.graphics.getWidth();
@@ -1252,171 +1343,23 @@ public class RagamuffinGame extends ApplicationAdapter {
                 inputHandler.resetEscape();
             }
 
-            // Fix #401: Update world simulation unconditionally — the opening sequence is a 2D overlay;
-            // the 3D world should keep simulating (NPCs, gravity, chunk loading, etc.) behind it.
-            // Fix #198: NPCs/gang/arrest must not freeze when inventory/crafting/help UI is open.
-            updatePlayingSimulation(delta);
-
-            // Update player-input logic (movement, punch, placement) — gated behind UI check.
-            // Fix #269: suppress input while player is dead or during the respawn countdown.
-            // Opening sequence also suppresses player input (it is a non-blocking overlay only).
-            if (!isUIBlocking() && !openingSequence.isActive() && !respawnSystem.isRespawning() && !player.isDead()) {
-                updatePlayingInput(delta);
-            }
-
-            // Update time system — runs unconditionally (Fix #401: must tick during opening sequence too)
-            timeSystem.update(delta);
-            npcManager.setGameTime(timeSystem.getTime());
-            lightingSystem.updateLighting(timeSystem.getTime(), timeSystem.getSunriseTime(), timeSystem.getSunsetTime());
-            updateSkyColour(timeSystem.getTime());
-            clockHUD.update(timeSystem.getTime(), timeSystem.getDayCount(), timeSystem.getDayOfMonth(), timeSystem.getMonthName());
-
-            // Phase 12: Update weather system with game-time seconds
-            // timeSpeed (hours/real-second) * 3600 = game-seconds per real-second
-            float gameTimeDeltaSeconds = delta * timeSystem.getTimeSpeed() * 3600f;
-            weatherSystem.update(gameTimeDeltaSeconds);
-
-            // Update police spawning based on seasonal night (TimeSystem.isNight())
-            npcManager.updatePoliceSpawning(timeSystem.isNight(), world, player);
-
-            // Fix #411: Hunger, starvation, and weather effects tick unconditionally —
-            // opening a UI overlay (inventory/help/crafting) must not freeze time-based
-            // survival simulation. Only the sprint multiplier falls back to ×1 while UI
-            // is open since the player is not moving. The healingSystem remains gated
-            // (intentional: you cannot rest while rummaging through your inventory).
-            if (!respawnSystem.isRespawning()) {
-                // Sprint drains hunger 3x faster, but only when the player is actually
-                // controlling movement (UI not blocking input).
-                float hungerMultiplier = (!isUIBlocking() && inputHandler.isSprintHeld()) ? 3.0f : 1.0f;
-                player.updateHunger(delta * hungerMultiplier);
-
-                // Sprint drains energy while moving — only applicable when UI is not open
-                if (!isUIBlocking()) {
-                    boolean isMovingNow = inputHandler.isForward() || inputHandler.isBackward() || inputHandler.isLeft() || inputHandler.isRight();
-                    if (inputHandler.isSprintHeld() && isMovingNow) {
-                        player.consumeEnergy(Player.SPRINT_ENERGY_DRAIN * delta);
-                    }
-                }
-
-                // Starvation: zero hunger drains health at 5 HP/s
-                if (player.getHunger() <= 0) {
-                    player.damage(5.0f * delta, DamageReason.STARVATION);
-                }
-
-                // Issue #234: Apply weather energy drain multiplier, shielded by indoor shelter
-                Weather currentWeather = weatherSystem.getCurrentWeather();
-                float weatherMultiplier = exposureSystem.getEffectiveEnergyDrainMultiplier(
-                        currentWeather, world, player.getPosition());
-                // Weather affects recovery rate inversely - worse weather = slower recovery
-                player.recoverEnergy(delta / weatherMultiplier);
-
-                // Issue #234: Cold snap health drain at night — shielded by indoor shelter
-                if (exposureSystem.isExposedToWeatherDamage(currentWeather, timeSystem.isNight(), world, player.getPosition())) {
-                    float healthDrain = currentWeather.getHealthDrainRate() * delta;
-                    player.damage(healthDrain, DamageReason.WEATHER);
-                }
-
-                // Phase 11: Update healing system (gated: no healing while UI is open —
-                // intentional design: you cannot rest while rummaging through your inventory)
-                if (!isUIBlocking()) {
-                    healingSystem.update(delta, player);
-                }
-            }
-            // Squat passive regen: +1 health/min when inside squat at Vibe >= 20
-            if (squatSystem != null && squatSystem.isRegenActive(
-                    player.getPosition().x, player.getPosition().z, 15f)) {
-                player.heal(delta / 60f);
+            // Simulate in fixed steps: the rate no longer follows the frame rate, and a
+            // long frame is absorbed as several short steps rather than one huge delta
+            int steps = simulationClock.advance(delta);
+            for (int i = 0; i < steps && state == GameState.PLAYING; i++) {
+                capturePositions();
+                long stepStart = System.nanoTime();
+                updatePlayingStep(simulationClock.getStep());
+                systemScheduler.recordStep(System.nanoTime() - stepStart);
             }
-
-            // Phase 11: Check for death and respawn
-            boolean justDied = respawnSystem.checkAndTriggerRespawn(player, tooltipSystem);
-            // Fix #275: Clear sticky punch state on death so auto-punch doesn't fire on respawn
-            if (justDied) {
-                inputHandler.resetPunchHeld();
-                punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
-                // Fix #601: Close and clear any active shop menu on death so isUIBlocking()
-                // returns false after respawn and player input is not permanently suppressed.
-                if (activeShopkeeperNPC != null) {
-                    activeShopkeeperNPC.setShopMenuOpen(false);
-                    activeShopkeeperNPC = null;
-                }
-            }
-            boolean wasRespawning = respawnSystem.isRespawning();
-            respawnSystem.update(delta, player);
-            if (wasRespawning && !respawnSystem.isRespawning()) {
-                deathMessage = null; // Reset for next death
-                // Fix #635: Clear any pending arrest — the player just died, so any in-flight
-                // arrest is moot; leaving it set would cause a ghost arrest on the next frame.
-                npcManager.clearArrestPending();
-                // Issue #114: Reset Greggs raid on respawn — mirrors the arrest-handler reset
-                greggsRaidSystem.reset();
-                // Issue #154: Reset street reputation on death — the streets forget you while you were dead
-                player.getStreetReputation().reset();
-                // Issue #166: Sync HealingSystem position after teleport so the next update()
-                // does not compute a spurious speed from the respawn distance.
-                healingSystem.resetPosition(player.getPosition());
-                // Fix #459: Reset distance tracking on respawn so distance doesn't carry across deaths.
-                distanceTravelledAchievement = 0f;
-                lastPlayerPosForDistance.set(player.getPosition());
-                // Fix #609: Reset all stale input flags so any key/mouse event buffered during
-                // the respawn countdown does not fire as a phantom action on the first live frame.
-                // Mirrors the identical resets in transitionToPlaying().
-                inputHandler.resetEscape();
-                inputHandler.resetPunch();
-                inputHandler.resetPunchHeld();
-                punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
-                inputHandler.resetPlace();
-                inputHandler.resetInventory();
-                inputHandler.resetHelp();
-                inputHandler.resetCrafting();
-                inputHandler.resetAchievements();
-                inputHandler.resetQuestLog();
-                inputHandler.resetInteract();
-                inputHandler.resetJump();
-                inputHandler.resetDodge();
-                inputHandler.resetEnter();
-                inputHandler.resetUp();
-                inputHandler.resetDown();
-                inputHandler.resetHotbarSlot();
-                inputHandler.resetCraftingSlot();
-                inputHandler.resetLeftClick();
-                inputHandler.resetLeftClickReleased();
-                inputHandler.resetRightClick();
-                inputHandler.resetScroll();
-                // Fix #643: Clear polled movement flags so a held WASD/sprint key does not
-                // cause immediate unwanted movement on the first post-respawn PLAYING frame.
-                inputHandler.resetMovement();
-                // Fix #609: Close any UI overlays left open at the time of death so the player
-                // does not respawn with inventory/crafting/help still showing.
-                inventoryUI.hide();
-                craftingUI.hide();
-                helpUI.hide();
-                achievementsUI.hide();
-                questLogUI.hide();
-                // Fix #625: Close and clear any active shop menu so isUIBlocking() returns false
-                // after respawn — mirrors the CINEMATIC branch (Fix #623) and PAUSED branch (Fix #621).
-                if (activeShopkeeperNPC != null) {
-                    activeShopkeeperNPC.setShopMenuOpen(false);
-                    activeShopkeeperNPC = null;
-                }
-            }
-
-            // Phase 11: Trigger hunger warning tooltip
-            if (player.getHunger() <= 25 && !tooltipSystem.hasShown(TooltipTrigger.HUNGER_LOW)) {
-                tooltipSystem.trigger(TooltipTrigger.HUNGER_LOW);
-            }
-
-            // Update tooltip system
-            tooltipSystem.update(delta);
-            // Fix #453: Advance achievement notification countdown during PLAYING so banners
-            // are shown and cleared at the correct rate.
-            achievementSystem.update(delta);
+            updatePlayingVisuals(delta);
 
             // Issue #209: Update sky renderer (cloud animation)
             skyRenderer.update(delta);
 
+            // Draw entities between their last two simulated positions
+            beginInterpolatedFrame(simulationClock.getAlpha());
+
             // Render 3D world
             Gdx.gl.glClearColor(skyR, skyG, skyB, 1f);
             Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
@@ -1454,6 +1397,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             // Issue #676: Render flags as physical 3D objects
             flagRenderer.render(modelBatch, environment);
             modelBatch.end();
+            renderTransparentChunks();
 
             // Issue #781: Render graffiti marks on block surfaces
             graffitiRenderer.render(graffitiSystem.getAllMarks(), camera);
@@ -1476,15 +1420,8 @@ public class RagamuffinGame extends ApplicationAdapter {
                 renderRain(delta);
             }
 
-            // Issue #171: Render particle effects (screen-space, before HUD)
-            {
-                int sw = Gdx.graphics.getWidth();
-                int sh = Gdx.graphics.getHeight();
-                com.badlogic.gdx.math.Matrix4 particleOrtho = new com.badlogic.gdx.math.Matrix4();
-                particleOrtho.setToOrtho2D(0, 0, sw, sh);
-                shapeRenderer.setProjectionMatrix(particleOrtho);
-                particleSystem.render(shapeRenderer, camera, sw, sh);
-            }
+            // Issue #171: Render particle effects (screen-sized dots, before HUD)
+            particleSystem.render(camera, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 
             // Render 2D UI overlay
             renderUI();
@@ -1499,6 +1436,7 @@ public class RagamuffinGame extends ApplicationAdapter {
                 openingSequence.render(spriteBatch, shapeRenderer, font,
                                       Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
             }
+            endInterpolatedFrame();
         } else if (state == GameState.PAUSED) {
             // Paused - still render world but frozen
             Gdx.gl.glClearColor(skyR, skyG, skyB, 1f);
@@ -1538,6 +1476,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             // Issue #676: Render flags as physical 3D objects while paused
             flagRenderer.render(modelBatch, environment);
             modelBatch.end();
+            renderTransparentChunks();
 
             // Fix #333: Render rain overlay while paused so the rain effect persists
             // visually when the player opens the pause menu during rain — mirrors the
@@ -1548,14 +1487,7 @@ public class RagamuffinGame extends ApplicationAdapter {
 
             // Fix #351: Render particles while paused so active particles are visible
             // during the pause (not just updated) — mirrors the PLAYING render path.
-            {
-                int sw = Gdx.graphics.getWidth();
-                int sh = Gdx.graphics.getHeight();
-                com.badlogic.gdx.math.Matrix4 particleOrtho = new com.badlogic.gdx.math.Matrix4();
-                particleOrtho.setToOrtho2D(0, 0, sw, sh);
-                shapeRenderer.setProjectionMatrix(particleOrtho);
-                particleSystem.render(shapeRenderer, camera, sw, sh);
-            }
+            particleSystem.render(camera, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 
             // Fix #321: Advance damage flash and HUD timers while paused so the
             // red vignette fades out and the damage-reason banner counts down.
@@ -1631,7 +1563,7 @@ public class RagamuffinGame extends ApplicationAdapter {
                     inputHandler.resetPunch();
                     inputHandler.resetPunchHeld();
                     punchHeldTimer = 0f;
-                    lastPunchTargetKey = null;
+                    lastPunchTargetType = PUNCH_TARGET_NONE;
                     inputHandler.resetPlace();
                     inputHandler.resetInventory();
                     inputHandler.resetHelp();
@@ -1785,7 +1717,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (pausedJustDied) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
                 // Fix #621: Close and clear any active shop menu on death so isUIBlocking()
                 // returns false after respawn — mirrors the identical block in the PLAYING branch (Fix #601).
                 if (activeShopkeeperNPC != null) {
@@ -1818,7 +1750,7 @@ public class RagamuffinGame extends ApplicationAdapter {
                 inputHandler.resetPunch();
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
                 inputHandler.resetPlace();
                 inputHandler.resetInventory();
                 inputHandler.resetHelp();
@@ -2030,11 +1962,11 @@ public class RagamuffinGame extends ApplicationAdapter {
         inputHandler.resetHotbarSlot();
         inputHandler.resetPunch();
         inputHandler.resetPunchHeld();
-        // Fix #611: Reset punchHeldTimer and lastPunchTargetKey alongside resetPunchHeld(),
+        // Fix #611: Reset punchHeldTimer and the punch target alongside resetPunchHeld(),
         // mirroring the identical pattern in transitionToPlaying(), transitionToPaused(), and
         // the justDied block — prevents phantom hold-punch on first PLAYING frame after cinematic
         punchHeldTimer = 0f;
-        lastPunchTargetKey = null;
+        lastPunchTargetType = PUNCH_TARGET_NONE;
         inputHandler.resetPlace();
         inputHandler.resetInventory();
         inputHandler.resetHelp();
@@ -2060,6 +1992,16 @@ public class RagamuffinGame extends ApplicationAdapter {
         Gdx.input.setCursorCatched(true);
     }
 
+    /**
+     * Second 3D pass: chunk glass, back to front, over the opaque world drawn by
+     * the main ModelBatch pass. Uses the chunks found visible by that pass.
+     */
+    private void renderTransparentChunks() {
+        transparentBatch.begin(camera);
+        chunkRenderer.renderTransparent(transparentBatch, environment);
+        transparentBatch.end();
+    }
+
     private void renderLoadingScreen() {
         int screenWidth = Gdx.graphics.getWidth();
         int screenHeight = Gdx.graphics.getHeight();
@@ -2105,6 +2047,12 @@ public class RagamuffinGame extends ApplicationAdapter {
     }
 
     private void handleUIInput() {
+        // System timing overlay toggle (debug; not a blocking UI)
+        if (inputHandler.isSystemTimingPressed()) {
+            systemTimingOverlay.toggle();
+            inputHandler.resetSystemTiming();
+        }
+
         // Inventory toggle
         if (inputHandler.isInventoryPressed()) {
             boolean wasVisible = inventoryUI.isVisible();
@@ -2115,7 +2063,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (!wasVisible) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
         }
 
@@ -2129,7 +2077,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (!wasVisible) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
         }
 
@@ -2143,7 +2091,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (!wasVisible) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
         }
 
@@ -2157,7 +2105,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (!wasVisible) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
         }
 
@@ -2171,7 +2119,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (!wasVisible) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
         }
 
@@ -2184,7 +2132,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (!wasVisible) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
         }
 
@@ -2197,7 +2145,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (!wasVisible) {
                 inputHandler.resetPunchHeld();
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
         }
 
@@ -2391,12 +2339,333 @@ public class RagamuffinGame extends ApplicationAdapter {
                 || fenceTradeUI.isVisible();
     }
 
+    /**
+     * One fixed simulation step of the PLAYING state: world simulation, player input,
+     * the clock, survival stats, death/respawn and HUD timers. Called zero or more
+     * times per frame by {@link #render()}, always with the same {@code delta}.
+     */
+    private void updatePlayingStep(float delta) {
+        // Fix #401: Update world simulation unconditionally — the opening sequence is a 2D overlay;
+        // the 3D world should keep simulating (NPCs, gravity, chunk loading, etc.) behind it.
+        // Fix #198: NPCs/gang/arrest must not freeze when inventory/crafting/help UI is open.
+        updatePlayingSimulation(delta);
+
+        // Update player-input logic (movement, punch, placement) — gated behind UI check.
+        // Fix #269: suppress input while player is dead or during the respawn countdown.
+        // Opening sequence also suppresses player input (it is a non-blocking overlay only).
+        if (!isUIBlocking() && !openingSequence.isActive() && !respawnSystem.isRespawning() && !player.isDead()) {
+            systemScheduler.beginSection("Player input");
+            updatePlayingInput(delta);
+        }
+
+        systemScheduler.beginSection("Time and lighting");
+        // Update time system — runs unconditionally (Fix #401: must tick during opening sequence too)
+        timeSystem.update(delta);
+        npcManager.setGameTime(timeSystem.getTime());
+        lightingSystem.updateLighting(timeSystem.getTime(), timeSystem.getSunriseTime(), timeSystem.getSunsetTime());
+        updateSkyColour(timeSystem.getTime());
+        clockHUD.update(timeSystem.getTime(), timeSystem.getDayCount(), timeSystem.getDayOfMonth(), timeSystem.getMonthName());
+
+        // Phase 12: Update weather system with game-time seconds
+        // timeSpeed (hours/real-second) * 3600 = game-seconds per real-second
+        float gameTimeDeltaSeconds = delta * timeSystem.getTimeSpeed() * 3600f;
+        weatherSystem.update(gameTimeDeltaSeconds);
+
+        // Update police spawning based on seasonal night (TimeSystem.isNight())
+        npcManager.updatePoliceSpawning(timeSystem.isNight(), world, player);
+
+        // Fix #411: Hunger, starvation, and weather effects tick unconditionally —
+        // opening a UI overlay (inventory/help/crafting) must not freeze time-based
+        // survival simulation. Only the sprint multiplier falls back to ×1 while UI
+        // is open since the player is not moving. The healingSystem remains gated
+        // (intentional: you cannot rest while rummaging through your inventory).
+        if (!respawnSystem.isRespawning()) {
+            // Sprint drains hunger 3x faster, but only when the player is actually
+            // controlling movement (UI not blocking input).
+            float hungerMultiplier = (!isUIBlocking() && inputHandler.isSprintHeld()) ? 3.0f : 1.0f;
+            player.updateHunger(delta * hungerMultiplier);
+
+            // Sprint drains energy while moving — only applicable when UI is not open
+            if (!isUIBlocking()) {
+                boolean isMovingNow = inputHandler.isForward() || inputHandler.isBackward() || inputHandler.isLeft() || inputHandler.isRight();
+                if (inputHandler.isSprintHeld() && isMovingNow) {
+                    player.consumeEnergy(Player.SPRINT_ENERGY_DRAIN * delta);
+                }
+            }
+
+            // Starvation: zero hunger drains health at 5 HP/s
+            if (player.getHunger() <= 0) {
+                player.damage(5.0f * delta, DamageReason.STARVATION);
+            }
+
+            // Issue #234: Apply weather energy drain multiplier, shielded by indoor shelter
+            Weather currentWeather = weatherSystem.getCurrentWeather();
+            float weatherMultiplier = exposureSystem.getEffectiveEnergyDrainMultiplier(
+                    currentWeather, world, player.getPosition());
+            // Weather affects recovery rate inversely - worse weather = slower recovery
+            player.recoverEnergy(delta / weatherMultiplier);
+
+            // Issue #234: Cold snap health drain at night — shielded by indoor shelter
+            if (exposureSystem.isExposedToWeatherDamage(currentWeather, timeSystem.isNight(), world, player.getPosition())) {
+                float healthDrain = currentWeather.getHealthDrainRate() * delta;
+                player.damage(healthDrain, DamageReason.WEATHER);
+            }
+
+            // Phase 11: Update healing system (gated: no healing while UI is open —
+            // intentional design: you cannot rest while rummaging through your inventory)
+            if (!isUIBlocking()) {
+                healingSystem.update(delta, player);
+            }
+        }
+        // Squat passive regen: +1 health/min when inside squat at Vibe >= 20
+        if (squatSystem != null && squatSystem.isRegenActive(
+                player.getPosition().x, player.getPosition().z, 15f)) {
+            player.heal(delta / 60f);
+        }
+
+        // Phase 11: Check for death and respawn
+        boolean justDied = respawnSystem.checkAndTriggerRespawn(player, tooltipSystem);
+        // Fix #275: Clear sticky punch state on death so auto-punch doesn't fire on respawn
+        if (justDied) {
+            inputHandler.resetPunchHeld();
+            punchHeldTimer = 0f;
+            lastPunchTargetType = PUNCH_TARGET_NONE;
+            // Fix #601: Close and clear any active shop menu on death so isUIBlocking()
+            // returns false after respawn and player input is not permanently suppressed.
+            if (activeShopkeeperNPC != null) {
+                activeShopkeeperNPC.setShopMenuOpen(false);
+                activeShopkeeperNPC = null;
+            }
+        }
+        boolean wasRespawning = respawnSystem.isRespawning();
+        respawnSystem.update(delta, player);
+        if (wasRespawning && !respawnSystem.isRespawning()) {
+            deathMessage = null; // Reset for next death
+            // Fix #635: Clear any pending arrest — the player just died, so any in-flight
+            // arrest is moot; leaving it set would cause a ghost arrest on the next frame.
+            npcManager.clearArrestPending();
+            // Issue #114: Reset Greggs raid on respawn — mirrors the arrest-handler reset
+            greggsRaidSystem.reset();
+            // Issue #154: Reset street reputation on death — the streets forget you while you were dead
+            player.getStreetReputation().reset();
+            // Issue #166: Sync HealingSystem position after teleport so the next update()
+            // does not compute a spurious speed from the respawn distance.
+            healingSystem.resetPosition(player.getPosition());
+            // Fix #459: Reset distance tracking on respawn so distance doesn't carry across deaths.
+            distanceTravelledAchievement = 0f;
+            lastPlayerPosForDistance.set(player.getPosition());
+            // Fix #609: Reset all stale input flags so any key/mouse event buffered during
+            // the respawn countdown does not fire as a phantom action on the first live frame.
+            // Mirrors the identical resets in transitionToPlaying().
+            inputHandler.resetEscape();
+            inputHandler.resetPunch();
+            inputHandler.resetPunchHeld();
+            punchHeldTimer = 0f;
+            lastPunchTargetType = PUNCH_TARGET_NONE;
+            inputHandler.resetPlace();
+            inputHandler.resetInventory();
+            inputHandler.resetHelp();
+            inputHandler.resetCrafting();
+            inputHandler.resetAchievements();
+            inputHandler.resetQuestLog();
+            inputHandler.resetInteract();
+            inputHandler.resetJump();
+            inputHandler.resetDodge();
+            inputHandler.resetEnter();
+            inputHandler.resetUp();
+            inputHandler.resetDown();
+            inputHandler.resetHotbarSlot();
+            inputHandler.resetCraftingSlot();
+            inputHandler.resetLeftClick();
+            inputHandler.resetLeftClickReleased();
+            inputHandler.resetRightClick();
+            inputHandler.resetScroll();
+            // Fix #643: Clear polled movement flags so a held WASD/sprint key does not
+            // cause immediate unwanted movement on the first post-respawn PLAYING frame.
+            inputHandler.resetMovement();
+            // Fix #609: Close any UI overlays left open at the time of death so the player
+            // does not respawn with inventory/crafting/help still showing.
+            inventoryUI.hide();
+            craftingUI.hide();
+            helpUI.hide();
+            achievementsUI.hide();
+            questLogUI.hide();
+            // Fix #625: Close and clear any active shop menu so isUIBlocking() returns false
+            // after respawn — mirrors the CINEMATIC branch (Fix #623) and PAUSED branch (Fix #621).
+            if (activeShopkeeperNPC != null) {
+                activeShopkeeperNPC.setShopMenuOpen(false);
+                activeShopkeeperNPC = null;
+            }
+        }
+
+        // Phase 11: Trigger hunger warning tooltip
+        if (player.getHunger() <= 25 && !tooltipSystem.hasShown(TooltipTrigger.HUNGER_LOW)) {
+            tooltipSystem.trigger(TooltipTrigger.HUNGER_LOW);
+        }
+
+        // Update tooltip system
+        tooltipSystem.update(delta);
+        // Fix #453: Advance achievement notification countdown during PLAYING so banners
+        // are shown and cleared at the correct rate.
+        achievementSystem.update(delta);
+    }
+
+    /**
+     * Per-frame animation in the PLAYING state that should stay smooth at any frame
+     * rate rather than advance in simulation steps: particles, flags, the
+     * first-person arm, and uploading rebuilt chunk meshes.
+     */
+    private void updatePlayingVisuals(float delta) {
+        // Rebuild meshes for newly loaded and edited chunks off the render thread
+        updateChunkMeshes();
+
+        // Issue #171: Update particle system
+        particleSystem.update(delta);
+
+        // Issue #658: Advance flag wave animation
+        flagRenderer.update(delta);
+
+        systemScheduler.beginSection("Arm");
+        // Fix #387: Advance arm swing animation unconditionally so a mid-punch swing
+        // completes rather than freezing in the extended position while a UI overlay
+        // (inventory/help/crafting) is open. Mirrors the same fix already applied to
+        // the PAUSED branch (Fix #339).
+        firstPersonArm.update(delta);
+        // Fix #652: Keep the arm's held-item display in sync with the hotbar selection.
+        firstPersonArm.setHeldItem(hotbarUI.getSelectedItem());
+        systemScheduler.endSection();
+    }
+
+    /**
+     * Register the systems that only care about in-game minutes, or only matter
+     * while they have something to do, with {@link #systemScheduler}. They read
+     * the current fields on every tick, so restartGame() can replace the systems.
+     */
+    private void registerScheduledSystems() {
+        // Issue #811: Faction system — mission timers, turf transfers, NPC hostility
+        systemScheduler.register(GameSystem.of("Factions", 0.25f, null,
+                d -> factionSystem.update(d, player, npcManager.getNPCs())));
+
+        // Issue #824: Street economy — NPC needs accumulation, market events, racket income
+        systemScheduler.register(GameSystem.of("Street economy", 0.5f, null,
+                d -> streetEconomySystem.update(d, npcManager.getNPCs(), player,
+                        weatherSystem.getCurrentWeather(),
+                        notorietySystem.getTier(),
+                        inventory, rumourNetwork,
+                        type -> achievementSystem.unlock(type))));
+
+        // Issue #862: Newspaper publication timer — fires daily edition at 18:00, triggers
+        // market events (GREGGS_STRIKE etc.), spreads rumours, and enables the pickUpNewspaper() path.
+        systemScheduler.register(GameSystem.of("Newspaper", 1f, null,
+                d -> newspaperSystem.update(
+                        d,
+                        timeSystem.getTime(),
+                        timeSystem.getDayCount(),
+                        notorietySystem,
+                        wantedSystem,
+                        rumourNetwork,
+                        null,
+                        factionSystem,
+                        fenceSystem,
+                        streetEconomySystem,
+                        player.getCriminalRecord(),
+                        npcManager.getNPCs(),
+                        type -> achievementSystem.unlock(type))));
+
+        // Issue #828: JobCentre — sign-on window, sanctions, debt collector
+        systemScheduler.register(GameSystem.of("Job centre", 0.5f, null,
+                d -> jobCentreSystem.update(d, player, npcManager.getNPCs())));
+
+        // Issue #799: Corner shop economy — customer traffic, heat, faction rivalries.
+        // Only runs once the player has claimed and opened a shop.
+        systemScheduler.register(GameSystem.of("Corner shop", 0.5f,
+                pos -> cornerShopSystem != null && cornerShopSystem.getShopUnit() != null
+                        && cornerShopSystem.getShopUnit().isClaimed() && cornerShopSystem.getShopUnit().isOpen(),
+                d -> cornerShopSystem.update(d, npcManager.getNPCs(), player, inventory,
+                        factionSystem, notorietySystem, rumourNetwork,
+                        player.getStreetSkillSystem(), achievementSystem::unlock)));
+
+        // Issue #793 / #846: Neighbourhood — building decay, gentrification, Vibes
+        systemScheduler.register(GameSystem.of("Neighbourhood", 1f, pos -> neighbourhoodSystem != null, d -> {
+            neighbourhoodSystem.update(d, world, npcManager.getNPCs(),
+                    notorietySystem.getNotoriety(),
+                    player.getPosition().x, player.getPosition().z);
+            neighbourhoodSystem.checkMarchettiShutters(world);
+            String nbTip = neighbourhoodSystem.pollTooltip();
+            if (nbTip != null) tooltipSystem.showMessage(nbTip, 3.0f);
+        }));
+
+        // Issue #848: Rave — income accumulation, police alert threshold. Only runs
+        // during a rave, and once more afterwards to clear the police spawn flag.
+        systemScheduler.register(GameSystem.of("Rave", 1f,
+                pos -> raveSystem != null && squatSystem != null && (raveSystem.isRaveActive() || ravePoliceSpawned),
+                d -> {
+            int attendees = squatSystem.countAttendeesInSquat(npcManager.getNPCs());
+            raveSystem.update(d, inventory, attendees);
+
+            // Wire police spawn when rave crosses alert threshold
+            if (raveSystem.isPoliceAlerted() && !ravePoliceSpawned) {
+                ravePoliceSpawned = true;
+                // Spawn 2 PCSO NPCs near the squat entrance
+                int sqX = squatSystem.getSquatWorldX();
+                int sqZ = squatSystem.getSquatWorldZ();
+                float sqY = calculateSpawnHeight(world, sqX, sqZ);
+                npcManager.spawnNPC(ragamuffin.entity.NPCType.PCSO, sqX + 2f, sqY, sqZ + 2f);
+                npcManager.spawnNPC(ragamuffin.entity.NPCType.PCSO, sqX - 2f, sqY, sqZ + 2f);
+                tooltipSystem.showMessage("The feds have been called to the rave. Scarper!", 4.0f);
+            }
+            // Reset spawn flag when rave ends
+            if (!raveSystem.isRaveActive()) {
+                ravePoliceSpawned = false;
+            }
+        }));
+    }
+
+    /** Record the player, NPC and car positions before a simulation step. */
+    private void capturePositions() {
+        positionInterpolator.beginCapture();
+        positionInterpolator.capture(player.getPosition());
+        java.util.List<ragamuffin.entity.NPC> npcs = npcManager.getNPCs();
+        for (int i = 0; i < npcs.size(); i++) {
+            positionInterpolator.capture(npcs.get(i).getPosition());
+        }
+        java.util.List<Car> cars = carManager.getCars();
+        for (int i = 0; i < cars.size(); i++) {
+            positionInterpolator.capture(cars.get(i).getPosition());
+        }
+        positionInterpolator.endCapture();
+    }
+
+    /**
+     * Move the player, NPCs and cars to their interpolated positions for drawing,
+     * and shift the camera by as much as the entity it follows moved.
+     */
+    private void beginInterpolatedFrame(float alpha) {
+        Vector3 followed = carDrivingSystem.isInCar() && carDrivingSystem.getCurrentCar() != null
+                ? carDrivingSystem.getCurrentCar().getPosition() : player.getPosition();
+        tmpFollowPos.set(followed);
+        simulatedCameraPos.set(camera.position);
+        positionInterpolator.apply(alpha);
+        camera.position.add(followed).sub(tmpFollowPos);
+        camera.update();
+    }
+
+    /** Undo {@link #beginInterpolatedFrame} so input and simulation see simulated positions. */
+    private void endInterpolatedFrame() {
+        positionInterpolator.restore();
+        camera.position.set(simulatedCameraPos);
+        camera.update();
+    }
+
     /**
      * Fix #198: World-simulation update — runs every frame regardless of UI state.
      * NPCs, gang territory, arrest system, reputation decay, particles, and chunk
      * loading must not freeze when the player has a UI overlay (inventory/crafting/help) open.
+     * Each system runs in a {@link SystemScheduler#beginSection} timing section so the
+     * F3 overlay can show what it costs; they stay inline to keep their order.
      */
     private void updatePlayingSimulation(float delta) {
+        systemScheduler.beginSection("Player physics");
         // Fix #202: Apply gravity and vertical collision unconditionally so the player
         // does not float mid-air when a UI overlay (inventory/help/crafting) is open.
         // Fix #273: Skip gravity/fall-damage when the player is already dead to prevent
@@ -2409,35 +2678,34 @@ public class RagamuffinGame extends ApplicationAdapter {
             player.updateDodge(delta);
         }
 
+        systemScheduler.beginSection("Block decay");
         // Decay partially-damaged blocks and props that have not been hit recently
         blockBreaker.tickDecay(delta);
         propBreaker.tickDecay(delta);
 
+        systemScheduler.beginSection("Landmark check");
         // Fix #776: Check whether the player has stepped into a landmark area this frame.
         // This allows EXPLORE quests to progress purely by walking into the target building
         // without requiring the player to find and speak to an NPC inside it.
         interactionSystem.checkPlayerPosition(player.getPosition(), world);
 
-        // Update loaded chunks based on player position; remove renderer models for unloaded chunks
-        java.util.Set<String> unloadedChunkKeys = world.updateLoadedChunks(player.getPosition());
-        for (String key : unloadedChunkKeys) {
-            chunkRenderer.removeChunkByKey(key);
+        systemScheduler.beginSection("Autosave");
+        // Periodically write edited chunks to disk (only changed regions are rewritten)
+        autosaveTimer += delta;
+        if (autosaveTimer >= AUTOSAVE_INTERVAL) {
+            autosaveTimer = 0f;
+            saveWorld();
         }
 
-        // Rebuild meshes for newly loaded chunks (budget: max 16 per frame to prevent freezes)
-        List<Chunk> dirtyChunks = world.getDirtyChunks();
-        if (!dirtyChunks.isEmpty()) {
-            int meshBudget = 16;
-            int built = 0;
-            java.util.Iterator<Chunk> it = dirtyChunks.iterator();
-            while (it.hasNext() && built < meshBudget) {
-                Chunk chunk = it.next();
-                chunkRenderer.updateChunk(chunk, meshBuilder);
-                world.markChunkClean(chunk);
-                built++;
-            }
+        systemScheduler.beginSection("Chunk loading");
+        // Update loaded chunks based on player position; remove renderer models for unloaded chunks
+        long[] unloadedChunkKeys = world.updateLoadedChunks(player.getPosition());
+        for (long key : unloadedChunkKeys) {
+            chunkRenderer.removeChunkByKey(key);
+            chunkMesher.cancel(key);
         }
 
+        systemScheduler.beginSection("Shopkeeper");
         // Issue #547: If the player has walked out of interaction range of the active
         // shopkeeper, close the shop menu and clear the reference so that 1/2/3 keys
         // are no longer intercepted for item selection.
@@ -2455,15 +2723,18 @@ public class RagamuffinGame extends ApplicationAdapter {
             activeShopkeeperNPC = null;
         }
 
+        systemScheduler.beginSection("Cars");
         // Issue #662: Update car traffic
         // Issue #884: Pass NPC list so cars can knock back and damage NPCs on collision
         if (!player.isDead()) {
             carManager.update(delta, player, npcManager.getNPCs());
         }
 
+        systemScheduler.beginSection("NPCs");
         // Phase 5: Update NPCs
         npcManager.update(delta, world, player, inventory, tooltipSystem);
 
+        systemScheduler.beginSection("Weather NPCs");
         // Issue #842: Apply weather-driven NPC behaviour once per second
         weatherNPCTimer += delta;
         if (weatherNPCTimer >= 1.0f) {
@@ -2471,12 +2742,15 @@ public class RagamuffinGame extends ApplicationAdapter {
             weatherNPCTimer = 0f;
         }
 
+        systemScheduler.beginSection("Speech log");
         // Fix #196: update speech log after NPC speech is set for this frame
         speechLogUI.update(npcManager.getNPCs(), delta);
 
+        systemScheduler.beginSection("Disguise");
         // Issue #818: Update disguise system — scrutiny decay, cover integrity, NPC freeze-stare
         disguiseSystem.update(delta, player, npcManager.getNPCs(), player.getVelocity().len());
 
+        systemScheduler.beginSection("Wanted");
         // Issue #803: Update wanted system — drives police NPC state transitions (CHASING, ALERTED)
         // and spawns reinforcements based on witnessed crimes.
         wantedSystem.update(delta, player, npcManager.getNPCs(),
@@ -2512,10 +2786,12 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
+        systemScheduler.beginSection("Notoriety");
         // Issue #803: Update notoriety system — controls helicopter sweep timer at Tier 3+
         // and tier-up flash animations.
         notorietySystem.update(delta, player, type -> achievementSystem.unlock(type));
 
+        systemScheduler.beginSection("Neighbourhood watch");
         // Issue #816: Update neighbourhood watch system — decays anger, manages tier escalation
         {
             Weather w = weatherSystem.getCurrentWeather();
@@ -2525,24 +2801,22 @@ public class RagamuffinGame extends ApplicationAdapter {
                 type -> achievementSystem.unlock(type));
         }
 
+        systemScheduler.beginSection("Rumours");
         // Issue #803: Update rumour network — spreads NPC gossip and police tips.
         rumourNetwork.update(npcManager.getNPCs(), delta);
 
-        // Issue #811: Update faction system — mission timers, turf transfers, NPC hostility
-        factionSystem.update(delta, player, npcManager.getNPCs());
+        systemScheduler.endSection();
+
+        // Tick the systems that run on their own intervals (see registerScheduledSystems)
+        systemScheduler.update(delta, player.getPosition());
 
+        systemScheduler.beginSection("Graffiti");
         // Issue #781: Update graffiti system — fade timers, NPC crew spray, turf pressure, passive income
         graffitiSystem.update(delta, timeSystem.getTimeSpeed() * delta / 24f, npcManager.getNPCs(),
                 factionSystem.getTurfMap(), wantedSystem, noiseSystem, rumourNetwork, inventory,
                 type -> achievementSystem.unlock(type));
 
-        // Issue #824: Update street economy system — NPC needs accumulation, market events, racket income
-        streetEconomySystem.update(delta, npcManager.getNPCs(), player,
-                weatherSystem.getCurrentWeather(),
-                notorietySystem.getTier(),
-                inventory, rumourNetwork,
-                type -> achievementSystem.unlock(type));
-
+        systemScheduler.beginSection("Market events");
         // Fix #899: Random market event scheduler — decrement cooldown and fire when ready
         marketEventCooldown -= delta;
         if (marketEventCooldown <= 0f && streetEconomySystem.getActiveEvent() == null) {
@@ -2555,33 +2829,16 @@ public class RagamuffinGame extends ApplicationAdapter {
             marketEventCooldown = 120f + new java.util.Random().nextFloat() * 180f;
         }
 
-        // Issue #862: Advance newspaper publication timer — fires daily edition at 18:00, triggers
-        // market events (GREGGS_STRIKE etc.), spreads rumours, and enables the pickUpNewspaper() path.
-        newspaperSystem.update(
-                delta,
-                timeSystem.getTime(),
-                timeSystem.getDayCount(),
-                notorietySystem,
-                wantedSystem,
-                rumourNetwork,
-                null,
-                factionSystem,
-                fenceSystem,
-                streetEconomySystem,
-                player.getCriminalRecord(),
-                npcManager.getNPCs(),
-                type -> achievementSystem.unlock(type));
-
+        systemScheduler.beginSection("Witnesses");
         // Issue #826: Update witness system — evidence props, witness NPC timers, CCTV tape countdowns
         witnessSystem.update(delta, npcManager.getNPCs(), player);
 
+        systemScheduler.beginSection("Fence");
         // Issue #866: Advance FenceSystem — refreshes daily rotating stock, runs police-avoidance
         // logic, counts down contraband-run timers, and decrements the post-failure lock countdown.
         fenceSystem.update(delta, player, npcManager.getNPCs(), timeSystem.getDayIndex());
 
-        // Issue #828: Update JobCentre system — sign-on window, sanctions, debt collector
-        jobCentreSystem.update(delta, player, npcManager.getNPCs());
-
+        systemScheduler.beginSection("Boot sale");
         // Issue #830: Update BootSale system — lot schedule, NPC bidders, police spawn
         if (bootSaleSystem != null) {
             bootSaleSystem.update(delta, player, npcManager.getNPCs());
@@ -2592,6 +2849,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
+        systemScheduler.beginSection("Property");
         // Issue #832: Fire PropertySystem daily tick — decay, passive income, council rates
         if (propertySystem != null) {
             java.util.List<String> propDayMsgs = propertySystem.onDayTick(
@@ -2607,13 +2865,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
-        // Issue #799: Update corner shop economy — customer traffic, heat, faction rivalries
-        if (cornerShopSystem != null) {
-            cornerShopSystem.update(delta, npcManager.getNPCs(), player, inventory,
-                    factionSystem, notorietySystem, rumourNetwork,
-                    player.getStreetSkillSystem(), achievementSystem::unlock);
-        }
-
+        systemScheduler.beginSection("Stall");
         // Issue #837: Update stall economy — customers, inspector, weather, faction modifiers
         if (stallSystem != null) {
             stallSystem.update(
@@ -2631,6 +2883,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             if (stallMsg != null) tooltipSystem.showMessage(stallMsg, 3.0f);
         }
 
+        systemScheduler.beginSection("Pirate radio");
         // Issue #783: Update pirate radio system — triangulation, action timers, signal van spawn
         if (pirateRadioSystem != null) {
             boolean policeNearby = false;
@@ -2708,28 +2961,21 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
+        systemScheduler.beginSection("Heist");
         // Issue #844: Update heist system — alarm timers, execution countdown, CCTV exposure, hot-loot ageing
         if (heistSystem != null) {
             heistSystem.update(delta, player, noiseSystem, npcManager, factionSystem,
                     rumourNetwork, npcManager.getNPCs(), world, timeSystem.isNight());
         }
 
-        // Issue #793 / #846: Update neighbourhood system — building decay, gentrification, Vibes
-        if (neighbourhoodSystem != null) {
-            neighbourhoodSystem.update(delta, world, npcManager.getNPCs(),
-                    notorietySystem.getNotoriety(),
-                    player.getPosition().x, player.getPosition().z);
-            neighbourhoodSystem.checkMarchettiShutters(world);
-            String nbTip = neighbourhoodSystem.pollTooltip();
-            if (nbTip != null) tooltipSystem.showMessage(nbTip, 3.0f);
-        }
-
+        systemScheduler.beginSection("Squat");
         // Issue #848: Update squat system — daily tick (income, vibe decay, raid checks)
         if (squatSystem != null) {
             squatSystem.tickDay(timeSystem.getDayIndex(), notorietySystem.getTier(),
                     npcManager.getNPCs(), inventory);
         }
 
+        systemScheduler.beginSection("Championship");
         // Issue #856: Championship ladder daily tick — +5 Notoriety if player is rank 1
         if (championshipLadder != null && notorietySystem != null) {
             int currentDay = timeSystem.getDayIndex();
@@ -2741,6 +2987,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
+        systemScheduler.beginSection("MC battle");
         // Issue #848: Update MC battle system — advance battle bar each frame
         if (mcBattleSystem != null) {
             mcBattleSystem.update(delta);
@@ -2772,28 +3019,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
-        // Issue #848: Update rave system — income accumulation, police alert threshold
-        if (raveSystem != null && squatSystem != null) {
-            int attendees = squatSystem.countAttendeesInSquat(npcManager.getNPCs());
-            raveSystem.update(delta, inventory, attendees);
-
-            // Wire police spawn when rave crosses alert threshold
-            if (raveSystem.isPoliceAlerted() && !ravePoliceSpawned) {
-                ravePoliceSpawned = true;
-                // Spawn 2 PCSO NPCs near the squat entrance
-                int sqX = squatSystem.getSquatWorldX();
-                int sqZ = squatSystem.getSquatWorldZ();
-                float sqY = calculateSpawnHeight(world, sqX, sqZ);
-                npcManager.spawnNPC(ragamuffin.entity.NPCType.PCSO, sqX + 2f, sqY, sqZ + 2f);
-                npcManager.spawnNPC(ragamuffin.entity.NPCType.PCSO, sqX - 2f, sqY, sqZ + 2f);
-                tooltipSystem.showMessage("The feds have been called to the rave. Scarper!", 4.0f);
-            }
-            // Reset spawn flag when rave ends
-            if (!raveSystem.isRaveActive()) {
-                ravePoliceSpawned = false;
-            }
-        }
-
+        systemScheduler.beginSection("Heist reset");
         // Issue #844: Daily heist reset — when clock crosses 06:00
         if (heistSystem != null && prevTimeForHeistReset >= 0f) {
             float currentTime = timeSystem.getTime();
@@ -2806,13 +3032,16 @@ public class RagamuffinGame extends ApplicationAdapter {
         }
         prevTimeForHeistReset = timeSystem.getTime();
 
+        systemScheduler.beginSection("Gang territory");
         // Issue #26: Update gang territory system
         gangTerritorySystem.update(delta, player, tooltipSystem, npcManager, world);
 
+        systemScheduler.beginSection("Street skills");
         // Fix #860: Advance StreetSkillSystem per-frame so the RALLY perk timer ticks,
         // followers auto-disperse, cooldowns decrement, and follower deterrence is applied.
         player.getStreetSkillSystem().update(delta, player, npcManager.getNPCs());
 
+        systemScheduler.beginSection("Arrest");
         // CRITIC 5: Handle police arrest — apply penalties if player was caught
         if (npcManager.isArrestPending() && !player.isDead()) {
             java.util.List<String> confiscated = arrestSystem.arrest(player, inventory);
@@ -2838,7 +3067,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             inputHandler.resetPunch();
             inputHandler.resetPunchHeld();
             punchHeldTimer = 0f;
-            lastPunchTargetKey = null;
+            lastPunchTargetType = PUNCH_TARGET_NONE;
             inputHandler.resetPlace();
             inputHandler.resetInventory();
             inputHandler.resetHelp();
@@ -2876,9 +3105,11 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
+        systemScheduler.beginSection("Reputation");
         // Issue #48: Passive reputation decay — "lying low" reduces reputation over time
         player.getStreetReputation().update(delta);
 
+        systemScheduler.beginSection("Campfires");
         // Issue #813: Update campfire system (extinguish in rain, sync positions)
         campfireSystem.update(world, weatherSystem.getCurrentWeather(), delta);
 
@@ -2886,6 +3117,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         lightingSystem.updatePointLights(campfireSystem.getCampfirePositions(),
                 campfireSystem.getCurrentLightIntensity());
 
+        systemScheduler.beginSection("Warmth");
         // Issue #807: Update warmth/wetness survival system
         if (!player.isDead()) {
             boolean nearCampfire = campfireSystem.isNearCampfire(player.getPosition());
@@ -2901,6 +3133,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
+        systemScheduler.beginSection("Frost slip");
         // Issue #842: Frost-slip — black ice on ROAD/PAVEMENT blocks during FROST
         if (!player.isDead()) {
             BlockType blockUnder = world.getBlockUnderPlayer(player);
@@ -2919,6 +3152,7 @@ public class RagamuffinGame extends ApplicationAdapter {
             }
         }
 
+        systemScheduler.beginSection("Grovel");
         // Issue #816: G key — Grovel mechanic (hold G to reduce Watch Anger)
         if (Gdx.input.isKeyPressed(Keys.G) && state == GameState.PLAYING && !player.isDead()) {
             boolean done = neighbourhoodWatchSystem.grovelling(delta, type -> achievementSystem.unlock(type));
@@ -2929,20 +3163,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         gameHUD.setWatchAnger(neighbourhoodWatchSystem.getWatchAnger());
         gameHUD.setWatchTier(neighbourhoodWatchSystem.getCurrentTier());
 
-        // Issue #171: Update particle system
-        particleSystem.update(delta);
-
-        // Issue #658: Advance flag wave animation
-        flagRenderer.update(delta);
-
-        // Fix #387: Advance arm swing animation unconditionally so a mid-punch swing
-        // completes rather than freezing in the extended position while a UI overlay
-        // (inventory/help/crafting) is open. Mirrors the same fix already applied to
-        // the PAUSED branch (Fix #339).
-        firstPersonArm.update(delta);
-        // Fix #652: Keep the arm's held-item display in sync with the hotbar selection.
-        firstPersonArm.setHeldItem(hotbarUI.getSelectedItem());
-
+        systemScheduler.beginSection("HUD");
         // Fix #305: Update damage flash timer and HUD unconditionally so the red vignette
         // and damage-reason banner always advance regardless of UI state or death.
         // Detect new damage event: flash was at full intensity this frame (just applied)
@@ -2954,6 +3175,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         player.updateFlash(delta);
         gameHUD.update(delta);
 
+        systemScheduler.beginSection("Distance achievement");
         // Fix #459: Accumulate distance travelled for MARATHON_MAN achievement.
         // Measure displacement since last frame, accumulate in metres, and award
         // one increment per whole metre so the 1000-increment target is reached
@@ -2968,6 +3190,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         }
         lastPlayerPosForDistance.set(player.getPosition());
 
+        systemScheduler.beginSection("Camera");
         // Update camera to follow player (or car in driving mode)
         if (carDrivingSystem.isInCar() && carDrivingSystem.getCurrentCar() != null) {
             // Third-person chase camera behind and above the car
@@ -3007,6 +3230,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         }
 
         camera.update();
+        systemScheduler.endSection();
     }
 
     /**
@@ -3026,28 +3250,37 @@ public class RagamuffinGame extends ApplicationAdapter {
                 inputHandler.resetPunch();
                 punchHeldTimer = 0f; // reset repeat timer on fresh click
                 // Capture current target so we can detect target changes
-                RaycastResult _initTarget = blockBreaker.getTargetBlock(world, camera.position, camera.direction, PUNCH_REACH);
+                RaycastResult _initTarget = blockBreaker.getTargetBlock(world, camera.position, camera.direction, PUNCH_REACH, targetHit)
+                        ? targetHit : null;
                 int _initProp = findPropInReach(camera.position, camera.direction, PUNCH_REACH);
                 if (_initTarget != null) {
-                    lastPunchTargetKey = _initTarget.getBlockX() + "," + _initTarget.getBlockY() + "," + _initTarget.getBlockZ();
+                    lastPunchTargetType = PUNCH_TARGET_BLOCK;
+                    lastPunchTargetKey = ChunkPos.pack(_initTarget.getBlockX(), _initTarget.getBlockY(), _initTarget.getBlockZ());
                 } else if (_initProp >= 0) {
-                    lastPunchTargetKey = "prop:" + _initProp;
+                    lastPunchTargetType = PUNCH_TARGET_PROP;
+                    lastPunchTargetKey = _initProp;
                 } else {
-                    lastPunchTargetKey = null;
+                    lastPunchTargetType = PUNCH_TARGET_NONE;
                 }
             } else if (inputHandler.isPunchHeld()) {
                 // Fix #279: Check for block, NPC, and prop targets so hold-to-punch fires for all.
                 // Issue #752: Props are now a valid hold target.
-                RaycastResult heldTarget = blockBreaker.getTargetBlock(world, camera.position, camera.direction, PUNCH_REACH);
-                String currentTargetKey = (heldTarget != null) ? (heldTarget.getBlockX() + "," + heldTarget.getBlockY() + "," + heldTarget.getBlockZ()) : null;
+                RaycastResult heldTarget = blockBreaker.getTargetBlock(world, camera.position, camera.direction, PUNCH_REACH, targetHit)
+                        ? targetHit : null;
+                int currentTargetType = PUNCH_TARGET_NONE;
+                long currentTargetKey = 0L;
+                if (heldTarget != null) {
+                    currentTargetType = PUNCH_TARGET_BLOCK;
+                    currentTargetKey = ChunkPos.pack(heldTarget.getBlockX(), heldTarget.getBlockY(), heldTarget.getBlockZ());
+                }
                 boolean hasNPCTarget = findNPCInReach(camera.position, camera.direction, PUNCH_REACH) != null;
-                // Check for prop target (use prop index as key; prefix avoids collisions with block keys)
+                // Check for prop target (keyed by prop index; the type keeps it apart from block keys)
                 int heldPropIndex = findPropInReach(camera.position, camera.direction, PUNCH_REACH);
-                String propTargetKey = (heldPropIndex >= 0) ? ("prop:" + heldPropIndex) : null;
                 // Merge: prefer block key if block is closer, otherwise use prop key
-                if (currentTargetKey == null && propTargetKey != null) {
-                    currentTargetKey = propTargetKey;
-                } else if (currentTargetKey != null && propTargetKey != null) {
+                if (currentTargetType == PUNCH_TARGET_NONE && heldPropIndex >= 0) {
+                    currentTargetType = PUNCH_TARGET_PROP;
+                    currentTargetKey = heldPropIndex;
+                } else if (currentTargetType != PUNCH_TARGET_NONE && heldPropIndex >= 0) {
                     // Both present — keep whichever is closer (same logic as handlePunch)
                     float bd = heldTarget.getDistance();
                     List<PropPosition> heldProps = world.getPropPositions();
@@ -3055,27 +3288,33 @@ public class RagamuffinGame extends ApplicationAdapter {
                         rayAABBIntersect(camera.position, camera.direction, heldProps.get(heldPropIndex).getAABB()) :
                         Float.MAX_VALUE;
                     if (pd >= 0f && pd < bd) {
-                        currentTargetKey = propTargetKey;
+                        currentTargetType = PUNCH_TARGET_PROP;
+                        currentTargetKey = heldPropIndex;
                     }
                 }
+                boolean hasTarget = currentTargetType != PUNCH_TARGET_NONE;
+                boolean targetChanged = currentTargetType != lastPunchTargetType
+                        || currentTargetKey != lastPunchTargetKey;
                 // Reset timer only when the block/prop target changes (switched target or target→NPC/none).
-                // Do NOT reset if an NPC is the target and currentTargetKey is null — that would
+                // Do NOT reset if an NPC is the target and there is no block/prop target — that would
                 // zero the timer every frame and prevent repeat hits on NPCs (the bug in #279).
-                if (!hasNPCTarget && (currentTargetKey == null || !currentTargetKey.equals(lastPunchTargetKey))) {
+                if (!hasNPCTarget && (!hasTarget || targetChanged)) {
                     punchHeldTimer = 0f;
+                    lastPunchTargetType = currentTargetType;
                     lastPunchTargetKey = currentTargetKey;
-                } else if (currentTargetKey != null && !currentTargetKey.equals(lastPunchTargetKey)) {
+                } else if (hasTarget && targetChanged) {
                     // Target changed (even while also facing an NPC — unlikely but correct)
                     punchHeldTimer = 0f;
+                    lastPunchTargetType = currentTargetType;
                     lastPunchTargetKey = currentTargetKey;
                 }
                 // Fix #285: When aiming at an NPC with no block/prop target, clear any residual
                 // block break progress immediately (not just on the next repeat tick).
-                if (hasNPCTarget && currentTargetKey == null) {
+                if (hasNPCTarget && !hasTarget) {
                     gameHUD.setBlockBreakProgress(0f);
                 }
                 // Any valid target — block, prop, OR NPC — should tick the repeat timer
-                if (currentTargetKey != null || hasNPCTarget) {
+                if (hasTarget || hasNPCTarget) {
                     punchHeldTimer += delta;
                     if (punchHeldTimer >= PUNCH_REPEAT_INTERVAL) {
                         punchHeldTimer -= PUNCH_REPEAT_INTERVAL;
@@ -3085,14 +3324,14 @@ public class RagamuffinGame extends ApplicationAdapter {
             } else {
                 // Button released — reset timer and last target
                 punchHeldTimer = 0f;
-                lastPunchTargetKey = null;
+                lastPunchTargetType = PUNCH_TARGET_NONE;
             }
         } else {
             // Shop menu is open — consume and discard any buffered punch/place inputs,
             // and reset the repeat timer so there is no burst when the menu closes.
             inputHandler.resetPunch();
             punchHeldTimer = 0f;
-            lastPunchTargetKey = null;
+            lastPunchTargetType = PUNCH_TARGET_NONE;
         }
 
         // Handle block placement
@@ -3413,14 +3652,16 @@ public class RagamuffinGame extends ApplicationAdapter {
                     tooltipSystem.showMessage("Transmitter destroyed!", 3.0f);
                 }
 
+                LandmarkType landmark = world.getLandmarkAt(x, y, z);
+
                 // Issue #816: Exterior wall smash — BRICK, GLASS, or STONE belonging to a building
                 if ((blockType == BlockType.BRICK || blockType == BlockType.GLASS || blockType == BlockType.STONE)
-                        && world.getLandmarkAt(x, y, z) != null) {
+                        && landmark != null) {
                     neighbourhoodWatchSystem.onPlayerSmashedExteriorWall();
                 }
 
                 // Issue #816: Visible crime — breaking blocks in a public landmark area
-                if (world.getLandmarkAt(x, y, z) != null) {
+                if (landmark != null) {
                     // Count nearby NPCs as witnesses
                     int witnessCount = 0;
                     for (ragamuffin.entity.NPC npc : npcManager.getNPCs()) {
@@ -3451,7 +3692,6 @@ public class RagamuffinGame extends ApplicationAdapter {
                     blockColour.r, blockColour.g, blockColour.b);
 
                 // Block was broken - determine drop
-                LandmarkType landmark = world.getLandmarkAt(x, y, z);
                 Material drop = dropTable.getDrop(blockType, landmark);
 
                 if (drop != null) {
@@ -4401,7 +4641,7 @@ public class RagamuffinGame extends ApplicationAdapter {
      */
     private NPC findNPCInReach(Vector3 cameraPos, Vector3 direction, float reach) {
         return NPCHitDetector.findNPCInReach(cameraPos, direction, reach,
-                npcManager.getNPCs(), blockBreaker, world);
+                npcManager.getNPCs(), blockBreaker, world, npcOcclusionHit);
     }
 
     /**
@@ -4559,7 +4799,8 @@ public class RagamuffinGame extends ApplicationAdapter {
                 int hudSelectedSlot = hotbarUI.getSelectedSlot();
                 Material hudEquipped = inventory.getItemInSlot(hudSelectedSlot);
                 Material hudTool = (hudEquipped != null && Tool.isTool(hudEquipped)) ? hudEquipped : null;
-                RaycastResult targetBlock = blockBreaker.getTargetBlock(world, tmpCameraPos, tmpDirection, PUNCH_REACH);
+                RaycastResult targetBlock = blockBreaker.getTargetBlock(world, tmpCameraPos, tmpDirection, PUNCH_REACH, targetHit)
+                        ? targetHit : null;
                 // Issue #752: Also check for prop targets in HUD
                 int hudTargetPropIndex = findPropInReach(tmpCameraPos, tmpDirection, PUNCH_REACH);
 
@@ -4758,6 +4999,8 @@ public class RagamuffinGame extends ApplicationAdapter {
             hoverTooltipSystem.update(delta);
             hoverTooltipSystem.render(spriteBatch, shapeRenderer, font);
         }
+
+        systemTimingOverlay.render(spriteBatch, shapeRenderer, font, systemScheduler, screenWidth, screenHeight);
     }
 
     private void renderTooltip() {
@@ -4947,10 +5190,15 @@ public class RagamuffinGame extends ApplicationAdapter {
     }
 
     private void restartGame() {
-        // Dispose old chunk renderer meshes
+        // Dispose old chunk renderer meshes and drop meshes still being built for the old world
         chunkRenderer.dispose();
+        chunkMesher.cancelAll();
 
-        // Regenerate world with a new seed
+        // Regenerate world with a new seed; the old save belongs to the old world
+        if (worldSave != null) {
+            worldSave.delete();
+        }
+        autosaveTimer = 0f;
         world = new World(System.currentTimeMillis());
         world.generate();
 
@@ -4965,6 +5213,9 @@ public class RagamuffinGame extends ApplicationAdapter {
         camera.position.y += Player.EYE_HEIGHT;
         cameraPitch = 0f;
         cameraYaw = 0f;
+        // Start the new game's simulation on a step boundary with nothing to interpolate
+        simulationClock.reset();
+        positionInterpolator.clear();
 
         // Rebuild chunk rendering — meshes built lazily in render loop
         chunkRenderer = new ChunkRenderer();
@@ -5009,6 +5260,8 @@ public class RagamuffinGame extends ApplicationAdapter {
         // native GPU resources (Mesh/Material) before creating new NPCManager/NPCs.
         npcRenderer.dispose();
         npcRenderer = new NPCRenderer();
+        npcRenderer.setInstancedRendering(true);
+        npcRenderer.buildImpostorAtlas();
         npcManager = new NPCManager();
         npcManager.setBlockBreaker(blockBreaker);
         spawnInitialNPCs();
@@ -5066,10 +5319,12 @@ public class RagamuffinGame extends ApplicationAdapter {
         disguiseSystem = new DisguiseSystem();
         disguiseSystem.setAchievementSystem(achievementSystem);
         disguiseSystem.setRumourNetwork(rumourNetwork);
+        disguiseSystem.setNPCSpatialIndex(npcManager.getSpatialIndex());
         // Issue #781: Reset graffiti system so marks and timers don't carry over between games
         graffitiSystem = new GraffitiSystem();
         // Issue #824: Reset street economy system so NPC needs and market state don't carry over
         streetEconomySystem = new StreetEconomySystem();
+        streetEconomySystem.setNPCSpatialIndex(npcManager.getSpatialIndex());
         // Fix #899: Reset market event cooldown so events restart on a fresh schedule
         marketEventCooldown = 120f + new java.util.Random().nextFloat() * 180f;
         // Issue #799: Reset corner shop system so shop state, heat and stock don't carry over
@@ -5078,11 +5333,14 @@ public class RagamuffinGame extends ApplicationAdapter {
         fruitMachine = new FruitMachine(new java.util.Random());
         // Issue #837: Reset stall system so stall state, stock and inspector don't carry over
         stallSystem = new StallSystem();
+        // The NPC manager was replaced above, so point the wanted system at its new index
+        wantedSystem.setNPCSpatialIndex(npcManager.getSpatialIndex());
         // Issue #826: Reset witness system so evidence props, CCTV timers and witness state don't carry over
         witnessSystem = new WitnessSystem();
         witnessSystem.setCriminalRecord(player.getCriminalRecord());
         witnessSystem.setRumourNetwork(rumourNetwork);
         witnessSystem.setAchievementSystem(achievementSystem);
+        witnessSystem.setNPCSpatialIndex(npcManager.getSpatialIndex());
         gameHUD = new GameHUD(player);
         gameHUD.setNeighbourhoodWatchSystem(neighbourhoodWatchSystem);
         gameHUD.setDisguiseSystem(disguiseSystem);
@@ -5112,7 +5370,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         // Fix #299: Clear sticky punch state so auto-punch doesn't fire in the first frame
         // of the new game session (mirrors the same reset in transitionToPaused() and on death).
         punchHeldTimer = 0f;
-        lastPunchTargetKey = null;
+        lastPunchTargetType = PUNCH_TARGET_NONE;
         inputHandler.resetPunchHeld();
         // Fix #363: Clear stale toggle-key state so UI overlays (inventory, help, crafting)
         // don't open on frame 1 of the new session if those keys were pressed on the same
@@ -5209,7 +5467,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         // first PLAYING frame after resume (mirrors the identical call in transitionToPaused())
         inputHandler.resetPunchHeld();
         punchHeldTimer = 0f;
-        lastPunchTargetKey = null;
+        lastPunchTargetType = PUNCH_TARGET_NONE;
         inputHandler.resetPlace();
         // Fix #573: Clear stale UI-toggle keys so I/H/C/Tab/Q pressed on the same frame as
         // ESC-to-resume do not re-open their panels on the first PLAYING frame
@@ -5262,7 +5520,7 @@ public class RagamuffinGame extends ApplicationAdapter {
         // Fix #275: Clear sticky punch state so auto-punch doesn't fire on resume
         inputHandler.resetPunchHeld();
         punchHeldTimer = 0f;
-        lastPunchTargetKey = null;
+        lastPunchTargetType = PUNCH_TARGET_NONE;
         // Fix #571: Clear stale punchPressed so a left-click on the same frame as ESC does not
         // fire a punch on the first PLAYING frame after resume (mirrors resetPunchHeld fix above)
         inputHandler.resetPunch();
@@ -5640,7 +5898,8 @@ public class RagamuffinGame extends ApplicationAdapter {
         tmpCameraPos.set(camera.position);
         tmpDirection.set(camera.direction);
 
-        RaycastResult targetBlock = blockBreaker.getTargetBlock(world, tmpCameraPos, tmpDirection, PUNCH_REACH);
+        RaycastResult targetBlock = blockBreaker.getTargetBlock(world, tmpCameraPos, tmpDirection, PUNCH_REACH, targetHit)
+                ? targetHit : null;
 
         // Use the camera's combined (perspective) matrix so coordinates match the 3D world
         shapeRenderer.setProjectionMatrix(camera.combined);
@@ -5832,9 +6091,16 @@ public class RagamuffinGame extends ApplicationAdapter {
 
     @Override
     public void dispose() {
+        saveWorld();
         modelBatch.dispose();
+        transparentBatch.dispose();
         chunkRenderer.dispose();
+        if (chunkMesher != null) {
+            chunkMesher.dispose();
+        }
         npcRenderer.dispose();
+        particleSystem.dispose();
+        graffitiRenderer.dispose();
         if (propRenderer != null) {
             propRenderer.dispose();
         }
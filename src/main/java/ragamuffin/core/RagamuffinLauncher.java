@@ -2,6 +2,7 @@ package ragamuffin.core;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.utils.SharedLibraryLoader;
 
 public class RagamuffinLauncher {
 
@@ -11,6 +12,11 @@ public class RagamuffinLauncher {
         config.setWindowedMode(1280, 720);
         config.useVsync(true);
         config.setForegroundFPS(60);
+        // GL30 enables instanced NPC rendering. macOS only offers GL 3.2 as a core
+        // profile, which the stock unversioned shaders don't compile on, so it stays on GL20.
+        if (!SharedLibraryLoader.isMac) {
+            config.setOpenGLEmulation(Lwjgl3ApplicationConfiguration.GLEmulation.GL30, 3, 2);
+        }
         new Lwjgl3Application(new RagamuffinGame(), config);
     }
 }
@@ -4,6 +4,7 @@ import ragamuffin.entity.NPC;
 import ragamuffin.entity.NPCType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
@@ -34,9 +35,17 @@ public class RumourNetwork {
 
     private final Random random;
 
-    // Tracks the last time each pair of NPCs exchanged rumours.
+    // Seconds of game time this network has been updated for; cooldowns expire against it
+    private float clock;
+
+    // When each pair of NPCs may next exchange rumours.
     // Key: canonical pair id (smaller npc hashCode first).
-    private final java.util.Map<Long, Float> exchangeCooldowns = new java.util.HashMap<>();
+    private final PairCooldowns exchangeCooldowns = new PairCooldowns();
+
+    // Neighbour sweep scratch, reused every frame: NPCs bucketed into
+    // SPREAD_DISTANCE-wide cells so each NPC is only tested against its 3x3 block
+    private final NeighbourGrid grid = new NeighbourGrid();
+    private int[] candidates = new int[16];
 
     // Global log of all rumours added via addRumour() — used by getAllRumours() / getAllRumourTypes().
     private final List<Rumour> allRumoursLog = new ArrayList<>();
@@ -61,39 +70,32 @@ public class RumourNetwork {
      * @param delta seconds since last update
      */
     public void update(List<NPC> npcs, float delta) {
-        // Advance all exchange cooldowns
-        List<Long> toRemove = new ArrayList<>();
-        for (java.util.Map.Entry<Long, Float> entry : exchangeCooldowns.entrySet()) {
-            float remaining = entry.getValue() - delta;
-            if (remaining <= 0f) {
-                toRemove.add(entry.getKey());
-            } else {
-                entry.setValue(remaining);
-            }
-        }
-        for (Long key : toRemove) {
-            exchangeCooldowns.remove(key);
+        // Advance the clock; pair cooldowns expire once it passes their deadline
+        clock += delta;
+        if (clock >= PairCooldowns.REBASE_INTERVAL) {
+            exchangeCooldowns.rebase(PairCooldowns.REBASE_INTERVAL, clock);
+            clock -= PairCooldowns.REBASE_INTERVAL;
         }
 
-        // Check all pairs
+        // Check every pair within SPREAD_DISTANCE, in the same (i, j > i) order as a
+        // full pairwise sweep so exchanges consume the Random in the same sequence
         int n = npcs.size();
+        grid.build(npcs);
         for (int i = 0; i < n; i++) {
             NPC a = npcs.get(i);
             if (!a.isAlive()) continue;
-            for (int j = i + 1; j < n; j++) {
-                NPC b = npcs.get(j);
-                if (!b.isAlive()) continue;
 
-                // Check distance
-                if (a.getPosition().dst(b.getPosition()) > SPREAD_DISTANCE) continue;
+            int count = gatherLaterNeighbours(npcs, i, a);
+            for (int c = 0; c < count; c++) {
+                NPC b = npcs.get(candidates[c]);
 
                 // Check cooldown
                 long pairKey = pairKey(a, b);
-                if (exchangeCooldowns.containsKey(pairKey)) continue;
+                if (exchangeCooldowns.isCoolingDown(pairKey, clock)) continue;
 
                 // Attempt exchange
                 tryExchange(a, b);
-                exchangeCooldowns.put(pairKey, EXCHANGE_COOLDOWN);
+                exchangeCooldowns.put(pairKey, clock + EXCHANGE_COOLDOWN, clock);
             }
         }
 
@@ -103,6 +105,39 @@ public class RumourNetwork {
         }
     }
 
+    /**
+     * Collect the indices of living NPCs after {@code i} in the list that are within
+     * {@link #SPREAD_DISTANCE} of {@code a}, in ascending order, into {@code candidates}.
+     *
+     * @return the number of candidates
+     */
+    private int gatherLaterNeighbours(List<NPC> npcs, int i, NPC a) {
+        int count = 0;
+        int cx = grid.cellX(i);
+        int cz = grid.cellZ(i);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                int cell = grid.find(cx + dx, cz + dz);
+                if (cell < 0) continue;
+                for (int k = grid.start(cell), end = grid.end(cell); k < end; k++) {
+                    int j = grid.member(k);
+                    if (j <= i) continue;
+                    NPC b = npcs.get(j);
+                    if (!b.isAlive()) continue;
+                    if (a.getPosition().dst(b.getPosition()) > SPREAD_DISTANCE) continue;
+                    if (count == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, count * 2);
+                    }
+                    candidates[count++] = j;
+                }
+            }
+        }
+        if (count > 1) {
+            Arrays.sort(candidates, 0, count);
+        }
+        return count;
+    }
+
     /**
      * Try to exchange a rumour between two NPCs. One random NPC is the speaker.
      * The barman always receives; regular NPCs receive up to their buffer limit.
@@ -253,4 +288,206 @@ public class RumourNetwork {
             return ((long) hb << 32) | (ha & 0xFFFFFFFFL);
         }
     }
+
+    /**
+     * Primitive map from pair key to the clock time its exchange cooldown ends.
+     * Expired entries are left in place and treated as absent; they are swept out
+     * before the table grows and whenever the clock is rebased.
+     */
+    private static final class PairCooldowns {
+        /** Clock value at which times are shifted back towards zero to keep float precision. */
+        static final float REBASE_INTERVAL = 4096f;
+
+        private long[] keys = new long[256];
+        private float[] expiries = new float[256];
+        private boolean[] used = new boolean[256];
+        private int mask = 255;
+        private int size;
+
+        boolean isCoolingDown(long key, float now) {
+            int i = slot(key);
+            while (used[i]) {
+                if (keys[i] == key) {
+                    return now < expiries[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return false;
+        }
+
+        void put(long key, float expiry, float now) {
+            int i = slot(key);
+            while (used[i]) {
+                if (keys[i] == key) {
+                    expiries[i] = expiry;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            used[i] = true;
+            keys[i] = key;
+            expiries[i] = expiry;
+            if (++size > keys.length / 2) {
+                rehash(now, 0f);
+            }
+        }
+
+        /** Shift every deadline back by {@code shift}, dropping those already passed at {@code now}. */
+        void rebase(float shift, float now) {
+            rehash(now, shift);
+        }
+
+        /**
+         * Rebuild the table without entries that expired by {@code now}, subtracting
+         * {@code shift} from the survivors; doubles the capacity if it is still half full.
+         */
+        private void rehash(float now, float shift) {
+            long[] oldKeys = keys;
+            float[] oldExpiries = expiries;
+            boolean[] oldUsed = used;
+            int live = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i] && now < oldExpiries[i]) live++;
+            }
+            int capacity = oldKeys.length;
+            while (live > capacity / 4) {
+                capacity *= 2;
+            }
+            keys = new long[capacity];
+            expiries = new float[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i] && now < oldExpiries[i]) {
+                    int j = slot(oldKeys[i]);
+                    while (used[j]) {
+                        j = (j + 1) & mask;
+                    }
+                    used[j] = true;
+                    keys[j] = oldKeys[i];
+                    expiries[j] = oldExpiries[i] - shift;
+                    size++;
+                }
+            }
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * NPC list indices bucketed by {@link #SPREAD_DISTANCE}-wide X/Z cell, rebuilt
+     * each frame with a counting sort. Each cell's members are in ascending list order.
+     */
+    private static final class NeighbourGrid {
+        private int[] cellXs = new int[64];
+        private int[] cellZs = new int[64];
+        private int[] cellOf = new int[64];
+        private int[] members = new int[64];
+
+        // Open-addressing cell table; slots whose stamp is not current are empty
+        private long[] cellKeys = new long[128];
+        private int[] cellStamps = new int[128];
+        private int[] cellIds = new int[128];
+        private int cellMask = 127;
+        private int stamp;
+
+        private int[] starts = new int[65];
+        private int cellCount;
+
+        void build(List<NPC> npcs) {
+            int n = npcs.size();
+            if (cellXs.length < n) {
+                int capacity = Math.max(n, cellXs.length * 2);
+                cellXs = new int[capacity];
+                cellZs = new int[capacity];
+                cellOf = new int[capacity];
+                members = new int[capacity];
+                starts = new int[capacity + 1];
+            }
+            if (cellKeys.length < n * 2) {
+                int capacity = Integer.highestOneBit(n * 2 - 1) << 1;
+                cellKeys = new long[capacity];
+                cellStamps = new int[capacity];
+                cellIds = new int[capacity];
+                cellMask = capacity - 1;
+                stamp = 0;
+            }
+            stamp++;
+            cellCount = 0;
+
+            // Count members per cell
+            for (int i = 0; i < n; i++) {
+                NPC npc = npcs.get(i);
+                int cx = (int) Math.floor(npc.getPosition().x / SPREAD_DISTANCE);
+                int cz = (int) Math.floor(npc.getPosition().z / SPREAD_DISTANCE);
+                cellXs[i] = cx;
+                cellZs[i] = cz;
+                int slot = slot(cx, cz);
+                if (cellStamps[slot] != stamp) {
+                    cellStamps[slot] = stamp;
+                    cellKeys[slot] = key(cx, cz);
+                    cellIds[slot] = cellCount;
+                    starts[cellCount++] = 0;
+                }
+                int cell = cellIds[slot];
+                cellOf[i] = cell;
+                starts[cell]++;
+            }
+            // Prefix sums: starts[cell] becomes the cell's end, then walks back to its start
+            int total = 0;
+            for (int c = 0; c < cellCount; c++) {
+                total += starts[c];
+                starts[c] = total;
+            }
+            starts[cellCount] = total;
+            for (int i = n - 1; i >= 0; i--) {
+                members[--starts[cellOf[i]]] = i;
+            }
+        }
+
+        int cellX(int i) {
+            return cellXs[i];
+        }
+
+        int cellZ(int i) {
+            return cellZs[i];
+        }
+
+        /** Cell id for the given coordinates, or -1 if no NPC is in it. */
+        int find(int cx, int cz) {
+            int slot = slot(cx, cz);
+            return cellStamps[slot] == stamp ? cellIds[slot] : -1;
+        }
+
+        int start(int cell) {
+            return starts[cell];
+        }
+
+        int end(int cell) {
+            return starts[cell + 1];
+        }
+
+        int member(int k) {
+            return members[k];
+        }
+
+        /** Slot holding the cell, or the empty slot where it would go. */
+        private int slot(int cx, int cz) {
+            long key = key(cx, cz);
+            long h = key * 0x9E3779B97F4A7C15L;
+            int i = (int) (h ^ (h >>> 32)) & cellMask;
+            while (cellStamps[i] == stamp && cellKeys[i] != key) {
+                i = (i + 1) & cellMask;
+            }
+            return i;
+        }
+
+        private static long key(int cx, int cz) {
+            return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package ragamuffin.core;
 
+import ragamuffin.ai.NPCSpatialIndex;
 import ragamuffin.building.Inventory;
 import ragamuffin.building.Material;
 import ragamuffin.entity.NPC;
@@ -210,6 +211,8 @@ public class StreetEconomySystem {
 
     private final Random random;
 
+    private NPCSpatialIndex npcIndex;
+
     // ── Construction ──────────────────────────────────────────────────────────
 
     public StreetEconomySystem() {
@@ -220,6 +223,14 @@ public class StreetEconomySystem {
         this.random = random;
     }
 
+    /**
+     * Attach the NPC spatial index used for police proximity checks. Only used when
+     * the NPC list passed in is the one the index covers.
+     */
+    public void setNPCSpatialIndex(NPCSpatialIndex npcIndex) {
+        this.npcIndex = npcIndex;
+    }
+
     // ── Per-frame update ───────────────────────────────────────────────────────
 
     /**
@@ -787,18 +798,24 @@ public class StreetEconomySystem {
 
     /** Returns true if a POLICE NPC is within 6 blocks of the player. */
     private boolean isPoliceNearby(Player player, List<NPC> allNpcs) {
+        if (npcIndex != null && npcIndex.indexes(allNpcs)) {
+            return npcIndex.findFirstWithin(player.getPosition(), 6f,
+                StreetEconomySystem::isLivingPolice) != null;
+        }
         for (NPC npc : allNpcs) {
-            if (!npc.isAlive()) continue;
-            if (npc.getType() == NPCType.POLICE || npc.getType() == NPCType.ARMED_RESPONSE
-                    || npc.getType() == NPCType.PCSO) {
-                if (npc.getPosition().dst(player.getPosition()) <= 6f) {
-                    return true;
-                }
+            if (isLivingPolice(npc) && npc.getPosition().dst(player.getPosition()) <= 6f) {
+                return true;
             }
         }
         return false;
     }
 
+    private static boolean isLivingPolice(NPC npc) {
+        return npc.isAlive()
+            && (npc.getType() == NPCType.POLICE || npc.getType() == NPCType.ARMED_RESPONSE
+                || npc.getType() == NPCType.PCSO);
+    }
+
     private void checkDodgyAchievement(NotorietySystem.AchievementCallback achievementCallback) {
         if (!dodgyAchievementAwarded && achievementCallback != null) {
             boolean hasStolen = dodgyItemsHandled.contains(Material.STOLEN_PHONE);
@@ -0,0 +1,203 @@
+package ragamuffin.core;
+
+import com.badlogic.gdx.math.Vector3;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ticks registered {@link GameSystem}s at their declared intervals, spreading
+ * the ticks across simulation steps so they don't all land on the same one.
+ *
+ * <p>Systems with the same interval start at different phases of it, and at
+ * most {@code maxTicksPerStep} interval systems tick in one step; the rest wait
+ * for the next step and are served first there, receiving the extra time in
+ * their delta. Systems with a zero interval tick every step and don't count
+ * towards the limit. Irrelevant systems are skipped and their time discarded.</p>
+ *
+ * <p>Every tick is timed, and the rolling average and decaying peak per system,
+ * plus the whole step's cost reported through {@link #recordStep(long)}, feed
+ * the system timing overlay. Systems that must keep their place in the step's
+ * fixed order run inline instead, wrapped in {@link #beginSection(String)} and
+ * {@link #endSection()}, and are listed alongside the scheduled ones.</p>
+ */
+public class SystemScheduler {
+
+    /** Default limit on interval systems ticked in one step. */
+    public static final int DEFAULT_MAX_TICKS_PER_STEP = 3;
+
+    // Spreads phases evenly however many systems share an interval
+    private static final float GOLDEN_RATIO_FRACTION = 0.618034f;
+    // Weight of the newest sample in the rolling averages
+    private static final float AVERAGE_WEIGHT = 0.05f;
+    // Peaks shrink by this factor per sample, so old spikes fade from the overlay
+    private static final float PEAK_DECAY = 0.98f;
+
+    private static final class Entry {
+        final String name;
+        final GameSystem system; // Null for an inline section
+        float elapsed;
+        int ticks;
+        float averageMillis;
+        float peakMillis;
+
+        Entry(String name, GameSystem system) {
+            this.name = name;
+            this.system = system;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Entry> sections = new HashMap<>();
+    private Entry openSection;
+    private long sectionStart;
+    private final int maxTicksPerStep;
+    // Where the next step starts scanning: the first system deferred by the limit
+    private int cursor;
+    private float stepAverageMillis;
+    private float stepPeakMillis;
+
+    public SystemScheduler() {
+        this(DEFAULT_MAX_TICKS_PER_STEP);
+    }
+
+    public SystemScheduler(int maxTicksPerStep) {
+        if (maxTicksPerStep < 1) {
+            throw new IllegalArgumentException("maxTicksPerStep must be at least 1");
+        }
+        this.maxTicksPerStep = maxTicksPerStep;
+    }
+
+    /** Add a system. Its first tick comes after a fraction of its interval. */
+    public void register(GameSystem system) {
+        Entry entry = new Entry(system.getName(), system);
+        float phase = (entries.size() * GOLDEN_RATIO_FRACTION) % 1f;
+        entry.elapsed = system.getTickInterval() * phase;
+        entries.add(entry);
+    }
+
+    /**
+     * Advance every system's clock by one simulation step and tick those that are
+     * due, relevant and within this step's limit.
+     *
+     * @param delta          length of the step, in seconds
+     * @param playerPosition passed to {@link GameSystem#isRelevant}
+     */
+    public void update(float delta, Vector3 playerPosition) {
+        int n = entries.size();
+        if (n == 0) return;
+        int start = cursor;
+        int budget = maxTicksPerStep;
+        int firstDeferred = -1;
+        for (int k = 0; k < n; k++) {
+            int index = (start + k) % n;
+            Entry entry = entries.get(index);
+            if (entry.system == null) continue;
+            entry.elapsed += delta;
+            float interval = entry.system.getTickInterval();
+            if (entry.elapsed < interval) continue;
+            if (!entry.system.isRelevant(playerPosition)) {
+                entry.elapsed = 0f;
+                continue;
+            }
+            if (interval > 0f) {
+                if (budget == 0) {
+                    if (firstDeferred < 0) firstDeferred = index;
+                    continue;
+                }
+                budget--;
+            }
+            tick(entry);
+        }
+        cursor = firstDeferred >= 0 ? firstDeferred : 0;
+    }
+
+    private void tick(Entry entry) {
+        long start = System.nanoTime();
+        entry.system.tick(entry.elapsed);
+        entry.elapsed = 0f;
+        record(entry, System.nanoTime() - start);
+    }
+
+    private static void record(Entry entry, long nanos) {
+        float millis = nanos / 1_000_000f;
+        entry.averageMillis = entry.ticks == 0 ? millis
+                : entry.averageMillis + (millis - entry.averageMillis) * AVERAGE_WEIGHT;
+        entry.peakMillis = Math.max(entry.peakMillis * PEAK_DECAY, millis);
+        entry.ticks++;
+    }
+
+    /**
+     * Start timing a named piece of the simulation step that runs inline, every
+     * step, rather than through {@link #update}. The first call with a name adds
+     * it to the listing. Sections don't nest: a new one ends any still open.
+     */
+    public void beginSection(String name) {
+        endSection();
+        Entry entry = sections.get(name);
+        if (entry == null) {
+            entry = new Entry(name, null);
+            sections.put(name, entry);
+            entries.add(entry);
+        }
+        openSection = entry;
+        sectionStart = System.nanoTime();
+    }
+
+    /** Stop timing the open section, if any, and record its cost. */
+    public void endSection() {
+        if (openSection != null) {
+            record(openSection, System.nanoTime() - sectionStart);
+            openSection = null;
+        }
+    }
+
+    /** Record how long a whole simulation step took, for the overlay's header. */
+    public void recordStep(long nanos) {
+        float millis = nanos / 1_000_000f;
+        stepAverageMillis = stepAverageMillis == 0f ? millis
+                : stepAverageMillis + (millis - stepAverageMillis) * AVERAGE_WEIGHT;
+        stepPeakMillis = Math.max(stepPeakMillis * PEAK_DECAY, millis);
+    }
+
+    public int getSystemCount() {
+        return entries.size();
+    }
+
+    public String getName(int index) {
+        return entries.get(index).name;
+    }
+
+    /** Seconds between the system's ticks; 0 for every step, including inline sections. */
+    public float getTickInterval(int index) {
+        GameSystem system = entries.get(index).system;
+        return system != null ? system.getTickInterval() : 0f;
+    }
+
+    /** Times the system has ticked (or the section has run). */
+    public int getTickCount(int index) {
+        return entries.get(index).ticks;
+    }
+
+    /** Rolling average cost of one tick, in milliseconds. */
+    public float getAverageMillis(int index) {
+        return entries.get(index).averageMillis;
+    }
+
+    /** Recent worst cost of one tick, in milliseconds, decaying over later ticks. */
+    public float getPeakMillis(int index) {
+        return entries.get(index).peakMillis;
+    }
+
+    /** Rolling average cost of a whole simulation step, in milliseconds. */
+    public float getStepAverageMillis() {
+        return stepAverageMillis;
+    }
+
+    /** Recent worst cost of a whole simulation step, in milliseconds. */
+    public float getStepPeakMillis() {
+        return stepPeakMillis;
+    }
+}
@@ -2,6 +2,7 @@ package ragamuffin.core;
 
 import com.badlogic.gdx.math.Vector3;
 import ragamuffin.ai.NPCManager;
+import ragamuffin.ai.NPCSpatialIndex;
 import ragamuffin.building.Inventory;
 import ragamuffin.building.Material;
 import ragamuffin.entity.NPC;
@@ -225,6 +226,8 @@ public class WantedSystem {
 
     private final Random random;
 
+    private NPCSpatialIndex npcIndex;
+
     // ── Callbacks ──────────────────────────────────────────────────────────────
 
     /**
@@ -244,6 +247,14 @@ public class WantedSystem {
         this.random = random;
     }
 
+    /**
+     * Attach the NPC spatial index used for police line-of-sight checks. Only used
+     * when the NPC list passed to {@link #update} is the one the index covers.
+     */
+    public void setNPCSpatialIndex(NPCSpatialIndex npcIndex) {
+        this.npcIndex = npcIndex;
+    }
+
     // ── Per-frame update ───────────────────────────────────────────────────────
 
     /**
@@ -659,22 +670,29 @@ public class WantedSystem {
 
     private void updatePoliceLoS(Player player, List<NPC> npcs, float losRange) {
         boolean anyLos = false;
-        for (NPC npc : npcs) {
-            if (!npc.isAlive()) continue;
-            if (!isPoliceNpc(npc)) continue;
-            if (npc.getState() == NPCState.KNOCKED_OUT) continue;
-
-            float dist = npc.getPosition().dst(player.getPosition());
-            if (dist <= losRange) {
-                anyLos = true;
-                // Update LKP to player's current position
-                lastKnownPosition.set(player.getPosition());
-                break;
+        if (npcIndex != null && npcIndex.indexes(npcs)) {
+            anyLos = npcIndex.findFirstWithin(player.getPosition(), losRange,
+                WantedSystem::canSeePlayer) != null;
+        } else {
+            for (NPC npc : npcs) {
+                if (canSeePlayer(npc) && npc.getPosition().dst(player.getPosition()) <= losRange) {
+                    anyLos = true;
+                    break;
+                }
             }
         }
+        if (anyLos) {
+            // Update LKP to player's current position
+            lastKnownPosition.set(player.getPosition());
+        }
         policeHasLos = anyLos;
     }
 
+    /** A living, conscious police NPC — one that can spot the player when in range. */
+    private static boolean canSeePlayer(NPC npc) {
+        return npc.isAlive() && isPoliceNpc(npc) && npc.getState() != NPCState.KNOCKED_OUT;
+    }
+
     private void updateDecayTimers(float delta, Player player, AchievementCallback achievementCallback) {
         if (wantedStars == 0) return;
 
@@ -854,7 +872,7 @@ public class WantedSystem {
         disguiseUsedThisPursuit = false;
     }
 
-    private boolean isPoliceNpc(NPC npc) {
+    private static boolean isPoliceNpc(NPC npc) {
         return npc.getType() == NPCType.POLICE
                 || npc.getType() == NPCType.PCSO
                 || npc.getType() == NPCType.ARMED_RESPONSE;
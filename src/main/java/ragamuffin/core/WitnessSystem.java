@@ -1,6 +1,7 @@
 package ragamuffin.core;
 
 import com.badlogic.gdx.math.Vector3;
+import ragamuffin.ai.NPCSpatialIndex;
 import ragamuffin.building.Inventory;
 import ragamuffin.building.Material;
 import ragamuffin.entity.NPC;
@@ -63,6 +64,9 @@ public class WitnessSystem {
     private CriminalRecord criminalRecord;
     private RumourNetwork rumourNetwork;
     private AchievementSystem achievementSystem;
+    private NPCSpatialIndex npcIndex;
+    // Reused result list for proximity queries on the index
+    private final List<NPC> nearbyNpcs = new ArrayList<>();
 
     /** Tracks active CCTV tape props for quick lookup. */
     private final List<EvidenceProp> cctvTapes = new ArrayList<>();
@@ -104,6 +108,15 @@ public class WitnessSystem {
         this.achievementSystem = achievementSystem;
     }
 
+    /**
+     * Attach the NPC spatial index so police patrols and witnesses near a point are
+     * found without scanning every NPC. Only used when the NPC list passed to
+     * {@link #update} is the one the index covers.
+     */
+    public void setNPCSpatialIndex(NPCSpatialIndex npcIndex) {
+        this.npcIndex = npcIndex;
+    }
+
     // ── Per-frame update ───────────────────────────────────────────────────────
 
     /**
@@ -221,22 +234,11 @@ public class WitnessSystem {
             }
 
             // Check if a police NPC is near enough to discover non-CCTV evidence
-            if (prop.getType() != EvidenceType.CCTV_TAPE && !prop.isDiscovered()) {
-                for (NPC npc : npcs) {
-                    if (!npc.isAlive()) continue;
-                    if (npc.getType() != NPCType.POLICE
-                            && npc.getType() != NPCType.PCSO
-                            && npc.getType() != NPCType.ARMED_RESPONSE) {
-                        continue;
-                    }
-                    float dist = npc.getPosition().dst(prop.getPosition());
-                    if (dist <= EvidenceProp.POLICE_DETECT_RADIUS) {
-                        prop.discover();
-                        if (criminalRecord != null) {
-                            criminalRecord.record(CriminalRecord.CrimeType.WITNESSED_CRIMES);
-                        }
-                        break;
-                    }
+            if (prop.getType() != EvidenceType.CCTV_TAPE && !prop.isDiscovered()
+                    && isPoliceNear(prop.getPosition(), npcs)) {
+                prop.discover();
+                if (criminalRecord != null) {
+                    criminalRecord.record(CriminalRecord.CrimeType.WITNESSED_CRIMES);
                 }
             }
 
@@ -244,6 +246,28 @@ public class WitnessSystem {
         }
     }
 
+    /** Whether a living police, PCSO or armed-response NPC is close enough to spot evidence here. */
+    private boolean isPoliceNear(Vector3 position, List<NPC> npcs) {
+        if (npcIndex != null && npcIndex.indexes(npcs)) {
+            return npcIndex.findFirstWithin(position, EvidenceProp.POLICE_DETECT_RADIUS,
+                WitnessSystem::isLivingPolice) != null;
+        }
+        for (NPC npc : npcs) {
+            if (isLivingPolice(npc)
+                    && npc.getPosition().dst(position) <= EvidenceProp.POLICE_DETECT_RADIUS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLivingPolice(NPC npc) {
+        return npc.isAlive()
+            && (npc.getType() == NPCType.POLICE
+                || npc.getType() == NPCType.PCSO
+                || npc.getType() == NPCType.ARMED_RESPONSE);
+    }
+
     // ── Witness NPCs ────────────────────────────────────────────────────────────
 
     /**
@@ -261,34 +285,50 @@ public class WitnessSystem {
      */
     public void registerCrime(float crimeX, float crimeY, float crimeZ,
                               String crimeDesc, List<NPC> npcs, NPC rumourHolder) {
-        for (NPC npc : npcs) {
-            if (!npc.isAlive()) continue;
-            // Police/PCSO/ARU already know — only civilians become witnesses
-            if (npc.getType() == NPCType.POLICE
-                    || npc.getType() == NPCType.PCSO
-                    || npc.getType() == NPCType.ARMED_RESPONSE) {
-                continue;
-            }
-            // Skip NPCs already in a witness state
-            if (npc.getState() == NPCState.WITNESS
-                    || npc.getState() == NPCState.REPORTING_TO_POLICE) {
-                continue;
+        if (npcIndex != null && npcIndex.indexes(npcs)) {
+            List<NPC> nearby = npcIndex.collectWithin(crimeX, crimeY, crimeZ, WITNESS_LOS_RANGE, nearbyNpcs);
+            for (int i = 0; i < nearby.size(); i++) {
+                witnessCrime(nearby.get(i), crimeX, crimeY, crimeZ, crimeDesc);
             }
+            nearby.clear();
+            return;
+        }
+        for (NPC npc : npcs) {
+            witnessCrime(npc, crimeX, crimeY, crimeZ, crimeDesc);
+        }
+    }
+
+    /**
+     * Turn a single NPC into a witness if it is a civilian within
+     * {@link #WITNESS_LOS_RANGE} of the crime and not already witnessing.
+     */
+    private void witnessCrime(NPC npc, float crimeX, float crimeY, float crimeZ, String crimeDesc) {
+        if (!npc.isAlive()) return;
+        // Police/PCSO/ARU already know — only civilians become witnesses
+        if (npc.getType() == NPCType.POLICE
+                || npc.getType() == NPCType.PCSO
+                || npc.getType() == NPCType.ARMED_RESPONSE) {
+            return;
+        }
+        // Skip NPCs already in a witness state
+        if (npc.getState() == NPCState.WITNESS
+                || npc.getState() == NPCState.REPORTING_TO_POLICE) {
+            return;
+        }
 
-            float dist = npc.getPosition().dst(crimeX, crimeY, crimeZ);
-            if (dist > WITNESS_LOS_RANGE) continue;
+        float dist = npc.getPosition().dst(crimeX, crimeY, crimeZ);
+        if (dist > WITNESS_LOS_RANGE) return;
 
-            // Transition to WITNESS state
-            npc.setState(NPCState.WITNESS);
-            npc.setWitnessReportTimer(WITNESS_REPORT_DELAY);
-            npc.setSpeechText("Oi! What you doing?!", WITNESS_SPEECH_DURATION);
+        // Transition to WITNESS state
+        npc.setState(NPCState.WITNESS);
+        npc.setWitnessReportTimer(WITNESS_REPORT_DELAY);
+        npc.setSpeechText("Oi! What you doing?!", WITNESS_SPEECH_DURATION);
 
-            // Seed a WITNESS_SIGHTING rumour into this NPC
-            if (rumourNetwork != null) {
-                String text = "Someone was " + crimeDesc + " near here — the police should know";
-                Rumour sighting = new Rumour(RumourType.WITNESS_SIGHTING, text);
-                rumourNetwork.addRumour(npc, sighting);
-            }
+        // Seed a WITNESS_SIGHTING rumour into this NPC
+        if (rumourNetwork != null) {
+            String text = "Someone was " + crimeDesc + " near here — the police should know";
+            Rumour sighting = new Rumour(RumourType.WITNESS_SIGHTING, text);
+            rumourNetwork.addRumour(npc, sighting);
         }
     }
 
@@ -0,0 +1,233 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import ragamuffin.world.Chunk;
+import ragamuffin.world.ChunkMap;
+import ragamuffin.world.ChunkSnapshot;
+import ragamuffin.world.World;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds chunk meshes on background worker threads so that loading or editing
+ * chunks does not stall the render thread.
+ *
+ * <p>The render thread captures an immutable {@link ChunkSnapshot} (the chunk plus
+ * a one-voxel neighbour border) and hands it to a worker, which runs its own
+ * {@link ChunkMeshBuilder} to produce {@link MeshData}. Finished meshes are queued
+ * and uploaded to the GPU by {@link #uploadCompleted} within a per-frame time budget.</p>
+ *
+ * <p>Every submit stamps the chunk with a new revision. A finished mesh is only
+ * uploaded if its revision is still the chunk's latest — meshes for chunks that were
+ * re-dirtied and resubmitted mid-build, or unloaded via {@link #cancel}, are dropped.</p>
+ *
+ * <p>All methods except the worker tasks themselves must be called on the render
+ * thread. With zero worker threads (the WebGL build, which has no threads) meshes
+ * are built inline during {@link #submit} and still uploaded through the queue.</p>
+ */
+public class AsyncChunkMesher {
+
+    /** Default per-frame GPU upload budget in milliseconds. */
+    public static final float DEFAULT_UPLOAD_BUDGET_MS = 4.0f;
+
+    // Cap on snapshots submitted but not yet uploaded, per worker (each snapshot
+    // holds ~21 KB of block data, so an unbounded queue on world load is wasteful)
+    private static final int MAX_PENDING_PER_WORKER = 4;
+    private static final int MAX_PENDING_INLINE = 4;
+
+    /** A finished mesh waiting for upload on the render thread. */
+    private static final class Result {
+        final Chunk chunk;
+        final long key;
+        final long revision;
+        final MeshData meshData; // null if the build failed
+
+        Result(Chunk chunk, long key, long revision, MeshData meshData) {
+            this.chunk = chunk;
+            this.key = key;
+            this.revision = revision;
+            this.meshData = meshData;
+        }
+    }
+
+    private final ExecutorService executor; // null when meshing inline
+    private final ChunkMeshBuilder inlineBuilder;
+    private final ThreadLocal<ChunkMeshBuilder> workerBuilders = ThreadLocal.withInitial(ChunkMeshBuilder::new);
+    private final ConcurrentLinkedQueue<Result> completed = new ConcurrentLinkedQueue<>();
+    private final ChunkMap<Long> latestRevisions = new ChunkMap<>(256);
+    private final int maxPending;
+    private long nextRevision = 1;
+    private int pending;
+
+    /**
+     * Create a mesher sized for this machine: one worker per spare core (at most 4),
+     * or inline meshing on WebGL.
+     */
+    public AsyncChunkMesher() {
+        this(detectWorkerCount());
+    }
+
+    /**
+     * Create a mesher with an explicit number of worker threads.
+     *
+     * @param workerThreads number of background threads; 0 builds meshes inline
+     */
+    public AsyncChunkMesher(int workerThreads) {
+        if (workerThreads > 0) {
+            AtomicInteger threadId = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(workerThreads, r -> {
+                Thread t = new Thread(r, "chunk-mesher-" + threadId.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            });
+            this.inlineBuilder = null;
+            this.maxPending = workerThreads * MAX_PENDING_PER_WORKER;
+        } else {
+            this.executor = null;
+            this.inlineBuilder = new ChunkMeshBuilder();
+            this.maxPending = MAX_PENDING_INLINE;
+        }
+    }
+
+    private static int detectWorkerCount() {
+        try {
+            if (Gdx.app != null && Gdx.app.getType() == Application.ApplicationType.WebGL) {
+                return 0;
+            }
+        } catch (Exception ignored) {}
+        int spareCores = Runtime.getRuntime().availableProcessors() - 1;
+        return Math.max(1, Math.min(4, spareCores));
+    }
+
+    /**
+     * Snapshot a chunk and queue it for meshing at full detail.
+     *
+     * @return false if too many meshes are already pending; the caller should leave
+     *         the chunk dirty and try again next frame
+     */
+    public boolean submit(Chunk chunk, World world) {
+        return submit(chunk, world, 1);
+    }
+
+    /**
+     * Snapshot a chunk and queue it for meshing at a level of detail.
+     *
+     * @param lodScale blocks per mesh cell; 1 for full detail (see
+     *                 {@link ChunkMeshBuilder#build(ChunkSnapshot, int)})
+     * @return false if too many meshes are already pending; the caller should leave
+     *         the chunk dirty and try again next frame
+     */
+    public boolean submit(Chunk chunk, World world, int lodScale) {
+        if (pending >= maxPending) {
+            return false;
+        }
+        long key = chunk.getKey();
+        long revision = nextRevision++;
+        latestRevisions.put(key, revision);
+        ChunkSnapshot snapshot = ChunkSnapshot.capture(chunk, world);
+        pending++;
+
+        if (executor == null) {
+            completed.add(new Result(chunk, key, revision, buildMesh(inlineBuilder, snapshot, lodScale)));
+            return true;
+        }
+        try {
+            executor.execute(() ->
+                completed.add(new Result(chunk, key, revision, buildMesh(workerBuilders.get(), snapshot, lodScale))));
+        } catch (RejectedExecutionException e) {
+            // Mesher disposed — nothing will be uploaded
+            pending--;
+            latestRevisions.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private static MeshData buildMesh(ChunkMeshBuilder builder, ChunkSnapshot snapshot, int lodScale) {
+        try {
+            MeshData meshData = builder.build(snapshot, lodScale);
+            // Flush the batches here so the render thread only uploads
+            meshData.getMeshCount();
+            meshData.getTransparentMeshData().getMeshCount();
+            return meshData;
+        } catch (RuntimeException e) {
+            if (Gdx.app != null) {
+                Gdx.app.error("ChunkMesher", "Mesh build failed for chunk "
+                    + snapshot.getChunkX() + "," + snapshot.getChunkY() + "," + snapshot.getChunkZ(), e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Upload finished meshes to the renderer until the time budget is spent.
+     * At least one mesh is uploaded per call when any is ready, so progress is
+     * guaranteed even on slow frames. Stale meshes are discarded without upload.
+     *
+     * @param renderer the chunk renderer to upload into
+     * @param budgetMs wall-clock budget for uploads this frame, in milliseconds
+     * @return the number of meshes uploaded
+     */
+    public int uploadCompleted(ChunkRenderer renderer, float budgetMs) {
+        long deadline = System.nanoTime() + (long) (budgetMs * 1_000_000L);
+        int uploaded = 0;
+        Result result;
+        while ((result = completed.poll()) != null) {
+            pending--;
+            Long latest = latestRevisions.get(result.key);
+            if (latest == null || latest != result.revision) {
+                continue; // Re-dirtied or unloaded while building
+            }
+            latestRevisions.remove(result.key);
+            if (result.meshData != null) {
+                renderer.uploadChunk(result.chunk, result.meshData);
+                uploaded++;
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        return uploaded;
+    }
+
+    /**
+     * Discard any in-flight mesh for a chunk (e.g. because it was unloaded).
+     *
+     * @param key packed ChunkPos key, as returned by World.updateLoadedChunks
+     */
+    public void cancel(long key) {
+        latestRevisions.remove(key);
+    }
+
+    /**
+     * Discard every in-flight mesh. Used when the world is replaced (restart).
+     */
+    public void cancelAll() {
+        latestRevisions.clear();
+    }
+
+    /**
+     * Number of meshes submitted but not yet uploaded or discarded.
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * Stop the worker threads. Pending meshes are dropped.
+     */
+    public void dispose() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        completed.clear();
+        latestRevisions.clear();
+        pending = 0;
+    }
+}
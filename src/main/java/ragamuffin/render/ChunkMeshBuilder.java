@@ -3,6 +3,7 @@ package ragamuffin.render;
 import com.badlogic.gdx.graphics.Color;
 import ragamuffin.world.BlockType;
 import ragamuffin.world.Chunk;
+import ragamuffin.world.ChunkSnapshot;
 import ragamuffin.world.World;
 
 /**
@@ -21,6 +22,8 @@ public class ChunkMeshBuilder {
     private static final int MAX_SLICE = Chunk.SIZE * Chunk.HEIGHT;
     private final BlockType[] mask = new BlockType[MAX_SLICE];
     private final boolean[] merged = new boolean[MAX_SLICE];
+    private final ChunkVisibility visibility = new ChunkVisibility();
+    private LodMeshBuilder lodBuilder; // Created on the first reduced-detail build
 
     // Optional world reference for cross-chunk queries
     private World world;
@@ -35,32 +38,48 @@ public class ChunkMeshBuilder {
     }
 
     /**
-     * Get the block at a local position within the chunk.
-     * For positions within chunk bounds, queries the chunk directly.
-     * For out-of-bounds positions (chunk boundary faces), delegates to the World
-     * so that cross-chunk neighbour blocks are correctly considered for face culling.
-     * Falls back to AIR if no World is set (e.g. unit tests).
+     * Build the mesh for a live chunk. Neighbour blocks and door state are read from
+     * the World (when set) via a {@link ChunkSnapshot}.
      */
-    private BlockType getWorldBlock(Chunk chunk, int localX, int localY, int localZ) {
-        // Within chunk bounds — use chunk directly (fast path)
-        if (localX >= 0 && localX < Chunk.SIZE &&
-            localY >= 0 && localY < Chunk.HEIGHT &&
-            localZ >= 0 && localZ < Chunk.SIZE) {
-            return chunk.getBlock(localX, localY, localZ);
+    public MeshData build(Chunk chunk) {
+        return build(ChunkSnapshot.capture(chunk, world));
+    }
+
+    /**
+     * Build the mesh for a live chunk at a level of detail, in blocks per mesh
+     * cell (1 = full detail).
+     */
+    public MeshData build(Chunk chunk, int lodScale) {
+        return build(ChunkSnapshot.capture(chunk, world), lodScale);
+    }
+
+    /**
+     * Build the mesh from a chunk snapshot at a level of detail. A scale of 1 is the
+     * full greedy mesh; 2 and 4 build the downsampled meshes of {@link LodMeshBuilder}
+     * used for distant chunks. Face connectivity is always taken from the full-detail
+     * blocks, so occlusion culling does not depend on the level.
+     */
+    public MeshData build(ChunkSnapshot chunk, int lodScale) {
+        if (lodScale <= 1) {
+            return build(chunk);
         }
-        // Outside chunk bounds — query the neighbouring chunk via World to avoid seams.
-        // Only performed for boundary faces (one axis out-of-bounds at a time), so this
-        // adds at most one World lookup per boundary voxel rather than for interior voxels.
-        if (world != null) {
-            int worldX = chunk.getChunkX() * Chunk.SIZE + localX;
-            int worldY = chunk.getChunkY() * Chunk.HEIGHT + localY;
-            int worldZ = chunk.getChunkZ() * Chunk.SIZE + localZ;
-            return world.getBlock(worldX, worldY, worldZ);
+        if (lodBuilder == null) {
+            lodBuilder = new LodMeshBuilder();
         }
-        return BlockType.AIR;
+        MeshData meshData = new MeshData();
+        lodBuilder.build(chunk, lodScale, meshData);
+        meshData.setLodScale(lodScale);
+        meshData.setFaceConnectivity(visibility.compute(chunk));
+        return meshData;
     }
 
-    public MeshData build(Chunk chunk) {
+    /**
+     * Build the mesh from an immutable chunk snapshot. Faces at chunk boundaries use
+     * the snapshot's one-voxel neighbour border, so no World access is needed and
+     * this may run off the render thread (one builder per thread — the mask arrays
+     * are reused between builds).
+     */
+    public MeshData build(ChunkSnapshot chunk) {
         MeshData meshData = new MeshData();
         int vertexIndex = 0;
 
@@ -80,6 +99,9 @@ public class ChunkMeshBuilder {
         // Shaped blocks: thin fences, doors — emit custom geometry
         vertexIndex = buildShapedBlocks(chunk, meshData, vertexIndex);
 
+        // Which faces can see through to which, for occlusion culling
+        meshData.setFaceConnectivity(visibility.compute(chunk));
+
         return meshData;
     }
 
@@ -87,7 +109,7 @@ public class ChunkMeshBuilder {
      * Emit custom geometry for blocks that are not full cubes (FENCE_POST, DOOR_LOWER/UPPER).
      * These bypass greedy meshing and are rendered as thin quads.
      */
-    private int buildShapedBlocks(Chunk chunk, MeshData meshData, int vertexIndex) {
+    private int buildShapedBlocks(ChunkSnapshot chunk, MeshData meshData, int vertexIndex) {
         for (int y = 0; y < Chunk.HEIGHT; y++) {
             for (int z = 0; z < Chunk.SIZE; z++) {
                 for (int x = 0; x < Chunk.SIZE; x++) {
@@ -106,7 +128,8 @@ public class ChunkMeshBuilder {
                             break;
                         case DOOR_LOWER:
                         case DOOR_UPPER:
-                            vertexIndex = buildDoorPanel(meshData, vertexIndex, type, x, y, z, worldX, worldY, worldZ);
+                            vertexIndex = buildDoorPanel(meshData, vertexIndex, type, x, y, z,
+                                chunk.isDoorOpen(x, y, z));
                             break;
                         case STAIR_STEP:
                             vertexIndex = buildStairStep(meshData, vertexIndex, type, x, y, z, worldX, worldY, worldZ);
@@ -147,28 +170,28 @@ public class ChunkMeshBuilder {
         // North face (z0, facing -Z)
         vertexIndex = addFace(meshData, vertexIndex, color,
             x1, y0, z0,  x0, y0, z0,  x0, y1, z0,  x1, y1, z0,
-            0, 0, -1, FENCE_THICKNESS, 1.0f);
+            0, 0, -1);
         // South face (z1, facing +Z)
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z1,  x1, y0, z1,  x1, y1, z1,  x0, y1, z1,
-            0, 0, 1, FENCE_THICKNESS, 1.0f);
+            0, 0, 1);
         // West face (x0, facing -X)
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z0,  x0, y0, z1,  x0, y1, z1,  x0, y1, z0,
-            -1, 0, 0, FENCE_THICKNESS, 1.0f);
+            -1, 0, 0);
         // East face (x1, facing +X)
         vertexIndex = addFace(meshData, vertexIndex, color,
             x1, y0, z1,  x1, y0, z0,  x1, y1, z0,  x1, y1, z1,
-            1, 0, 0, FENCE_THICKNESS, 1.0f);
+            1, 0, 0);
         // Top face
         Color topColor = type.getTopColor();
         vertexIndex = addFace(meshData, vertexIndex, topColor,
             x0, y1, z1,  x1, y1, z1,  x1, y1, z0,  x0, y1, z0,
-            0, 1, 0, FENCE_THICKNESS, FENCE_THICKNESS);
+            0, 1, 0);
         // Bottom face
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z0,  x1, y0, z0,  x1, y0, z1,  x0, y0, z1,
-            0, -1, 0, FENCE_THICKNESS, FENCE_THICKNESS);
+            0, -1, 0);
 
         return vertexIndex;
     }
@@ -186,19 +209,11 @@ public class ChunkMeshBuilder {
     private static final float DOOR_THICKNESS = 0.125f;
 
     private int buildDoorPanel(MeshData meshData, int vertexIndex, BlockType type,
-                               int lx, int ly, int lz,
-                               int worldX, int worldY, int worldZ) {
+                               int lx, int ly, int lz, boolean open) {
         Color color = type.getColor();
         Color topColor = type.getTopColor();
         float y0 = ly, y1 = ly + 1.0f;
 
-        // Determine if this door is open: check the DOOR_LOWER position in the world
-        boolean open = false;
-        if (world != null) {
-            int lowerWorldY = (type == BlockType.DOOR_UPPER) ? worldY - 1 : worldY;
-            open = world.isDoorOpen(worldX, lowerWorldY, worldZ);
-        }
-
         if (!open) {
             // Closed: panel along Z (north face)
             float x0 = lx, x1 = lx + 1.0f;
@@ -207,27 +222,27 @@ public class ChunkMeshBuilder {
             // South face (z1, facing +Z)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x0, y0, z1,  x1, y0, z1,  x1, y1, z1,  x0, y1, z1,
-                0, 0, 1, 1.0f, 1.0f);
+                0, 0, 1);
             // North face (z0, facing -Z)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x1, y0, z0,  x0, y0, z0,  x0, y1, z0,  x1, y1, z0,
-                0, 0, -1, 1.0f, 1.0f);
+                0, 0, -1);
             // East face (x1, facing +X)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x1, y0, z1,  x1, y0, z0,  x1, y1, z0,  x1, y1, z1,
-                1, 0, 0, DOOR_THICKNESS, 1.0f);
+                1, 0, 0);
             // West face (x0, facing -X)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x0, y0, z0,  x0, y0, z1,  x0, y1, z1,  x0, y1, z0,
-                -1, 0, 0, DOOR_THICKNESS, 1.0f);
+                -1, 0, 0);
             // Top face
             vertexIndex = addFace(meshData, vertexIndex, topColor,
                 x0, y1, z1,  x1, y1, z1,  x1, y1, z0,  x0, y1, z0,
-                0, 1, 0, 1.0f, DOOR_THICKNESS);
+                0, 1, 0);
             // Bottom face
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x0, y0, z0,  x1, y0, z0,  x1, y0, z1,  x0, y0, z1,
-                0, -1, 0, 1.0f, DOOR_THICKNESS);
+                0, -1, 0);
         } else {
             // Open: panel swung 90° along X (west face), spanning full Z depth
             float x0 = lx, x1 = lx + DOOR_THICKNESS;
@@ -236,27 +251,27 @@ public class ChunkMeshBuilder {
             // South face (z1, facing +Z)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x0, y0, z1,  x1, y0, z1,  x1, y1, z1,  x0, y1, z1,
-                0, 0, 1, DOOR_THICKNESS, 1.0f);
+                0, 0, 1);
             // North face (z0, facing -Z)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x1, y0, z0,  x0, y0, z0,  x0, y1, z0,  x1, y1, z0,
-                0, 0, -1, DOOR_THICKNESS, 1.0f);
+                0, 0, -1);
             // East face (x1, facing +X)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x1, y0, z1,  x1, y0, z0,  x1, y1, z0,  x1, y1, z1,
-                1, 0, 0, 1.0f, 1.0f);
+                1, 0, 0);
             // West face (x0, facing -X)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x0, y0, z0,  x0, y0, z1,  x0, y1, z1,  x0, y1, z0,
-                -1, 0, 0, 1.0f, 1.0f);
+                -1, 0, 0);
             // Top face
             vertexIndex = addFace(meshData, vertexIndex, topColor,
                 x0, y1, z1,  x1, y1, z1,  x1, y1, z0,  x0, y1, z0,
-                0, 1, 0, DOOR_THICKNESS, 1.0f);
+                0, 1, 0);
             // Bottom face
             vertexIndex = addFace(meshData, vertexIndex, color,
                 x0, y0, z0,  x1, y0, z0,  x1, y0, z1,  x0, y0, z1,
-                0, -1, 0, DOOR_THICKNESS, 1.0f);
+                0, -1, 0);
         }
 
         return vertexIndex;
@@ -284,52 +299,52 @@ public class ChunkMeshBuilder {
         // ── Bottom face of lower slab ──────────────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z0,  x1, y0, z0,  x1, y0, z1,  x0, y0, z1,
-            0, -1, 0, 1.0f, 1.0f);
+            0, -1, 0);
 
         // ── Top face of lower slab (forward half — in front of the step riser) ─
         vertexIndex = addFace(meshData, vertexIndex, topColor,
             x0, yMid, z0,  x1, yMid, z0,  x1, yMid, zMid,  x0, yMid, zMid,
-            0, 1, 0, 1.0f, 0.5f);
+            0, 1, 0);
 
         // ── Step riser face (facing south, +Z) ────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, yMid, zMid,  x1, yMid, zMid,  x1, y1, zMid,  x0, y1, zMid,
-            0, 0, 1, 1.0f, 0.5f);
+            0, 0, 1);
 
         // ── Top face of upper step ─────────────────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, topColor,
             x0, y1, zMid,  x1, y1, zMid,  x1, y1, z1,  x0, y1, z1,
-            0, 1, 0, 1.0f, 0.5f);
+            0, 1, 0);
 
         // ── South face of upper step (full height of upper step, back wall) ────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x1, y0, z1,  x0, y0, z1,  x0, y1, z1,  x1, y1, z1,
-            0, 0, -1, 1.0f, 1.0f);
+            0, 0, -1);
 
         // ── North face (front of lower slab) ──────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z0,  x1, y0, z0,  x1, yMid, z0,  x0, yMid, z0,
-            0, 0, -1, 1.0f, 0.5f);
+            0, 0, -1);
 
         // ── West face (full L-shape profile) ──────────────────────────────────
         // Lower slab portion
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z1,  x0, y0, z0,  x0, yMid, z0,  x0, yMid, z1,
-            -1, 0, 0, 1.0f, 0.5f);
+            -1, 0, 0);
         // Upper step portion
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, yMid, z1,  x0, yMid, zMid,  x0, y1, zMid,  x0, y1, z1,
-            -1, 0, 0, 0.5f, 0.5f);
+            -1, 0, 0);
 
         // ── East face (full L-shape profile) ──────────────────────────────────
         // Lower slab portion
         vertexIndex = addFace(meshData, vertexIndex, color,
             x1, y0, z0,  x1, y0, z1,  x1, yMid, z1,  x1, yMid, z0,
-            1, 0, 0, 1.0f, 0.5f);
+            1, 0, 0);
         // Upper step portion
         vertexIndex = addFace(meshData, vertexIndex, color,
             x1, yMid, zMid,  x1, yMid, z1,  x1, y1, z1,  x1, y1, zMid,
-            1, 0, 0, 0.5f, 0.5f);
+            1, 0, 0);
 
         return vertexIndex;
     }
@@ -369,21 +384,21 @@ public class ChunkMeshBuilder {
         // Front face (+Z)
         vertexIndex = addFace(meshData, vertexIndex, color,
             lRailX0, y0, z1,  lRailX1, y0, z1,  lRailX1, y1, z1,  lRailX0, y1, z1,
-            0, 0, 1, LADDER_RAIL_WIDTH, 1.0f);
+            0, 0, 1);
         // Back face (-Z)
         vertexIndex = addFace(meshData, vertexIndex, color,
             lRailX1, y0, z0,  lRailX0, y0, z0,  lRailX0, y1, z0,  lRailX1, y1, z0,
-            0, 0, -1, LADDER_RAIL_WIDTH, 1.0f);
+            0, 0, -1);
 
         // ── Right vertical rail ────────────────────────────────────────────────
         // Front face (+Z)
         vertexIndex = addFace(meshData, vertexIndex, color,
             rRailX0, y0, z1,  rRailX1, y0, z1,  rRailX1, y1, z1,  rRailX0, y1, z1,
-            0, 0, 1, LADDER_RAIL_WIDTH, 1.0f);
+            0, 0, 1);
         // Back face (-Z)
         vertexIndex = addFace(meshData, vertexIndex, color,
             rRailX1, y0, z0,  rRailX0, y0, z0,  rRailX0, y1, z0,  rRailX1, y1, z0,
-            0, 0, -1, LADDER_RAIL_WIDTH, 1.0f);
+            0, 0, -1);
 
         // ── Horizontal rungs ───────────────────────────────────────────────────
         float rungX0 = lRailX1;
@@ -395,11 +410,11 @@ public class ChunkMeshBuilder {
             // Front face (+Z)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 rungX0, rungBaseY, z1,  rungX1, rungBaseY, z1,  rungX1, rungTopY, z1,  rungX0, rungTopY, z1,
-                0, 0, 1, rungX1 - rungX0, LADDER_RUNG_HEIGHT);
+                0, 0, 1);
             // Back face (-Z)
             vertexIndex = addFace(meshData, vertexIndex, color,
                 rungX1, rungBaseY, z0,  rungX0, rungBaseY, z0,  rungX0, rungTopY, z0,  rungX1, rungTopY, z0,
-                0, 0, -1, rungX1 - rungX0, LADDER_RUNG_HEIGHT);
+                0, 0, -1);
         }
 
         return vertexIndex;
@@ -425,32 +440,32 @@ public class ChunkMeshBuilder {
         // ── Bottom face ────────────────────────────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z0,  x1, y0, z0,  x1, y0, z1,  x0, y0, z1,
-            0, -1, 0, 1.0f, 1.0f);
+            0, -1, 0);
 
         // ── Top face (at half height) ──────────────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, topColor,
             x0, yTop, z1,  x1, yTop, z1,  x1, yTop, z0,  x0, yTop, z0,
-            0, 1, 0, 1.0f, 1.0f);
+            0, 1, 0);
 
         // ── North face (z0, facing -Z) ─────────────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x1, y0, z0,  x0, y0, z0,  x0, yTop, z0,  x1, yTop, z0,
-            0, 0, -1, 1.0f, 0.5f);
+            0, 0, -1);
 
         // ── South face (z1, facing +Z) ─────────────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z1,  x1, y0, z1,  x1, yTop, z1,  x0, yTop, z1,
-            0, 0, 1, 1.0f, 0.5f);
+            0, 0, 1);
 
         // ── West face (x0, facing -X) ──────────────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x0, y0, z1,  x0, y0, z0,  x0, yTop, z0,  x0, yTop, z1,
-            -1, 0, 0, 1.0f, 0.5f);
+            -1, 0, 0);
 
         // ── East face (x1, facing +X) ──────────────────────────────────────────
         vertexIndex = addFace(meshData, vertexIndex, color,
             x1, y0, z0,  x1, y0, z1,  x1, yTop, z1,  x1, yTop, z0,
-            1, 0, 0, 1.0f, 0.5f);
+            1, 0, 0);
 
         return vertexIndex;
     }
@@ -459,7 +474,7 @@ public class ChunkMeshBuilder {
      * Greedy mesh for X-normal faces (West/East walls).
      * Slices along X; each slice is a YZ plane of size HEIGHT x SIZE.
      */
-    private int greedyMeshX(Chunk chunk, MeshData meshData, int vertexIndex, boolean positive) {
+    private int greedyMeshX(ChunkSnapshot chunk, MeshData meshData, int vertexIndex, boolean positive) {
         int sliceW = Chunk.SIZE;  // z dimension
         int sliceH = Chunk.HEIGHT; // y dimension
 
@@ -474,12 +489,12 @@ public class ChunkMeshBuilder {
 
                     if (positive) {
                         // East face: block at x-1 with no solid block at x
-                        current = getWorldBlock(chunk, x - 1, y, z);
-                        neighbour = getWorldBlock(chunk, x, y, z);
+                        current = chunk.getBlock(x - 1, y, z);
+                        neighbour = chunk.getBlock(x, y, z);
                     } else {
                         // West face: block at x with no solid block at x-1
-                        current = getWorldBlock(chunk, x, y, z);
-                        neighbour = getWorldBlock(chunk, x - 1, y, z);
+                        current = chunk.getBlock(x, y, z);
+                        neighbour = chunk.getBlock(x - 1, y, z);
                     }
 
                     if (current != BlockType.AIR && (current.isOpaque() || current.isTransparent()) && !neighbour.isOpaque()) {
@@ -546,14 +561,14 @@ public class ChunkMeshBuilder {
                             fx, fy, fz,
                             fx, fy + fh, fz,
                             fx, fy + fh, fz + fw,
-                            1, 0, 0, fw, fh);
+                            1, 0, 0);
                     } else {
                         vertexIndex = addFace(meshData, vertexIndex, color, isTransparent,
                             fx, fy, fz,
                             fx, fy, fz + fw,
                             fx, fy + fh, fz + fw,
                             fx, fy + fh, fz,
-                            -1, 0, 0, fw, fh);
+                            -1, 0, 0);
                     }
                 }
             }
@@ -565,7 +580,7 @@ public class ChunkMeshBuilder {
      * Greedy mesh for Y-normal faces (Top/Bottom).
      * Slices along Y; each slice is an XZ plane of size SIZE x SIZE.
      */
-    private int greedyMeshY(Chunk chunk, MeshData meshData, int vertexIndex, boolean positive) {
+    private int greedyMeshY(ChunkSnapshot chunk, MeshData meshData, int vertexIndex, boolean positive) {
         int sliceW = Chunk.SIZE;  // z dimension
         int sliceH = Chunk.SIZE;  // x dimension
 
@@ -579,12 +594,12 @@ public class ChunkMeshBuilder {
 
                     if (positive) {
                         // Top face: block at y-1 with no solid block at y
-                        current = getWorldBlock(chunk, x, y - 1, z);
-                        neighbour = getWorldBlock(chunk, x, y, z);
+                        current = chunk.getBlock(x, y - 1, z);
+                        neighbour = chunk.getBlock(x, y, z);
                     } else {
                         // Bottom face: block at y with no solid block at y-1
-                        current = getWorldBlock(chunk, x, y, z);
-                        neighbour = getWorldBlock(chunk, x, y - 1, z);
+                        current = chunk.getBlock(x, y, z);
+                        neighbour = chunk.getBlock(x, y - 1, z);
                     }
 
                     if (current != BlockType.AIR && (current.isOpaque() || current.isTransparent()) && !neighbour.isOpaque()) {
@@ -650,7 +665,7 @@ public class ChunkMeshBuilder {
                             fx + fh, fy, fz + fw,
                             fx + fh, fy, fz,
                             fx, fy, fz,
-                            0, 1, 0, fh, fw);
+                            0, 1, 0);
                     } else {
                         Color bottomColor = textured ? type.getTexturedColor(worldX, worldY, worldZ, false) : type.getBottomColor();
                         vertexIndex = addFace(meshData, vertexIndex, bottomColor, isTransparent,
@@ -658,7 +673,7 @@ public class ChunkMeshBuilder {
                             fx + fh, fy, fz,
                             fx + fh, fy, fz + fw,
                             fx, fy, fz + fw,
-                            0, -1, 0, fh, fw);
+                            0, -1, 0);
                     }
                 }
             }
@@ -670,7 +685,7 @@ public class ChunkMeshBuilder {
      * Greedy mesh for Z-normal faces (North/South walls).
      * Slices along Z; each slice is an XY plane of size SIZE x HEIGHT.
      */
-    private int greedyMeshZ(Chunk chunk, MeshData meshData, int vertexIndex, boolean positive) {
+    private int greedyMeshZ(ChunkSnapshot chunk, MeshData meshData, int vertexIndex, boolean positive) {
         int sliceW = Chunk.SIZE;   // x dimension
         int sliceH = Chunk.HEIGHT; // y dimension
 
@@ -684,12 +699,12 @@ public class ChunkMeshBuilder {
 
                     if (positive) {
                         // South face: block at z-1 with no solid at z
-                        current = getWorldBlock(chunk, x, y, z - 1);
-                        neighbour = getWorldBlock(chunk, x, y, z);
+                        current = chunk.getBlock(x, y, z - 1);
+                        neighbour = chunk.getBlock(x, y, z);
                     } else {
                         // North face: block at z with no solid at z-1
-                        current = getWorldBlock(chunk, x, y, z);
-                        neighbour = getWorldBlock(chunk, x, y, z - 1);
+                        current = chunk.getBlock(x, y, z);
+                        neighbour = chunk.getBlock(x, y, z - 1);
                     }
 
                     if (current != BlockType.AIR && (current.isOpaque() || current.isTransparent()) && !neighbour.isOpaque()) {
@@ -755,14 +770,14 @@ public class ChunkMeshBuilder {
                             fx + fw, fy, fz,
                             fx + fw, fy + fh, fz,
                             fx, fy + fh, fz,
-                            0, 0, 1, fw, fh);
+                            0, 0, 1);
                     } else {
                         vertexIndex = addFace(meshData, vertexIndex, color, isTransparent,
                             fx + fw, fy, fz,
                             fx, fy, fz,
                             fx, fy + fh, fz,
                             fx + fw, fy + fh, fz,
-                            0, 0, -1, fw, fh);
+                            0, 0, -1);
                     }
                 }
             }
@@ -781,35 +796,29 @@ public class ChunkMeshBuilder {
                         float x1, float y1, float z1,
                         float x2, float y2, float z2,
                         float x3, float y3, float z3,
-                        float nx, float ny, float nz,
-                        float uScale, float vScale) {
+                        float nx, float ny, float nz) {
         return addFace(meshData, baseIndex, color, false,
             x0, y0, z0, x1, y1, z1, x2, y2, z2, x3, y3, z3,
-            nx, ny, nz, uScale, vScale);
+            nx, ny, nz);
     }
 
     /**
      * Add a single quad face to the mesh data, with explicit transparency routing.
      * Transparent faces (transparent=true) go to the alpha-blended sub-mesh.
+     * The normal must be axis-aligned; it is stored as a face index.
      */
     private int addFace(MeshData meshData, int baseIndex, Color color, boolean transparent,
                         float x0, float y0, float z0,
                         float x1, float y1, float z1,
                         float x2, float y2, float z2,
                         float x3, float y3, float z3,
-                        float nx, float ny, float nz,
-                        float uScale, float vScale) {
-        float[] vertices = {
-            x0, y0, z0,  nx, ny, nz,  0, 0,       color.r, color.g, color.b, color.a,
-            x1, y1, z1,  nx, ny, nz,  uScale, 0,  color.r, color.g, color.b, color.a,
-            x2, y2, z2,  nx, ny, nz,  uScale, vScale, color.r, color.g, color.b, color.a,
-            x3, y3, z3,  nx, ny, nz,  0, vScale,  color.r, color.g, color.b, color.a
-        };
-        short[] indices = {0, 1, 2, 2, 3, 0};
+                        float nx, float ny, float nz) {
+        int face = MeshData.faceIndex(nx, ny, nz);
+        float packedColor = color.toFloatBits();
         if (transparent) {
-            meshData.addQuadTransparent(vertices, indices, baseIndex);
+            meshData.addQuadTransparent(x0, y0, z0, x1, y1, z1, x2, y2, z2, x3, y3, z3, face, packedColor);
         } else {
-            meshData.addQuad(vertices, indices, baseIndex);
+            meshData.addQuad(x0, y0, z0, x1, y1, z1, x2, y2, z2, x3, y3, z3, face, packedColor);
         }
         return baseIndex + 4;
     }
@@ -1,49 +1,214 @@
 package ragamuffin.render;
 
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Mesh;
-import com.badlogic.gdx.graphics.VertexAttribute;
-import com.badlogic.gdx.graphics.VertexAttributes;
 import com.badlogic.gdx.graphics.g3d.Environment;
 import com.badlogic.gdx.graphics.g3d.Material;
-import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.ModelBatch;
-import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.DepthTestAttribute;
-import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
 import ragamuffin.world.Chunk;
+import ragamuffin.world.ChunkMap;
+import ragamuffin.world.ChunkPos;
+import ragamuffin.world.World;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Renders chunk meshes using LibGDX ModelBatch.
  * Supports multiple sub-meshes per chunk to handle large vertex counts.
  * Uses frustum culling to skip chunks outside the camera view.
+ * Meshes use the packed {@link MeshData} vertex layout, so the ModelBatch must be
+ * created with a {@link ChunkShaderProvider}.
+ *
+ * <p>GPU buffers are kept across rebuilds. Each sub-mesh lives in a {@link MeshSlot}
+ * (a Mesh with spare capacity and a Renderable pointing at it); a rebuild rewrites
+ * the slot's vertex buffer in place when the new mesh fits, so breaking or placing
+ * a block allocates no GL buffers or Java objects. Slots freed by unloaded chunks
+ * go to a small pool for reuse. The opaque and transparent materials are shared
+ * by every chunk.</p>
+ *
+ * <p>Besides frustum culling, chunks are occlusion culled with a visibility graph:
+ * each mesh carries its face-to-face connectivity ({@link ChunkVisibility}), and
+ * every frame a breadth-first walk from the camera's chunk only steps from one
+ * chunk into the next through faces that a line of sight could pass between, never
+ * doubling back along an axis. Chunks the walk does not reach, e.g. sewers and
+ * basements sealed under solid ground, are not drawn. Positions with no meshed
+ * chunk count as open air.</p>
+ *
+ * <p>Transparent faces (glass) are drawn in a pass of their own, after all opaque
+ * geometry: {@link #renderTransparent} submits the visible chunks back to front by
+ * distance, and each chunk's transparent quads in back-to-front order. The quad
+ * order is only re-sorted, and the vertex buffer rewritten, when the camera moves
+ * into a different block cell, so a still or slowly moving camera costs one chunk
+ * sort per frame. The pass needs a ModelBatch that keeps submission order (a no-op
+ * {@code RenderableSorter}).</p>
+ *
+ * <p>Distant chunks are drawn from reduced-detail meshes ({@link LodMeshBuilder}):
+ * full detail within {@link #LOD_HALF_DISTANCE} blocks of the camera, 2-block cells
+ * out to {@link #LOD_QUARTER_DISTANCE}, 4-block cells beyond. The renderer only
+ * chooses the level; {@link #updateLevelsOfDetail} marks chunks whose level changed
+ * dirty, and whoever builds meshes asks {@link #getLodScale} which level to build.
+ * A chunk only changes level once the camera is {@link #LOD_HYSTERESIS} blocks past
+ * the boundary, so walking along a boundary does not rebuild chunks back and
+ * forth.</p>
  */
 public class ChunkRenderer {
 
-    private final Map<String, ChunkModel> chunkModels;
+    // Slot capacities are rounded up to whole multiples of this many vertices
+    // (256 quads), so small edits rarely outgrow a slot
+    static final int SLOT_GRANULARITY = 1024;
+    // Free slots kept for reuse; beyond this they are disposed
+    private static final int MAX_POOLED_SLOTS = 32;
+    // A slot more than this many times larger than its mesh is swapped for a smaller one
+    private static final int MAX_SLACK_FACTOR = 4;
+
+    /** Distance (blocks, camera to nearest point of a chunk) beyond which chunks use 2-block cells. */
+    public static final float LOD_HALF_DISTANCE = 96f;
+    /** Distance beyond which chunks use 4-block cells. */
+    public static final float LOD_QUARTER_DISTANCE = 192f;
+    /** How far past a LOD boundary the camera must be before a chunk switches level. */
+    public static final float LOD_HYSTERESIS = 8f;
+
+    private final ChunkMap<ChunkMeshes> chunkMeshes; // Packed ChunkPos key -> GPU meshes
+    private final List<MeshSlot> freeSlots = new ArrayList<>();
+
+    // Occlusion culling state
+    private boolean occlusionCulling = true;
+    // Chunk coordinate bounds of every chunk ever uploaded (the walk stays inside)
+    private int minChunkX = Integer.MAX_VALUE, minChunkY = Integer.MAX_VALUE, minChunkZ = Integer.MAX_VALUE;
+    private int maxChunkX = Integer.MIN_VALUE, maxChunkY = Integer.MIN_VALUE, maxChunkZ = Integer.MIN_VALUE;
+    // Per-cell walk state over the (camera-inclusive) bounds, reset by frame stamps
+    private int[] cellStamp = new int[0];
+    private byte[] cellEnteredFaces = new byte[0];
+    private int[] queueCells = new int[0];
+    private byte[] queueEntered = new byte[0];
+    private byte[] queueTaken = new byte[0];
+    private int walkStamp;
+    private int walkCount; // Never reset, unlike walkStamp; marks chunks drawn this walk
+    private final List<ChunkMeshes> visibleChunks = new ArrayList<>();
+
+    // Transparent pass state: chunks in draw order, and scratch buffers for face sorting
+    private final List<ChunkMeshes> transparentChunks = new ArrayList<>();
+    private long[] faceSortKeys = new long[0];
+    private float[] sortedFaceVertices = new float[0];
+    private static final Comparator<ChunkMeshes> BACK_TO_FRONT =
+        (a, b) -> Float.compare(b.sortDistance, a.sortDistance);
+
+    // Level of detail state: the camera position of the last update, if any
+    private boolean levelOfDetail = true;
+    private boolean hasLodEye;
+    private final Vector3 lodEye = new Vector3();
+
+    // Shared by every chunk: opaque faces without blending, and transparent faces
+    // (glass) alpha-blended with depth writes disabled so opaque geometry behind
+    // glass is not occluded by the glass depth write
+    private final Material opaqueMaterial = new Material(
+        ColorAttribute.createDiffuse(Color.WHITE)
+    );
+    private final Material transparentMaterial = new Material(
+        ColorAttribute.createDiffuse(Color.WHITE),
+        new BlendingAttribute(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA),
+        new DepthTestAttribute(false) // disable depth writes for transparent geometry
+    );
 
     public ChunkRenderer() {
-        this.chunkModels = new HashMap<>();
+        this.chunkMeshes = new ChunkMap<>(2048);
+    }
+
+    /**
+     * One GPU sub-mesh: a Mesh sized to {@link #vertexCapacity} and the Renderable
+     * that draws the used part of it. The index buffer holds the quad pattern
+     * (0,1,2, 2,3,0, ...) for the full capacity, written once — every MeshData
+     * batch uses that pattern, so only the vertex buffer changes on rebuild.
+     */
+    static final class MeshSlot {
+        final Mesh mesh;
+        final Renderable renderable = new Renderable();
+        final int vertexCapacity;
+        int vertexCount;
+        // Transparent slots only: the unsorted packed quads and their local centres
+        // (x, y, z per quad), kept so the quads can be re-sorted as the camera moves
+        float[] faceVertices;
+        float[] faceCentres;
+
+        MeshSlot(int vertexCapacity) {
+            this.vertexCapacity = vertexCapacity;
+            int quadCapacity = vertexCapacity / 4;
+            this.mesh = new Mesh(true, vertexCapacity, quadCapacity * 6, MeshData.createVertexAttributes());
+            short[] indices = new short[quadCapacity * 6];
+            for (int q = 0, i = 0; q < quadCapacity; q++) {
+                int base = q * 4;
+                indices[i++] = (short) base;
+                indices[i++] = (short) (base + 1);
+                indices[i++] = (short) (base + 2);
+                indices[i++] = (short) (base + 2);
+                indices[i++] = (short) (base + 3);
+                indices[i++] = (short) base;
+            }
+            mesh.setIndices(indices);
+            renderable.meshPart.mesh = mesh;
+            renderable.meshPart.primitiveType = GL20.GL_TRIANGLES;
+            renderable.meshPart.offset = 0;
+            // Sort centre/extent for ModelBatch: the whole chunk, in local coordinates
+            renderable.meshPart.center.set(Chunk.SIZE / 2f, Chunk.HEIGHT / 2f, Chunk.SIZE / 2f);
+            renderable.meshPart.halfExtents.set(Chunk.SIZE / 2f, Chunk.HEIGHT / 2f, Chunk.SIZE / 2f);
+            renderable.meshPart.radius = renderable.meshPart.halfExtents.len();
+        }
+
+        /** Rewrite the vertex buffer; the data must fit {@link #vertexCapacity}. */
+        void upload(float[] vertices) {
+            upload(vertices, vertices.length);
+        }
+
+        /** Rewrite the vertex buffer from the first {@code length} floats of an array. */
+        void upload(float[] vertices, int length) {
+            int count = length / MeshData.FLOATS_PER_VERTEX;
+            if (count == vertexCount) {
+                mesh.updateVertices(0, vertices, 0, length);
+            } else {
+                mesh.setVertices(vertices, 0, length);
+                vertexCount = count;
+            }
+            renderable.meshPart.size = count / 4 * 6;
+        }
     }
 
-    private static class ChunkModel {
-        List<Model> models;
-        List<ModelInstance> instances;
-        BoundingBox bounds;
+    /**
+     * The GPU sub-meshes of one chunk, and its face connectivity. Chunks whose mesh
+     * is empty keep an entry with no slots so the walk knows whether they are
+     * solid or open.
+     */
+    static final class ChunkMeshes {
+        final List<MeshSlot> opaque = new ArrayList<>(1);
+        final List<MeshSlot> transparent = new ArrayList<>(1);
+        final BoundingBox bounds;
+        final int chunkX, chunkY, chunkZ;
+        long connectivity = ChunkVisibility.ALL_CONNECTED;
+        int drawnWalk;
+        int lodScale = 1; // Level the uploaded mesh was built at
+        int targetLodScale = 1; // Level the next build should use
+        // Camera block cell the transparent quads were last sorted for
+        boolean facesSorted;
+        int sortedCellX, sortedCellY, sortedCellZ;
+        float sortDistance; // Squared camera distance, for the transparent pass
 
-        ChunkModel(float worldX, float worldY, float worldZ) {
-            this.models = new ArrayList<>();
-            this.instances = new ArrayList<>();
+        ChunkMeshes(int chunkX, int chunkY, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.chunkZ = chunkZ;
+            float worldX = chunkX * Chunk.SIZE;
+            float worldY = chunkY * Chunk.HEIGHT;
+            float worldZ = chunkZ * Chunk.SIZE;
             // Bounding box for frustum culling
             this.bounds = new BoundingBox(
                 new Vector3(worldX, worldY, worldZ),
@@ -51,155 +216,551 @@ public class ChunkRenderer {
             );
         }
 
-        void add(Model model, ModelInstance instance) {
-            models.add(model);
-            instances.add(instance);
-        }
-
-        void dispose() {
-            for (Model m : models) {
-                m.dispose();
-            }
-            models.clear();
-            instances.clear();
+        boolean hasGeometry() {
+            return !opaque.isEmpty() || !transparent.isEmpty();
         }
     }
 
     /**
      * Update/rebuild the mesh for a chunk.
-     * Opaque and transparent faces are stored in separate models so they can
+     * Opaque and transparent faces are stored in separate sub-meshes so they can
      * be rendered with the correct material (no blending vs alpha blending).
      */
     public void updateChunk(Chunk chunk, ChunkMeshBuilder builder) {
-        String key = getChunkKey(chunk);
+        uploadChunk(chunk, builder.build(chunk, getLodScale(chunk)));
+    }
+
+    /**
+     * Replace a chunk's GPU meshes with an already-built mesh, reusing its existing
+     * buffers where they are large enough. Must be called on the GL thread; the mesh
+     * itself may have been built on a worker thread (see {@link AsyncChunkMesher}).
+     */
+    public void uploadChunk(Chunk chunk, MeshData meshData) {
+        long key = chunk.getKey();
+        MeshData transparentMeshData = meshData.getTransparentMeshData();
 
-        // Remove old model if it exists
-        ChunkModel oldModel = chunkModels.remove(key);
-        if (oldModel != null) {
-            oldModel.dispose();
+        ChunkMeshes meshes = chunkMeshes.get(key);
+        if (meshes == null) {
+            meshes = new ChunkMeshes(chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ());
+            meshes.targetLodScale = meshData.getLodScale();
+            chunkMeshes.put(key, meshes);
+            growBounds(chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ());
         }
+        meshes.lodScale = meshData.getLodScale();
+        // Kept even for empty meshes (no slots), which the visibility walk passes through
+        meshes.connectivity = meshData.getFaceConnectivity();
 
-        MeshData meshData = builder.build(chunk);
-        MeshData transparentMeshData = meshData.getTransparentMeshData();
+        Vector3 origin = meshes.bounds.min;
+        fillSlots(meshes.opaque, meshData, opaqueMaterial, origin, false);
+        fillSlots(meshes.transparent, transparentMeshData, transparentMaterial, origin, true);
+        meshes.facesSorted = false;
+    }
 
-        boolean hasOpaque = meshData.getFaceCount() > 0;
-        boolean hasTransparent = transparentMeshData.getFaceCount() > 0;
+    /**
+     * Upload each batch of a MeshData into the slot list, keeping slots that fit,
+     * swapping ones that are too small or far too large, and releasing the rest.
+     * With {@code keepFaces} the quads are kept on the CPU for sorting.
+     */
+    private void fillSlots(List<MeshSlot> slots, MeshData meshData, Material material, Vector3 origin,
+                           boolean keepFaces) {
+        int used = 0;
+        int meshCount = meshData.getMeshCount();
+        for (int batch = 0; batch < meshCount; batch++) {
+            float[] verts = meshData.getVerticesArray(batch);
+            int vertexCount = verts.length / MeshData.FLOATS_PER_VERTEX;
+            if (vertexCount == 0) continue;
+
+            MeshSlot slot = used < slots.size() ? slots.get(used) : null;
+            if (slot != null && !fits(slot, vertexCount)) {
+                releaseSlot(slot);
+                slot = null;
+            }
+            if (slot == null) {
+                slot = acquireSlot(vertexCount);
+                if (used < slots.size()) {
+                    slots.set(used, slot);
+                } else {
+                    slots.add(slot);
+                }
+            }
+            slot.upload(verts);
+            if (keepFaces) {
+                slot.faceVertices = verts;
+                slot.faceCentres = quadCentres(verts);
+            }
+            slot.renderable.material = material;
+            slot.renderable.worldTransform.setToTranslation(origin);
+            used++;
+        }
+        while (slots.size() > used) {
+            releaseSlot(slots.remove(slots.size() - 1));
+        }
+    }
 
-        if (!hasOpaque && !hasTransparent) {
-            return; // Empty chunk, nothing to render
+    /** Local centre of every quad in a packed vertex array, as x, y, z triples. */
+    private static float[] quadCentres(float[] vertices) {
+        int quads = vertices.length / (MeshData.FLOATS_PER_VERTEX * 4);
+        float[] centres = new float[quads * 3];
+        for (int q = 0; q < quads; q++) {
+            float x = 0, y = 0, z = 0;
+            for (int v = q * 4; v < q * 4 + 4; v++) {
+                x += MeshData.unpackX(vertices, v);
+                y += MeshData.unpackY(vertices, v);
+                z += MeshData.unpackZ(vertices, v);
+            }
+            centres[q * 3] = x / 4f;
+            centres[q * 3 + 1] = y / 4f;
+            centres[q * 3 + 2] = z / 4f;
         }
+        return centres;
+    }
 
-        float worldX = chunk.getChunkX() * Chunk.SIZE;
-        float worldY = chunk.getChunkY() * Chunk.HEIGHT;
-        float worldZ = chunk.getChunkZ() * Chunk.SIZE;
+    private static boolean fits(MeshSlot slot, int vertexCount) {
+        return vertexCount <= slot.vertexCapacity
+            && (slot.vertexCapacity <= SLOT_GRANULARITY || vertexCount * MAX_SLACK_FACTOR >= slot.vertexCapacity);
+    }
 
-        ChunkModel chunkModel = new ChunkModel(worldX, worldY, worldZ);
+    /** Capacity of a new slot for a mesh with this many vertices. */
+    static int slotCapacity(int vertexCount) {
+        int rounded = (vertexCount + SLOT_GRANULARITY - 1) / SLOT_GRANULARITY * SLOT_GRANULARITY;
+        return Math.min(rounded, MeshData.MAX_VERTICES_PER_MESH);
+    }
 
-        // Build opaque sub-meshes (no alpha blending — depth writes correct)
-        if (hasOpaque) {
-            Material opaqueMaterial = new Material(
-                ColorAttribute.createDiffuse(Color.WHITE)
-            );
-            buildModelBatches(meshData, chunkModel, opaqueMaterial, worldX, worldY, worldZ, "opaque");
+    /** Best-fitting pooled slot for this many vertices, or a new one. */
+    private MeshSlot acquireSlot(int vertexCount) {
+        int best = -1;
+        for (int i = 0; i < freeSlots.size(); i++) {
+            MeshSlot candidate = freeSlots.get(i);
+            if (fits(candidate, vertexCount)
+                && (best < 0 || candidate.vertexCapacity < freeSlots.get(best).vertexCapacity)) {
+                best = i;
+            }
+        }
+        if (best >= 0) {
+            MeshSlot slot = freeSlots.get(best);
+            freeSlots.set(best, freeSlots.get(freeSlots.size() - 1));
+            freeSlots.remove(freeSlots.size() - 1);
+            return slot;
         }
+        return new MeshSlot(slotCapacity(vertexCount));
+    }
 
-        // Build transparent sub-meshes (alpha blending, depth mask disabled so
-        // opaque geometry behind glass is not occluded by the glass depth write)
-        if (hasTransparent) {
-            Material transparentMaterial = new Material(
-                ColorAttribute.createDiffuse(Color.WHITE),
-                new BlendingAttribute(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA),
-                new DepthTestAttribute(false) // disable depth writes for transparent geometry
-            );
-            buildModelBatches(transparentMeshData, chunkModel, transparentMaterial, worldX, worldY, worldZ, "transparent");
+    private void releaseSlot(MeshSlot slot) {
+        slot.faceVertices = null;
+        slot.faceCentres = null;
+        if (freeSlots.size() < MAX_POOLED_SLOTS) {
+            freeSlots.add(slot);
+        } else {
+            slot.mesh.dispose();
         }
+    }
 
-        if (!chunkModel.instances.isEmpty()) {
-            chunkModels.put(key, chunkModel);
+    private void releaseAll(ChunkMeshes meshes) {
+        for (MeshSlot slot : meshes.opaque) {
+            releaseSlot(slot);
         }
+        for (MeshSlot slot : meshes.transparent) {
+            releaseSlot(slot);
+        }
+        meshes.opaque.clear();
+        meshes.transparent.clear();
     }
 
-    /** Build Model/ModelInstance objects from a MeshData into the given ChunkModel. */
-    private void buildModelBatches(MeshData meshData, ChunkModel chunkModel,
-                                   Material material, float worldX, float worldY, float worldZ,
-                                   String namePrefix) {
-        int meshCount = meshData.getMeshCount();
-        for (int batch = 0; batch < meshCount; batch++) {
-            float[] verts = meshData.getVerticesArray(batch);
-            short[] inds = meshData.getIndicesArray(batch);
+    /**
+     * Remove a chunk from rendering.
+     */
+    public void removeChunk(Chunk chunk) {
+        removeChunkByKey(chunk.getKey());
+    }
 
-            if (verts.length == 0 || inds.length == 0) continue;
+    /**
+     * Remove a chunk from rendering by its packed {@link ragamuffin.world.ChunkPos} key.
+     * Used when chunks are unloaded and only the key is available.
+     */
+    public void removeChunkByKey(long key) {
+        ChunkMeshes meshes = chunkMeshes.remove(key);
+        if (meshes != null) {
+            releaseAll(meshes);
+        }
+    }
 
-            Mesh mesh = new Mesh(true,
-                verts.length / 12,
-                inds.length,
-                new VertexAttribute(VertexAttributes.Usage.Position, 3, "a_position"),
-                new VertexAttribute(VertexAttributes.Usage.Normal, 3, "a_normal"),
-                new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, "a_texCoord0"),
-                new VertexAttribute(VertexAttributes.Usage.ColorUnpacked, 4, "a_color")
-            );
+    /**
+     * Render the opaque faces of all visible chunks, with frustum and occlusion
+     * culling. Transparent faces are drawn separately by {@link #renderTransparent}.
+     */
+    public void render(ModelBatch modelBatch, Environment environment) {
+        List<ChunkMeshes> visible = collectVisible(modelBatch.getCamera());
+        for (int c = 0; c < visible.size(); c++) {
+            ChunkMeshes meshes = visible.get(c);
+            for (int i = 0; i < meshes.opaque.size(); i++) {
+                renderSlot(modelBatch, meshes.opaque.get(i), environment);
+            }
+        }
+    }
 
-            mesh.setVertices(verts);
-            mesh.setIndices(inds);
+    /**
+     * Render the transparent faces of the chunks found visible by the last
+     * {@link #render} call, back to front. Call after all opaque geometry has been
+     * drawn, with a ModelBatch that does not re-sort renderables.
+     */
+    public void renderTransparent(ModelBatch modelBatch, Environment environment) {
+        List<ChunkMeshes> ordered = sortTransparent(modelBatch.getCamera());
+        for (int c = 0; c < ordered.size(); c++) {
+            ChunkMeshes meshes = ordered.get(c);
+            for (int i = 0; i < meshes.transparent.size(); i++) {
+                renderSlot(modelBatch, meshes.transparent.get(i), environment);
+            }
+        }
+    }
 
-            ModelBuilder modelBuilder = new ModelBuilder();
-            modelBuilder.begin();
-            modelBuilder.part(namePrefix + "_" + batch, mesh, GL20.GL_TRIANGLES, material);
-            Model model = modelBuilder.end();
+    /**
+     * Visible chunks with transparent faces, farthest first, with each chunk's quads
+     * re-sorted back to front if the camera has changed block cell since its last sort.
+     */
+    List<ChunkMeshes> sortTransparent(Camera camera) {
+        transparentChunks.clear();
+        for (int c = 0; c < visibleChunks.size(); c++) {
+            ChunkMeshes meshes = visibleChunks.get(c);
+            if (!meshes.transparent.isEmpty()) {
+                transparentChunks.add(meshes);
+            }
+        }
+        if (camera == null || transparentChunks.isEmpty()) {
+            return transparentChunks;
+        }
 
-            ModelInstance instance = new ModelInstance(model);
-            instance.transform.setToTranslation(worldX, worldY, worldZ);
+        Vector3 eye = camera.position;
+        int cellX = (int) Math.floor(eye.x);
+        int cellY = (int) Math.floor(eye.y);
+        int cellZ = (int) Math.floor(eye.z);
+        for (int c = 0; c < transparentChunks.size(); c++) {
+            ChunkMeshes meshes = transparentChunks.get(c);
+            Vector3 min = meshes.bounds.min;
+            float dx = min.x + Chunk.SIZE / 2f - eye.x;
+            float dy = min.y + Chunk.HEIGHT / 2f - eye.y;
+            float dz = min.z + Chunk.SIZE / 2f - eye.z;
+            meshes.sortDistance = dx * dx + dy * dy + dz * dz;
 
-            chunkModel.add(model, instance);
+            if (!meshes.facesSorted || meshes.sortedCellX != cellX
+                    || meshes.sortedCellY != cellY || meshes.sortedCellZ != cellZ) {
+                for (int i = 0; i < meshes.transparent.size(); i++) {
+                    sortFaces(meshes.transparent.get(i), eye.x - min.x, eye.y - min.y, eye.z - min.z);
+                }
+                meshes.facesSorted = true;
+                meshes.sortedCellX = cellX;
+                meshes.sortedCellY = cellY;
+                meshes.sortedCellZ = cellZ;
+            }
         }
+        transparentChunks.sort(BACK_TO_FRONT);
+        return transparentChunks;
     }
 
     /**
-     * Remove a chunk from rendering.
+     * Rewrite a transparent slot's quads farthest first from a chunk-local eye
+     * position. Each sort key packs the (non-negative) squared distance's float
+     * bits above the quad index, so a primitive sort orders quads by distance.
      */
-    public void removeChunk(Chunk chunk) {
-        String key = getChunkKey(chunk);
-        ChunkModel model = chunkModels.remove(key);
-        if (model != null) {
-            model.dispose();
+    private void sortFaces(MeshSlot slot, float eyeX, float eyeY, float eyeZ) {
+        float[] centres = slot.faceCentres;
+        float[] source = slot.faceVertices;
+        if (centres == null || source == null) return;
+        int quads = centres.length / 3;
+        if (faceSortKeys.length < quads) {
+            faceSortKeys = new long[quads];
+        }
+        if (sortedFaceVertices.length < source.length) {
+            sortedFaceVertices = new float[source.length];
+        }
+        for (int q = 0; q < quads; q++) {
+            float dx = centres[q * 3] - eyeX;
+            float dy = centres[q * 3 + 1] - eyeY;
+            float dz = centres[q * 3 + 2] - eyeZ;
+            float distance2 = dx * dx + dy * dy + dz * dz;
+            faceSortKeys[q] = (long) Float.floatToRawIntBits(distance2) << 32 | q;
         }
+        Arrays.sort(faceSortKeys, 0, quads);
+
+        int quadFloats = MeshData.FLOATS_PER_VERTEX * 4;
+        for (int i = 0; i < quads; i++) {
+            int q = (int) faceSortKeys[quads - 1 - i];
+            System.arraycopy(source, q * quadFloats, sortedFaceVertices, i * quadFloats, quadFloats);
+        }
+        slot.upload(sortedFaceVertices, source.length);
     }
 
     /**
-     * Remove a chunk from rendering by its string key (e.g. "1,0,2").
-     * Used when chunks are unloaded and only the key is available.
+     * Level of detail a new mesh for this chunk should be built at, in blocks per
+     * mesh cell: the level last chosen by {@link #updateLevelsOfDetail}, or for a
+     * chunk not uploaded yet, the level for its distance from the last camera
+     * position. Full detail (1) before any update or with level of detail off.
      */
-    public void removeChunkByKey(String key) {
-        ChunkModel model = chunkModels.remove(key);
-        if (model != null) {
-            model.dispose();
+    public int getLodScale(Chunk chunk) {
+        if (!levelOfDetail || !hasLodEye) {
+            return 1;
         }
+        ChunkMeshes meshes = chunkMeshes.get(chunk.getKey());
+        if (meshes != null) {
+            return meshes.targetLodScale;
+        }
+        return lodScaleForDistance(
+            chunkDistance(lodEye, chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ()));
     }
 
-    private String getChunkKey(Chunk chunk) {
-        return chunk.getChunkX() + "," + chunk.getChunkY() + "," + chunk.getChunkZ();
+    /**
+     * Re-pick each uploaded chunk's level of detail for a camera position, with
+     * hysteresis, and mark the chunks whose level changed dirty in the world so
+     * they are rebuilt. Call once per frame before meshing dirty chunks.
+     *
+     * @return the number of chunks marked for rebuild
+     */
+    public int updateLevelsOfDetail(Vector3 eye, World world) {
+        lodEye.set(eye);
+        hasLodEye = true;
+        int changed = 0;
+        for (ChunkMeshes meshes : chunkMeshes.values()) {
+            int target = levelOfDetail
+                ? selectLodScale(meshes.targetLodScale,
+                    chunkDistance(eye, meshes.chunkX, meshes.chunkY, meshes.chunkZ))
+                : 1;
+            if (target != meshes.targetLodScale) {
+                // Rebuild even if the uploaded mesh is already at this level: a
+                // resubmit supersedes any build still in flight at the old level
+                meshes.targetLodScale = target;
+                world.markChunkDirty(meshes.chunkX, meshes.chunkY, meshes.chunkZ);
+                changed++;
+            }
+        }
+        return changed;
     }
 
     /**
-     * Render all chunk models with frustum culling.
+     * Enable or disable distant-chunk LOD meshes. Chunks switch back to full detail
+     * at the next {@link #updateLevelsOfDetail}.
      */
-    public void render(ModelBatch modelBatch, Environment environment) {
-        for (ChunkModel chunkModel : chunkModels.values()) {
-            // Frustum culling: skip chunks outside the camera's view
-            if (modelBatch.getCamera() != null &&
-                !modelBatch.getCamera().frustum.boundsInFrustum(chunkModel.bounds)) {
-                continue;
+    public void setLevelOfDetail(boolean enabled) {
+        this.levelOfDetail = enabled;
+    }
+
+    public boolean isLevelOfDetail() {
+        return levelOfDetail;
+    }
+
+    /** Level of detail for a distance, ignoring hysteresis. */
+    static int lodScaleForDistance(float distance) {
+        if (distance >= LOD_QUARTER_DISTANCE) return 4;
+        if (distance >= LOD_HALF_DISTANCE) return 2;
+        return 1;
+    }
+
+    /**
+     * Level of detail for a distance given the current level: the chunk only
+     * changes level when it would still be at the new level
+     * {@link #LOD_HYSTERESIS} blocks closer (going coarser) or further (going finer).
+     */
+    static int selectLodScale(int current, float distance) {
+        int coarser = lodScaleForDistance(distance - LOD_HYSTERESIS);
+        if (coarser > current) return coarser;
+        int finer = lodScaleForDistance(distance + LOD_HYSTERESIS);
+        if (finer < current) return finer;
+        return current;
+    }
+
+    /** Distance from a point to the nearest point of a chunk's bounds. */
+    private static float chunkDistance(Vector3 eye, int chunkX, int chunkY, int chunkZ) {
+        float dx = axisDistance(eye.x, chunkX * Chunk.SIZE, Chunk.SIZE);
+        float dy = axisDistance(eye.y, chunkY * Chunk.HEIGHT, Chunk.HEIGHT);
+        float dz = axisDistance(eye.z, chunkZ * Chunk.SIZE, Chunk.SIZE);
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private static float axisDistance(float p, float min, float size) {
+        if (p < min) return min - p;
+        if (p > min + size) return p - min - size;
+        return 0f;
+    }
+
+    /**
+     * Enable or disable occlusion culling (frustum culling always applies).
+     */
+    public void setOcclusionCulling(boolean enabled) {
+        this.occlusionCulling = enabled;
+    }
+
+    public boolean isOcclusionCulling() {
+        return occlusionCulling;
+    }
+
+    /**
+     * Number of chunks with geometry drawn by the last {@link #render} call.
+     */
+    public int getVisibleChunkCount() {
+        return visibleChunks.size();
+    }
+
+    /**
+     * Chunks with geometry that the camera can see, in the order the visibility
+     * walk reached them (roughly front to back).
+     */
+    List<ChunkMeshes> collectVisible(Camera camera) {
+        visibleChunks.clear();
+        if (camera == null || !occlusionCulling) {
+            for (ChunkMeshes meshes : chunkMeshes.values()) {
+                if (meshes.hasGeometry() && (camera == null || camera.frustum.boundsInFrustum(meshes.bounds))) {
+                    visibleChunks.add(meshes);
+                }
             }
-            for (ModelInstance instance : chunkModel.instances) {
-                modelBatch.render(instance, environment);
+            return visibleChunks;
+        }
+        if (chunkMeshes.size() == 0) {
+            return visibleChunks;
+        }
+
+        int camX = Math.floorDiv((int) Math.floor(camera.position.x), Chunk.SIZE);
+        int camY = Math.floorDiv((int) Math.floor(camera.position.y), Chunk.HEIGHT);
+        int camZ = Math.floorDiv((int) Math.floor(camera.position.z), Chunk.SIZE);
+        // Walk bounds: every uploaded chunk plus the camera's own chunk
+        int x0 = Math.min(minChunkX, camX), x1 = Math.max(maxChunkX, camX);
+        int y0 = Math.min(minChunkY, camY), y1 = Math.max(maxChunkY, camY);
+        int z0 = Math.min(minChunkZ, camZ), z1 = Math.max(maxChunkZ, camZ);
+        int sizeX = x1 - x0 + 1, sizeY = y1 - y0 + 1, sizeZ = z1 - z0 + 1;
+        ensureWalkCapacity(sizeX * sizeY * sizeZ);
+        walkCount++;
+        if (++walkStamp == 0) {
+            Arrays.fill(cellStamp, 0);
+            walkStamp = 1;
+        }
+
+        int head = 0, tail = 0;
+        int start = (camY - y0) * sizeX * sizeZ + (camZ - z0) * sizeX + (camX - x0);
+        cellStamp[start] = walkStamp;
+        cellEnteredFaces[start] = 0;
+        queueCells[tail] = start;
+        queueEntered[tail] = -1; // The camera's chunk may be left through any face
+        queueTaken[tail] = 0;
+        tail++;
+
+        while (head < tail) {
+            int cell = queueCells[head];
+            int entered = queueEntered[head];
+            int taken = queueTaken[head];
+            head++;
+
+            int cx = x0 + cell % sizeX;
+            int cz = z0 + (cell / sizeX) % sizeZ;
+            int cy = y0 + cell / (sizeX * sizeZ);
+            ChunkMeshes meshes = chunkMeshes.get(ChunkPos.pack(cx, cy, cz));
+            long connectivity = ChunkVisibility.ALL_CONNECTED;
+            if (meshes != null) {
+                connectivity = meshes.connectivity;
+                if (meshes.drawnWalk != walkCount && meshes.hasGeometry()
+                    && camera.frustum.boundsInFrustum(meshes.bounds)) {
+                    meshes.drawnWalk = walkCount;
+                    visibleChunks.add(meshes);
+                }
+            }
+
+            for (int face = 0; face < ChunkVisibility.FACES; face++) {
+                // Never step back against a direction already travelled
+                if ((taken & (1 << (face ^ 1))) != 0) continue;
+                if (entered >= 0 && !ChunkVisibility.isConnected(connectivity, entered, face)) continue;
+                int nx = cx + FACE_DX[face], ny = cy + FACE_DY[face], nz = cz + FACE_DZ[face];
+                if (nx < x0 || nx > x1 || ny < y0 || ny > y1 || nz < z0 || nz > z1) continue;
+                int next = (ny - y0) * sizeX * sizeZ + (nz - z0) * sizeX + (nx - x0);
+                int nextEntered = face ^ 1; // Arrive through the neighbour's facing side
+                if (cellStamp[next] != walkStamp) {
+                    cellStamp[next] = walkStamp;
+                    cellEnteredFaces[next] = 0;
+                } else if ((cellEnteredFaces[next] & (1 << nextEntered)) != 0) {
+                    continue;
+                }
+                if (!camera.frustum.boundsInFrustum(
+                        (nx + 0.5f) * Chunk.SIZE, (ny + 0.5f) * Chunk.HEIGHT, (nz + 0.5f) * Chunk.SIZE,
+                        Chunk.SIZE / 2f, Chunk.HEIGHT / 2f, Chunk.SIZE / 2f)) {
+                    continue;
+                }
+                cellEnteredFaces[next] |= (byte) (1 << nextEntered);
+                queueCells[tail] = next;
+                queueEntered[tail] = (byte) nextEntered;
+                queueTaken[tail] = (byte) (taken | (1 << face));
+                tail++;
             }
         }
+        return visibleChunks;
+    }
+
+    // Chunk offset of the neighbour across each face (MeshData.FACE_* order)
+    private static final int[] FACE_DX = {-1, 1, 0, 0, 0, 0};
+    private static final int[] FACE_DY = {0, 0, -1, 1, 0, 0};
+    private static final int[] FACE_DZ = {0, 0, 0, 0, -1, 1};
+
+    private void ensureWalkCapacity(int cells) {
+        if (cellStamp.length < cells) {
+            cellStamp = new int[cells];
+            cellEnteredFaces = new byte[cells];
+            walkStamp = 0;
+        }
+        // Each cell is queued at most once per entry face, plus the camera's start
+        int queueSize = cells * ChunkVisibility.FACES + 1;
+        if (queueCells.length < queueSize) {
+            queueCells = new int[queueSize];
+            queueEntered = new byte[queueSize];
+            queueTaken = new byte[queueSize];
+        }
+    }
+
+    private void growBounds(int chunkX, int chunkY, int chunkZ) {
+        minChunkX = Math.min(minChunkX, chunkX);
+        minChunkY = Math.min(minChunkY, chunkY);
+        minChunkZ = Math.min(minChunkZ, chunkZ);
+        maxChunkX = Math.max(maxChunkX, chunkX);
+        maxChunkY = Math.max(maxChunkY, chunkY);
+        maxChunkZ = Math.max(maxChunkZ, chunkZ);
+    }
+
+    private static void renderSlot(ModelBatch modelBatch, MeshSlot slot, Environment environment) {
+        slot.renderable.environment = environment;
+        modelBatch.render(slot.renderable);
+    }
+
+    /**
+     * Meshes currently drawing a chunk, opaque first (for tests).
+     */
+    List<Mesh> getChunkMeshes(long key) {
+        List<Mesh> result = new ArrayList<>();
+        ChunkMeshes meshes = chunkMeshes.get(key);
+        if (meshes != null) {
+            for (MeshSlot slot : meshes.opaque) result.add(slot.mesh);
+            for (MeshSlot slot : meshes.transparent) result.add(slot.mesh);
+        }
+        return result;
+    }
+
+    /**
+     * Level of detail of a chunk's uploaded mesh, or 0 if it has none (for tests).
+     */
+    int getUploadedLodScale(long key) {
+        ChunkMeshes meshes = chunkMeshes.get(key);
+        return meshes != null ? meshes.lodScale : 0;
+    }
+
+    /**
+     * Number of free slots waiting for reuse (for tests).
+     */
+    int getPooledSlotCount() {
+        return freeSlots.size();
     }
 
     public void dispose() {
-        for (ChunkModel chunkModel : chunkModels.values()) {
-            chunkModel.dispose();
+        for (ChunkMeshes meshes : chunkMeshes.values()) {
+            releaseAll(meshes);
+        }
+        chunkMeshes.clear();
+        minChunkX = minChunkY = minChunkZ = Integer.MAX_VALUE;
+        maxChunkX = maxChunkY = maxChunkZ = Integer.MIN_VALUE;
+        for (MeshSlot slot : freeSlots) {
+            slot.mesh.dispose();
         }
-        chunkModels.clear();
+        freeSlots.clear();
     }
 }
@@ -0,0 +1,165 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.Attributes;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.DepthTestAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.IntAttribute;
+import com.badlogic.gdx.graphics.g3d.shaders.BaseShader;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * ModelBatch shader for chunk meshes in the packed {@link MeshData} vertex layout.
+ *
+ * <p>Lighting matches what {@code DefaultShader} does for the untextured,
+ * vertex-coloured chunk materials: per-vertex Lambert lighting from the ambient
+ * light, up to {@link #MAX_DIRECTIONAL_LIGHTS} directional lights and
+ * {@link #MAX_POINT_LIGHTS} point lights (campfires), see {@link ShaderLighting}.
+ * The normal is rebuilt from the face index in {@code a_position.w}; chunk
+ * transforms are pure translations, so it needs no normal matrix.</p>
+ *
+ * <p>Written against GLSL ES 1.00 so the same source runs on desktop and WebGL.</p>
+ */
+public class ChunkShader extends BaseShader {
+
+    public static final int MAX_DIRECTIONAL_LIGHTS = ShaderLighting.MAX_DIRECTIONAL_LIGHTS;
+    public static final int MAX_POINT_LIGHTS = ShaderLighting.MAX_POINT_LIGHTS;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec4 a_position;\n" +
+        "attribute vec4 a_color;\n" +
+        "uniform mat4 u_projViewTrans;\n" +
+        "uniform mat4 u_worldTrans;\n" +
+        "uniform vec4 u_diffuseColor;\n" +
+        "uniform float u_opacity;\n" +
+        "uniform float u_blended;\n" +
+        ShaderLighting.GLSL +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    vec4 pos = u_worldTrans * vec4(a_position.xyz * " + (1f / MeshData.POSITION_SCALE) + ", 1.0);\n" +
+        "    float axis = floor(a_position.w * 0.5);\n" +
+        "    float side = mod(a_position.w, 2.0) * 2.0 - 1.0;\n" +
+        "    vec3 normal = vec3(equal(vec3(axis), vec3(0.0, 1.0, 2.0))) * side;\n" +
+        "    vec3 light = lightAt(pos.xyz, normal);\n" +
+        "    vec4 diffuse = a_color * u_diffuseColor;\n" +
+        "    v_color = vec4(diffuse.rgb * light, mix(1.0, diffuse.a * u_opacity, u_blended));\n" +
+        "    gl_Position = u_projViewTrans * pos;\n" +
+        "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    gl_FragColor = v_color;\n" +
+        "}\n";
+
+    private final int uProjViewTrans = register("u_projViewTrans");
+    private final int uWorldTrans = register("u_worldTrans");
+    private final int uDiffuseColor = register("u_diffuseColor");
+    private final int uOpacity = register("u_opacity");
+    private final int uBlended = register("u_blended");
+    private final ShaderLighting lighting = new ShaderLighting(this);
+
+    // Renderable whose mesh layout the attribute locations are resolved from
+    private Renderable layoutRenderable;
+
+    /**
+     * Whether a mesh uses the packed chunk layout (short positions), i.e. was
+     * created with {@link MeshData#createVertexAttributes()}.
+     */
+    public static boolean isChunkMesh(Mesh mesh) {
+        VertexAttribute position = mesh.getVertexAttributes().findByUsage(VertexAttributes.Usage.Position);
+        return position != null && position.type == GL20.GL_SHORT;
+    }
+
+    /**
+     * @param renderable a chunk renderable; BaseShader resolves the vertex attribute
+     *                   locations from its mesh, which every chunk mesh shares
+     */
+    public ChunkShader(Renderable renderable) {
+        this.layoutRenderable = renderable;
+    }
+
+    /**
+     * Compile the shader program. Must be called on the GL thread.
+     */
+    @Override
+    public void init() {
+        ShaderProgram shaderProgram = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shaderProgram.isCompiled()) {
+            throw new GdxRuntimeException("Chunk shader failed to compile: " + shaderProgram.getLog());
+        }
+        init(shaderProgram, layoutRenderable);
+        layoutRenderable = null;
+    }
+
+    @Override
+    public int compareTo(Shader other) {
+        return 0;
+    }
+
+    @Override
+    public boolean canRender(Renderable renderable) {
+        return isChunkMesh(renderable.meshPart.mesh);
+    }
+
+    @Override
+    public void begin(Camera camera, RenderContext context) {
+        super.begin(camera, context);
+        set(uProjViewTrans, camera.combined);
+    }
+
+    @Override
+    public void render(Renderable renderable, Attributes combinedAttributes) {
+        set(uWorldTrans, renderable.worldTransform);
+        bindMaterial(combinedAttributes);
+        lighting.bind(combinedAttributes);
+        super.render(renderable, combinedAttributes);
+    }
+
+    private void bindMaterial(Attributes attributes) {
+        ColorAttribute diffuse = (ColorAttribute) attributes.get(ColorAttribute.Diffuse);
+        set(uDiffuseColor, diffuse != null ? diffuse.color : Color.WHITE);
+
+        BlendingAttribute blending = (BlendingAttribute) attributes.get(BlendingAttribute.Type);
+        if (blending != null && blending.blended) {
+            context.setBlending(true, blending.sourceFunction, blending.destFunction);
+            set(uOpacity, blending.opacity);
+            set(uBlended, 1f);
+        } else {
+            context.setBlending(false, GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            set(uOpacity, 1f);
+            set(uBlended, 0f);
+        }
+
+        DepthTestAttribute depth = (DepthTestAttribute) attributes.get(DepthTestAttribute.Type);
+        if (depth != null) {
+            context.setDepthTest(depth.depthFunc, depth.depthRangeNear, depth.depthRangeFar);
+            context.setDepthMask(depth.depthMask);
+        } else {
+            context.setDepthTest(GL20.GL_LEQUAL);
+            context.setDepthMask(true);
+        }
+
+        IntAttribute cullFace = (IntAttribute) attributes.get(IntAttribute.CullFace);
+        context.setCullFace(cullFace != null ? cullFace.value : GL20.GL_BACK);
+    }
+
+    @Override
+    public void dispose() {
+        program.dispose();
+        super.dispose();
+    }
+}
@@ -0,0 +1,54 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
+
+/**
+ * Shader provider for the main ModelBatch: chunk meshes in the packed
+ * {@link MeshData} layout are drawn with one shared {@link ChunkShader}, instanced
+ * part meshes from {@link InstancedPartBatch} with one shared
+ * {@link InstancedPartShader}, and everything else falls through to the usual
+ * {@code DefaultShader}s.
+ *
+ * <p>Chunk and instanced renderables are routed before the cached default shaders
+ * are asked, as a default shader built for a similar vertex layout would otherwise
+ * accept them and misread the short positions or ignore the instance data.</p>
+ */
+public class ChunkShaderProvider extends DefaultShaderProvider {
+
+    private ChunkShader chunkShader;
+    private InstancedPartShader instancedPartShader;
+
+    @Override
+    public Shader getShader(Renderable renderable) {
+        if (ChunkShader.isChunkMesh(renderable.meshPart.mesh)) {
+            if (chunkShader == null) {
+                chunkShader = new ChunkShader(renderable);
+                chunkShader.init();
+            }
+            return chunkShader;
+        }
+        if (renderable.meshPart.mesh.isInstanced()) {
+            if (instancedPartShader == null) {
+                instancedPartShader = new InstancedPartShader(renderable);
+                instancedPartShader.init();
+            }
+            return instancedPartShader;
+        }
+        return super.getShader(renderable);
+    }
+
+    @Override
+    public void dispose() {
+        if (chunkShader != null) {
+            chunkShader.dispose();
+            chunkShader = null;
+        }
+        if (instancedPartShader != null) {
+            instancedPartShader.dispose();
+            instancedPartShader = null;
+        }
+        super.dispose();
+    }
+}
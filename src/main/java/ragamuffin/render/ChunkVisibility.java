@@ -0,0 +1,123 @@
+package ragamuffin.render;
+
+import ragamuffin.world.Chunk;
+import ragamuffin.world.ChunkSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * Face-to-face visibility of a chunk, for occlusion culling.
+ *
+ * <p>The non-opaque cells of the chunk (air, glass, fences, doors...) are split
+ * into connected regions by flood fill. Two chunk faces are connected when one
+ * region touches both, i.e. a line of sight could enter through one face and leave
+ * through the other. The result is packed into a {@code long}: bit
+ * {@code from * 6 + to} is set when faces {@code from} and {@code to} connect.
+ * Faces are numbered like {@link MeshData#FACE_WEST} .. {@link MeshData#FACE_SOUTH},
+ * so {@code face ^ 1} is the opposite face.</p>
+ *
+ * <p>Instances reuse their flood-fill buffers and are not thread-safe; each
+ * {@link ChunkMeshBuilder} owns one.</p>
+ */
+public class ChunkVisibility {
+
+    /** Number of chunk faces. */
+    public static final int FACES = 6;
+
+    /** Every face connected to every other face (e.g. an all-air chunk). */
+    public static final long ALL_CONNECTED = (1L << (FACES * FACES)) - 1;
+
+    /** No faces connected (e.g. a solid chunk). */
+    public static final long NONE_CONNECTED = 0L;
+
+    private static final int CELLS = Chunk.SIZE * Chunk.HEIGHT * Chunk.SIZE;
+
+    private final boolean[] open = new boolean[CELLS];
+    private final boolean[] visited = new boolean[CELLS];
+    private final int[] stack = new int[CELLS];
+
+    /**
+     * Whether a line of sight entering through face {@code from} can leave
+     * through face {@code to}.
+     */
+    public static boolean isConnected(long connectivity, int from, int to) {
+        return (connectivity & (1L << (from * FACES + to))) != 0;
+    }
+
+    /**
+     * Compute the face connectivity of a snapshot's interior (the neighbour border
+     * is ignored).
+     */
+    public long compute(ChunkSnapshot chunk) {
+        int openCount = 0;
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    boolean isOpen = !chunk.getBlock(x, y, z).isOpaque();
+                    open[index(x, y, z)] = isOpen;
+                    if (isOpen) openCount++;
+                }
+            }
+        }
+        if (openCount == 0) {
+            return NONE_CONNECTED;
+        }
+        if (openCount == CELLS) {
+            return ALL_CONNECTED;
+        }
+
+        Arrays.fill(visited, false);
+        long connectivity = NONE_CONNECTED;
+        for (int start = 0; start < CELLS; start++) {
+            if (!open[start] || visited[start]) continue;
+            int faces = floodFill(start);
+            // Connect every pair of faces this region touches
+            for (int a = 0; a < FACES; a++) {
+                if ((faces & (1 << a)) == 0) continue;
+                for (int b = 0; b < FACES; b++) {
+                    if ((faces & (1 << b)) != 0) {
+                        connectivity |= 1L << (a * FACES + b);
+                    }
+                }
+            }
+            if (connectivity == ALL_CONNECTED) {
+                break;
+            }
+        }
+        return connectivity;
+    }
+
+    /** Flood one region from a cell, returning the mask of chunk faces it touches. */
+    private int floodFill(int start) {
+        int faces = 0;
+        int top = 0;
+        stack[top++] = start;
+        visited[start] = true;
+        while (top > 0) {
+            int cell = stack[--top];
+            int x = cell % Chunk.SIZE;
+            int z = (cell / Chunk.SIZE) % Chunk.SIZE;
+            int y = cell / (Chunk.SIZE * Chunk.SIZE);
+
+            if (x == 0) faces |= 1 << MeshData.FACE_WEST; else top = push(cell - 1, top);
+            if (x == Chunk.SIZE - 1) faces |= 1 << MeshData.FACE_EAST; else top = push(cell + 1, top);
+            if (y == 0) faces |= 1 << MeshData.FACE_BOTTOM; else top = push(cell - Chunk.SIZE * Chunk.SIZE, top);
+            if (y == Chunk.HEIGHT - 1) faces |= 1 << MeshData.FACE_TOP; else top = push(cell + Chunk.SIZE * Chunk.SIZE, top);
+            if (z == 0) faces |= 1 << MeshData.FACE_NORTH; else top = push(cell - Chunk.SIZE, top);
+            if (z == Chunk.SIZE - 1) faces |= 1 << MeshData.FACE_SOUTH; else top = push(cell + Chunk.SIZE, top);
+        }
+        return faces;
+    }
+
+    private int push(int cell, int top) {
+        if (open[cell] && !visited[cell]) {
+            visited[cell] = true;
+            stack[top++] = cell;
+        }
+        return top;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y * Chunk.SIZE + z) * Chunk.SIZE + x;
+    }
+}
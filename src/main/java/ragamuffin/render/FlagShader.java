@@ -0,0 +1,160 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g3d.Attributes;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.shaders.BaseShader;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import ragamuffin.world.FlagPosition;
+
+/**
+ * ModelBatch shader that waves the static flag panel mesh built by
+ * {@link FlagRenderer}.
+ *
+ * <p>The panel is a flat strip along +X from the pole at rest. The vertex shader
+ * displaces it in Z by a travelling sine wave that is anchored at the pole and
+ * grows towards the free end, tilts the normals to match the wave's slope, and
+ * blends the flag's hoist colour into its fly colour along the width. Each
+ * renderable's {@code userData} is the {@link FlagPosition} it draws, which
+ * supplies the colours and the wave phase; the time comes from
+ * {@link #setTime(float)}. Lighting is per vertex, see {@link ShaderLighting}.</p>
+ */
+public class FlagShader extends BaseShader {
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    gl_FragColor = v_color;\n" +
+        "}\n";
+
+    private final float flagWidth;
+    private final float amplitude;
+    private final float frequency;
+    private final float speed;
+
+    private final int uProjViewTrans = register("u_projViewTrans");
+    private final int uWorldTrans = register("u_worldTrans");
+    private final int uTime = register("u_time");
+    private final int uPhase = register("u_phase");
+    private final int uHoistColor = register("u_hoistColor");
+    private final int uFlyColor = register("u_flyColor");
+    private final ShaderLighting lighting = new ShaderLighting(this);
+
+    // Renderable whose mesh layout the attribute locations are resolved from
+    private Renderable layoutRenderable;
+    private float time;
+
+    /**
+     * @param renderable a flag panel renderable; BaseShader resolves the vertex
+     *                   attribute locations from its mesh
+     * @param flagWidth  panel width along +X, in world units
+     * @param amplitude  Z displacement at the free end, in world units
+     * @param frequency  wave cycles across the panel width
+     * @param speed      wave cycles per second
+     */
+    public FlagShader(Renderable renderable, float flagWidth, float amplitude, float frequency, float speed) {
+        this.layoutRenderable = renderable;
+        this.flagWidth = flagWidth;
+        this.amplitude = amplitude;
+        this.frequency = frequency;
+        this.speed = speed;
+    }
+
+    private String vertexShader() {
+        return "attribute vec3 a_position;\n" +
+            "attribute vec3 a_normal;\n" +
+            "uniform mat4 u_projViewTrans;\n" +
+            "uniform mat4 u_worldTrans;\n" +
+            "uniform float u_time;\n" +
+            "uniform float u_phase;\n" +
+            "uniform vec3 u_hoistColor;\n" +
+            "uniform vec3 u_flyColor;\n" +
+            ShaderLighting.GLSL +
+            "varying vec4 v_color;\n" +
+            "void main() {\n" +
+            "    float t = a_position.x / " + flagWidth + ";\n" +
+            "    float k = " + (frequency * MathUtils.PI2) + ";\n" +
+            "    float angle = t * k - u_time * " + (speed * MathUtils.PI2) + " + u_phase;\n" +
+            "    float wave = sin(angle) * " + amplitude + ";\n" +
+            "    vec4 pos = u_worldTrans * vec4(a_position.xy, a_position.z + wave * t, 1.0);\n" +
+            // Slope of z = wave * t along x, to tilt the flat +/-Z normals
+            "    float slope = (cos(angle) * k * t + sin(angle)) * " + amplitude + " / " + flagWidth + ";\n" +
+            "    vec3 normal = normalize(vec3(-slope * a_normal.z, 0.0, a_normal.z));\n" +
+            "    v_color = vec4(mix(u_hoistColor, u_flyColor, t) * lightAt(pos.xyz, normal), 1.0);\n" +
+            "    gl_Position = u_projViewTrans * pos;\n" +
+            "}\n";
+    }
+
+    /**
+     * Compile the shader program. Must be called on the GL thread.
+     */
+    @Override
+    public void init() {
+        ShaderProgram shaderProgram = new ShaderProgram(vertexShader(), FRAGMENT_SHADER);
+        if (!shaderProgram.isCompiled()) {
+            throw new GdxRuntimeException("Flag shader failed to compile: " + shaderProgram.getLog());
+        }
+        init(shaderProgram, layoutRenderable);
+        layoutRenderable = null;
+    }
+
+    /**
+     * Set the animation time in seconds. Only its position within one wave period
+     * matters, so it is wrapped to keep the shader's float precision.
+     */
+    public void setTime(float seconds) {
+        float period = 1f / speed;
+        time = seconds % period;
+    }
+
+    float getTime() {
+        return time;
+    }
+
+    @Override
+    public int compareTo(Shader other) {
+        return 0;
+    }
+
+    @Override
+    public boolean canRender(Renderable renderable) {
+        return renderable.userData instanceof FlagPosition;
+    }
+
+    @Override
+    public void begin(Camera camera, RenderContext context) {
+        super.begin(camera, context);
+        set(uProjViewTrans, camera.combined);
+        set(uTime, time);
+        context.setBlending(false, GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        context.setDepthTest(GL20.GL_LEQUAL);
+        context.setDepthMask(true);
+        // Front and back faces are separate triangles
+        context.setCullFace(GL20.GL_BACK);
+    }
+
+    @Override
+    public void render(Renderable renderable, Attributes combinedAttributes) {
+        FlagPosition flag = (FlagPosition) renderable.userData;
+        set(uWorldTrans, renderable.worldTransform);
+        set(uPhase, flag.getPhaseOffset());
+        set(uHoistColor, flag.getColorR1(), flag.getColorG1(), flag.getColorB1());
+        set(uFlyColor, flag.getColorR2(), flag.getColorG2(), flag.getColorB2());
+        lighting.bind(combinedAttributes);
+        super.render(renderable, combinedAttributes);
+    }
+
+    @Override
+    public void dispose() {
+        program.dispose();
+        super.dispose();
+    }
+}
@@ -1,20 +1,42 @@
 package ragamuffin.render;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
-import ragamuffin.core.GraffitiSystem;
-import ragamuffin.core.GraffitiSystem.BlockFace;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import ragamuffin.core.GraffitiSystem.GraffitiMark;
+import ragamuffin.core.GraffitiSystem.TagStyle;
+import ragamuffin.world.Chunk;
+import ragamuffin.world.ChunkMap;
+import ragamuffin.world.ChunkPos;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Issue #781: Renders graffiti tags as depth-offset quads on block surfaces.
  *
  * <p>Each {@link GraffitiMark} is drawn as a 1×1 quad placed directly over the tagged
- * block face.  A small Z-offset (polygon offset in OpenGL terms) prevents z-fighting
- * with the block mesh.  The alpha channel fades linearly from 1.0 to 0.0 over
- * {@link GraffitiSystem#FADE_DAYS} in-game days.
+ * block face, textured with its {@link TagStyle}'s cell of a small tag atlas that is
+ * painted at startup.  A small Z-offset, plus polygon offset, prevents z-fighting
+ * with the block mesh.  The alpha channel fades from 1.0 to 0.0 with the mark's
+ * {@link GraffitiMark#getAlpha()}, in {@link #FADE_STEPS} steps.
+ *
+ * <p>Marks are packed into one dynamic mesh per chunk, so thousands of tags cost one
+ * draw call per visible chunk.  A chunk's mesh is only rebuilt when one of its marks
+ * is added, scrubbed, removed or crosses a fade step; other frames just draw.
  *
  * <p><b>Headless / test mode</b>: All LibGDX rendering calls are intentionally
  * guarded so the renderer can be instantiated without a GL context (relevant for
@@ -25,12 +47,77 @@ public class GraffitiRenderer {
     /** Z-offset applied to each quad to avoid z-fighting with the block surface. */
     public static final float DEPTH_OFFSET = 0.005f;
 
-    /** Half-size of the rendered quad (1×1 block-face quad). */
-    private static final float HALF = 0.5f;
+    /** Number of distinct alpha levels a fading tag is drawn with. */
+    public static final int FADE_STEPS = 16;
+
+    // Atlas cell size in pixels; one cell per TagStyle, in a single row
+    private static final int TAG_CELL = 64;
+
+    // Position, texture coordinates, packed colour
+    private static final int FLOATS_PER_VERTEX = 3 + 2 + 1;
+    private static final int FLOATS_PER_MARK = FLOATS_PER_VERTEX * 4;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec3 a_position;\n" +
+        "attribute vec2 a_texCoord0;\n" +
+        "attribute vec4 a_color;\n" +
+        "uniform mat4 u_projViewTrans;\n" +
+        "varying vec2 v_texCoord;\n" +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    v_texCoord = a_texCoord0;\n" +
+        "    v_color = a_color;\n" +
+        "    gl_Position = u_projViewTrans * vec4(a_position, 1.0);\n" +
+        "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "uniform sampler2D u_texture;\n" +
+        "varying vec2 v_texCoord;\n" +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    vec4 color = texture2D(u_texture, v_texCoord) * v_color;\n" +
+        "    if (color.a < 0.01) discard;\n" +
+        "    gl_FragColor = color;\n" +
+        "}\n";
+
+    /** Where a known mark is batched, and the fade step its batch was built with. */
+    private static final class MarkState {
+        final long chunkKey;
+        int step;
+        int seenFrame;
+
+        MarkState(long chunkKey) {
+            this.chunkKey = chunkKey;
+        }
+    }
+
+    /** The marks on one chunk's blocks and the mesh they were last built into. */
+    private static final class ChunkBatch {
+        final List<GraffitiMark> marks = new ArrayList<>();
+        final BoundingBox bounds = new BoundingBox();
+        Mesh mesh;
+        int capacity;
+        int quadCount;
+        boolean dirty;
+    }
 
     /** Whether rendering is available (false in headless test environments). */
     private final boolean renderingAvailable;
 
+    private final Map<GraffitiMark, MarkState> states = new IdentityHashMap<>();
+    private final ChunkMap<ChunkBatch> batches = new ChunkMap<>();
+    private final float[] corners = new float[12];
+    private int frame;
+    private int rebuildCount;
+
+    // GL resources, created on the first render
+    private ShaderProgram shader;
+    private Texture atlas;
+    private float[] vertices = new float[0];
+
     public GraffitiRenderer() {
         // Detect headless mode: if Gdx.gl is null we are in a test environment
         boolean avail = false;
@@ -45,9 +132,8 @@ public class GraffitiRenderer {
     /**
      * Render all living graffiti marks.
      *
-     * <p>In a full implementation this would use LibGDX's {@code DecalBatch} or a custom
-     * shader with polygon offset enabled.  Here we provide a no-op stub that can be
-     * integrated with the renderer once the OpenGL context is established.
+     * <p>Must be called on the GL thread outside any batch's begin/end block, after
+     * the opaque world has been drawn so the tags can depth-test against it.
      *
      * @param marks  all {@link GraffitiMark} objects to render (living and dead; renderer
      *               skips non-alive entries)
@@ -55,8 +141,276 @@ public class GraffitiRenderer {
      */
     public void render(List<GraffitiMark> marks, Camera camera) {
         if (!renderingAvailable || marks == null || camera == null) return;
-        // Rendering is deferred to the full graphics implementation.
-        // In the headless test environment this method is intentionally empty.
+        sync(marks);
+        if (shader == null) {
+            createResources();
+        }
+
+        boolean begun = false;
+        for (ChunkBatch batch : batches.values()) {
+            if (batch.dirty) {
+                rebuild(batch);
+            }
+            if (batch.quadCount == 0 || !camera.frustum.boundsInFrustum(batch.bounds)) continue;
+            if (!begun) {
+                begin(camera);
+                begun = true;
+            }
+            batch.mesh.render(shader, GL20.GL_TRIANGLES, 0, batch.quadCount * 6);
+        }
+        if (begun) {
+            end();
+        }
+    }
+
+    /** Number of chunk meshes rebuilt since construction (for testing). */
+    int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     * Track changes in the mark list since the last frame, flagging the chunk batches
+     * whose contents differ from what was last built.
+     */
+    private void sync(List<GraffitiMark> marks) {
+        frame++;
+        int size = marks.size();
+        for (int n = 0; n < size; n++) {
+            GraffitiMark mark = marks.get(n);
+            int step = fadeStep(mark);
+            MarkState state = states.get(mark);
+            if (state == null) {
+                state = new MarkState(chunkKeyOf(mark));
+                states.put(mark, state);
+                ChunkBatch batch = batchFor(state.chunkKey);
+                batch.marks.add(mark);
+                batch.dirty = true;
+            } else if (state.step != step) {
+                batches.get(state.chunkKey).dirty = true;
+            }
+            state.step = step;
+            state.seenFrame = frame;
+        }
+        // Marks no longer in the list (cleared, or a new game's GraffitiSystem)
+        if (states.size() > size) {
+            Iterator<Map.Entry<GraffitiMark, MarkState>> it = states.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<GraffitiMark, MarkState> entry = it.next();
+                if (entry.getValue().seenFrame == frame) continue;
+                ChunkBatch batch = batches.get(entry.getValue().chunkKey);
+                batch.marks.remove(entry.getKey());
+                batch.dirty = true;
+                it.remove();
+            }
+        }
+    }
+
+    private ChunkBatch batchFor(long chunkKey) {
+        ChunkBatch batch = batches.get(chunkKey);
+        if (batch == null) {
+            batch = new ChunkBatch();
+            float x = ChunkPos.x(chunkKey) * Chunk.SIZE;
+            float y = ChunkPos.y(chunkKey) * Chunk.HEIGHT;
+            float z = ChunkPos.z(chunkKey) * Chunk.SIZE;
+            // Padded by a block so quads offset off the chunk's outer faces stay inside
+            batch.bounds.set(new Vector3(x - 1f, y - 1f, z - 1f),
+                new Vector3(x + Chunk.SIZE + 1f, y + Chunk.HEIGHT + 1f, z + Chunk.SIZE + 1f));
+            batches.put(chunkKey, batch);
+        }
+        return batch;
+    }
+
+    private static long chunkKeyOf(GraffitiMark mark) {
+        Vector3 pos = mark.getBlockPos();
+        return ChunkPos.pack(
+            Math.floorDiv(MathUtils.floor(pos.x), Chunk.SIZE),
+            Math.floorDiv(MathUtils.floor(pos.y), Chunk.HEIGHT),
+            Math.floorDiv(MathUtils.floor(pos.z), Chunk.SIZE));
+    }
+
+    /** Alpha level a mark is drawn with, 0 (not drawn) to {@link #FADE_STEPS}. */
+    static int fadeStep(GraffitiMark mark) {
+        if (mark.isScrubbed()) return 0;
+        return MathUtils.ceil(mark.getAlpha() * FADE_STEPS);
+    }
+
+    private void rebuild(ChunkBatch batch) {
+        batch.dirty = false;
+        rebuildCount++;
+        int needed = batch.marks.size() * FLOATS_PER_MARK;
+        if (vertices.length < needed) {
+            vertices = new float[MathUtils.nextPowerOfTwo(needed)];
+        }
+
+        int k = 0;
+        int quads = 0;
+        for (GraffitiMark mark : batch.marks) {
+            MarkState state = states.get(mark);
+            if (state.step == 0) continue;
+            faceCorners(mark, corners);
+            float color = Color.toFloatBits(1f, 1f, 1f, state.step / (float) FADE_STEPS);
+            float u0 = mark.getStyle().ordinal() / (float) TagStyle.values().length;
+            float u1 = (mark.getStyle().ordinal() + 1) / (float) TagStyle.values().length;
+            // Corners run bottom-left, bottom-right, top-right, top-left; atlas v = 0 is the top
+            k = putVertex(k, 0, u0, 1f, color);
+            k = putVertex(k, 1, u1, 1f, color);
+            k = putVertex(k, 2, u1, 0f, color);
+            k = putVertex(k, 3, u0, 0f, color);
+            quads++;
+        }
+        batch.quadCount = quads;
+        if (quads == 0) return;
+
+        if (batch.mesh == null || batch.capacity < quads) {
+            if (batch.mesh != null) {
+                batch.mesh.dispose();
+            }
+            batch.capacity = MathUtils.nextPowerOfTwo(quads);
+            batch.mesh = new Mesh(false, batch.capacity * 4, batch.capacity * 6,
+                VertexAttribute.Position(),
+                VertexAttribute.TexCoords(0),
+                VertexAttribute.ColorPacked());
+            batch.mesh.setIndices(quadIndices(batch.capacity));
+        }
+        batch.mesh.setVertices(vertices, 0, k);
+    }
+
+    private int putVertex(int k, int corner, float u, float v, float color) {
+        vertices[k++] = corners[corner * 3];
+        vertices[k++] = corners[corner * 3 + 1];
+        vertices[k++] = corners[corner * 3 + 2];
+        vertices[k++] = u;
+        vertices[k++] = v;
+        vertices[k++] = color;
+        return k;
+    }
+
+    private static short[] quadIndices(int quads) {
+        short[] indices = new short[quads * 6];
+        for (int i = 0, v = 0; i < indices.length; i += 6, v += 4) {
+            indices[i] = (short) v;
+            indices[i + 1] = (short) (v + 1);
+            indices[i + 2] = (short) (v + 2);
+            indices[i + 3] = (short) (v + 2);
+            indices[i + 4] = (short) (v + 3);
+            indices[i + 5] = (short) v;
+        }
+        return indices;
+    }
+
+    private void begin(Camera camera) {
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        Gdx.gl.glEnable(GL20.GL_DEPTH_TEST);
+        Gdx.gl.glDepthFunc(GL20.GL_LEQUAL);
+        Gdx.gl.glDepthMask(false);
+        Gdx.gl.glEnable(GL20.GL_POLYGON_OFFSET_FILL);
+        Gdx.gl.glPolygonOffset(-1f, -1f);
+        Gdx.gl.glDisable(GL20.GL_CULL_FACE);
+        atlas.bind(0);
+        shader.bind();
+        shader.setUniformMatrix("u_projViewTrans", camera.combined);
+        shader.setUniformi("u_texture", 0);
+    }
+
+    private void end() {
+        Gdx.gl.glDisable(GL20.GL_POLYGON_OFFSET_FILL);
+        Gdx.gl.glDepthMask(true);
+        Gdx.gl.glDisable(GL20.GL_DEPTH_TEST);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    private void createResources() {
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Graffiti shader failed to compile: " + shader.getLog());
+        }
+        Pixmap pixmap = paintTagAtlas();
+        atlas = new Texture(pixmap);
+        atlas.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        pixmap.dispose();
+    }
+
+    /** Paint one cell per {@link TagStyle}, in ordinal order, on a transparent strip. */
+    private static Pixmap paintTagAtlas() {
+        Pixmap p = new Pixmap(TAG_CELL * TagStyle.values().length, TAG_CELL, Pixmap.Format.RGBA8888);
+        p.setBlending(Pixmap.Blending.None);
+        p.setColor(0f, 0f, 0f, 0f);
+        p.fill();
+        p.setBlending(Pixmap.Blending.SourceOver);
+        for (TagStyle style : TagStyle.values()) {
+            int x = style.ordinal() * TAG_CELL;
+            switch (style) {
+                case CROWN_TAG:
+                    // Gold crown: band with three points, each topped with a jewel
+                    p.setColor(0.95f, 0.75f, 0.15f, 1f);
+                    p.fillRectangle(x + 12, 38, 40, 12);
+                    p.fillTriangle(x + 12, 38, x + 24, 38, x + 12, 14);
+                    p.fillTriangle(x + 26, 38, x + 38, 38, x + 32, 10);
+                    p.fillTriangle(x + 40, 38, x + 52, 38, x + 52, 14);
+                    p.setColor(0.8f, 0.1f, 0.15f, 1f);
+                    p.fillCircle(x + 12, 13, 3);
+                    p.fillCircle(x + 32, 9, 3);
+                    p.fillCircle(x + 52, 13, 3);
+                    break;
+                case LIGHTNING_TAG:
+                    // Yellow bolt over a black outline
+                    p.setColor(0.05f, 0.05f, 0.05f, 1f);
+                    p.fillTriangle(x + 38, 4, x + 14, 38, x + 36, 38);
+                    p.fillTriangle(x + 28, 26, x + 50, 26, x + 24, 60);
+                    p.setColor(1f, 0.9f, 0.1f, 1f);
+                    p.fillTriangle(x + 36, 8, x + 18, 35, x + 33, 35);
+                    p.fillTriangle(x + 31, 29, x + 46, 29, x + 27, 54);
+                    break;
+                case CLIPBOARD_TAG:
+                    // Council clipboard: brown board, white sheet, ruled lines and clip
+                    p.setColor(0.45f, 0.3f, 0.15f, 1f);
+                    p.fillRectangle(x + 14, 10, 36, 48);
+                    p.setColor(0.95f, 0.95f, 0.9f, 1f);
+                    p.fillRectangle(x + 18, 16, 28, 38);
+                    p.setColor(0.2f, 0.35f, 0.6f, 1f);
+                    for (int line = 0; line < 5; line++) {
+                        p.fillRectangle(x + 21, 22 + line * 6, 22, 2);
+                    }
+                    p.setColor(0.6f, 0.6f, 0.65f, 1f);
+                    p.fillRectangle(x + 24, 6, 16, 8);
+                    break;
+                case PLAYER_TAG:
+                default:
+                    // Hot-pink sprayed scribble with drips
+                    p.setColor(0.95f, 0.2f, 0.6f, 1f);
+                    for (int i = 0; i <= 20; i++) {
+                        float t = i / 20f;
+                        int cx = x + 10 + (int) (t * 44);
+                        int cy = 30 + (int) (MathUtils.sin(t * MathUtils.PI * 3f) * 12f);
+                        p.fillCircle(cx, cy, 4);
+                    }
+                    p.fillRectangle(x + 20, 34, 3, 20);
+                    p.fillRectangle(x + 41, 24, 3, 26);
+                    break;
+            }
+        }
+        return p;
+    }
+
+    /** Release the GL resources, if any were created. */
+    public void dispose() {
+        for (ChunkBatch batch : batches.values()) {
+            if (batch.mesh != null) {
+                batch.mesh.dispose();
+                batch.mesh = null;
+            }
+        }
+        batches.clear();
+        states.clear();
+        if (shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
     }
 
     /**
@@ -64,63 +418,57 @@ public class GraffitiRenderer {
      * Useful for testing geometry without a GL context.
      *
      * @param mark  the graffiti mark
-     * @return an array of 4 {@link Vector3} corners (TL, TR, BR, BL) of the 1×1 quad
+     * @return an array of 4 {@link Vector3} corners (BL, BR, TR, TL, as seen from
+     *         outside the face) of the 1×1 quad
      */
     public static Vector3[] computeQuadVertices(GraffitiMark mark) {
+        float[] c = new float[12];
+        faceCorners(mark, c);
+        return new Vector3[]{
+            new Vector3(c[0], c[1], c[2]),
+            new Vector3(c[3], c[4], c[5]),
+            new Vector3(c[6], c[7], c[8]),
+            new Vector3(c[9], c[10], c[11])
+        };
+    }
+
+    /**
+     * Write the quad's corners into {@code out} as x, y, z triples: bottom-left,
+     * bottom-right, top-right, top-left as seen from outside the face, so tags read
+     * the right way round. Blocks span {@code [pos, pos + 1]} on each axis; top
+     * faces are upright when viewed facing north (-Z).
+     */
+    private static void faceCorners(GraffitiMark mark, float[] out) {
         Vector3 pos = mark.getBlockPos();
-        float bx = pos.x, by = pos.y, bz = pos.z;
+        float x0 = pos.x, x1 = pos.x + 1f;
+        float y0 = pos.y, y1 = pos.y + 1f;
+        float z0 = pos.z, z1 = pos.z + 1f;
         float off = DEPTH_OFFSET;
 
         switch (mark.getFace()) {
             case TOP:
-                return new Vector3[]{
-                    new Vector3(bx - HALF, by + 1f + off, bz - HALF),
-                    new Vector3(bx + HALF, by + 1f + off, bz - HALF),
-                    new Vector3(bx + HALF, by + 1f + off, bz + HALF),
-                    new Vector3(bx - HALF, by + 1f + off, bz + HALF)
-                };
+                setCorners(out, x0, y1 + off, z1, x1, y1 + off, z1, x1, y1 + off, z0, x0, y1 + off, z0);
+                break;
             case BOTTOM:
-                return new Vector3[]{
-                    new Vector3(bx - HALF, by - off, bz - HALF),
-                    new Vector3(bx + HALF, by - off, bz - HALF),
-                    new Vector3(bx + HALF, by - off, bz + HALF),
-                    new Vector3(bx - HALF, by - off, bz + HALF)
-                };
+                setCorners(out, x0, y0 - off, z0, x1, y0 - off, z0, x1, y0 - off, z1, x0, y0 - off, z1);
+                break;
             case NORTH:
-                return new Vector3[]{
-                    new Vector3(bx - HALF, by,        bz - off),
-                    new Vector3(bx + HALF, by,        bz - off),
-                    new Vector3(bx + HALF, by + 1f,   bz - off),
-                    new Vector3(bx - HALF, by + 1f,   bz - off)
-                };
+                setCorners(out, x1, y0, z0 - off, x0, y0, z0 - off, x0, y1, z0 - off, x1, y1, z0 - off);
+                break;
             case SOUTH:
-                return new Vector3[]{
-                    new Vector3(bx - HALF, by,        bz + 1f + off),
-                    new Vector3(bx + HALF, by,        bz + 1f + off),
-                    new Vector3(bx + HALF, by + 1f,   bz + 1f + off),
-                    new Vector3(bx - HALF, by + 1f,   bz + 1f + off)
-                };
+                setCorners(out, x0, y0, z1 + off, x1, y0, z1 + off, x1, y1, z1 + off, x0, y1, z1 + off);
+                break;
             case EAST:
-                return new Vector3[]{
-                    new Vector3(bx + 1f + off, by,      bz - HALF),
-                    new Vector3(bx + 1f + off, by,      bz + HALF),
-                    new Vector3(bx + 1f + off, by + 1f, bz + HALF),
-                    new Vector3(bx + 1f + off, by + 1f, bz - HALF)
-                };
+                setCorners(out, x1 + off, y0, z1, x1 + off, y0, z0, x1 + off, y1, z0, x1 + off, y1, z1);
+                break;
             case WEST:
-                return new Vector3[]{
-                    new Vector3(bx - off, by,      bz - HALF),
-                    new Vector3(bx - off, by,      bz + HALF),
-                    new Vector3(bx - off, by + 1f, bz + HALF),
-                    new Vector3(bx - off, by + 1f, bz - HALF)
-                };
             default:
-                return new Vector3[]{
-                    new Vector3(bx, by, bz),
-                    new Vector3(bx + 1f, by, bz),
-                    new Vector3(bx + 1f, by + 1f, bz),
-                    new Vector3(bx, by + 1f, bz)
-                };
+                setCorners(out, x0 - off, y0, z0, x0 - off, y0, z1, x0 - off, y1, z1, x0 - off, y1, z0);
+                break;
         }
     }
+
+    private static void setCorners(float[] out, float... xyz) {
+        System.arraycopy(xyz, 0, out, 0, 12);
+    }
 }
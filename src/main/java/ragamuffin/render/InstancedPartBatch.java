@@ -0,0 +1,332 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the parts of many model instances and draws every part that shares
+ * its geometry with one instanced draw call.
+ *
+ * <p>{@link #add} breaks a {@link ModelInstance} into its node parts. Each part is
+ * matched to a group by its geometry (primitive type, vertices and indices), so
+ * identical boxes from different models, e.g. the same head on every NPC type,
+ * share one group; the part's world transform and diffuse colour become
+ * per-instance attributes. {@link #flush} then submits one renderable per non-empty
+ * group, drawn by {@link InstancedPartShader} through {@link ChunkShaderProvider}.</p>
+ *
+ * <p>Only untextured, opaque triangle parts with position and normal vertices
+ * are batched; {@code add} rejects any other instance so the caller can render it
+ * normally. Instancing needs a GL30 context, see {@link #isSupported()}.</p>
+ */
+public class InstancedPartBatch {
+
+    /** Prefix of the four instance attributes holding the world transform columns. */
+    static final String WORLD_TRANS_ALIAS = "i_worldTrans";
+    /** Instance attribute holding the packed diffuse colour. */
+    static final String COLOR_ALIAS = "i_color";
+
+    // 16 transform floats + 1 packed colour
+    private static final int FLOATS_PER_INSTANCE = 17;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int VERTEX_FLOATS = 6; // position + normal
+
+    // Part geometry already matched to a group, keyed by mesh range
+    private final Map<PartKey, Group> groupsByPart = new HashMap<>();
+    private final Map<GeometryKey, Group> groupsByGeometry = new HashMap<>();
+    private final List<Group> groups = new ArrayList<>();
+    private final PartKey probe = new PartKey();
+    // Instanced shaders ignore the material colour; parts share a plain material
+    private final Material material = new Material();
+    private final Matrix4 tmpTransform = new Matrix4();
+
+    /**
+     * Whether the current GL context can draw instanced meshes.
+     */
+    public static boolean isSupported() {
+        return Gdx.gl30 != null;
+    }
+
+    /**
+     * Queue the enabled parts of a model instance at its current transform.
+     *
+     * @return false, queueing nothing, if any part cannot be instanced
+     */
+    public boolean add(ModelInstance instance) {
+        for (Node node : instance.nodes) {
+            if (!canInstance(node)) {
+                return false;
+            }
+        }
+        for (Node node : instance.nodes) {
+            addNode(instance, node);
+        }
+        return true;
+    }
+
+    /**
+     * Submit one instanced renderable per group with queued parts to the batch and
+     * start collecting the next frame. Must be called inside
+     * {@code modelBatch.begin()} / {@code modelBatch.end()}; the instance data is
+     * left untouched until the next flush, after the batch has drawn it.
+     */
+    public void flush(ModelBatch modelBatch, Environment environment) {
+        for (int i = 0; i < groups.size(); i++) {
+            Group group = groups.get(i);
+            if (group.count == 0) continue;
+            group.upload();
+            group.renderable.environment = environment;
+            modelBatch.render(group.renderable);
+            group.count = 0;
+        }
+    }
+
+    /** Number of distinct part geometries seen so far. */
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    /** Number of part instances queued since the last flush. */
+    public int getQueuedInstanceCount() {
+        int total = 0;
+        for (Group group : groups) {
+            total += group.count;
+        }
+        return total;
+    }
+
+    public void dispose() {
+        for (Group group : groups) {
+            group.mesh.dispose();
+        }
+        groups.clear();
+        groupsByPart.clear();
+        groupsByGeometry.clear();
+    }
+
+    private boolean canInstance(Node node) {
+        for (NodePart part : node.parts) {
+            if (!part.enabled) continue;
+            MeshPart meshPart = part.meshPart;
+            VertexAttributes attributes = meshPart.mesh.getVertexAttributes();
+            VertexAttribute position = attributes.findByUsage(VertexAttributes.Usage.Position);
+            if (meshPart.primitiveType != GL20.GL_TRIANGLES
+                || position == null || position.numComponents != 3 || position.type != GL20.GL_FLOAT
+                || attributes.findByUsage(VertexAttributes.Usage.Normal) == null
+                || part.material.has(BlendingAttribute.Type)
+                || part.material.has(TextureAttribute.Diffuse)) {
+                return false;
+            }
+        }
+        for (Node child : node.getChildren()) {
+            if (!canInstance(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addNode(ModelInstance instance, Node node) {
+        for (NodePart part : node.parts) {
+            if (!part.enabled) continue;
+            Group group = groupFor(part.meshPart);
+            tmpTransform.set(instance.transform).mul(node.globalTransform);
+            ColorAttribute diffuse = (ColorAttribute) part.material.get(ColorAttribute.Diffuse);
+            group.add(tmpTransform, (diffuse != null ? diffuse.color : Color.WHITE).toFloatBits());
+        }
+        for (Node child : node.getChildren()) {
+            addNode(instance, child);
+        }
+    }
+
+    private Group groupFor(MeshPart meshPart) {
+        Group group = groupsByPart.get(probe.set(meshPart));
+        if (group != null) {
+            return group;
+        }
+        GeometryKey geometry = extractGeometry(meshPart);
+        group = groupsByGeometry.get(geometry);
+        if (group == null) {
+            group = new Group(geometry);
+            groupsByGeometry.put(geometry, group);
+            groups.add(group);
+        }
+        groupsByPart.put(new PartKey().set(meshPart), group);
+        return group;
+    }
+
+    /**
+     * Copy a part's triangles out of its (possibly shared) model mesh as compact
+     * position + normal vertices with their own indices.
+     */
+    private static GeometryKey extractGeometry(MeshPart meshPart) {
+        Mesh mesh = meshPart.mesh;
+        VertexAttributes attributes = mesh.getVertexAttributes();
+        int stride = mesh.getVertexSize() / 4;
+        int positionOffset = attributes.getOffset(VertexAttributes.Usage.Position);
+        int normalOffset = attributes.getOffset(VertexAttributes.Usage.Normal);
+
+        float[] source = new float[mesh.getNumVertices() * stride];
+        mesh.getVertices(source);
+        int[] sourceIndices = new int[meshPart.size];
+        if (mesh.getNumIndices() > 0) {
+            short[] indices = new short[meshPart.size];
+            mesh.getIndices(meshPart.offset, meshPart.size, indices, 0);
+            for (int i = 0; i < indices.length; i++) {
+                sourceIndices[i] = indices[i] & 0xFFFF;
+            }
+        } else {
+            for (int i = 0; i < sourceIndices.length; i++) {
+                sourceIndices[i] = meshPart.offset + i;
+            }
+        }
+
+        // Remap the used vertices to 0..n in order of first use
+        int[] remap = new int[mesh.getNumVertices()];
+        Arrays.fill(remap, -1);
+        float[] vertices = new float[Math.min(sourceIndices.length, mesh.getNumVertices()) * VERTEX_FLOATS];
+        short[] indices = new short[sourceIndices.length];
+        int vertexCount = 0;
+        for (int i = 0; i < sourceIndices.length; i++) {
+            int src = sourceIndices[i];
+            if (remap[src] < 0) {
+                int from = src * stride;
+                int to = vertexCount * VERTEX_FLOATS;
+                vertices[to] = source[from + positionOffset];
+                vertices[to + 1] = source[from + positionOffset + 1];
+                vertices[to + 2] = source[from + positionOffset + 2];
+                vertices[to + 3] = source[from + normalOffset];
+                vertices[to + 4] = source[from + normalOffset + 1];
+                vertices[to + 5] = source[from + normalOffset + 2];
+                remap[src] = vertexCount++;
+            }
+            indices[i] = (short) remap[src];
+        }
+        return new GeometryKey(Arrays.copyOf(vertices, vertexCount * VERTEX_FLOATS), indices);
+    }
+
+    private static VertexAttribute[] instanceAttributes() {
+        return new VertexAttribute[] {
+            new VertexAttribute(VertexAttributes.Usage.Generic, 4, GL20.GL_FLOAT, false, WORLD_TRANS_ALIAS + "0", 0),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 4, GL20.GL_FLOAT, false, WORLD_TRANS_ALIAS + "1", 1),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 4, GL20.GL_FLOAT, false, WORLD_TRANS_ALIAS + "2", 2),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 4, GL20.GL_FLOAT, false, WORLD_TRANS_ALIAS + "3", 3),
+            new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, GL20.GL_UNSIGNED_BYTE, true, COLOR_ALIAS)
+        };
+    }
+
+    /** One distinct part geometry: its instanced mesh and the instances queued this frame. */
+    private final class Group {
+        final Mesh mesh;
+        final Renderable renderable = new Renderable();
+        float[] instanceData = new float[INITIAL_CAPACITY * FLOATS_PER_INSTANCE];
+        int capacity = INITIAL_CAPACITY;
+        int count;
+
+        Group(GeometryKey geometry) {
+            mesh = new Mesh(true, geometry.vertices.length / VERTEX_FLOATS, geometry.indices.length,
+                VertexAttribute.Position(), VertexAttribute.Normal());
+            mesh.setVertices(geometry.vertices);
+            mesh.setIndices(geometry.indices);
+            mesh.enableInstancedRendering(false, capacity, instanceAttributes());
+            renderable.meshPart.set("instancedPart", mesh, 0, geometry.indices.length, GL20.GL_TRIANGLES);
+            renderable.meshPart.update();
+            renderable.material = material;
+        }
+
+        void add(Matrix4 transform, float packedColor) {
+            int offset = count * FLOATS_PER_INSTANCE;
+            if (offset + FLOATS_PER_INSTANCE > instanceData.length) {
+                instanceData = Arrays.copyOf(instanceData, instanceData.length * 2);
+            }
+            System.arraycopy(transform.val, 0, instanceData, offset, 16);
+            instanceData[offset + 16] = packedColor;
+            count++;
+        }
+
+        void upload() {
+            if (count > capacity) {
+                // The instance buffer has a fixed size; recreate it larger
+                capacity = MathUtils.nextPowerOfTwo(count);
+                mesh.disableInstancedRendering();
+                mesh.enableInstancedRendering(false, capacity, instanceAttributes());
+            }
+            mesh.setInstanceData(instanceData, 0, count * FLOATS_PER_INSTANCE);
+        }
+    }
+
+    /** Mesh range of a part, compared by mesh identity like {@link MeshPart#equals(MeshPart)}. */
+    private static final class PartKey {
+        Mesh mesh;
+        int offset;
+        int size;
+
+        PartKey set(MeshPart meshPart) {
+            mesh = meshPart.mesh;
+            offset = meshPart.offset;
+            size = meshPart.size;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PartKey)) return false;
+            PartKey other = (PartKey) o;
+            return mesh == other.mesh && offset == other.offset && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(mesh) * 31 + offset) * 31 + size;
+        }
+    }
+
+    /** Triangle geometry compared by content, so identical parts of different models match. */
+    private static final class GeometryKey {
+        final float[] vertices;
+        final short[] indices;
+        final int hash;
+
+        GeometryKey(float[] vertices, short[] indices) {
+            this.vertices = vertices;
+            this.indices = indices;
+            this.hash = Arrays.hashCode(vertices) * 31 + Arrays.hashCode(indices);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GeometryKey)) return false;
+            GeometryKey other = (GeometryKey) o;
+            return hash == other.hash
+                && Arrays.equals(vertices, other.vertices)
+                && Arrays.equals(indices, other.indices);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g3d.Attributes;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.IntAttribute;
+import com.badlogic.gdx.graphics.g3d.shaders.BaseShader;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * ModelBatch shader for the instanced part meshes built by {@link InstancedPartBatch}.
+ *
+ * <p>Each instance carries its world transform as four column attributes
+ * ({@code i_worldTrans0..3}) and its diffuse colour as a packed colour
+ * ({@code i_color}); the renderable's own world transform and material colour are
+ * ignored. Parts are opaque and lit per vertex like {@link ChunkShader}, see
+ * {@link ShaderLighting}. The normal is transformed by the upper 3x3 of the world
+ * matrix rather than its inverse-transpose. Some parts are scaled non-uniformly
+ * (see {@code NPCRenderer.setPartTransformScaled}), but the scale is applied first,
+ * along the part's own axes, and every part is an axis-aligned box whose normals lie
+ * on those axes, so each normal keeps its direction and only needs renormalising.</p>
+ *
+ * <p>Written against GLSL ES 1.00 like the chunk shader; instancing itself needs a
+ * GL30 context.</p>
+ */
+public class InstancedPartShader extends BaseShader {
+
+    private static final String VERTEX_SHADER =
+        "attribute vec3 a_position;\n" +
+        "attribute vec3 a_normal;\n" +
+        "attribute vec4 " + InstancedPartBatch.WORLD_TRANS_ALIAS + "0;\n" +
+        "attribute vec4 " + InstancedPartBatch.WORLD_TRANS_ALIAS + "1;\n" +
+        "attribute vec4 " + InstancedPartBatch.WORLD_TRANS_ALIAS + "2;\n" +
+        "attribute vec4 " + InstancedPartBatch.WORLD_TRANS_ALIAS + "3;\n" +
+        "attribute vec4 " + InstancedPartBatch.COLOR_ALIAS + ";\n" +
+        "uniform mat4 u_projViewTrans;\n" +
+        ShaderLighting.GLSL +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    mat4 world = mat4(" +
+            InstancedPartBatch.WORLD_TRANS_ALIAS + "0, " +
+            InstancedPartBatch.WORLD_TRANS_ALIAS + "1, " +
+            InstancedPartBatch.WORLD_TRANS_ALIAS + "2, " +
+            InstancedPartBatch.WORLD_TRANS_ALIAS + "3);\n" +
+        "    vec4 pos = world * vec4(a_position, 1.0);\n" +
+        "    vec3 normal = normalize(mat3(world[0].xyz, world[1].xyz, world[2].xyz) * a_normal);\n" +
+        "    vec4 color = " + InstancedPartBatch.COLOR_ALIAS + ";\n" +
+        "    v_color = vec4(color.rgb * lightAt(pos.xyz, normal), color.a);\n" +
+        "    gl_Position = u_projViewTrans * pos;\n" +
+        "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "varying vec4 v_color;\n" +
+        "void main() {\n" +
+        "    gl_FragColor = v_color;\n" +
+        "}\n";
+
+    private final int uProjViewTrans = register("u_projViewTrans");
+    private final ShaderLighting lighting = new ShaderLighting(this);
+
+    // Renderable whose mesh layout the attribute locations are resolved from
+    private Renderable layoutRenderable;
+
+    /**
+     * @param renderable an instanced part renderable; BaseShader resolves the vertex
+     *                   and instance attribute locations from its mesh, which every
+     *                   {@link InstancedPartBatch} mesh shares
+     */
+    public InstancedPartShader(Renderable renderable) {
+        this.layoutRenderable = renderable;
+    }
+
+    /**
+     * Compile the shader program. Must be called on the GL thread.
+     */
+    @Override
+    public void init() {
+        ShaderProgram shaderProgram = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shaderProgram.isCompiled()) {
+            throw new GdxRuntimeException("Instanced part shader failed to compile: " + shaderProgram.getLog());
+        }
+        init(shaderProgram, layoutRenderable);
+        layoutRenderable = null;
+    }
+
+    @Override
+    public int compareTo(Shader other) {
+        return 0;
+    }
+
+    @Override
+    public boolean canRender(Renderable renderable) {
+        return renderable.meshPart.mesh.isInstanced();
+    }
+
+    @Override
+    public void begin(Camera camera, RenderContext context) {
+        super.begin(camera, context);
+        set(uProjViewTrans, camera.combined);
+        context.setBlending(false, GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        context.setDepthTest(GL20.GL_LEQUAL);
+        context.setDepthMask(true);
+    }
+
+    @Override
+    public void render(Renderable renderable, Attributes combinedAttributes) {
+        IntAttribute cullFace = (IntAttribute) combinedAttributes.get(IntAttribute.CullFace);
+        context.setCullFace(cullFace != null ? cullFace.value : GL20.GL_BACK);
+        lighting.bind(combinedAttributes);
+        super.render(renderable, combinedAttributes);
+    }
+
+    @Override
+    public void dispose() {
+        program.dispose();
+        super.dispose();
+    }
+}
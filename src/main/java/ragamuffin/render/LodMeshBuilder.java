@@ -0,0 +1,273 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.Color;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.Chunk;
+import ragamuffin.world.ChunkSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * Builds reduced-detail meshes for distant chunks by downsampling the voxels.
+ *
+ * <p>The chunk is split into cells of {@code scale} blocks along each axis. A cell
+ * is solid when any block in it is an opaque full cube, so thin walls and roofs
+ * stay visible (thickened to one cell) instead of disappearing. Each exposed side
+ * of a solid cell takes the most common block type among the blocks exposed on
+ * that side, so ground cells show grass on top and dirt on their sides. Exposed
+ * sides are then greedily merged like {@link ChunkMeshBuilder} does. Textured
+ * blocks use their flat base colour. Glass and shaped blocks (fences, doors,
+ * stairs...) are left out.</p>
+ *
+ * <p>At a chunk boundary, a side is hidden only if every neighbour block across it
+ * is opaque. A neighbour chunk meshed at any level of detail then covers the
+ * boundary, so no gaps open up between chunks at different levels.</p>
+ *
+ * <p>Instances reuse their buffers and are not thread-safe; each
+ * {@link ChunkMeshBuilder} owns one.</p>
+ */
+public class LodMeshBuilder {
+
+    private static final BlockType[] BLOCK_TYPES = BlockType.values();
+
+    // Buffers sized for the finest supported scale (2 blocks per cell)
+    private static final int MAX_CELLS = (Chunk.SIZE / 2) * (Chunk.HEIGHT / 2) * (Chunk.SIZE / 2);
+    private static final int MAX_SLICE = (Chunk.SIZE / 2) * (Chunk.HEIGHT / 2);
+
+    // Neighbour offsets per face, indexed like MeshData.FACE_WEST .. FACE_SOUTH
+    private static final int[] FACE_DX = {-1, 1, 0, 0, 0, 0};
+    private static final int[] FACE_DY = {0, 0, -1, 1, 0, 0};
+    private static final int[] FACE_DZ = {0, 0, 0, 0, -1, 1};
+
+    private final boolean[] solid = new boolean[MAX_CELLS];
+    private final BlockType[] mask = new BlockType[MAX_SLICE];
+    private final boolean[] merged = new boolean[MAX_SLICE];
+    private final int[] typeCounts = new int[BLOCK_TYPES.length];
+    private final int[] cellCounts = new int[3]; // cells along x, y, z
+    private final int[] cell = new int[3];
+    private final int[] probe = new int[3];
+    private final float[] quadMin = new float[3];
+    private final float[] quadMax = new float[3];
+
+    private ChunkSnapshot chunk;
+    private int scale;
+
+    /**
+     * Mesh a chunk snapshot with {@code scale} blocks per cell into {@code meshData}.
+     *
+     * @param scale blocks per cell along each axis: 2, 4, 8 or 16
+     * @throws IllegalArgumentException if the scale does not divide the chunk size
+     */
+    public void build(ChunkSnapshot chunk, int scale, MeshData meshData) {
+        if (scale < 2 || scale > Chunk.SIZE || Chunk.SIZE % scale != 0) {
+            throw new IllegalArgumentException("Unsupported LOD scale: " + scale);
+        }
+        this.chunk = chunk;
+        this.scale = scale;
+        cellCounts[0] = Chunk.SIZE / scale;
+        cellCounts[1] = Chunk.HEIGHT / scale;
+        cellCounts[2] = Chunk.SIZE / scale;
+
+        for (int cy = 0; cy < cellCounts[1]; cy++) {
+            for (int cz = 0; cz < cellCounts[2]; cz++) {
+                for (int cx = 0; cx < cellCounts[0]; cx++) {
+                    solid[cellIndex(cx, cy, cz)] = containsOpaque(cx * scale, cy * scale, cz * scale);
+                }
+            }
+        }
+        for (int face = 0; face < ChunkVisibility.FACES; face++) {
+            meshFace(meshData, face);
+        }
+        this.chunk = null;
+    }
+
+    private boolean containsOpaque(int x0, int y0, int z0) {
+        for (int y = y0; y < y0 + scale; y++) {
+            for (int z = z0; z < z0 + scale; z++) {
+                for (int x = x0; x < x0 + scale; x++) {
+                    if (chunk.getBlock(x, y, z).isOpaque()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Greedy mesh one face direction. Slices run along the face's axis; within a
+     * slice, u and v are the other two axes (for X: z and y, for Y: z and x, for
+     * Z: x and y).
+     */
+    private void meshFace(MeshData meshData, int face) {
+        int axis = face / 2;
+        boolean positive = (face & 1) != 0;
+        int uAxis = uAxis(axis);
+        int vAxis = vAxis(axis);
+        int sliceW = cellCounts[uAxis];
+        int sliceH = cellCounts[vAxis];
+
+        for (int layer = 0; layer < cellCounts[axis]; layer++) {
+            cell[axis] = layer;
+            for (int v = 0; v < sliceH; v++) {
+                cell[vAxis] = v;
+                for (int u = 0; u < sliceW; u++) {
+                    cell[uAxis] = u;
+                    int idx = v * sliceW + u;
+                    mask[idx] = solid[cellIndex(cell[0], cell[1], cell[2])] && isExposed(face)
+                        ? exposedType(face)
+                        : null;
+                }
+            }
+
+            Arrays.fill(merged, 0, sliceW * sliceH, false);
+            for (int v = 0; v < sliceH; v++) {
+                for (int u = 0; u < sliceW; u++) {
+                    int idx = v * sliceW + u;
+                    if (mask[idx] == null || merged[idx]) continue;
+                    BlockType type = mask[idx];
+
+                    int w = 1;
+                    while (u + w < sliceW && mask[idx + w] == type && !merged[idx + w]) {
+                        w++;
+                    }
+                    int h = 1;
+                    outer:
+                    while (v + h < sliceH) {
+                        for (int du = 0; du < w; du++) {
+                            int checkIdx = (v + h) * sliceW + u + du;
+                            if (mask[checkIdx] != type || merged[checkIdx]) break outer;
+                        }
+                        h++;
+                    }
+                    for (int dv = 0; dv < h; dv++) {
+                        for (int du = 0; du < w; du++) {
+                            merged[(v + dv) * sliceW + u + du] = true;
+                        }
+                    }
+
+                    // Quad bounds in blocks; min == max along the face axis
+                    quadMin[axis] = quadMax[axis] = (positive ? layer + 1 : layer) * scale;
+                    quadMin[uAxis] = u * scale;
+                    quadMax[uAxis] = (u + w) * scale;
+                    quadMin[vAxis] = v * scale;
+                    quadMax[vAxis] = (v + h) * scale;
+                    addQuad(meshData, face, faceColor(type, face),
+                        quadMin[0], quadMin[1], quadMin[2], quadMax[0], quadMax[1], quadMax[2]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the side of the current cell facing {@code face} can be seen: the
+     * neighbour cell is not solid or, across the chunk boundary, at least one
+     * neighbour block is not opaque.
+     */
+    private boolean isExposed(int face) {
+        int nx = cell[0] + FACE_DX[face];
+        int ny = cell[1] + FACE_DY[face];
+        int nz = cell[2] + FACE_DZ[face];
+        if (nx >= 0 && nx < cellCounts[0] && ny >= 0 && ny < cellCounts[1] && nz >= 0 && nz < cellCounts[2]) {
+            return !solid[cellIndex(nx, ny, nz)];
+        }
+        // Outside the chunk: check the snapshot's one-block border across this side
+        int axis = face / 2;
+        int uAxis = uAxis(axis);
+        int vAxis = vAxis(axis);
+        int base = cell[axis] * scale;
+        probe[axis] = (face & 1) != 0 ? base + scale : base - 1;
+        for (int a = 0; a < scale; a++) {
+            probe[uAxis] = cell[uAxis] * scale + a;
+            for (int b = 0; b < scale; b++) {
+                probe[vAxis] = cell[vAxis] * scale + b;
+                if (!chunk.getBlock(probe[0], probe[1], probe[2]).isOpaque()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Most common type among the current cell's opaque blocks that are exposed
+     * towards {@code face}, or among all its opaque blocks if none are.
+     */
+    private BlockType exposedType(int face) {
+        int x0 = cell[0] * scale, y0 = cell[1] * scale, z0 = cell[2] * scale;
+        Arrays.fill(typeCounts, 0);
+        boolean anyExposed = false;
+        for (int pass = 0; pass < 2 && !anyExposed; pass++) {
+            for (int y = y0; y < y0 + scale; y++) {
+                for (int z = z0; z < z0 + scale; z++) {
+                    for (int x = x0; x < x0 + scale; x++) {
+                        BlockType type = chunk.getBlock(x, y, z);
+                        if (!type.isOpaque()) continue;
+                        if (pass == 0 && chunk.getBlock(
+                                x + FACE_DX[face], y + FACE_DY[face], z + FACE_DZ[face]).isOpaque()) {
+                            continue;
+                        }
+                        typeCounts[type.ordinal()]++;
+                        anyExposed = true;
+                    }
+                }
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < typeCounts.length; i++) {
+            if (typeCounts[i] > typeCounts[best]) {
+                best = i;
+            }
+        }
+        return BLOCK_TYPES[best];
+    }
+
+    private static Color faceColor(BlockType type, int face) {
+        if (face == MeshData.FACE_TOP) return type.getTopColor();
+        if (face == MeshData.FACE_BOTTOM) return type.getBottomColor();
+        return type.getColor();
+    }
+
+    /**
+     * Emit an axis-aligned quad with the same corner order (and so winding) as the
+     * matching face in {@link ChunkMeshBuilder}.
+     */
+    private static void addQuad(MeshData meshData, int face, Color color,
+                                float x0, float y0, float z0, float x1, float y1, float z1) {
+        float packedColor = color.toFloatBits();
+        switch (face) {
+            case MeshData.FACE_WEST:
+                meshData.addQuad(x0, y0, z0, x0, y0, z1, x0, y1, z1, x0, y1, z0, face, packedColor);
+                break;
+            case MeshData.FACE_EAST:
+                meshData.addQuad(x0, y0, z1, x0, y0, z0, x0, y1, z0, x0, y1, z1, face, packedColor);
+                break;
+            case MeshData.FACE_BOTTOM:
+                meshData.addQuad(x0, y0, z0, x1, y0, z0, x1, y0, z1, x0, y0, z1, face, packedColor);
+                break;
+            case MeshData.FACE_TOP:
+                meshData.addQuad(x0, y0, z1, x1, y0, z1, x1, y0, z0, x0, y0, z0, face, packedColor);
+                break;
+            case MeshData.FACE_NORTH:
+                meshData.addQuad(x1, y0, z0, x0, y0, z0, x0, y1, z0, x1, y1, z0, face, packedColor);
+                break;
+            default:
+                meshData.addQuad(x0, y0, z0, x1, y0, z0, x1, y1, z0, x0, y1, z0, face, packedColor);
+                break;
+        }
+    }
+
+    /** First in-slice axis for faces along {@code axis}: z for X and Y, x for Z. */
+    private static int uAxis(int axis) {
+        return axis == 2 ? 0 : 2;
+    }
+
+    /** Second in-slice axis for faces along {@code axis}: y for X and Z, x for Y. */
+    private static int vAxis(int axis) {
+        return axis == 1 ? 0 : 1;
+    }
+
+    private int cellIndex(int cx, int cy, int cz) {
+        return (cy * cellCounts[2] + cz) * cellCounts[0] + cx;
+    }
+}
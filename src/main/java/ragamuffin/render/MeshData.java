@@ -1,5 +1,10 @@
 package ragamuffin.render;
 
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.utils.NumberUtils;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,12 +16,39 @@ import java.util.List;
  *
  * Transparent faces (e.g. glass) are stored separately so they can be
  * rendered after all opaque geometry with alpha blending enabled.
+ *
+ * <p>Vertices use a packed 12-byte layout (see {@link #createVertexAttributes()})
+ * drawn by {@link ChunkShader}, instead of 12 floats (48 bytes) of position,
+ * normal, UV and unpacked colour:</p>
+ * <ul>
+ *   <li>{@code a_position}: four shorts — chunk-local x, y, z in 1/{@link #POSITION_SCALE}
+ *       block steps, then the face index ({@link #FACE_WEST} .. {@link #FACE_SOUTH})
+ *       from which the shader derives the normal</li>
+ *   <li>{@code a_color}: RGBA packed into four normalised bytes (alpha loses its
+ *       lowest bit to {@link com.badlogic.gdx.graphics.Color#toFloatBits()})</li>
+ * </ul>
+ * Chunk materials are untextured, so no texture coordinates are stored. The
+ * shorts are written pairwise into the float vertex array as raw bits
+ * (little-endian, like every platform we ship on).
  */
 public class MeshData {
-    private static final int MAX_VERTICES_PER_MESH = 65532; // Leave room for a full quad (4 verts)
-    private static final int FLOATS_PER_VERTEX = 12;
+    static final int MAX_VERTICES_PER_MESH = 65532; // Leave room for a full quad (4 verts)
+    /** Floats (32-bit words) per packed vertex. */
+    public static final int FLOATS_PER_VERTEX = 3;
+    /** Floats per vertex in the unpacked layout returned by {@link #getVerticesArray()}. */
+    public static final int UNPACKED_FLOATS_PER_VERTEX = 12;
+    /** Fixed-point steps per block for packed positions (max local coordinate 127). */
+    public static final int POSITION_SCALE = 256;
     private static final int INITIAL_CAPACITY = 4096; // quads
 
+    /** Face indices, in the order the shader decodes them: -X, +X, -Y, +Y, -Z, +Z. */
+    public static final int FACE_WEST = 0;
+    public static final int FACE_EAST = 1;
+    public static final int FACE_BOTTOM = 2;
+    public static final int FACE_TOP = 3;
+    public static final int FACE_NORTH = 4;
+    public static final int FACE_SOUTH = 5;
+
     private List<float[]> vertexBatches;
     private List<short[]> indexBatches;
 
@@ -25,13 +57,18 @@ public class MeshData {
     private short[] currentIndices;
     private int vertexFloatCount;  // number of floats written
     private int indexCount;        // number of indices written
-    private int currentVertexCount; // number of vertices (floats / 12)
+    private int currentVertexCount; // number of vertices (floats / FLOATS_PER_VERTEX)
     private int totalFaceCount;
 
     // Separate storage for transparent faces (rendered with alpha blending)
     private final MeshData transparentData;
     private final boolean isTransparentStore;
 
+    // Face-to-face visibility through the chunk, for occlusion culling
+    private long faceConnectivity = ChunkVisibility.ALL_CONNECTED;
+    // Blocks per mesh cell: 1 for a full-detail mesh, 2 or 4 for a distant-chunk LOD
+    private int lodScale = 1;
+
     public MeshData() {
         this.vertexBatches = new ArrayList<>();
         this.indexBatches = new ArrayList<>();
@@ -67,25 +104,61 @@ public class MeshData {
         return transparentData;
     }
 
+    /**
+     * Face-to-face connectivity of the meshed chunk (see {@link ChunkVisibility}).
+     * Defaults to all faces connected, which never culls anything.
+     */
+    public long getFaceConnectivity() {
+        return faceConnectivity;
+    }
+
+    public void setFaceConnectivity(long faceConnectivity) {
+        this.faceConnectivity = faceConnectivity;
+    }
+
+    /**
+     * Level of detail the mesh was built at, in blocks per mesh cell (1 = full
+     * detail; see {@link LodMeshBuilder}).
+     */
+    public int getLodScale() {
+        return lodScale;
+    }
+
+    public void setLodScale(int lodScale) {
+        this.lodScale = lodScale;
+    }
+
     /**
      * Add a transparent quad (e.g. a glass face) to the separate transparent sub-mesh.
      * These faces will be rendered after all opaque geometry with alpha blending.
      */
-    public void addQuadTransparent(float[] quadVertices, short[] quadIndices, int baseIndex) {
+    public void addQuadTransparent(float x0, float y0, float z0,
+                                   float x1, float y1, float z1,
+                                   float x2, float y2, float z2,
+                                   float x3, float y3, float z3,
+                                   int face, float packedColor) {
         if (transparentData != null) {
-            transparentData.addQuad(quadVertices, quadIndices, baseIndex);
+            transparentData.addQuad(x0, y0, z0, x1, y1, z1, x2, y2, z2, x3, y3, z3, face, packedColor);
         }
     }
 
-    public void addQuad(float[] quadVertices, short[] quadIndices, int baseIndex) {
+    /**
+     * Add a quad given its four corners in chunk-local coordinates (counter-clockwise
+     * when viewed from the front), one of the {@code FACE_*} indices and a colour
+     * packed with {@link com.badlogic.gdx.graphics.Color#toFloatBits()}.
+     */
+    public void addQuad(float x0, float y0, float z0,
+                        float x1, float y1, float z1,
+                        float x2, float y2, float z2,
+                        float x3, float y3, float z3,
+                        int face, float packedColor) {
         // If adding this quad would exceed the limit, flush current batch and start new one
         if (currentVertexCount + 4 > MAX_VERTICES_PER_MESH) {
             flushCurrentBatch();
-            baseIndex = 0;
         }
 
         // Ensure capacity for vertices
-        int neededFloats = vertexFloatCount + quadVertices.length;
+        int neededFloats = vertexFloatCount + 4 * FLOATS_PER_VERTEX;
         if (neededFloats > currentVertices.length) {
             int newLen = Math.max(currentVertices.length * 2, neededFloats);
             float[] bigger = new float[newLen];
@@ -94,7 +167,7 @@ public class MeshData {
         }
 
         // Ensure capacity for indices
-        int neededIndices = indexCount + quadIndices.length;
+        int neededIndices = indexCount + 6;
         if (neededIndices > currentIndices.length) {
             int newLen = Math.max(currentIndices.length * 2, neededIndices);
             short[] bigger = new short[newLen];
@@ -102,19 +175,62 @@ public class MeshData {
             currentIndices = bigger;
         }
 
-        // Copy vertex data
-        System.arraycopy(quadVertices, 0, currentVertices, vertexFloatCount, quadVertices.length);
-        vertexFloatCount += quadVertices.length;
+        putVertex(x0, y0, z0, face, packedColor);
+        putVertex(x1, y1, z1, face, packedColor);
+        putVertex(x2, y2, z2, face, packedColor);
+        putVertex(x3, y3, z3, face, packedColor);
 
-        // Copy index data with local base offset
+        // Two triangles (0, 1, 2) and (2, 3, 0) with local base offset
         int localBase = currentVertexCount;
-        for (int i = 0; i < quadIndices.length; i++) {
-            currentIndices[indexCount++] = (short)(quadIndices[i] + localBase);
-        }
+        currentIndices[indexCount++] = (short) localBase;
+        currentIndices[indexCount++] = (short) (localBase + 1);
+        currentIndices[indexCount++] = (short) (localBase + 2);
+        currentIndices[indexCount++] = (short) (localBase + 2);
+        currentIndices[indexCount++] = (short) (localBase + 3);
+        currentIndices[indexCount++] = (short) localBase;
         currentVertexCount += 4;
         totalFaceCount++;
     }
 
+    private void putVertex(float x, float y, float z, int face, float packedColor) {
+        currentVertices[vertexFloatCount++] = packShorts(quantize(x), quantize(y));
+        currentVertices[vertexFloatCount++] = packShorts(quantize(z), face);
+        currentVertices[vertexFloatCount++] = packedColor;
+    }
+
+    private static int quantize(float coordinate) {
+        return Math.round(coordinate * POSITION_SCALE);
+    }
+
+    /**
+     * Two shorts as the raw bits of one float, low short first in memory. Local
+     * coordinates are never negative and stay far below 0x7F80, so the high short
+     * never forms a NaN pattern that a platform could canonicalise.
+     */
+    private static float packShorts(int low, int high) {
+        return NumberUtils.intBitsToFloat((low & 0xFFFF) | (high << 16));
+    }
+
+    /**
+     * Face index for an axis-aligned unit normal.
+     */
+    public static int faceIndex(float nx, float ny, float nz) {
+        if (nx != 0) return nx < 0 ? FACE_WEST : FACE_EAST;
+        if (ny != 0) return ny < 0 ? FACE_BOTTOM : FACE_TOP;
+        return nz < 0 ? FACE_NORTH : FACE_SOUTH;
+    }
+
+    /**
+     * Vertex attributes of the packed layout. Every chunk mesh gets its own
+     * instance; {@link ChunkShader#isChunkMesh} recognises them by the short positions.
+     */
+    public static VertexAttributes createVertexAttributes() {
+        return new VertexAttributes(
+            new VertexAttribute(VertexAttributes.Usage.Position, 4, GL20.GL_SHORT, false, "a_position"),
+            new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, GL20.GL_UNSIGNED_BYTE, true, "a_color")
+        );
+    }
+
     private void flushCurrentBatch() {
         if (currentVertexCount > 0) {
             float[] verts = new float[vertexFloatCount];
@@ -154,10 +270,16 @@ public class MeshData {
     }
 
     // Legacy single-mesh accessors (for backwards compatibility with tests)
+
+    /**
+     * Vertices of the first sub-mesh unpacked to the old 12-float layout: position
+     * (3), normal (3), UV (2) and colour (4). UVs are not stored and read as zero;
+     * positions are rounded to 1/{@link #POSITION_SCALE} block.
+     */
     public float[] getVerticesArray() {
         finalize_();
         if (vertexBatches.isEmpty()) return new float[0];
-        return vertexBatches.get(0);
+        return unpack(vertexBatches.get(0));
     }
 
     public short[] getIndicesArray() {
@@ -166,8 +288,44 @@ public class MeshData {
         return indexBatches.get(0);
     }
 
+    /** Local X position of vertex {@code v} in a packed vertex array. */
+    static float unpackX(float[] packed, int v) {
+        return (short) NumberUtils.floatToRawIntBits(packed[v * FLOATS_PER_VERTEX]) / (float) POSITION_SCALE;
+    }
+
+    /** Local Y position of vertex {@code v} in a packed vertex array. */
+    static float unpackY(float[] packed, int v) {
+        return (short) (NumberUtils.floatToRawIntBits(packed[v * FLOATS_PER_VERTEX]) >> 16) / (float) POSITION_SCALE;
+    }
+
+    /** Local Z position of vertex {@code v} in a packed vertex array. */
+    static float unpackZ(float[] packed, int v) {
+        return (short) NumberUtils.floatToRawIntBits(packed[v * FLOATS_PER_VERTEX + 1]) / (float) POSITION_SCALE;
+    }
+
+    private static float[] unpack(float[] packed) {
+        int vertexCount = packed.length / FLOATS_PER_VERTEX;
+        float[] out = new float[vertexCount * UNPACKED_FLOATS_PER_VERTEX];
+        for (int v = 0; v < vertexCount; v++) {
+            int zf = NumberUtils.floatToRawIntBits(packed[v * FLOATS_PER_VERTEX + 1]);
+            int rgba = NumberUtils.floatToRawIntBits(packed[v * FLOATS_PER_VERTEX + 2]);
+            int face = zf >> 16;
+            float sign = (face & 1) == 0 ? -1f : 1f;
+            int o = v * UNPACKED_FLOATS_PER_VERTEX;
+            out[o] = unpackX(packed, v);
+            out[o + 1] = unpackY(packed, v);
+            out[o + 2] = unpackZ(packed, v);
+            out[o + 3 + face / 2] = sign;
+            out[o + 8] = (rgba & 0xFF) / 255f;
+            out[o + 9] = ((rgba >>> 8) & 0xFF) / 255f;
+            out[o + 10] = ((rgba >>> 16) & 0xFF) / 255f;
+            out[o + 11] = ((rgba >>> 24) & 0xFF) / 255f;
+        }
+        return out;
+    }
+
     /**
-     * Get vertices for a specific sub-mesh batch.
+     * Get packed vertices for a specific sub-mesh batch, ready for upload.
      */
     public float[] getVerticesArray(int batchIndex) {
         finalize_();
@@ -0,0 +1,189 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.FloatAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import ragamuffin.entity.NPC;
+import ragamuffin.entity.NPCModelVariant;
+import ragamuffin.entity.NPCType;
+
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Camera-facing billboard impostors for distant NPCs.
+ *
+ * <p>At construction every NPC type is rendered standing, with its default model
+ * variant, from {@link #VIEWS} directions around it into one texture atlas. A far
+ * NPC is then drawn as a single textured quad that turns about the vertical axis
+ * to face the camera, showing the atlas view closest to the angle it is seen
+ * from, stretched by its model variant's height and width scale. The atlas is
+ * baked under a plain white ambient light so the quads pick up the scene's
+ * lighting like the full models do; cut-out pixels are discarded by alpha test,
+ * so impostors need no sorting.</p>
+ */
+public class NPCImpostorAtlas {
+
+    /** Viewing directions baked per NPC type, evenly spaced around it. */
+    public static final int VIEWS = 8;
+
+    // Cell size in pixels and the world-space box each cell covers (feet at the bottom)
+    static final int CELL_WIDTH = 64;
+    static final int CELL_HEIGHT = 128;
+    static final float WORLD_WIDTH = 1.2f;
+    static final float WORLD_HEIGHT = 2.4f;
+    private static final int TYPES_PER_ROW = 4;
+
+    /** Renders one NPC in its standing pose, at the origin, into the given batch. */
+    interface PoseRenderer {
+        void render(ModelBatch modelBatch, Environment environment, NPC npc);
+    }
+
+    private final FrameBuffer frameBuffer;
+    private final Model quadModel;
+    private final Map<NPCType, Integer> firstCell = new EnumMap<>(NPCType.class);
+    // Per-NPC billboard instances, each with its own material for the atlas region
+    private final Map<NPC, ModelInstance> billboards = new IdentityHashMap<>();
+    private final int atlasWidth;
+    private final int atlasHeight;
+
+    /**
+     * Bake the atlas. Must be called on the GL thread.
+     *
+     * @param types        NPC types to bake
+     * @param poseRenderer draws a standing NPC of a given type and facing
+     * @param modelBatch   batch to bake with; must not be between begin and end
+     */
+    NPCImpostorAtlas(List<NPCType> types, PoseRenderer poseRenderer, ModelBatch modelBatch) {
+        int rows = Math.max(1, (types.size() + TYPES_PER_ROW - 1) / TYPES_PER_ROW);
+        atlasWidth = TYPES_PER_ROW * VIEWS * CELL_WIDTH;
+        atlasHeight = rows * CELL_HEIGHT;
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, atlasWidth, atlasHeight, true);
+        frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+
+        OrthographicCamera camera = new OrthographicCamera(WORLD_WIDTH, WORLD_HEIGHT);
+        camera.position.set(0f, WORLD_HEIGHT / 2f, 5f);
+        camera.near = 0.1f;
+        camera.far = 10f;
+        camera.update();
+        Environment environment = new Environment();
+        environment.set(new ColorAttribute(ColorAttribute.AmbientLight, 1f, 1f, 1f, 1f));
+
+        frameBuffer.begin();
+        Gdx.gl.glClearColor(0f, 0f, 0f, 0f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+        for (int t = 0; t < types.size(); t++) {
+            NPCType type = types.get(t);
+            int cell = t * VIEWS;
+            firstCell.put(type, cell);
+            for (int view = 0; view < VIEWS; view++) {
+                NPC npc = new NPC(type, 0f, 0f, 0f);
+                npc.setModelVariant(NPCModelVariant.DEFAULT);
+                npc.setFacingAngle(view * 360f / VIEWS);
+                Gdx.gl.glViewport(cellX(cell + view), cellY(cell + view), CELL_WIDTH, CELL_HEIGHT);
+                modelBatch.begin(camera);
+                poseRenderer.render(modelBatch, environment, npc);
+                modelBatch.end();
+            }
+        }
+        frameBuffer.end();
+
+        ModelBuilder mb = new ModelBuilder();
+        mb.begin();
+        Material material = new Material(
+            TextureAttribute.createDiffuse(frameBuffer.getColorBufferTexture()),
+            ColorAttribute.createDiffuse(Color.WHITE),
+            FloatAttribute.createAlphaTest(0.5f));
+        MeshPartBuilder quad = mb.part("impostor", GL20.GL_TRIANGLES,
+            VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal
+                | VertexAttributes.Usage.TextureCoordinates, material);
+        float hw = WORLD_WIDTH / 2f;
+        quad.setUVRange(0f, 1f, 1f, 0f); // v = 0 at the feet, see billboardFor
+        quad.rect(-hw, 0f, 0f, hw, 0f, 0f, hw, WORLD_HEIGHT, 0f, -hw, WORLD_HEIGHT, 0f, 0f, 0f, 1f);
+        quadModel = mb.end();
+    }
+
+    /** Whether the atlas has views of this NPC type. */
+    public boolean has(NPCType type) {
+        return firstCell.containsKey(type);
+    }
+
+    /**
+     * Billboard for an NPC seen from {@code cameraPosition}: faces the camera and
+     * shows the closest baked view. The instance is reused for the NPC across frames.
+     */
+    public ModelInstance billboardFor(NPC npc, Vector3 cameraPosition) {
+        ModelInstance billboard = billboards.get(npc);
+        if (billboard == null) {
+            billboard = new ModelInstance(quadModel);
+            billboards.put(npc, billboard);
+        }
+        Vector3 pos = npc.getPosition();
+        float cameraAngle = MathUtils.atan2(cameraPosition.x - pos.x, cameraPosition.z - pos.z)
+            * MathUtils.radiansToDegrees;
+        int cell = firstCell.get(npc.getType()) + viewIndex(npc.getFacingAngle(), cameraAngle);
+
+        TextureAttribute region = (TextureAttribute) billboard.materials.get(0).get(TextureAttribute.Diffuse);
+        // Framebuffer rows run bottom-up, matching the quad's v = 0 at its feet
+        region.offsetU = cellX(cell) / (float) atlasWidth;
+        region.offsetV = cellY(cell) / (float) atlasHeight;
+        region.scaleU = CELL_WIDTH / (float) atlasWidth;
+        region.scaleV = CELL_HEIGHT / (float) atlasHeight;
+
+        NPCModelVariant variant = npc.getModelVariant();
+        billboard.transform.setToTranslation(pos)
+            .rotate(Vector3.Y, cameraAngle)
+            .scale(variant.getWidthScale(), variant.getHeightScale(), 1f);
+        return billboard;
+    }
+
+    /** Drop the billboards of NPCs not in {@code live}. */
+    void retainAll(Set<NPC> live) {
+        billboards.keySet().retainAll(live);
+    }
+
+    /**
+     * Baked view showing an NPC facing {@code facingDegrees} from a camera in the
+     * direction {@code cameraAngleDegrees} (both measured like NPC yaw, 0 = +Z).
+     * View {@code v} was baked with the NPC turned {@code v * 360 / VIEWS} degrees
+     * away from a camera on its +Z side.
+     */
+    static int viewIndex(float facingDegrees, float cameraAngleDegrees) {
+        int view = MathUtils.round((facingDegrees - cameraAngleDegrees) * VIEWS / 360f);
+        return ((view % VIEWS) + VIEWS) % VIEWS;
+    }
+
+    private static int cellX(int cell) {
+        return (cell % (TYPES_PER_ROW * VIEWS)) * CELL_WIDTH;
+    }
+
+    private static int cellY(int cell) {
+        return (cell / (TYPES_PER_ROW * VIEWS)) * CELL_HEIGHT;
+    }
+
+    public void dispose() {
+        billboards.clear();
+        quadModel.dispose();
+        frameBuffer.dispose();
+    }
+}
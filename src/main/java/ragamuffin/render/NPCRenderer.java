@@ -1,5 +1,6 @@
 package ragamuffin.render;
 
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.VertexAttributes;
@@ -18,10 +19,13 @@ import ragamuffin.entity.NPCModelVariant;
 import ragamuffin.entity.NPCState;
 import ragamuffin.entity.NPCType;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Renders NPCs as Minecraft-style humanoid characters with separate articulated
@@ -35,6 +39,17 @@ import java.util.Map;
  * ModelInstances are allocated per-NPC (keyed by NPC identity) so that
  * multiple NPCs of the same type each have their own transform state.
  * The underlying Model objects (geometry/materials) are still shared per type.
+ *
+ * NPCs outside the camera frustum are skipped. The rest are animated by distance
+ * ({@link AnimationLod}): near NPCs get the full animation every frame; mid-range
+ * NPCs are fully posed only every {@link #MID_POSE_INTERVAL} frames, with a neutral
+ * face, and moved rigidly in between; far NPCs become billboards from an
+ * {@link NPCImpostorAtlas} once {@link #buildImpostorAtlas()} has been called.
+ *
+ * With instanced rendering enabled
+ * (GL30 contexts only), parts are queued in an {@link InstancedPartBatch} instead
+ * of the ModelBatch, so every NPC part sharing a geometry is drawn with a single
+ * instanced draw call carrying per-part transforms and colours.
  */
 public class NPCRenderer {
 
@@ -130,6 +145,51 @@ public class NPCRenderer {
     // Reusable transform to avoid GC pressure
     private final Matrix4 tmpTransform = new Matrix4();
 
+    // Frustum culling sphere around an NPC's position; covers a standing humanoid
+    // with hat and raised arms, and one lying flat when knocked out
+    private static final float CULL_CENTRE_HEIGHT = 1.0f;
+    private static final float CULL_RADIUS = 2.0f;
+
+    // Optional instanced path; null renders every part through the ModelBatch
+    private InstancedPartBatch instancer;
+
+    /** Animation detail tiers, chosen by distance from the camera. */
+    enum AnimationLod { NEAR, MID, FAR }
+
+    /** Distance from which NPCs use the reduced-rate MID animation. */
+    public static final float MID_ANIMATION_DISTANCE = 24f;
+    /** Distance from which NPCs are drawn as impostors, when the atlas exists. */
+    public static final float FAR_ANIMATION_DISTANCE = 56f;
+    /** Frames between full pose updates of a MID NPC. */
+    static final int MID_POSE_INTERVAL = 4;
+    /** Frames between sweeps that drop cached state of NPCs no longer rendered. */
+    static final int PRUNE_INTERVAL = 300;
+
+    // Last full pose of each MID NPC, replayed between pose updates
+    private final Map<NPC, ReducedPose> reducedPoses = new IdentityHashMap<>();
+    // Parts submitted while posing a MID NPC; null otherwise
+    private List<ModelInstance> recordedParts;
+    // Whether the NPC being posed is at MID range (neutral face)
+    private boolean reducedDetail;
+    private int frame;
+    // Scratch set of the NPCs passed to render(), filled only while pruning
+    private final Set<NPC> liveNpcs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Billboards for FAR NPCs; null until buildImpostorAtlas()
+    private NPCImpostorAtlas impostors;
+
+    /** Parts of a MID NPC's last full pose and where the NPC stood. */
+    private static final class ReducedPose {
+        final List<ModelInstance> parts = new ArrayList<>();
+        final Vector3 posedAt = new Vector3();
+        final int phase;
+        int lastFrame = -1;
+
+        ReducedPose(int phase) {
+            this.phase = phase;
+        }
+    }
+
     public NPCRenderer() {
         mb = new ModelBuilder();
         humanoidParts = new HashMap<>();
@@ -422,7 +482,11 @@ public class NPCRenderer {
         int exprIdx = npc.getFacialExpression().ordinal();
 
         ModelInstance[] faces;
-        if (npc.isBlinking()) {
+        if (reducedDetail) {
+            // MID range: no expression, blink or speech changes
+            exprIdx = FacialExpression.NEUTRAL.ordinal();
+            faces = getOrCreateExpressionFaceInstances(npc);
+        } else if (npc.isBlinking()) {
             faces = getOrCreateBlinkFaceInstances(npc);
         } else if (npc.isMouthOpen()) {
             faces = getOrCreateSpeakFaceInstances(npc);
@@ -432,7 +496,7 @@ public class NPCRenderer {
 
         if (faces != null) {
             setPartTransform(faces[exprIdx], pos, yawRad, 0f, headCentreY, faceZ);
-            modelBatch.render(faces[exprIdx], environment);
+            submit(modelBatch, faces[exprIdx], environment);
         }
     }
 
@@ -462,7 +526,7 @@ public class NPCRenderer {
                 hairZ = -(HEAD_D * headScale / 2f + hairHalfDepth + 0.005f);
                 float hairY = headCentreY + HEAD_H * headScale / 2f - (HEAD_H + 0.20f) / 2f;
                 setPartTransform(inst, pos, yawRad, 0f, hairY, hairZ);
-                modelBatch.render(inst, environment);
+                submit(modelBatch, inst, environment);
                 return;
             }
             case SHORT:
@@ -483,7 +547,7 @@ public class NPCRenderer {
         }
         float hairY = headCentreY + HEAD_H * headScale / 2f + hairHalfH;
         setPartTransform(inst, pos, yawRad, 0f, hairY, hairZ);
-        modelBatch.render(inst, environment);
+        submit(modelBatch, inst, environment);
     }
 
     /**
@@ -526,7 +590,7 @@ public class NPCRenderer {
         }
         float faceZ = HEAD_D * headScale / 2f + fhDepth / 2f + 0.012f;
         setPartTransform(inst, pos, yawRad, 0f, headCentreY + fhOffsetY, faceZ);
-        modelBatch.render(inst, environment);
+        submit(modelBatch, inst, environment);
     }
 
     /**
@@ -758,30 +822,30 @@ public class NPCRenderer {
 
         // 0 - Body
         setPartTransform(inst[0], pos, yawRad, 0f, bodyY, 0f);
-        modelBatch.render(inst[0], environment);
+        submit(modelBatch, inst[0], environment);
 
         // 1 - Head (forward of body along +Z)
         float headZ = 0.28f / 2f + 0.14f / 2f - 0.02f;
         setPartTransform(inst[1], pos, yawRad, 0f, bodyY + 0.04f, headZ);
-        modelBatch.render(inst[1], environment);
+        submit(modelBatch, inst[1], environment);
 
         // 2 - Beak (forward of head)
         setPartTransform(inst[2], pos, yawRad, 0f, bodyY + 0.02f, headZ + 0.14f / 2f + 0.04f);
-        modelBatch.render(inst[2], environment);
+        submit(modelBatch, inst[2], environment);
 
         // 3 - Left wing — flaps around the body's left side (pivot at body edge)
         float wingOffsetX = 0.18f / 2f + 0.22f / 2f - 0.02f;
         setLimbTransform(inst[3], pos, yawRad, -wingOffsetX, bodyY, 0f, -flapRad, 0.04f);
-        modelBatch.render(inst[3], environment);
+        submit(modelBatch, inst[3], environment);
 
         // 4 - Right wing (opposite flap)
         setLimbTransform(inst[4], pos, yawRad, wingOffsetX, bodyY, 0f, flapRad, 0.04f);
-        modelBatch.render(inst[4], environment);
+        submit(modelBatch, inst[4], environment);
 
         // 5 - Tail (behind body at -Z)
         float tailZ = -(0.28f / 2f + 0.12f / 2f - 0.01f);
         setPartTransform(inst[5], pos, yawRad, 0f, bodyY - 0.02f, tailZ);
-        modelBatch.render(inst[5], environment);
+        submit(modelBatch, inst[5], environment);
     }
 
     /**
@@ -928,34 +992,31 @@ public class NPCRenderer {
         Material mat = new Material(ColorAttribute.createDiffuse(color));
         float hw = w / 2f, hh = h / 2f, hd = d / 2f;
 
+        // All six faces go into one part, so each box is a single renderable
+        MeshPartBuilder box = mb.part("box", GL20.GL_TRIANGLES, ATTRS, mat);
+
         // +Z face (front)
-        MeshPartBuilder front = mb.part("front", GL20.GL_TRIANGLES, ATTRS, mat);
-        PatchShapeBuilder.build(front,
+        PatchShapeBuilder.build(box,
             -hw, -hh, hd,  hw, -hh, hd,  hw,  hh, hd,  -hw,  hh, hd,  0, 0, 1, divs, divs);
 
         // -Z face (back)
-        MeshPartBuilder back = mb.part("back", GL20.GL_TRIANGLES, ATTRS, mat);
-        PatchShapeBuilder.build(back,
+        PatchShapeBuilder.build(box,
              hw, -hh, -hd,  -hw, -hh, -hd,  -hw,  hh, -hd,   hw,  hh, -hd,  0, 0, -1, divs, divs);
 
         // +X face (right)
-        MeshPartBuilder right = mb.part("right", GL20.GL_TRIANGLES, ATTRS, mat);
-        PatchShapeBuilder.build(right,
+        PatchShapeBuilder.build(box,
             hw, -hh,  hd,  hw, -hh, -hd,  hw,  hh, -hd,   hw,  hh,  hd,  1, 0, 0, divs, divs);
 
         // -X face (left)
-        MeshPartBuilder left = mb.part("left", GL20.GL_TRIANGLES, ATTRS, mat);
-        PatchShapeBuilder.build(left,
+        PatchShapeBuilder.build(box,
             -hw, -hh, -hd,  -hw, -hh,  hd,  -hw,  hh,  hd,  -hw,  hh, -hd,  -1, 0, 0, divs, divs);
 
         // +Y face (top)
-        MeshPartBuilder top = mb.part("top", GL20.GL_TRIANGLES, ATTRS, mat);
-        PatchShapeBuilder.build(top,
+        PatchShapeBuilder.build(box,
             -hw, hh,  hd,   hw, hh,  hd,   hw, hh, -hd,  -hw, hh, -hd,  0, 1, 0, divs, divs);
 
         // -Y face (bottom)
-        MeshPartBuilder bottom = mb.part("bottom", GL20.GL_TRIANGLES, ATTRS, mat);
-        PatchShapeBuilder.build(bottom,
+        PatchShapeBuilder.build(box,
             -hw, -hh, -hd,   hw, -hh, -hd,   hw, -hh,  hd,  -hw, -hh,  hd,  0, -1, 0, divs, divs);
 
         return mb.end();
@@ -1038,18 +1099,185 @@ public class NPCRenderer {
     }
 
     /**
-     * Render all NPCs.
+     * Enable or disable instanced rendering of NPC parts. Has no effect unless
+     * {@link InstancedPartBatch#isSupported()}; the ModelBatch must use a
+     * {@link ChunkShaderProvider} to draw the instanced parts.
+     */
+    public void setInstancedRendering(boolean enabled) {
+        if (enabled && instancer == null && InstancedPartBatch.isSupported()) {
+            instancer = new InstancedPartBatch();
+        } else if (!enabled && instancer != null) {
+            instancer.dispose();
+            instancer = null;
+        }
+    }
+
+    public boolean isInstancedRendering() {
+        return instancer != null;
+    }
+
+    /**
+     * Bake billboard impostors of every humanoid type and the dog, so far NPCs can
+     * be drawn as single quads. Must be called on the GL thread, outside
+     * {@code modelBatch.begin()} / {@code end()}.
+     */
+    public void buildImpostorAtlas() {
+        if (impostors != null) {
+            impostors.dispose();
+        }
+        List<NPCType> types = new ArrayList<>(humanoidParts.keySet());
+        types.addAll(dogParts.keySet());
+        ModelBatch bakeBatch = new ModelBatch(new ChunkShaderProvider());
+        impostors = new NPCImpostorAtlas(types, (batch, environment, npc) -> {
+            renderNpc(batch, environment, npc);
+            if (instancer != null) {
+                instancer.flush(batch, environment);
+            }
+            forget(npc);
+        }, bakeBatch);
+        bakeBatch.dispose();
+    }
+
+    public boolean hasImpostorAtlas() {
+        return impostors != null;
+    }
+
+    /**
+     * Render all NPCs inside the camera frustum, with animation detail by distance.
      */
     public void render(ModelBatch modelBatch, Environment environment, List<NPC> npcs) {
+        Camera camera = modelBatch.getCamera();
+        frame++;
         for (NPC npc : npcs) {
-            if (npc.getType() == NPCType.DOG) {
-                renderDog(modelBatch, environment, npc);
-            } else if (npc.getType() == NPCType.BIRD) {
-                renderBird(modelBatch, environment, npc);
+            if (camera != null && !isInFrustum(camera, npc)) continue;
+            AnimationLod lod = camera != null
+                ? animationLod(camera.position.dst(npc.getPosition()))
+                : AnimationLod.NEAR;
+            if (lod == AnimationLod.FAR && impostors != null && impostors.has(npc.getType())
+                    && npc.getState() != NPCState.KNOCKED_OUT) {
+                submit(modelBatch, impostors.billboardFor(npc, camera.position), environment);
+            } else if (lod == AnimationLod.NEAR) {
+                renderNpc(modelBatch, environment, npc);
             } else {
-                renderHumanoid(modelBatch, environment, npc);
+                renderReduced(modelBatch, environment, npc);
+            }
+        }
+        if (instancer != null) {
+            instancer.flush(modelBatch, environment);
+        }
+        if (frame % PRUNE_INTERVAL == 0) {
+            prune(npcs);
+        }
+    }
+
+    /**
+     * Drop the instances, poses and billboards of NPCs that are no longer in the
+     * rendered list (despawned or removed), so the per-NPC caches stay bounded.
+     */
+    private void prune(List<NPC> npcs) {
+        liveNpcs.addAll(npcs);
+        humanoidInstances.keySet().retainAll(liveNpcs);
+        dogInstances.keySet().retainAll(liveNpcs);
+        birdInstances.keySet().retainAll(liveNpcs);
+        expressionFaceInstances.keySet().retainAll(liveNpcs);
+        blinkFaceInstances.keySet().retainAll(liveNpcs);
+        speakFaceInstances.keySet().retainAll(liveNpcs);
+        longHairInstances.keySet().retainAll(liveNpcs);
+        hairstyleInstances.keySet().retainAll(liveNpcs);
+        facialHairInstances.keySet().retainAll(liveNpcs);
+        reducedPoses.keySet().retainAll(liveNpcs);
+        if (impostors != null) {
+            impostors.retainAll(liveNpcs);
+        }
+        liveNpcs.clear();
+    }
+
+    static AnimationLod animationLod(float distance) {
+        if (distance >= FAR_ANIMATION_DISTANCE) return AnimationLod.FAR;
+        if (distance >= MID_ANIMATION_DISTANCE) return AnimationLod.MID;
+        return AnimationLod.NEAR;
+    }
+
+    private void renderNpc(ModelBatch modelBatch, Environment environment, NPC npc) {
+        if (npc.getType() == NPCType.DOG) {
+            renderDog(modelBatch, environment, npc);
+        } else if (npc.getType() == NPCType.BIRD) {
+            renderBird(modelBatch, environment, npc);
+        } else {
+            renderHumanoid(modelBatch, environment, npc);
+        }
+    }
+
+    /**
+     * MID range: pose the NPC fully on one frame in {@link #MID_POSE_INTERVAL}
+     * (staggered between NPCs) with a neutral face, and on the other frames move
+     * the parts of that pose along with the NPC.
+     */
+    private void renderReduced(ModelBatch modelBatch, Environment environment, NPC npc) {
+        ReducedPose pose = reducedPoses.get(npc);
+        if (pose == null) {
+            pose = new ReducedPose(reducedPoses.size() % MID_POSE_INTERVAL);
+            reducedPoses.put(npc, pose);
+        }
+        Vector3 pos = npc.getPosition();
+        // Re-pose on schedule, or when the NPC was not drawn at MID range last frame
+        if (pose.lastFrame != frame - 1 || (frame + pose.phase) % MID_POSE_INTERVAL == 0) {
+            pose.parts.clear();
+            recordedParts = pose.parts;
+            reducedDetail = true;
+            renderNpc(modelBatch, environment, npc);
+            recordedParts = null;
+            reducedDetail = false;
+        } else {
+            float dx = pos.x - pose.posedAt.x;
+            float dy = pos.y - pose.posedAt.y;
+            float dz = pos.z - pose.posedAt.z;
+            for (int i = 0; i < pose.parts.size(); i++) {
+                ModelInstance part = pose.parts.get(i);
+                part.transform.trn(dx, dy, dz);
+                submit(modelBatch, part, environment);
             }
         }
+        pose.posedAt.set(pos);
+        pose.lastFrame = frame;
+    }
+
+    /** Parts of an NPC's cached MID-range pose; empty if it has none. For tests. */
+    List<ModelInstance> getReducedPoseParts(NPC npc) {
+        ReducedPose pose = reducedPoses.get(npc);
+        return pose != null ? pose.parts : new ArrayList<>();
+    }
+
+    /** Drop every per-NPC instance and pose kept for an NPC. */
+    private void forget(NPC npc) {
+        humanoidInstances.remove(npc);
+        dogInstances.remove(npc);
+        birdInstances.remove(npc);
+        expressionFaceInstances.remove(npc);
+        blinkFaceInstances.remove(npc);
+        speakFaceInstances.remove(npc);
+        longHairInstances.remove(npc);
+        hairstyleInstances.remove(npc);
+        facialHairInstances.remove(npc);
+        reducedPoses.remove(npc);
+    }
+
+    static boolean isInFrustum(Camera camera, NPC npc) {
+        Vector3 pos = npc.getPosition();
+        return camera.frustum.sphereInFrustum(pos.x, pos.y + CULL_CENTRE_HEIGHT, pos.z, CULL_RADIUS);
+    }
+
+    /**
+     * Draw one part: queued for instancing when enabled and possible, otherwise
+     * straight through the ModelBatch.
+     */
+    private void submit(ModelBatch modelBatch, ModelInstance instance, Environment environment) {
+        if (recordedParts != null) {
+            recordedParts.add(instance);
+        }
+        if (instancer == null || !instancer.add(instance)) {
+            modelBatch.render(instance, environment);
+        }
     }
 
     private void renderHumanoid(ModelBatch modelBatch, Environment environment, NPC npc) {
@@ -1117,11 +1345,11 @@ public class NPCRenderer {
 
         // Torso (with idle breath offset)
         setPartTransformScaled(inst[PART_TORSO], pos, yawRad, 0f, torsoCentre + idleBreath, 0f, wS, hS);
-        modelBatch.render(inst[PART_TORSO], environment);
+        submit(modelBatch, inst[PART_TORSO], environment);
 
         // Shoulders (with idle breath offset)
         setPartTransformScaled(inst[PART_SHOULDERS], pos, yawRad, 0f, shoulderY + idleBreath, 0f, wS, hS);
-        modelBatch.render(inst[PART_SHOULDERS], environment);
+        submit(modelBatch, inst[PART_SHOULDERS], environment);
 
         // Head — bobs slightly with the walk cycle for a more natural gait;
         // also rises slightly with the idle breath
@@ -1132,10 +1360,10 @@ public class NPCRenderer {
 
         // Neck follows head bob
         setPartTransformScaled(inst[PART_NECK], pos, yawRad, 0f, neckY + NECK_H * hS / 2f + headBob * 0.5f, 0f, wS, hS);
-        modelBatch.render(inst[PART_NECK], environment);
+        submit(modelBatch, inst[PART_NECK], environment);
 
         setPartTransformScaled(inst[PART_HEAD], pos, yawRad, 0f, headCentre + headBob, 0f, headScale, headScale);
-        modelBatch.render(inst[PART_HEAD], environment);
+        submit(modelBatch, inst[PART_HEAD], environment);
 
         // Face (front of head at +Z) — select model based on current expression and blink/speak state
         renderFace(modelBatch, environment, npc, pos, yawRad, headCentre + headBob, HEAD_D * headScale / 2f + 0.011f);
@@ -1150,7 +1378,7 @@ public class NPCRenderer {
             float hairZ = -(HEAD_D * headScale / 2f + hairHalfDepth + 0.005f);
             float hairY = headCentre + headBob + HEAD_H * headScale / 2f - (HEAD_H + 0.20f) / 2f;
             setPartTransform(hairInst, pos, yawRad, 0f, hairY, hairZ);
-            modelBatch.render(hairInst, environment);
+            submit(modelBatch, hairInst, environment);
         }
 
         // Issue #875: Hairstyle rendering — positioned on or behind the head.
@@ -1163,7 +1391,7 @@ public class NPCRenderer {
         if (inst.length > PART_HELMET) {
             float helmetY = headCentre + headBob + HEAD_H * headScale / 2f + 0.02f;
             setPartTransform(inst[PART_HELMET], pos, yawRad, 0f, helmetY, 0f);
-            modelBatch.render(inst[PART_HELMET], environment);
+            submit(modelBatch, inst[PART_HELMET], environment);
         }
 
         // Arms — upper arms swing from shoulder, forearms and hands follow
@@ -1173,24 +1401,24 @@ public class NPCRenderer {
         // Left arm chain (swings with +swingRad for natural gait: left arm forward when right leg forward)
         setLimbTransform(inst[PART_L_UPPER_ARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, swingRad, UPPER_ARM_H * hS);
-        modelBatch.render(inst[PART_L_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_L_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_L_FOREARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, swingRad, UPPER_ARM_H * hS, halfSwingRad, FOREARM_H * hS);
-        modelBatch.render(inst[PART_L_FOREARM], environment);
+        submit(modelBatch, inst[PART_L_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_L_HAND], pos, yawRad,
             -armOffsetX, armPivotY, 0f, swingRad, UPPER_ARM_H * hS, halfSwingRad, FOREARM_H * hS, -halfSwingRad, HAND_H * hS);
-        modelBatch.render(inst[PART_L_HAND], environment);
+        submit(modelBatch, inst[PART_L_HAND], environment);
 
         // Right arm chain
         setLimbTransform(inst[PART_R_UPPER_ARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, -swingRad, UPPER_ARM_H * hS);
-        modelBatch.render(inst[PART_R_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_R_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_R_FOREARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, -swingRad, UPPER_ARM_H * hS, -halfSwingRad, FOREARM_H * hS);
-        modelBatch.render(inst[PART_R_FOREARM], environment);
+        submit(modelBatch, inst[PART_R_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_R_HAND], pos, yawRad,
             armOffsetX, armPivotY, 0f, -swingRad, UPPER_ARM_H * hS, -halfSwingRad, FOREARM_H * hS, halfSwingRad, HAND_H * hS);
-        modelBatch.render(inst[PART_R_HAND], environment);
+        submit(modelBatch, inst[PART_R_HAND], environment);
 
         // Legs — upper legs swing from hip, lower legs and feet follow
         float legOffsetX = (TORSO_W * wS / 2f - UPPER_LEG_W * wS / 2f);
@@ -1199,24 +1427,24 @@ public class NPCRenderer {
         // Left leg chain
         setLimbTransform(inst[PART_L_UPPER_LEG], pos, yawRad,
             -legOffsetX, legPivotY, 0f, -swingRad, UPPER_LEG_H * hS);
-        modelBatch.render(inst[PART_L_UPPER_LEG], environment);
+        submit(modelBatch, inst[PART_L_UPPER_LEG], environment);
         setLimbChainTransform(inst[PART_L_LOWER_LEG], pos, yawRad,
             -legOffsetX, legPivotY, 0f, -swingRad, UPPER_LEG_H * hS, -halfSwingRad, LOWER_LEG_H * hS);
-        modelBatch.render(inst[PART_L_LOWER_LEG], environment);
+        submit(modelBatch, inst[PART_L_LOWER_LEG], environment);
         setLimb3ChainTransform(inst[PART_L_FOOT], pos, yawRad,
             -legOffsetX, legPivotY, 0f, -swingRad, UPPER_LEG_H * hS, -halfSwingRad, LOWER_LEG_H * hS, halfSwingRad, FOOT_H * hS);
-        modelBatch.render(inst[PART_L_FOOT], environment);
+        submit(modelBatch, inst[PART_L_FOOT], environment);
 
         // Right leg chain
         setLimbTransform(inst[PART_R_UPPER_LEG], pos, yawRad,
             legOffsetX, legPivotY, 0f, swingRad, UPPER_LEG_H * hS);
-        modelBatch.render(inst[PART_R_UPPER_LEG], environment);
+        submit(modelBatch, inst[PART_R_UPPER_LEG], environment);
         setLimbChainTransform(inst[PART_R_LOWER_LEG], pos, yawRad,
             legOffsetX, legPivotY, 0f, swingRad, UPPER_LEG_H * hS, halfSwingRad, LOWER_LEG_H * hS);
-        modelBatch.render(inst[PART_R_LOWER_LEG], environment);
+        submit(modelBatch, inst[PART_R_LOWER_LEG], environment);
         setLimb3ChainTransform(inst[PART_R_FOOT], pos, yawRad,
             legOffsetX, legPivotY, 0f, swingRad, UPPER_LEG_H * hS, halfSwingRad, LOWER_LEG_H * hS, -halfSwingRad, FOOT_H * hS);
-        modelBatch.render(inst[PART_R_FOOT], environment);
+        submit(modelBatch, inst[PART_R_FOOT], environment);
     }
 
     /**
@@ -1229,20 +1457,20 @@ public class NPCRenderer {
                                    float torsoCentre, float shoulderY, float neckY,
                                    float headCentre) {
         setPartTransform(inst[PART_TORSO], pos, yawRad, 0f, torsoCentre, 0f);
-        modelBatch.render(inst[PART_TORSO], environment);
+        submit(modelBatch, inst[PART_TORSO], environment);
         setPartTransform(inst[PART_SHOULDERS], pos, yawRad, 0f, shoulderY, 0f);
-        modelBatch.render(inst[PART_SHOULDERS], environment);
+        submit(modelBatch, inst[PART_SHOULDERS], environment);
         setPartTransform(inst[PART_NECK], pos, yawRad, 0f, neckY + NECK_H / 2f, 0f);
-        modelBatch.render(inst[PART_NECK], environment);
+        submit(modelBatch, inst[PART_NECK], environment);
         setPartTransform(inst[PART_HEAD], pos, yawRad, 0f, headCentre, 0f);
-        modelBatch.render(inst[PART_HEAD], environment);
+        submit(modelBatch, inst[PART_HEAD], environment);
 
         renderFace(modelBatch, environment, npc, pos, yawRad, headCentre, HEAD_D / 2f + 0.011f);
 
         if (inst.length > PART_HELMET) {
             float helmetY = headCentre + HEAD_H / 2f + 0.02f;
             setPartTransform(inst[PART_HELMET], pos, yawRad, 0f, helmetY, 0f);
-            modelBatch.render(inst[PART_HELMET], environment);
+            submit(modelBatch, inst[PART_HELMET], environment);
         }
 
         // Legs at rest (no swing)
@@ -1250,21 +1478,21 @@ public class NPCRenderer {
         float torsoBottom = (FOOT_H + LOWER_LEG_H + UPPER_LEG_H);
         float legPivotY = torsoBottom;
         setLimbTransform(inst[PART_L_UPPER_LEG], pos, yawRad, -legOffsetX, legPivotY, 0f, 0f, UPPER_LEG_H);
-        modelBatch.render(inst[PART_L_UPPER_LEG], environment);
+        submit(modelBatch, inst[PART_L_UPPER_LEG], environment);
         setLimbChainTransform(inst[PART_L_LOWER_LEG], pos, yawRad,
             -legOffsetX, legPivotY, 0f, 0f, UPPER_LEG_H, 0f, LOWER_LEG_H);
-        modelBatch.render(inst[PART_L_LOWER_LEG], environment);
+        submit(modelBatch, inst[PART_L_LOWER_LEG], environment);
         setLimb3ChainTransform(inst[PART_L_FOOT], pos, yawRad,
             -legOffsetX, legPivotY, 0f, 0f, UPPER_LEG_H, 0f, LOWER_LEG_H, 0f, FOOT_H);
-        modelBatch.render(inst[PART_L_FOOT], environment);
+        submit(modelBatch, inst[PART_L_FOOT], environment);
         setLimbTransform(inst[PART_R_UPPER_LEG], pos, yawRad, legOffsetX, legPivotY, 0f, 0f, UPPER_LEG_H);
-        modelBatch.render(inst[PART_R_UPPER_LEG], environment);
+        submit(modelBatch, inst[PART_R_UPPER_LEG], environment);
         setLimbChainTransform(inst[PART_R_LOWER_LEG], pos, yawRad,
             legOffsetX, legPivotY, 0f, 0f, UPPER_LEG_H, 0f, LOWER_LEG_H);
-        modelBatch.render(inst[PART_R_LOWER_LEG], environment);
+        submit(modelBatch, inst[PART_R_LOWER_LEG], environment);
         setLimb3ChainTransform(inst[PART_R_FOOT], pos, yawRad,
             legOffsetX, legPivotY, 0f, 0f, UPPER_LEG_H, 0f, LOWER_LEG_H, 0f, FOOT_H);
-        modelBatch.render(inst[PART_R_FOOT], environment);
+        submit(modelBatch, inst[PART_R_FOOT], environment);
     }
 
     /**
@@ -1298,27 +1526,27 @@ public class NPCRenderer {
         float punchAngle = -(float) Math.toRadians(60f + 30f * Math.sin(animT * 8.0f));
         setLimbTransform(inst[PART_R_UPPER_ARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, punchAngle, UPPER_ARM_H);
-        modelBatch.render(inst[PART_R_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_R_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_R_FOREARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, punchAngle, UPPER_ARM_H, punchAngle * 0.5f, FOREARM_H);
-        modelBatch.render(inst[PART_R_FOREARM], environment);
+        submit(modelBatch, inst[PART_R_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_R_HAND], pos, yawRad,
             armOffsetX, armPivotY, 0f, punchAngle, UPPER_ARM_H, punchAngle * 0.5f, FOREARM_H,
             0f, HAND_H);
-        modelBatch.render(inst[PART_R_HAND], environment);
+        submit(modelBatch, inst[PART_R_HAND], environment);
 
         // Left arm held back slightly
         float guardAngle = (float) Math.toRadians(20f);
         setLimbTransform(inst[PART_L_UPPER_ARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, guardAngle, UPPER_ARM_H);
-        modelBatch.render(inst[PART_L_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_L_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_L_FOREARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, guardAngle, UPPER_ARM_H, -guardAngle * 0.5f, FOREARM_H);
-        modelBatch.render(inst[PART_L_FOREARM], environment);
+        submit(modelBatch, inst[PART_L_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_L_HAND], pos, yawRad,
             -armOffsetX, armPivotY, 0f, guardAngle, UPPER_ARM_H, -guardAngle * 0.5f, FOREARM_H,
             0f, HAND_H);
-        modelBatch.render(inst[PART_L_HAND], environment);
+        submit(modelBatch, inst[PART_L_HAND], environment);
     }
 
     /**
@@ -1353,25 +1581,25 @@ public class NPCRenderer {
         float waveAngle = (float) Math.toRadians(30f * Math.sin(animT * 5.0f));
         setLimbTransform(inst[PART_R_UPPER_ARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, raiseAngle, UPPER_ARM_H);
-        modelBatch.render(inst[PART_R_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_R_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_R_FOREARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, raiseAngle, UPPER_ARM_H, waveAngle, FOREARM_H);
-        modelBatch.render(inst[PART_R_FOREARM], environment);
+        submit(modelBatch, inst[PART_R_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_R_HAND], pos, yawRad,
             armOffsetX, armPivotY, 0f, raiseAngle, UPPER_ARM_H, waveAngle, FOREARM_H,
             waveAngle * 0.5f, HAND_H);
-        modelBatch.render(inst[PART_R_HAND], environment);
+        submit(modelBatch, inst[PART_R_HAND], environment);
 
         // Left arm at rest
         setLimbTransform(inst[PART_L_UPPER_ARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, 0f, UPPER_ARM_H);
-        modelBatch.render(inst[PART_L_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_L_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_L_FOREARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, 0f, UPPER_ARM_H, 0f, FOREARM_H);
-        modelBatch.render(inst[PART_L_FOREARM], environment);
+        submit(modelBatch, inst[PART_L_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_L_HAND], pos, yawRad,
             -armOffsetX, armPivotY, 0f, 0f, UPPER_ARM_H, 0f, FOREARM_H, 0f, HAND_H);
-        modelBatch.render(inst[PART_L_HAND], environment);
+        submit(modelBatch, inst[PART_L_HAND], environment);
     }
 
     /**
@@ -1403,19 +1631,19 @@ public class NPCRenderer {
 
         // Static body parts with vertical bob
         setPartTransform(inst[PART_TORSO], pos, yawRad, 0f, torsoCentre + bobOffset, 0f);
-        modelBatch.render(inst[PART_TORSO], environment);
+        submit(modelBatch, inst[PART_TORSO], environment);
         setPartTransform(inst[PART_SHOULDERS], pos, yawRad, 0f, shoulderY + bobOffset, 0f);
-        modelBatch.render(inst[PART_SHOULDERS], environment);
+        submit(modelBatch, inst[PART_SHOULDERS], environment);
         setPartTransform(inst[PART_NECK], pos, yawRad, 0f, neckY + NECK_H / 2f + bobOffset, 0f);
-        modelBatch.render(inst[PART_NECK], environment);
+        submit(modelBatch, inst[PART_NECK], environment);
         setPartTransform(inst[PART_HEAD], pos, yawRad, 0f, headCentre + bobOffset, 0f);
-        modelBatch.render(inst[PART_HEAD], environment);
+        submit(modelBatch, inst[PART_HEAD], environment);
 
         renderFace(modelBatch, environment, npc, pos, yawRad, headCentre + bobOffset, HEAD_D / 2f + 0.011f);
         if (inst.length > PART_HELMET) {
             float helmetY = headCentre + bobOffset + HEAD_H / 2f + 0.02f;
             setPartTransform(inst[PART_HELMET], pos, yawRad, 0f, helmetY, 0f);
-            modelBatch.render(inst[PART_HELMET], environment);
+            submit(modelBatch, inst[PART_HELMET], environment);
         }
 
         // Arms: both swing rhythmically in opposite directions
@@ -1424,47 +1652,47 @@ public class NPCRenderer {
         float armSwing = (float) Math.toRadians(60f * beat);
         setLimbTransform(inst[PART_L_UPPER_ARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, armSwing, UPPER_ARM_H);
-        modelBatch.render(inst[PART_L_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_L_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_L_FOREARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, armSwing, UPPER_ARM_H, armSwing * 0.5f, FOREARM_H);
-        modelBatch.render(inst[PART_L_FOREARM], environment);
+        submit(modelBatch, inst[PART_L_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_L_HAND], pos, yawRad,
             -armOffsetX, armPivotY, 0f, armSwing, UPPER_ARM_H, armSwing * 0.5f, FOREARM_H,
             0f, HAND_H);
-        modelBatch.render(inst[PART_L_HAND], environment);
+        submit(modelBatch, inst[PART_L_HAND], environment);
 
         setLimbTransform(inst[PART_R_UPPER_ARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, -armSwing, UPPER_ARM_H);
-        modelBatch.render(inst[PART_R_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_R_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_R_FOREARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, -armSwing, UPPER_ARM_H, -armSwing * 0.5f, FOREARM_H);
-        modelBatch.render(inst[PART_R_FOREARM], environment);
+        submit(modelBatch, inst[PART_R_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_R_HAND], pos, yawRad,
             armOffsetX, armPivotY, 0f, -armSwing, UPPER_ARM_H, -armSwing * 0.5f, FOREARM_H,
             0f, HAND_H);
-        modelBatch.render(inst[PART_R_HAND], environment);
+        submit(modelBatch, inst[PART_R_HAND], environment);
 
         // Legs: alternate stepping with the beat
         float legOffsetX = TORSO_W / 2f - UPPER_LEG_W / 2f;
         float legPivotY = torsoBottom + bobOffset;
         float legSwing = (float) Math.toRadians(25f * beat);
         setLimbTransform(inst[PART_L_UPPER_LEG], pos, yawRad, -legOffsetX, legPivotY, 0f, legSwing, UPPER_LEG_H);
-        modelBatch.render(inst[PART_L_UPPER_LEG], environment);
+        submit(modelBatch, inst[PART_L_UPPER_LEG], environment);
         setLimbChainTransform(inst[PART_L_LOWER_LEG], pos, yawRad,
             -legOffsetX, legPivotY, 0f, legSwing, UPPER_LEG_H, legSwing * 0.5f, LOWER_LEG_H);
-        modelBatch.render(inst[PART_L_LOWER_LEG], environment);
+        submit(modelBatch, inst[PART_L_LOWER_LEG], environment);
         setLimb3ChainTransform(inst[PART_L_FOOT], pos, yawRad,
             -legOffsetX, legPivotY, 0f, legSwing, UPPER_LEG_H, legSwing * 0.5f, LOWER_LEG_H, 0f, FOOT_H);
-        modelBatch.render(inst[PART_L_FOOT], environment);
+        submit(modelBatch, inst[PART_L_FOOT], environment);
 
         setLimbTransform(inst[PART_R_UPPER_LEG], pos, yawRad, legOffsetX, legPivotY, 0f, -legSwing, UPPER_LEG_H);
-        modelBatch.render(inst[PART_R_UPPER_LEG], environment);
+        submit(modelBatch, inst[PART_R_UPPER_LEG], environment);
         setLimbChainTransform(inst[PART_R_LOWER_LEG], pos, yawRad,
             legOffsetX, legPivotY, 0f, -legSwing, UPPER_LEG_H, -legSwing * 0.5f, LOWER_LEG_H);
-        modelBatch.render(inst[PART_R_LOWER_LEG], environment);
+        submit(modelBatch, inst[PART_R_LOWER_LEG], environment);
         setLimb3ChainTransform(inst[PART_R_FOOT], pos, yawRad,
             legOffsetX, legPivotY, 0f, -legSwing, UPPER_LEG_H, -legSwing * 0.5f, LOWER_LEG_H, 0f, FOOT_H);
-        modelBatch.render(inst[PART_R_FOOT], environment);
+        submit(modelBatch, inst[PART_R_FOOT], environment);
     }
 
     /**
@@ -1500,25 +1728,25 @@ public class NPCRenderer {
         float pointAngle = pointBase + pointOscillation;
         setLimbTransform(inst[PART_R_UPPER_ARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, pointAngle, UPPER_ARM_H);
-        modelBatch.render(inst[PART_R_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_R_UPPER_ARM], environment);
         // Forearm fully extended (no additional bend)
         setLimbChainTransform(inst[PART_R_FOREARM], pos, yawRad,
             armOffsetX, armPivotY, 0f, pointAngle, UPPER_ARM_H, 0f, FOREARM_H);
-        modelBatch.render(inst[PART_R_FOREARM], environment);
+        submit(modelBatch, inst[PART_R_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_R_HAND], pos, yawRad,
             armOffsetX, armPivotY, 0f, pointAngle, UPPER_ARM_H, 0f, FOREARM_H, 0f, HAND_H);
-        modelBatch.render(inst[PART_R_HAND], environment);
+        submit(modelBatch, inst[PART_R_HAND], environment);
 
         // Left arm at rest
         setLimbTransform(inst[PART_L_UPPER_ARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, 0f, UPPER_ARM_H);
-        modelBatch.render(inst[PART_L_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_L_UPPER_ARM], environment);
         setLimbChainTransform(inst[PART_L_FOREARM], pos, yawRad,
             -armOffsetX, armPivotY, 0f, 0f, UPPER_ARM_H, 0f, FOREARM_H);
-        modelBatch.render(inst[PART_L_FOREARM], environment);
+        submit(modelBatch, inst[PART_L_FOREARM], environment);
         setLimb3ChainTransform(inst[PART_L_HAND], pos, yawRad,
             -armOffsetX, armPivotY, 0f, 0f, UPPER_ARM_H, 0f, FOREARM_H, 0f, HAND_H);
-        modelBatch.render(inst[PART_L_HAND], environment);
+        submit(modelBatch, inst[PART_L_HAND], environment);
     }
 
     /**
@@ -1543,64 +1771,64 @@ public class NPCRenderer {
 
         // Torso lies flat; centre is at half-torso-height along Z (now horizontal)
         setKnockedOutPartTransform(inst[PART_TORSO],    pos, yawRad, pitchRad, 0f,   groundY + TORSO_W / 2f,   TORSO_H / 2f);
-        modelBatch.render(inst[PART_TORSO], environment);
+        submit(modelBatch, inst[PART_TORSO], environment);
 
         setKnockedOutPartTransform(inst[PART_SHOULDERS], pos, yawRad, pitchRad, 0f,  groundY + SHOULDER_W / 2f, TORSO_H + SHOULDER_H / 2f);
-        modelBatch.render(inst[PART_SHOULDERS], environment);
+        submit(modelBatch, inst[PART_SHOULDERS], environment);
 
         setKnockedOutPartTransform(inst[PART_NECK],     pos, yawRad, pitchRad, 0f,   groundY + NECK_W / 2f,   TORSO_H + SHOULDER_H + NECK_H / 2f);
-        modelBatch.render(inst[PART_NECK], environment);
+        submit(modelBatch, inst[PART_NECK], environment);
 
         setKnockedOutPartTransform(inst[PART_HEAD],     pos, yawRad, pitchRad, 0f,   groundY + HEAD_W / 2f,   TORSO_H + SHOULDER_H + NECK_H + HEAD_H / 2f);
-        modelBatch.render(inst[PART_HEAD], environment);
+        submit(modelBatch, inst[PART_HEAD], environment);
 
         // Knocked-out NPCs always blink (eyes closed); select the blink face model
         int exprIdxKO = npc.getFacialExpression().ordinal();
         ModelInstance[] blinkInstKO = getOrCreateBlinkFaceInstances(npc);
         if (blinkInstKO != null) {
             setKnockedOutPartTransform(blinkInstKO[exprIdxKO], pos, yawRad, pitchRad, 0f, groundY + HEAD_D / 2f + 0.011f, TORSO_H + SHOULDER_H + NECK_H + HEAD_H / 2f);
-            modelBatch.render(blinkInstKO[exprIdxKO], environment);
+            submit(modelBatch, blinkInstKO[exprIdxKO], environment);
         } else {
             setKnockedOutPartTransform(inst[PART_FACE], pos, yawRad, pitchRad, 0f, groundY + HEAD_D / 2f + 0.011f, TORSO_H + SHOULDER_H + NECK_H + HEAD_H / 2f);
-            modelBatch.render(inst[PART_FACE], environment);
+            submit(modelBatch, inst[PART_FACE], environment);
         }
 
         if (inst.length > PART_HELMET) {
             setKnockedOutPartTransform(inst[PART_HELMET], pos, yawRad, pitchRad, 0f, groundY + HEAD_W / 2f + 0.02f, TORSO_H + SHOULDER_H + NECK_H + HEAD_H + 0.02f);
-            modelBatch.render(inst[PART_HELMET], environment);
+            submit(modelBatch, inst[PART_HELMET], environment);
         }
 
         // Arms hang flat beside the torso
         float armOffsetX = SHOULDER_W / 2f;
         setKnockedOutPartTransform(inst[PART_L_UPPER_ARM], pos, yawRad, pitchRad, -armOffsetX, groundY + UPPER_ARM_W / 2f, TORSO_H + UPPER_ARM_H / 2f);
-        modelBatch.render(inst[PART_L_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_L_UPPER_ARM], environment);
         setKnockedOutPartTransform(inst[PART_L_FOREARM],   pos, yawRad, pitchRad, -armOffsetX, groundY + FOREARM_W / 2f,   TORSO_H + UPPER_ARM_H + FOREARM_H / 2f);
-        modelBatch.render(inst[PART_L_FOREARM], environment);
+        submit(modelBatch, inst[PART_L_FOREARM], environment);
         setKnockedOutPartTransform(inst[PART_L_HAND],      pos, yawRad, pitchRad, -armOffsetX, groundY + HAND_W / 2f,      TORSO_H + UPPER_ARM_H + FOREARM_H + HAND_H / 2f);
-        modelBatch.render(inst[PART_L_HAND], environment);
+        submit(modelBatch, inst[PART_L_HAND], environment);
 
         setKnockedOutPartTransform(inst[PART_R_UPPER_ARM], pos, yawRad, pitchRad,  armOffsetX, groundY + UPPER_ARM_W / 2f, TORSO_H + UPPER_ARM_H / 2f);
-        modelBatch.render(inst[PART_R_UPPER_ARM], environment);
+        submit(modelBatch, inst[PART_R_UPPER_ARM], environment);
         setKnockedOutPartTransform(inst[PART_R_FOREARM],   pos, yawRad, pitchRad,  armOffsetX, groundY + FOREARM_W / 2f,   TORSO_H + UPPER_ARM_H + FOREARM_H / 2f);
-        modelBatch.render(inst[PART_R_FOREARM], environment);
+        submit(modelBatch, inst[PART_R_FOREARM], environment);
         setKnockedOutPartTransform(inst[PART_R_HAND],      pos, yawRad, pitchRad,  armOffsetX, groundY + HAND_W / 2f,      TORSO_H + UPPER_ARM_H + FOREARM_H + HAND_H / 2f);
-        modelBatch.render(inst[PART_R_HAND], environment);
+        submit(modelBatch, inst[PART_R_HAND], environment);
 
         // Legs extend behind (toward -Z in local space, now upward when lying flat)
         float legOffsetX = TORSO_W / 2f - UPPER_LEG_W / 2f;
         setKnockedOutPartTransform(inst[PART_L_UPPER_LEG], pos, yawRad, pitchRad, -legOffsetX, groundY + UPPER_LEG_W / 2f, -(UPPER_LEG_H / 2f));
-        modelBatch.render(inst[PART_L_UPPER_LEG], environment);
+        submit(modelBatch, inst[PART_L_UPPER_LEG], environment);
         setKnockedOutPartTransform(inst[PART_L_LOWER_LEG], pos, yawRad, pitchRad, -legOffsetX, groundY + LOWER_LEG_W / 2f, -(UPPER_LEG_H + LOWER_LEG_H / 2f));
-        modelBatch.render(inst[PART_L_LOWER_LEG], environment);
+        submit(modelBatch, inst[PART_L_LOWER_LEG], environment);
         setKnockedOutPartTransform(inst[PART_L_FOOT],      pos, yawRad, pitchRad, -legOffsetX, groundY + FOOT_H / 2f,      -(UPPER_LEG_H + LOWER_LEG_H + FOOT_H / 2f));
-        modelBatch.render(inst[PART_L_FOOT], environment);
+        submit(modelBatch, inst[PART_L_FOOT], environment);
 
         setKnockedOutPartTransform(inst[PART_R_UPPER_LEG], pos, yawRad, pitchRad,  legOffsetX, groundY + UPPER_LEG_W / 2f, -(UPPER_LEG_H / 2f));
-        modelBatch.render(inst[PART_R_UPPER_LEG], environment);
+        submit(modelBatch, inst[PART_R_UPPER_LEG], environment);
         setKnockedOutPartTransform(inst[PART_R_LOWER_LEG], pos, yawRad, pitchRad,  legOffsetX, groundY + LOWER_LEG_W / 2f, -(UPPER_LEG_H + LOWER_LEG_H / 2f));
-        modelBatch.render(inst[PART_R_LOWER_LEG], environment);
+        submit(modelBatch, inst[PART_R_LOWER_LEG], environment);
         setKnockedOutPartTransform(inst[PART_R_FOOT],      pos, yawRad, pitchRad,  legOffsetX, groundY + FOOT_H / 2f,      -(UPPER_LEG_H + LOWER_LEG_H + FOOT_H / 2f));
-        modelBatch.render(inst[PART_R_FOOT], environment);
+        submit(modelBatch, inst[PART_R_FOOT], environment);
     }
 
     /**
@@ -1778,38 +2006,38 @@ public class NPCRenderer {
 
         // Body
         setKnockedOutPartTransform(inst[0], pos, yawRad, rollRad, 0f, groundY, 0f);
-        modelBatch.render(inst[0], environment);
+        submit(modelBatch, inst[0], environment);
 
         // Head (front of body)
         float headZ = (0.65f / 2f + 0.26f / 2f - 0.04f);
         setKnockedOutPartTransform(inst[1], pos, yawRad, rollRad, 0f, groundY + 0.06f, headZ);
-        modelBatch.render(inst[1], environment);
+        submit(modelBatch, inst[1], environment);
 
         // Snout
         setKnockedOutPartTransform(inst[2], pos, yawRad, rollRad, 0f, groundY, headZ + 0.26f / 2f + 0.06f);
-        modelBatch.render(inst[2], environment);
+        submit(modelBatch, inst[2], environment);
 
         // Eyes
         setKnockedOutPartTransform(inst[8], pos, yawRad, rollRad, 0f, groundY + 0.10f, headZ + 0.26f / 2f + 0.011f);
-        modelBatch.render(inst[8], environment);
+        submit(modelBatch, inst[8], environment);
 
         // Tail (back of body)
         float tailZ = -(0.65f / 2f + 0.03f);
         setKnockedOutPartTransform(inst[3], pos, yawRad, rollRad, 0f, groundY + 0.15f, tailZ);
-        modelBatch.render(inst[3], environment);
+        submit(modelBatch, inst[3], environment);
 
         // Legs (all pointing up/sideways when lying)
         float frontLegZ = 0.65f / 2f - 0.10f;
         float backLegZ = -(0.65f / 2f - 0.10f);
         float legSpreadX = 0.12f;
         setKnockedOutPartTransform(inst[4], pos, yawRad, rollRad, -legSpreadX, groundY, frontLegZ);
-        modelBatch.render(inst[4], environment);
+        submit(modelBatch, inst[4], environment);
         setKnockedOutPartTransform(inst[5], pos, yawRad, rollRad,  legSpreadX, groundY, frontLegZ);
-        modelBatch.render(inst[5], environment);
+        submit(modelBatch, inst[5], environment);
         setKnockedOutPartTransform(inst[6], pos, yawRad, rollRad, -legSpreadX, groundY, backLegZ);
-        modelBatch.render(inst[6], environment);
+        submit(modelBatch, inst[6], environment);
         setKnockedOutPartTransform(inst[7], pos, yawRad, rollRad,  legSpreadX, groundY, backLegZ);
-        modelBatch.render(inst[7], environment);
+        submit(modelBatch, inst[7], environment);
     }
 
     private void renderDog(ModelBatch modelBatch, Environment environment, NPC npc) {
@@ -1839,22 +2067,22 @@ public class NPCRenderer {
 
         // 0 - Body
         setPartTransform(inst[0], pos, yawRad, 0f, bodyCentreY, 0f);
-        modelBatch.render(inst[0], environment);
+        submit(modelBatch, inst[0], environment);
 
         // 1 - Head (at +Z, the front of the dog)
         float headZ = (0.65f / 2f + 0.26f / 2f - 0.04f);
         setPartTransform(inst[1], pos, yawRad, 0f, bodyCentreY + 0.06f, headZ);
-        modelBatch.render(inst[1], environment);
+        submit(modelBatch, inst[1], environment);
 
         // 2 - Snout
         setPartTransform(inst[2], pos, yawRad,
             0f, bodyCentreY, headZ + 0.26f / 2f + 0.06f);
-        modelBatch.render(inst[2], environment);
+        submit(modelBatch, inst[2], environment);
 
         // 8 - Eyes
         setPartTransform(inst[8], pos, yawRad,
             0f, bodyCentreY + 0.10f, headZ + 0.26f / 2f + 0.011f);
-        modelBatch.render(inst[8], environment);
+        submit(modelBatch, inst[8], environment);
 
         // 3 - Tail (at -Z, the back of the dog) — wags when moving, slow idle wag otherwise
         float tailZ = -(0.65f / 2f + 0.03f);
@@ -1871,7 +2099,7 @@ public class NPCRenderer {
         tmpTransform.setToTranslation(tailWorldX, pos.y + bodyCentreY + 0.15f, tailWorldZ);
         tmpTransform.rotate(Vector3.Y, (float) Math.toDegrees(yawRad + tailWagRad));
         inst[3].transform.set(tmpTransform);
-        modelBatch.render(inst[3], environment);
+        submit(modelBatch, inst[3], environment);
 
         // 4-7: Legs with walk animation (front at +Z, back at -Z)
         float frontLegZ = 0.65f / 2f - 0.10f;
@@ -1880,16 +2108,26 @@ public class NPCRenderer {
         float legSpreadX = 0.12f;
 
         setLimbTransform(inst[4], pos, yawRad, -legSpreadX, legPivotY, frontLegZ, swingRad, legH);
-        modelBatch.render(inst[4], environment);
+        submit(modelBatch, inst[4], environment);
         setLimbTransform(inst[5], pos, yawRad, legSpreadX, legPivotY, frontLegZ, -swingRad, legH);
-        modelBatch.render(inst[5], environment);
+        submit(modelBatch, inst[5], environment);
         setLimbTransform(inst[6], pos, yawRad, -legSpreadX, legPivotY, backLegZ, -swingRad, legH);
-        modelBatch.render(inst[6], environment);
+        submit(modelBatch, inst[6], environment);
         setLimbTransform(inst[7], pos, yawRad, legSpreadX, legPivotY, backLegZ, swingRad, legH);
-        modelBatch.render(inst[7], environment);
+        submit(modelBatch, inst[7], environment);
     }
 
     public void dispose() {
+        if (instancer != null) {
+            instancer.dispose();
+            instancer = null;
+        }
+        if (impostors != null) {
+            impostors.dispose();
+            impostors = null;
+        }
+        reducedPoses.clear();
+
         for (Model[] parts : humanoidParts.values()) {
             for (Model m : parts) {
                 if (m != null) m.dispose();
@@ -0,0 +1,126 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws a {@link ParticleSystem}'s active particles as camera-facing quads in
+ * one draw call.
+ *
+ * <p>Every frame the particles are written into one vertex array, four corners
+ * each, and uploaded to a dynamic mesh with a fixed index buffer. The vertex
+ * shader pushes each corner out from the particle's projected centre by its
+ * radius in pixels, so the quads stay the same size on screen at any distance,
+ * and the fragment shader cuts them down to round dots. Particles draw over the
+ * scene without depth testing, like the screen-space dots they replaced.</p>
+ */
+final class ParticleRenderer {
+
+    // Position, packed colour, then the corner (-1 or 1 in x and y) and radius in pixels
+    private static final int FLOATS_PER_VERTEX = 3 + 1 + 3;
+    private static final int FLOATS_PER_PARTICLE = FLOATS_PER_VERTEX * 4;
+    private static final float[] CORNER_X = {-1f, 1f, 1f, -1f};
+    private static final float[] CORNER_Y = {-1f, -1f, 1f, 1f};
+
+    private static final String VERTEX_SHADER =
+        "attribute vec3 a_position;\n" +
+        "attribute vec4 a_color;\n" +
+        "attribute vec3 a_corner;\n" +
+        "uniform mat4 u_projViewTrans;\n" +
+        "uniform vec2 u_pixelSize;\n" +
+        "varying vec4 v_color;\n" +
+        "varying vec2 v_corner;\n" +
+        "void main() {\n" +
+        "    vec4 pos = u_projViewTrans * vec4(a_position, 1.0);\n" +
+        // Offset in clip space, scaled by w so it is a fixed number of pixels
+        "    pos.xy += a_corner.xy * a_corner.z * u_pixelSize * pos.w;\n" +
+        "    v_color = a_color;\n" +
+        "    v_corner = a_corner.xy;\n" +
+        "    gl_Position = pos;\n" +
+        "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "varying vec4 v_color;\n" +
+        "varying vec2 v_corner;\n" +
+        "void main() {\n" +
+        "    if (dot(v_corner, v_corner) > 1.0) discard;\n" +
+        "    gl_FragColor = v_color;\n" +
+        "}\n";
+
+    private final Mesh mesh;
+    private final ShaderProgram shader;
+    private final float[] vertices;
+
+    /**
+     * Create the mesh and shader. Must be called on the GL thread.
+     *
+     * @param capacity most particles drawn in one frame
+     */
+    ParticleRenderer(int capacity) {
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Particle shader failed to compile: " + shader.getLog());
+        }
+        mesh = new Mesh(false, capacity * 4, capacity * 6,
+            VertexAttribute.Position(),
+            VertexAttribute.ColorPacked(),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 3, "a_corner"));
+        short[] indices = new short[capacity * 6];
+        for (int p = 0, v = 0; p < indices.length; p += 6, v += 4) {
+            indices[p] = (short) v;
+            indices[p + 1] = (short) (v + 1);
+            indices[p + 2] = (short) (v + 2);
+            indices[p + 3] = (short) (v + 2);
+            indices[p + 4] = (short) (v + 3);
+            indices[p + 5] = (short) v;
+        }
+        mesh.setIndices(indices);
+        vertices = new float[capacity * FLOATS_PER_PARTICLE];
+    }
+
+    /** Upload and draw the particles' current state. */
+    void render(ParticleSystem particles, Camera camera, int screenWidth, int screenHeight) {
+        int count = particles.activeCount;
+        int k = 0;
+        for (int n = 0; n < count; n++) {
+            int i = particles.activeSlot(n);
+            // Shrink particles as they die; alpha is already the remaining life fraction
+            float drawRadius = particles.radius[i] * (0.5f + 0.5f * particles.a[i]);
+            float color = Color.toFloatBits(particles.r[i], particles.g[i], particles.b[i], particles.a[i]);
+            for (int c = 0; c < 4; c++) {
+                vertices[k++] = particles.x[i];
+                vertices[k++] = particles.y[i];
+                vertices[k++] = particles.z[i];
+                vertices[k++] = color;
+                vertices[k++] = CORNER_X[c];
+                vertices[k++] = CORNER_Y[c];
+                vertices[k++] = drawRadius;
+            }
+        }
+        mesh.setVertices(vertices, 0, k);
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        Gdx.gl.glDisable(GL20.GL_DEPTH_TEST);
+        shader.bind();
+        shader.setUniformMatrix("u_projViewTrans", camera.combined);
+        shader.setUniformf("u_pixelSize", 2f / screenWidth, 2f / screenHeight);
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, count * 6);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    void dispose() {
+        mesh.dispose();
+        shader.dispose();
+    }
+}
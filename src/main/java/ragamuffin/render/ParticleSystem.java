@@ -1,18 +1,15 @@
 package ragamuffin.render;
 
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector3;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 
 /**
  * Simple CPU particle system for visual feedback on combat and movement actions.
  *
- * Particles are rendered as 2D screen-space dots using ShapeRenderer.  This keeps
- * the implementation lightweight (no extra textures or 3D geometry) while still
- * giving the player satisfying visual feedback.
+ * Particles are simulated on the CPU and drawn by {@link ParticleRenderer} as
+ * round, screen-sized dots: one vertex buffer upload and one draw call per frame,
+ * however many particles are alive. Their size is given in pixels, so a spark
+ * looks the same whether it is near or far.
  *
  * Supported emitter types:
  *   - COMBAT_HIT   : small red/orange sparks when the player punches a block or NPC
@@ -23,33 +20,49 @@ import java.util.List;
 public class ParticleSystem {
 
     /** How many particles the pool can hold before oldest are evicted. */
-    private static final int MAX_PARTICLES = 512;
+    static final int MAX_PARTICLES = 8192;
 
     // -----------------------------------------------------------------------
-    // Particle data (struct-of-arrays style for cache friendliness)
+    // Particle data (struct-of-arrays, one slot per index)
     // -----------------------------------------------------------------------
 
-    private static class Particle {
-        // World-space position
-        float x, y, z;
-        // Velocity (world-space units per second)
-        float vx, vy, vz;
-        // Colour
-        float r, g, b, a;
-        // Total lifetime and remaining life (seconds)
-        float lifetime;
-        float life;
-        // Screen-space radius at spawn (pixels)
-        float radius;
-        // Whether this slot is active
-        boolean active;
+    // World-space position
+    final float[] x = new float[MAX_PARTICLES];
+    final float[] y = new float[MAX_PARTICLES];
+    final float[] z = new float[MAX_PARTICLES];
+    // Velocity (world-space units per second)
+    private final float[] vx = new float[MAX_PARTICLES];
+    private final float[] vy = new float[MAX_PARTICLES];
+    private final float[] vz = new float[MAX_PARTICLES];
+    // Colour
+    final float[] r = new float[MAX_PARTICLES];
+    final float[] g = new float[MAX_PARTICLES];
+    final float[] b = new float[MAX_PARTICLES];
+    final float[] a = new float[MAX_PARTICLES];
+    // Total lifetime and remaining life (seconds)
+    private final float[] lifetime = new float[MAX_PARTICLES];
+    private final float[] life = new float[MAX_PARTICLES];
+    // Screen-space radius at spawn (pixels)
+    final float[] radius = new float[MAX_PARTICLES];
+
+    // Slots of the active particles as a ring in the order they were spawned,
+    // oldest at activeHead, and the free slots as a stack
+    private final int[] active = new int[MAX_PARTICLES];
+    private int activeHead;
+    int activeCount;
+    private final int[] free = new int[MAX_PARTICLES];
+    private int freeCount;
+
+    // Created on the first render, so the simulation runs without a GL context
+    private ParticleRenderer renderer;
+
+    public ParticleSystem() {
+        for (int i = 0; i < MAX_PARTICLES; i++) {
+            free[i] = MAX_PARTICLES - 1 - i;
+        }
+        freeCount = MAX_PARTICLES;
     }
 
-    private final List<Particle> particles = new ArrayList<>();
-
-    // Scratch vector for screen projection
-    private final Vector3 tmpScreen = new Vector3();
-
     // -----------------------------------------------------------------------
     // Public API
     // -----------------------------------------------------------------------
@@ -60,21 +73,20 @@ public class ParticleSystem {
      */
     public void emitCombatHit(float wx, float wy, float wz) {
         int count = 8;
-        for (int i = 0; i < count; i++) {
-            Particle p = acquire();
-            p.x = wx; p.y = wy; p.z = wz;
-            p.vx = MathUtils.random(-3f, 3f);
-            p.vy = MathUtils.random(1f, 5f);
-            p.vz = MathUtils.random(-3f, 3f);
+        for (int n = 0; n < count; n++) {
+            int i = acquire();
+            x[i] = wx; y[i] = wy; z[i] = wz;
+            vx[i] = MathUtils.random(-3f, 3f);
+            vy[i] = MathUtils.random(1f, 5f);
+            vz[i] = MathUtils.random(-3f, 3f);
             // Red-orange palette
-            p.r = MathUtils.random(0.8f, 1.0f);
-            p.g = MathUtils.random(0.2f, 0.5f);
-            p.b = 0f;
-            p.a = 1.0f;
-            p.lifetime = MathUtils.random(0.25f, 0.55f);
-            p.life = p.lifetime;
-            p.radius = MathUtils.random(3f, 6f);
-            p.active = true;
+            r[i] = MathUtils.random(0.8f, 1.0f);
+            g[i] = MathUtils.random(0.2f, 0.5f);
+            b[i] = 0f;
+            a[i] = 1.0f;
+            lifetime[i] = MathUtils.random(0.25f, 0.55f);
+            life[i] = lifetime[i];
+            radius[i] = MathUtils.random(3f, 6f);
         }
     }
 
@@ -82,22 +94,21 @@ public class ParticleSystem {
      * Emit block-break debris at the given world-space position, using the
      * supplied colour (matching the block type's colour).
      */
-    public void emitBlockBreak(float wx, float wy, float wz, float r, float g, float b) {
+    public void emitBlockBreak(float wx, float wy, float wz, float cr, float cg, float cb) {
         int count = 12;
-        for (int i = 0; i < count; i++) {
-            Particle p = acquire();
-            p.x = wx + MathUtils.random(-0.3f, 0.3f);
-            p.y = wy + MathUtils.random(0f, 0.5f);
-            p.z = wz + MathUtils.random(-0.3f, 0.3f);
-            p.vx = MathUtils.random(-4f, 4f);
-            p.vy = MathUtils.random(2f, 6f);
-            p.vz = MathUtils.random(-4f, 4f);
-            p.r = r; p.g = g; p.b = b;
-            p.a = 1.0f;
-            p.lifetime = MathUtils.random(0.3f, 0.7f);
-            p.life = p.lifetime;
-            p.radius = MathUtils.random(2f, 5f);
-            p.active = true;
+        for (int n = 0; n < count; n++) {
+            int i = acquire();
+            x[i] = wx + MathUtils.random(-0.3f, 0.3f);
+            y[i] = wy + MathUtils.random(0f, 0.5f);
+            z[i] = wz + MathUtils.random(-0.3f, 0.3f);
+            vx[i] = MathUtils.random(-4f, 4f);
+            vy[i] = MathUtils.random(2f, 6f);
+            vz[i] = MathUtils.random(-4f, 4f);
+            r[i] = cr; g[i] = cg; b[i] = cb;
+            a[i] = 1.0f;
+            lifetime[i] = MathUtils.random(0.3f, 0.7f);
+            life[i] = lifetime[i];
+            radius[i] = MathUtils.random(2f, 5f);
         }
     }
 
@@ -107,22 +118,21 @@ public class ParticleSystem {
      */
     public void emitFootstepDust(float wx, float wy, float wz) {
         int count = 4;
-        for (int i = 0; i < count; i++) {
-            Particle p = acquire();
-            p.x = wx + MathUtils.random(-0.2f, 0.2f);
-            p.y = wy;
-            p.z = wz + MathUtils.random(-0.2f, 0.2f);
-            p.vx = MathUtils.random(-0.8f, 0.8f);
-            p.vy = MathUtils.random(0.3f, 1.2f);
-            p.vz = MathUtils.random(-0.8f, 0.8f);
+        for (int n = 0; n < count; n++) {
+            int i = acquire();
+            x[i] = wx + MathUtils.random(-0.2f, 0.2f);
+            y[i] = wy;
+            z[i] = wz + MathUtils.random(-0.2f, 0.2f);
+            vx[i] = MathUtils.random(-0.8f, 0.8f);
+            vy[i] = MathUtils.random(0.3f, 1.2f);
+            vz[i] = MathUtils.random(-0.8f, 0.8f);
             // Grey dust
             float grey = MathUtils.random(0.55f, 0.75f);
-            p.r = grey; p.g = grey; p.b = grey;
-            p.a = 0.7f;
-            p.lifetime = MathUtils.random(0.4f, 0.8f);
-            p.life = p.lifetime;
-            p.radius = MathUtils.random(2f, 4f);
-            p.active = true;
+            r[i] = grey; g[i] = grey; b[i] = grey;
+            a[i] = 0.7f;
+            lifetime[i] = MathUtils.random(0.4f, 0.8f);
+            life[i] = lifetime[i];
+            radius[i] = MathUtils.random(2f, 4f);
         }
     }
 
@@ -132,23 +142,22 @@ public class ParticleSystem {
      */
     public void emitDodgeTrail(float wx, float wy, float wz) {
         int count = 3;
-        for (int i = 0; i < count; i++) {
-            Particle p = acquire();
-            p.x = wx + MathUtils.random(-0.1f, 0.1f);
-            p.y = wy + MathUtils.random(0f, 1f);
-            p.z = wz + MathUtils.random(-0.1f, 0.1f);
-            p.vx = MathUtils.random(-0.5f, 0.5f);
-            p.vy = MathUtils.random(0f, 0.5f);
-            p.vz = MathUtils.random(-0.5f, 0.5f);
+        for (int n = 0; n < count; n++) {
+            int i = acquire();
+            x[i] = wx + MathUtils.random(-0.1f, 0.1f);
+            y[i] = wy + MathUtils.random(0f, 1f);
+            z[i] = wz + MathUtils.random(-0.1f, 0.1f);
+            vx[i] = MathUtils.random(-0.5f, 0.5f);
+            vy[i] = MathUtils.random(0f, 0.5f);
+            vz[i] = MathUtils.random(-0.5f, 0.5f);
             // Blue-white trail
-            p.r = MathUtils.random(0.5f, 1.0f);
-            p.g = MathUtils.random(0.7f, 1.0f);
-            p.b = 1.0f;
-            p.a = 0.8f;
-            p.lifetime = MathUtils.random(0.15f, 0.35f);
-            p.life = p.lifetime;
-            p.radius = MathUtils.random(2f, 5f);
-            p.active = true;
+            r[i] = MathUtils.random(0.5f, 1.0f);
+            g[i] = MathUtils.random(0.7f, 1.0f);
+            b[i] = 1.0f;
+            a[i] = 0.8f;
+            lifetime[i] = MathUtils.random(0.15f, 0.35f);
+            life[i] = lifetime[i];
+            radius[i] = MathUtils.random(2f, 5f);
         }
     }
 
@@ -157,83 +166,62 @@ public class ParticleSystem {
      * Must be called once per frame before {@link #render}.
      */
     public void update(float delta) {
-        for (Particle p : particles) {
-            if (!p.active) continue;
-            p.life -= delta;
-            if (p.life <= 0f) {
-                p.active = false;
+        // Compact the active ring in place, keeping spawn order, as particles die
+        int kept = 0;
+        for (int n = 0; n < activeCount; n++) {
+            int i = activeSlot(n);
+            life[i] -= delta;
+            if (life[i] <= 0f) {
+                free[freeCount++] = i;
                 continue;
             }
             // Simple physics: gravity pull
-            p.vy -= 9.8f * delta;
-            p.x += p.vx * delta;
-            p.y += p.vy * delta;
-            p.z += p.vz * delta;
+            vy[i] -= 9.8f * delta;
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+            z[i] += vz[i] * delta;
             // Fade alpha linearly
-            p.a = p.life / p.lifetime;
+            a[i] = life[i] / lifetime[i];
+            active[(activeHead + kept++) % MAX_PARTICLES] = i;
         }
+        activeCount = kept;
     }
 
     /**
-     * Render all active particles as 2D screen-space dots.
+     * Render all active particles as round dots over the scene, in one draw call.
+     * Must be called on the GL thread, outside any batch's begin/end block.
      *
-     * @param shapeRenderer a ShapeRenderer already configured with an orthographic
-     *                      (screen-space) projection matrix — must NOT be in a begin/end block
-     * @param camera        the active perspective camera used to project world coordinates
-     * @param screenWidth   current screen width in pixels
-     * @param screenHeight  current screen height in pixels
+     * @param camera       the active camera used to project world coordinates
+     * @param screenWidth  current screen width in pixels
+     * @param screenHeight current screen height in pixels
      */
-    public void render(ShapeRenderer shapeRenderer,
-                       com.badlogic.gdx.graphics.PerspectiveCamera camera,
-                       int screenWidth, int screenHeight) {
-        if (particles.isEmpty()) return;
-
-        com.badlogic.gdx.Gdx.gl.glEnable(com.badlogic.gdx.graphics.GL20.GL_BLEND);
-        com.badlogic.gdx.Gdx.gl.glBlendFunc(
-            com.badlogic.gdx.graphics.GL20.GL_SRC_ALPHA,
-            com.badlogic.gdx.graphics.GL20.GL_ONE_MINUS_SRC_ALPHA);
-
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        for (Particle p : particles) {
-            if (!p.active) continue;
-
-            // Project world → screen
-            tmpScreen.set(p.x, p.y, p.z);
-            camera.project(tmpScreen, 0, 0, screenWidth, screenHeight);
-
-            // Skip if behind the camera
-            if (tmpScreen.z > 1.0f || tmpScreen.z < 0f) continue;
-
-            float sx = tmpScreen.x;
-            float sy = tmpScreen.y;
-
-            // Scale radius by remaining life so particles shrink as they die
-            float lifeFrac = p.a; // already normalised 0-1
-            float drawRadius = p.radius * (0.5f + 0.5f * lifeFrac);
-
-            shapeRenderer.setColor(p.r, p.g, p.b, p.a);
-            shapeRenderer.circle(sx, sy, drawRadius, 6);
+    public void render(Camera camera, int screenWidth, int screenHeight) {
+        if (activeCount == 0) return;
+        if (renderer == null) {
+            renderer = new ParticleRenderer(MAX_PARTICLES);
         }
-
-        shapeRenderer.end();
-
-        com.badlogic.gdx.Gdx.gl.glDisable(com.badlogic.gdx.graphics.GL20.GL_BLEND);
+        renderer.render(this, camera, screenWidth, screenHeight);
     }
 
     /** Return the number of currently active particles (for testing / debugging). */
     public int getActiveCount() {
-        int count = 0;
-        for (Particle p : particles) {
-            if (p.active) count++;
-        }
-        return count;
+        return activeCount;
     }
 
     /** Remove all active particles (e.g. on state transitions). */
     public void clear() {
-        for (Particle p : particles) {
-            p.active = false;
+        for (int n = 0; n < activeCount; n++) {
+            free[freeCount++] = activeSlot(n);
+        }
+        activeHead = 0;
+        activeCount = 0;
+    }
+
+    /** Release the GL resources of the renderer, if one was created. */
+    public void dispose() {
+        if (renderer != null) {
+            renderer.dispose();
+            renderer = null;
         }
     }
 
@@ -241,31 +229,25 @@ public class ParticleSystem {
     // Internal helpers
     // -----------------------------------------------------------------------
 
+    /** Slot of the {@code n}-th oldest active particle. */
+    int activeSlot(int n) {
+        return active[(activeHead + n) % MAX_PARTICLES];
+    }
+
     /**
-     * Acquire a free particle slot, creating a new one if under the pool limit,
-     * or recycling the oldest active particle when the pool is full.
+     * Acquire a free particle slot and mark it active, or recycle the oldest
+     * active particle when the pool is full.
      */
-    private Particle acquire() {
-        // Try to reuse a dead slot first
-        for (Particle p : particles) {
-            if (!p.active) return p;
-        }
-        // Pool not full — create a new slot
-        if (particles.size() < MAX_PARTICLES) {
-            Particle p = new Particle();
-            particles.add(p);
-            return p;
-        }
-        // Pool full — evict the oldest (first active) particle
-        for (Particle p : particles) {
-            if (p.active) {
-                p.active = false;
-                return p;
-            }
+    private int acquire() {
+        if (freeCount > 0) {
+            int i = free[--freeCount];
+            active[(activeHead + activeCount++) % MAX_PARTICLES] = i;
+            return i;
         }
-        // Fallback (should not happen): add new beyond limit
-        Particle p = new Particle();
-        particles.add(p);
-        return p;
+        // Pool full — the ring is full too, so the oldest slot at the head
+        // becomes the newest just by advancing the head
+        int i = active[activeHead];
+        activeHead = (activeHead + 1) % MAX_PARTICLES;
+        return i;
     }
 }
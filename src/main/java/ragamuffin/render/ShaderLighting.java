@@ -0,0 +1,122 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.g3d.Attributes;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.DirectionalLightsAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.PointLightsAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
+import com.badlogic.gdx.graphics.g3d.environment.PointLight;
+import com.badlogic.gdx.graphics.g3d.shaders.BaseShader;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * Per-vertex Lambert lighting shared by the game's own ModelBatch shaders
+ * ({@link ChunkShader}, {@link InstancedPartShader}). Matches what
+ * {@code DefaultShader} does for untextured, diffuse-coloured materials: the
+ * ambient light, up to {@link #MAX_DIRECTIONAL_LIGHTS} directional lights and
+ * {@link #MAX_POINT_LIGHTS} point lights (campfires). Lights beyond those limits
+ * are ignored.
+ *
+ * <p>Shaders paste {@link #GLSL} into their vertex source, call
+ * {@code lightAt(worldPosition, normal)}, and bind the uniforms with
+ * {@link #bind} for every renderable.</p>
+ */
+final class ShaderLighting {
+
+    static final int MAX_DIRECTIONAL_LIGHTS = 2;
+    static final int MAX_POINT_LIGHTS = 5;
+
+    /** Light uniforms and {@code vec3 lightAt(vec3 position, vec3 normal)}, GLSL ES 1.00. */
+    static final String GLSL =
+        "uniform vec3 u_ambientLight;\n" +
+        "uniform vec3 u_dirLightDirections[" + MAX_DIRECTIONAL_LIGHTS + "];\n" +
+        "uniform vec3 u_dirLightColors[" + MAX_DIRECTIONAL_LIGHTS + "];\n" +
+        "uniform vec3 u_pointLightPositions[" + MAX_POINT_LIGHTS + "];\n" +
+        "uniform vec3 u_pointLightColors[" + MAX_POINT_LIGHTS + "];\n" +
+        "vec3 lightAt(vec3 position, vec3 normal) {\n" +
+        "    vec3 light = u_ambientLight;\n" +
+        "    for (int i = 0; i < " + MAX_DIRECTIONAL_LIGHTS + "; i++) {\n" +
+        "        light += u_dirLightColors[i] * clamp(dot(normal, -u_dirLightDirections[i]), 0.0, 1.0);\n" +
+        "    }\n" +
+        "    for (int i = 0; i < " + MAX_POINT_LIGHTS + "; i++) {\n" +
+        "        vec3 toLight = u_pointLightPositions[i] - position;\n" +
+        "        float dist2 = max(dot(toLight, toLight), 0.0001);\n" +
+        "        float lambert = clamp(dot(normal, toLight * inversesqrt(dist2)), 0.0, 1.0);\n" +
+        "        light += u_pointLightColors[i] * (lambert / (1.0 + dist2));\n" +
+        "    }\n" +
+        "    return light;\n" +
+        "}\n";
+
+    private final BaseShader shader;
+    private final int uAmbientLight;
+    private final int uDirLightDirections;
+    private final int uDirLightColors;
+    private final int uPointLightPositions;
+    private final int uPointLightColors;
+
+    // Scratch uniform arrays, refilled for every renderable
+    private final float[] dirDirections = new float[MAX_DIRECTIONAL_LIGHTS * 3];
+    private final float[] dirColors = new float[MAX_DIRECTIONAL_LIGHTS * 3];
+    private final float[] pointPositions = new float[MAX_POINT_LIGHTS * 3];
+    private final float[] pointColors = new float[MAX_POINT_LIGHTS * 3];
+
+    /**
+     * Register the light uniforms on a shader. Must be called before the shader's
+     * {@code init}, like any other uniform registration.
+     */
+    ShaderLighting(BaseShader shader) {
+        this.shader = shader;
+        this.uAmbientLight = shader.register("u_ambientLight");
+        this.uDirLightDirections = shader.register("u_dirLightDirections");
+        this.uDirLightColors = shader.register("u_dirLightColors");
+        this.uPointLightPositions = shader.register("u_pointLightPositions");
+        this.uPointLightColors = shader.register("u_pointLightColors");
+    }
+
+    /** Upload the lights of a renderable's combined attributes. */
+    void bind(Attributes attributes) {
+        ColorAttribute ambient = (ColorAttribute) attributes.get(ColorAttribute.AmbientLight);
+        if (ambient != null) {
+            shader.set(uAmbientLight, ambient.color.r, ambient.color.g, ambient.color.b);
+        } else {
+            shader.set(uAmbientLight, 0f, 0f, 0f);
+        }
+
+        Arrays.fill(dirColors, 0f);
+        DirectionalLightsAttribute dirLights =
+            (DirectionalLightsAttribute) attributes.get(DirectionalLightsAttribute.Type);
+        if (dirLights != null) {
+            Array<DirectionalLight> lights = dirLights.lights;
+            for (int i = 0; i < lights.size && i < MAX_DIRECTIONAL_LIGHTS; i++) {
+                DirectionalLight light = lights.get(i);
+                dirDirections[i * 3] = light.direction.x;
+                dirDirections[i * 3 + 1] = light.direction.y;
+                dirDirections[i * 3 + 2] = light.direction.z;
+                dirColors[i * 3] = light.color.r;
+                dirColors[i * 3 + 1] = light.color.g;
+                dirColors[i * 3 + 2] = light.color.b;
+            }
+        }
+        shader.program.setUniform3fv(shader.loc(uDirLightDirections), dirDirections, 0, dirDirections.length);
+        shader.program.setUniform3fv(shader.loc(uDirLightColors), dirColors, 0, dirColors.length);
+
+        Arrays.fill(pointColors, 0f);
+        PointLightsAttribute pointLights = (PointLightsAttribute) attributes.get(PointLightsAttribute.Type);
+        if (pointLights != null) {
+            Array<PointLight> lights = pointLights.lights;
+            for (int i = 0; i < lights.size && i < MAX_POINT_LIGHTS; i++) {
+                PointLight light = lights.get(i);
+                pointPositions[i * 3] = light.position.x;
+                pointPositions[i * 3 + 1] = light.position.y;
+                pointPositions[i * 3 + 2] = light.position.z;
+                pointColors[i * 3] = light.color.r * light.intensity;
+                pointColors[i * 3 + 1] = light.color.g * light.intensity;
+                pointColors[i * 3 + 2] = light.color.b * light.intensity;
+            }
+        }
+        shader.program.setUniform3fv(shader.loc(uPointLightPositions), pointPositions, 0, pointPositions.length);
+        shader.program.setUniform3fv(shader.loc(uPointLightColors), pointColors, 0, pointColors.length);
+    }
+}
@@ -0,0 +1,120 @@
+package ragamuffin.ui;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import ragamuffin.core.SystemScheduler;
+
+/**
+ * Debug overlay (F3) listing what each game system costs per tick, worst first,
+ * under the cost of a whole simulation step.
+ *
+ * <p>Rows cover both the systems the {@link SystemScheduler} ticks on their own
+ * intervals and the timed sections of the step that run every step (NPCs,
+ * police, heists and the rest). Each row shows a system's recent peak and
+ * rolling average tick time in milliseconds and its tick interval. Peaks are drawn amber above
+ * {@link #WARN_MILLIS} and red above {@link #BAD_MILLIS}, a sizeable slice of a
+ * 60 FPS frame.</p>
+ */
+public class SystemTimingOverlay {
+
+    /** Tick cost, in ms, shown in amber. */
+    public static final float WARN_MILLIS = 1f;
+    /** Tick cost, in ms, shown in red. */
+    public static final float BAD_MILLIS = 4f;
+
+    private static final int MAX_ROWS = 16;
+    private static final float PANEL_WIDTH = 330f;
+    private static final float ROW_HEIGHT = 16f;
+    private static final float PADDING = 8f;
+    private static final float MARGIN = 10f;
+
+    private boolean visible;
+    private int[] order = new int[0];
+
+    public void toggle() {
+        visible = !visible;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Render the overlay in the top-left corner. Expects screen-space projection
+     * on both batches, and neither batch begun.
+     */
+    public void render(SpriteBatch spriteBatch, ShapeRenderer shapeRenderer, BitmapFont font,
+                       SystemScheduler scheduler, int screenWidth, int screenHeight) {
+        if (!visible || scheduler == null) return;
+
+        int count = sortByPeak(scheduler);
+        int rows = Math.min(count, MAX_ROWS);
+        float panelH = PADDING * 2 + ROW_HEIGHT * (rows + 2);
+        float panelX = MARGIN;
+        float panelY = screenHeight - panelH - MARGIN;
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0f, 0f, 0f, 0.72f);
+        shapeRenderer.rect(panelX, panelY, PANEL_WIDTH, panelH);
+        shapeRenderer.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+
+        spriteBatch.begin();
+        font.getData().setScale(0.75f);
+        float x = panelX + PADDING;
+        float y = panelY + panelH - PADDING;
+
+        font.setColor(Color.WHITE);
+        font.draw(spriteBatch, String.format("Sim step  %.2f ms avg  %.2f ms peak",
+                scheduler.getStepAverageMillis(), scheduler.getStepPeakMillis()), x, y);
+        y -= ROW_HEIGHT;
+        font.setColor(0.6f, 0.6f, 0.6f, 1f);
+        font.draw(spriteBatch, "System              peak     avg   every", x, y);
+        y -= ROW_HEIGHT;
+
+        for (int r = 0; r < rows; r++) {
+            int i = order[r];
+            float peak = scheduler.getPeakMillis(i);
+            if (peak >= BAD_MILLIS) {
+                font.setColor(1f, 0.3f, 0.3f, 1f);
+            } else if (peak >= WARN_MILLIS) {
+                font.setColor(1f, 0.75f, 0.1f, 1f);
+            } else {
+                font.setColor(Color.WHITE);
+            }
+            float interval = scheduler.getTickInterval(i);
+            font.draw(spriteBatch, String.format("%-18s %6.2f  %6.2f  %s",
+                    scheduler.getName(i), peak, scheduler.getAverageMillis(i),
+                    interval > 0f ? String.format("%.2fs", interval) : "step"), x, y);
+            y -= ROW_HEIGHT;
+        }
+
+        font.getData().setScale(1.0f);
+        font.setColor(Color.WHITE);
+        spriteBatch.end();
+    }
+
+    /** Fill {@link #order} with system indices by descending peak; returns the count. */
+    private int sortByPeak(SystemScheduler scheduler) {
+        int count = scheduler.getSystemCount();
+        if (order.length < count) {
+            order = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            int j = i;
+            float peak = scheduler.getPeakMillis(i);
+            while (j > 0 && scheduler.getPeakMillis(order[j - 1]) < peak) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        return count;
+    }
+}
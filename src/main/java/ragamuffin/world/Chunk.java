@@ -1,45 +1,258 @@
 package ragamuffin.world;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
  * A chunk is a 16x64x16 section of the voxel world.
  * Stores block data and generates meshes for rendering.
+ *
+ * <p>Blocks are stored palette-compressed: each chunk keeps a small palette of the
+ * distinct {@link BlockType}s it contains and a packed array of palette indices,
+ * using 4 bits per voxel while the palette has at most 16 entries and 8 bits per
+ * voxel beyond that. A chunk made of a single block type (all AIR above the town,
+ * all STONE deep underground) stores no index array at all. Voxels are laid out
+ * x-fastest, then z, then y, so a horizontal slice is one contiguous run.</p>
  */
 public class Chunk {
     public static final int SIZE = 16;    // X and Z dimensions
     public static final int HEIGHT = 64;  // Y dimension
+    public static final int VOLUME = SIZE * HEIGHT * SIZE;
+
+    /** Bits per voxel for the packed index array (0 = uniform chunk, no array). */
+    public static final int BITS_UNIFORM = 0;
+    public static final int BITS_NIBBLE = 4;
+    public static final int BITS_BYTE = 8;
+
+    private static final BlockType[] BLOCK_TYPES = BlockType.values();
+    private static final int NIBBLE_PALETTE_LIMIT = 1 << BITS_NIBBLE;
 
     private final int chunkX, chunkY, chunkZ;  // Chunk grid position
-    private final BlockType[][][] blocks;
+    private final long key;                    // Packed ChunkPos key
+    private long revision;                     // World edit revision of the last World.setBlock here
+
+    // Palette of distinct block types; packed voxel data holds indices into it.
+    // The palette only grows during setBlock() — compact() drops unused entries.
+    private BlockType[] palette;
+    private int paletteSize;
+    // BlockType ordinal -> palette index + 1 (0 = not in palette). BlockType has far
+    // fewer than 255 values, so the index always fits in an unsigned byte.
+    private final byte[] paletteLookup;
+    private byte[] data;
+    private int bitsPerBlock;
 
     public Chunk(int chunkX, int chunkY, int chunkZ) {
         this.chunkX = chunkX;
         this.chunkY = chunkY;
         this.chunkZ = chunkZ;
-        this.blocks = new BlockType[SIZE][HEIGHT][SIZE];
+        this.key = ChunkPos.pack(chunkX, chunkY, chunkZ);
+        this.paletteLookup = new byte[BLOCK_TYPES.length];
 
-        // Initialize with air
-        for (int x = 0; x < SIZE; x++) {
-            for (int y = 0; y < HEIGHT; y++) {
-                for (int z = 0; z < SIZE; z++) {
-                    blocks[x][y][z] = BlockType.AIR;
-                }
-            }
-        }
+        // Initialize with air — a uniform chunk needs no voxel array
+        this.palette = new BlockType[4];
+        this.paletteSize = 0;
+        addToPalette(BlockType.AIR);
+        this.data = null;
+        this.bitsPerBlock = BITS_UNIFORM;
     }
 
     public BlockType getBlock(int x, int y, int z) {
         if (x < 0 || x >= SIZE || y < 0 || y >= HEIGHT || z < 0 || z >= SIZE) {
             return BlockType.AIR;
         }
-        return blocks[x][y][z];
+        switch (bitsPerBlock) {
+            case BITS_NIBBLE: {
+                int i = index(x, y, z);
+                return palette[(data[i >> 1] >> ((i & 1) << 2)) & 0xF];
+            }
+            case BITS_BYTE:
+                return palette[data[index(x, y, z)] & 0xFF];
+            default:
+                return palette[0];
+        }
     }
 
     public void setBlock(int x, int y, int z, BlockType type) {
         if (x >= 0 && x < SIZE && y >= 0 && y < HEIGHT && z >= 0 && z < SIZE) {
-            blocks[x][y][z] = type;
+            if (bitsPerBlock == BITS_UNIFORM && palette[0] == type) {
+                return; // Uniform fast path — nothing changes
+            }
+            int paletteIndex = paletteIndexFor(type);
+            writeIndex(index(x, y, z), paletteIndex);
+        }
+    }
+
+    /**
+     * Whether every voxel in this chunk holds the same block type. Uniform chunks
+     * store only their single palette entry.
+     */
+    public boolean isUniform() {
+        return bitsPerBlock == BITS_UNIFORM;
+    }
+
+    /**
+     * Number of bits used per voxel in the packed index array:
+     * {@link #BITS_UNIFORM}, {@link #BITS_NIBBLE} or {@link #BITS_BYTE}.
+     */
+    public int getBitsPerBlock() {
+        return bitsPerBlock;
+    }
+
+    /**
+     * Number of distinct block types currently in this chunk's palette.
+     * May include types that are no longer present until {@link #compact()} runs.
+     */
+    public int getPaletteSize() {
+        return paletteSize;
+    }
+
+    /**
+     * Drop palette entries no longer referenced by any voxel and repack the index
+     * array at the narrowest width that fits. Collapses to the uniform
+     * representation when only one block type remains. Called once after world
+     * generation, where blocks are overwritten many times (e.g. stone carved out
+     * into sewers), so palettes accumulate stale entries.
+     */
+    public void compact() {
+        if (bitsPerBlock == BITS_UNIFORM) {
+            return;
+        }
+
+        int[] counts = new int[paletteSize];
+        for (int i = 0; i < VOLUME; i++) {
+            counts[readIndex(i)]++;
+        }
+
+        int used = 0;
+        int[] remap = new int[paletteSize];
+        for (int p = 0; p < paletteSize; p++) {
+            remap[p] = counts[p] > 0 ? used++ : -1;
+        }
+        if (used == paletteSize && (used > NIBBLE_PALETTE_LIMIT || bitsPerBlock == BITS_NIBBLE)) {
+            return; // Already as tight as it gets
+        }
+
+        BlockType[] oldPalette = palette;
+        int oldSize = paletteSize;
+        byte[] oldData = data;
+        int oldBits = bitsPerBlock;
+
+        palette = new BlockType[Math.max(used, 1)];
+        paletteSize = 0;
+        Arrays.fill(paletteLookup, (byte) 0);
+        for (int p = 0; p < oldSize; p++) {
+            if (remap[p] >= 0) {
+                addToPalette(oldPalette[p]);
+            }
+        }
+
+        if (used == 1) {
+            data = null;
+            bitsPerBlock = BITS_UNIFORM;
+            return;
+        }
+
+        bitsPerBlock = used <= NIBBLE_PALETTE_LIMIT ? BITS_NIBBLE : BITS_BYTE;
+        data = new byte[bitsPerBlock == BITS_NIBBLE ? VOLUME / 2 : VOLUME];
+        for (int i = 0; i < VOLUME; i++) {
+            int old = oldBits == BITS_NIBBLE
+                ? (oldData[i >> 1] >> ((i & 1) << 2)) & 0xF
+                : oldData[i] & 0xFF;
+            writeIndex(i, remap[old]);
+        }
+    }
+
+    /**
+     * Approximate retained heap size of this chunk's block storage in bytes
+     * (object headers, palette, lookup table and packed voxel array), assuming
+     * compressed object pointers. Used by memory reports, not by gameplay.
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 48; // Chunk object: header, coords, counters, array references
+        bytes += align(16 + 4L * palette.length);
+        bytes += align(16 + paletteLookup.length);
+        if (data != null) {
+            bytes += align(16 + data.length);
+        }
+        return bytes;
+    }
+
+    /**
+     * Write this chunk's block storage — palette (by block name, so saves survive
+     * new block types being added), index width and packed voxel array — for
+     * {@link WorldSave}. Position and revision are not written.
+     */
+    void writeBlocks(DataOutput out) throws IOException {
+        out.writeShort(paletteSize);
+        for (int p = 0; p < paletteSize; p++) {
+            out.writeUTF(palette[p].name());
+        }
+        out.writeByte(bitsPerBlock);
+        if (data != null) {
+            out.write(data);
         }
     }
 
+    /**
+     * Replace this chunk's block storage with data written by {@link #writeBlocks}.
+     * The chunk is left untouched if the data is malformed.
+     *
+     * @throws IOException if the data is truncated or names an unknown block type
+     */
+    void readBlocks(DataInput in) throws IOException {
+        int size = in.readUnsignedShort();
+        if (size < 1 || size > BLOCK_TYPES.length) {
+            throw new IOException("Bad chunk palette size " + size);
+        }
+        BlockType[] newPalette = new BlockType[Math.max(size, 4)];
+        byte[] newLookup = new byte[BLOCK_TYPES.length];
+        for (int p = 0; p < size; p++) {
+            String name = in.readUTF();
+            BlockType type;
+            try {
+                type = BlockType.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown block type " + name);
+            }
+            if (newLookup[type.ordinal()] != 0) {
+                throw new IOException("Duplicate palette entry " + name);
+            }
+            newPalette[p] = type;
+            newLookup[type.ordinal()] = (byte) (p + 1);
+        }
+
+        int bits = in.readUnsignedByte();
+        byte[] newData;
+        if (bits == BITS_UNIFORM && size == 1) {
+            newData = null;
+        } else if (bits == BITS_NIBBLE && size <= NIBBLE_PALETTE_LIMIT) {
+            newData = new byte[VOLUME / 2];
+        } else if (bits == BITS_BYTE) {
+            newData = new byte[VOLUME];
+        } else {
+            throw new IOException("Bad chunk index width " + bits + " for palette of " + size);
+        }
+        if (newData != null) {
+            in.readFully(newData);
+            for (int i = 0; i < VOLUME; i++) {
+                int index = bits == BITS_NIBBLE
+                    ? (newData[i >> 1] >> ((i & 1) << 2)) & 0xF
+                    : newData[i] & 0xFF;
+                if (index >= size) {
+                    throw new IOException("Palette index " + index + " out of range");
+                }
+            }
+        }
+
+        palette = newPalette;
+        paletteSize = size;
+        System.arraycopy(newLookup, 0, paletteLookup, 0, newLookup.length);
+        data = newData;
+        bitsPerBlock = bits;
+    }
+
     public int getChunkX() {
         return chunkX;
     }
@@ -51,4 +264,84 @@ public class Chunk {
     public int getChunkZ() {
         return chunkZ;
     }
+
+    /**
+     * Packed {@link ChunkPos} key of this chunk's grid position.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Revision of the most recent {@link World#setBlock} in this chunk, drawn from
+     * a per-world counter that only increases; 0 if the chunk has not been edited
+     * since it was created. Caches derived from block data (e.g. the NPC
+     * navigation graph) compare revisions to detect that they are stale.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y * SIZE + z) * SIZE + x;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private int readIndex(int i) {
+        if (bitsPerBlock == BITS_NIBBLE) {
+            return (data[i >> 1] >> ((i & 1) << 2)) & 0xF;
+        }
+        return data[i] & 0xFF;
+    }
+
+    private void writeIndex(int i, int paletteIndex) {
+        if (bitsPerBlock == BITS_NIBBLE) {
+            int shift = (i & 1) << 2;
+            data[i >> 1] = (byte) ((data[i >> 1] & ~(0xF << shift)) | (paletteIndex << shift));
+        } else {
+            data[i] = (byte) paletteIndex;
+        }
+    }
+
+    /**
+     * Return the palette index for a block type, adding it to the palette (and
+     * widening the voxel array if the palette outgrows it) when it is new.
+     */
+    private int paletteIndexFor(BlockType type) {
+        int lookup = paletteLookup[type.ordinal()] & 0xFF;
+        if (lookup != 0) {
+            return lookup - 1;
+        }
+
+        int paletteIndex = addToPalette(type);
+        if (bitsPerBlock == BITS_UNIFORM) {
+            // Second block type: every existing voxel is palette entry 0
+            data = new byte[VOLUME / 2];
+            bitsPerBlock = BITS_NIBBLE;
+        } else if (bitsPerBlock == BITS_NIBBLE && paletteSize > NIBBLE_PALETTE_LIMIT) {
+            byte[] wide = new byte[VOLUME];
+            for (int i = 0; i < VOLUME; i++) {
+                wide[i] = (byte) ((data[i >> 1] >> ((i & 1) << 2)) & 0xF);
+            }
+            data = wide;
+            bitsPerBlock = BITS_BYTE;
+        }
+        return paletteIndex;
+    }
+
+    private int addToPalette(BlockType type) {
+        if (paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, palette.length * 2);
+        }
+        palette[paletteSize] = type;
+        paletteLookup[type.ordinal()] = (byte) (paletteSize + 1);
+        return paletteSize++;
+    }
 }
@@ -0,0 +1,169 @@
+package ragamuffin.world;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of packed {@link ChunkPos} keys.
+ *
+ * <p>The set counterpart of {@link ChunkMap}: keys are primitive longs, so adds
+ * and lookups allocate nothing and never box. Uses the same linear probing over
+ * power-of-two tables with backward-shift deletion. Any long is a valid key,
+ * including 0, so occupancy is tracked separately. Not thread-safe.</p>
+ */
+public final class ChunkKeySet {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private boolean[] used;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public ChunkKeySet() {
+        this(64);
+    }
+
+    /**
+     * @param expectedSize number of keys the set should hold without resizing
+     */
+    public ChunkKeySet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public boolean contains(long key) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Add a key.
+     *
+     * @return true if the key was not already present
+     */
+    public boolean add(long key) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        used[i] = true;
+        if (++size > threshold) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /** See {@link ChunkMap}: move later entries of the probe run back into the gap. */
+    private void shiftBack(int gap) {
+        int j = gap;
+        while (true) {
+            j = (j + 1) & mask;
+            if (!used[j]) {
+                break;
+            }
+            int home = slot(keys[j]);
+            boolean homeBetween = gap <= j ? (gap < home && home <= j) : (gap < home || home <= j);
+            if (!homeBetween) {
+                keys[gap] = keys[j];
+                gap = j;
+            }
+        }
+        used[gap] = false;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int j = slot(oldKeys[i]);
+                while (used[j]) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                used[j] = true;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(used, false);
+            size = 0;
+        }
+    }
+
+    /** Copy the keys into a new array, in table order. */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                result[n++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Hand every key to the consumer, in table order. The set must not be
+     * modified while iterating.
+     */
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                consumer.accept(keys[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package ragamuffin.world;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Open-addressing hash map from a packed {@link ChunkPos} key to a value.
+ *
+ * <p>Keys are primitive longs, so lookups allocate nothing and never box. Uses
+ * linear probing over power-of-two tables with backward-shift deletion (no
+ * tombstones), which keeps probe sequences short under the constant load/unload
+ * churn of chunk streaming. Null values are not allowed — a null slot marks an
+ * empty bucket. Not thread-safe.</p>
+ *
+ * @param <V> the value type
+ */
+public final class ChunkMap<V> {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    public ChunkMap() {
+        this(64);
+    }
+
+    /**
+     * @param expectedSize number of entries the map should hold without resizing
+     */
+    public ChunkMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = slot(key);
+        Object v;
+        while ((v = values[i]) != null) {
+            if (keys[i] == key) {
+                return (V) v;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associate a value with a key.
+     *
+     * @return the previous value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("ChunkMap does not accept null values");
+        }
+        int i = slot(key);
+        Object v;
+        while ((v = values[i]) != null) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return (V) v;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @return the removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = slot(key);
+        Object v;
+        while ((v = values[i]) != null) {
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return (V) v;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Close the gap left at slot {@code gap} by moving later entries of the same
+     * probe run back, so lookups never stop early at a hole.
+     */
+    private void shiftBack(int gap) {
+        int j = gap;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == null) {
+                break;
+            }
+            int home = slot(keys[j]);
+            // The entry may move into the gap unless its home lies cyclically in (gap, j]
+            boolean homeBetween = gap <= j ? (gap < home && home <= j) : (gap < home || home <= j);
+            if (!homeBetween) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int j = slot(oldKeys[i]);
+                while (values[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Iterate over the values in table order. The map must not be modified while
+     * iterating.
+     */
+    public Iterable<V> values() {
+        return () -> new Iterator<V>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (next >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                V v = (V) values[next];
+                next = advance(next + 1);
+                return v;
+            }
+        };
+    }
+}
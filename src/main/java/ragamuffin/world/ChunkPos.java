@@ -0,0 +1,41 @@
+package ragamuffin.world;
+
+/**
+ * Packs chunk grid coordinates into a single {@code long} key, replacing the
+ * {@code "x,y,z"} strings previously used to index chunks.
+ *
+ * <p>Layout: 26 bits of X (bits 38-63), 26 bits of Z (bits 12-37) and 12 bits of
+ * Y (bits 0-11), each two's complement. That covers chunk X/Z of ±33 million and
+ * chunk Y of ±2048 — far beyond anything the world generates.</p>
+ */
+public final class ChunkPos {
+
+    private ChunkPos() {}
+
+    /** Pack chunk coordinates into a key. */
+    public static long pack(int chunkX, int chunkY, int chunkZ) {
+        return ((long) chunkX & 0x3FFFFFFL) << 38
+             | ((long) chunkZ & 0x3FFFFFFL) << 12
+             | ((long) chunkY & 0xFFFL);
+    }
+
+    /** Unpack the chunk X coordinate from a key. */
+    public static int x(long key) {
+        return (int) (key >> 38);
+    }
+
+    /** Unpack the chunk Y coordinate from a key. */
+    public static int y(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    /** Unpack the chunk Z coordinate from a key. */
+    public static int z(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+    /** Format a key as {@code "x,y,z"} for logging and diagnostics. */
+    public static String toString(long key) {
+        return x(key) + "," + y(key) + "," + z(key);
+    }
+}
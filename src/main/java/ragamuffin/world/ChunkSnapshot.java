@@ -0,0 +1,113 @@
+package ragamuffin.world;
+
+import java.util.BitSet;
+
+/**
+ * Immutable copy of a chunk's blocks plus a one-voxel border taken from the
+ * neighbouring chunks, so a mesh can be built without touching the live
+ * {@link World}. Captured on the render thread and safe to read from any thread.
+ *
+ * <p>Local coordinates run from -1 to {@link Chunk#SIZE} (or {@link Chunk#HEIGHT})
+ * inclusive; -1 and SIZE address the border. Block types are stored as one byte
+ * ordinal per voxel. Open/closed state is recorded for door blocks inside the
+ * chunk because door panels are meshed differently when open.</p>
+ */
+public final class ChunkSnapshot {
+    private static final BlockType[] BLOCK_TYPES = BlockType.values();
+
+    /** Padded dimensions: chunk size plus one voxel on each side. */
+    private static final int PADDED_SIZE = Chunk.SIZE + 2;
+    private static final int PADDED_HEIGHT = Chunk.HEIGHT + 2;
+
+    private final int chunkX, chunkY, chunkZ;
+    private final byte[] blocks;
+    private final BitSet openDoors; // indexed like blocks; null when the chunk has no open doors
+
+    private ChunkSnapshot(int chunkX, int chunkY, int chunkZ, byte[] blocks, BitSet openDoors) {
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        this.chunkZ = chunkZ;
+        this.blocks = blocks;
+        this.openDoors = openDoors;
+    }
+
+    /**
+     * Copy a chunk and its one-voxel neighbour border.
+     *
+     * @param chunk the chunk to copy
+     * @param world the world used for border blocks and door state; when null the
+     *              border is AIR and all doors are closed (e.g. unit tests)
+     */
+    public static ChunkSnapshot capture(Chunk chunk, World world) {
+        byte[] blocks = new byte[PADDED_SIZE * PADDED_HEIGHT * PADDED_SIZE];
+        BitSet openDoors = null;
+        int baseX = chunk.getChunkX() * Chunk.SIZE;
+        int baseY = chunk.getChunkY() * Chunk.HEIGHT;
+        int baseZ = chunk.getChunkZ() * Chunk.SIZE;
+
+        for (int y = -1; y <= Chunk.HEIGHT; y++) {
+            boolean borderY = y < 0 || y == Chunk.HEIGHT;
+            for (int z = -1; z <= Chunk.SIZE; z++) {
+                boolean borderZ = borderY || z < 0 || z == Chunk.SIZE;
+                for (int x = -1; x <= Chunk.SIZE; x++) {
+                    BlockType type;
+                    if (borderZ || x < 0 || x == Chunk.SIZE) {
+                        type = world != null ? world.getBlock(baseX + x, baseY + y, baseZ + z) : BlockType.AIR;
+                    } else {
+                        type = chunk.getBlock(x, y, z);
+                        if (world != null && (type == BlockType.DOOR_LOWER || type == BlockType.DOOR_UPPER)) {
+                            int lowerY = type == BlockType.DOOR_UPPER ? baseY + y - 1 : baseY + y;
+                            if (world.isDoorOpen(baseX + x, lowerY, baseZ + z)) {
+                                if (openDoors == null) {
+                                    openDoors = new BitSet();
+                                }
+                                openDoors.set(index(x, y, z));
+                            }
+                        }
+                    }
+                    blocks[index(x, y, z)] = (byte) type.ordinal();
+                }
+            }
+        }
+        return new ChunkSnapshot(chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ(), blocks, openDoors);
+    }
+
+    /**
+     * Get the block at a local position. Positions one voxel outside the chunk
+     * return the neighbouring chunk's block; anything further out is AIR.
+     */
+    public BlockType getBlock(int x, int y, int z) {
+        if (x < -1 || x > Chunk.SIZE || y < -1 || y > Chunk.HEIGHT || z < -1 || z > Chunk.SIZE) {
+            return BlockType.AIR;
+        }
+        return BLOCK_TYPES[blocks[index(x, y, z)]];
+    }
+
+    /**
+     * Whether the door block at this local position belongs to an open door.
+     * Valid for DOOR_LOWER and DOOR_UPPER blocks inside the chunk.
+     */
+    public boolean isDoorOpen(int x, int y, int z) {
+        if (openDoors == null || x < 0 || x >= Chunk.SIZE || y < 0 || y >= Chunk.HEIGHT
+                || z < 0 || z >= Chunk.SIZE) {
+            return false;
+        }
+        return openDoors.get(index(x, y, z));
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkY() {
+        return chunkY;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    private static int index(int x, int y, int z) {
+        return ((y + 1) * PADDED_SIZE + (z + 1)) * PADDED_SIZE + (x + 1);
+    }
+}
@@ -0,0 +1,154 @@
+package ragamuffin.world;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Uniform 2D grid over landmark footprints, answering "which landmark is at this
+ * block" without testing every landmark.
+ *
+ * <p>The X/Z bounds of all landmarks are divided into {@link #CELL_SIZE}-block
+ * cells, and each cell lists the landmarks whose footprint overlaps it, in the
+ * order they were given. A point query tests only its cell's list with
+ * {@link Landmark#contains}, so it returns the same landmark a linear scan in
+ * that order would. An index is never updated; {@link World} builds a new one
+ * after its landmarks change. Box queries are not thread-safe.</p>
+ */
+final class LandmarkIndex {
+
+    /** Cell edge length in blocks. */
+    static final int CELL_SIZE = Chunk.SIZE;
+
+    private static final Landmark[] NO_LANDMARKS = new Landmark[0];
+    private static final int[] EMPTY_CELL = new int[0];
+
+    private final Landmark[] all;
+    // Per cell, indices into all of the landmarks overlapping it, ascending
+    private final int[][] cells;
+    private final int minCellX;
+    private final int minCellZ;
+    private final int cellsX;
+    private final int cellsZ;
+    // Per-landmark query stamps, so a box query reports each landmark once
+    private final int[] seen;
+    private int query;
+
+    LandmarkIndex(Collection<Landmark> landmarks) {
+        all = landmarks.toArray(NO_LANDMARKS);
+        seen = new int[all.length];
+        if (all.length == 0) {
+            cells = new int[0][];
+            minCellX = minCellZ = cellsX = cellsZ = 0;
+            return;
+        }
+
+        int loX = Integer.MAX_VALUE, loZ = Integer.MAX_VALUE;
+        int hiX = Integer.MIN_VALUE, hiZ = Integer.MIN_VALUE;
+        for (Landmark landmark : all) {
+            loX = Math.min(loX, cellOf(minX(landmark)));
+            loZ = Math.min(loZ, cellOf(minZ(landmark)));
+            hiX = Math.max(hiX, cellOf(maxX(landmark)));
+            hiZ = Math.max(hiZ, cellOf(maxZ(landmark)));
+        }
+        minCellX = loX;
+        minCellZ = loZ;
+        cellsX = Math.max(hiX, loX) - loX + 1;
+        cellsZ = Math.max(hiZ, loZ) - loZ + 1;
+
+        List<List<Integer>> buckets = new ArrayList<>(cellsX * cellsZ);
+        for (int i = 0; i < cellsX * cellsZ; i++) {
+            buckets.add(null);
+        }
+        for (int id = 0; id < all.length; id++) {
+            Landmark landmark = all[id];
+            for (int cz = cellOf(minZ(landmark)); cz <= cellOf(maxZ(landmark)); cz++) {
+                for (int cx = cellOf(minX(landmark)); cx <= cellOf(maxX(landmark)); cx++) {
+                    int cell = (cz - minCellZ) * cellsX + (cx - minCellX);
+                    if (buckets.get(cell) == null) {
+                        buckets.set(cell, new ArrayList<>(2));
+                    }
+                    buckets.get(cell).add(id);
+                }
+            }
+        }
+        cells = new int[cellsX * cellsZ][];
+        for (int i = 0; i < cells.length; i++) {
+            List<Integer> bucket = buckets.get(i);
+            if (bucket == null) {
+                cells[i] = EMPTY_CELL;
+                continue;
+            }
+            cells[i] = new int[bucket.size()];
+            for (int j = 0; j < bucket.size(); j++) {
+                cells[i][j] = bucket.get(j);
+            }
+        }
+    }
+
+    /**
+     * The first landmark, in construction order, containing the block.
+     *
+     * @return the landmark, or null if the block is not part of a landmark
+     */
+    Landmark landmarkAt(int x, int y, int z) {
+        for (int id : cell(cellOf(x), cellOf(z))) {
+            if (all[id].contains(x, y, z)) {
+                return all[id];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Append every landmark whose footprint overlaps the X/Z box, at any height,
+     * to {@code out}. Bounds are inclusive block coordinates; each landmark is
+     * added once, in no particular order.
+     */
+    void landmarksIn(int minX, int minZ, int maxX, int maxZ, List<Landmark> out) {
+        if (all.length == 0 || maxX < minX || maxZ < minZ) return;
+        query++;
+        int fromX = Math.max(cellOf(minX), minCellX), toX = Math.min(cellOf(maxX), minCellX + cellsX - 1);
+        int fromZ = Math.max(cellOf(minZ), minCellZ), toZ = Math.min(cellOf(maxZ), minCellZ + cellsZ - 1);
+        for (int cz = fromZ; cz <= toZ; cz++) {
+            for (int cx = fromX; cx <= toX; cx++) {
+                for (int id : cell(cx, cz)) {
+                    if (seen[id] == query) continue;
+                    seen[id] = query;
+                    Landmark landmark = all[id];
+                    if (minX(landmark) <= maxX && maxX(landmark) >= minX
+                            && minZ(landmark) <= maxZ && maxZ(landmark) >= minZ) {
+                        out.add(landmark);
+                    }
+                }
+            }
+        }
+    }
+
+    private int[] cell(int cx, int cz) {
+        int x = cx - minCellX, z = cz - minCellZ;
+        if (x < 0 || x >= cellsX || z < 0 || z >= cellsZ) return EMPTY_CELL;
+        return cells[z * cellsX + x];
+    }
+
+    private static int cellOf(int block) {
+        return Math.floorDiv(block, CELL_SIZE);
+    }
+
+    // Inclusive block bounds of a footprint (Landmark.contains is exclusive at the far edge)
+    private static int minX(Landmark landmark) {
+        return (int) Math.ceil(landmark.getPosition().x);
+    }
+
+    private static int minZ(Landmark landmark) {
+        return (int) Math.ceil(landmark.getPosition().z);
+    }
+
+    private static int maxX(Landmark landmark) {
+        return (int) Math.ceil(landmark.getPosition().x + landmark.getWidth()) - 1;
+    }
+
+    private static int maxZ(Landmark landmark) {
+        return (int) Math.ceil(landmark.getPosition().z + landmark.getDepth()) - 1;
+    }
+}
@@ -2,14 +2,20 @@ package ragamuffin.world;
 
 import com.badlogic.gdx.math.Vector3;
 
+import java.util.function.Predicate;
+
 /**
  * Voxel raycast utility using DDA algorithm.
- * Finds the first solid block intersected by a ray.
+ * Finds the first block intersected by a ray that a filter accepts.
  */
 public class Raycast {
 
+    /** Blocks the player can target: solid blocks and door blocks. */
+    public static final Predicate<BlockType> TARGETABLE = block ->
+        block != BlockType.AIR && (block.isSolid() || block == BlockType.DOOR_LOWER || block == BlockType.DOOR_UPPER);
+
     /**
-     * Cast a ray through the voxel world and return the first solid block hit.
+     * Cast a ray through the voxel world and return the first {@link #TARGETABLE} block hit.
      *
      * @param world The world to raycast in
      * @param origin Starting position of the ray
@@ -18,40 +24,63 @@ public class Raycast {
      * @return RaycastResult if a block was hit, null otherwise
      */
     public static RaycastResult cast(World world, Vector3 origin, Vector3 direction, float maxDistance) {
+        RaycastResult result = new RaycastResult();
+        if (!cast(world, origin.x, origin.y, origin.z, direction.x, direction.y, direction.z,
+                maxDistance, TARGETABLE, result)) {
+            return null; // No hit within max distance
+        }
+        return result;
+    }
+
+    /**
+     * Cast a ray through the voxel world without allocating, writing the first block
+     * the filter accepts into {@code out}. {@code out} is left unchanged on a miss.
+     *
+     * @param world The world to raycast in
+     * @param maxDistance Maximum distance to check
+     * @param filter which blocks stop the ray, e.g. {@link #TARGETABLE}
+     * @param out receives the hit block, its type, the hit point and distance
+     * @return true if a block was hit
+     */
+    public static boolean cast(World world, float originX, float originY, float originZ,
+                               float dirX, float dirY, float dirZ, float maxDistance,
+                               Predicate<BlockType> filter, RaycastResult out) {
         // DDA voxel traversal algorithm
-        Vector3 pos = new Vector3(origin);
-        Vector3 dir = new Vector3(direction).nor();
+        float len = (float) Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
+        float invLen = len > 0f ? 1f / len : 0f; // A zero direction only tests the origin block
+        float dx = dirX * invLen;
+        float dy = dirY * invLen;
+        float dz = dirZ * invLen;
 
         // Current voxel position
-        int x = (int) Math.floor(pos.x);
-        int y = (int) Math.floor(pos.y);
-        int z = (int) Math.floor(pos.z);
+        int x = (int) Math.floor(originX);
+        int y = (int) Math.floor(originY);
+        int z = (int) Math.floor(originZ);
 
         // Step direction for each axis
-        int stepX = dir.x > 0 ? 1 : (dir.x < 0 ? -1 : 0);
-        int stepY = dir.y > 0 ? 1 : (dir.y < 0 ? -1 : 0);
-        int stepZ = dir.z > 0 ? 1 : (dir.z < 0 ? -1 : 0);
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+        int stepZ = dz > 0 ? 1 : (dz < 0 ? -1 : 0);
 
         // Distance along the ray to cross one voxel on each axis
-        float tDeltaX = stepX != 0 ? Math.abs(1.0f / dir.x) : Float.MAX_VALUE;
-        float tDeltaY = stepY != 0 ? Math.abs(1.0f / dir.y) : Float.MAX_VALUE;
-        float tDeltaZ = stepZ != 0 ? Math.abs(1.0f / dir.z) : Float.MAX_VALUE;
+        float tDeltaX = stepX != 0 ? Math.abs(1.0f / dx) : Float.MAX_VALUE;
+        float tDeltaY = stepY != 0 ? Math.abs(1.0f / dy) : Float.MAX_VALUE;
+        float tDeltaZ = stepZ != 0 ? Math.abs(1.0f / dz) : Float.MAX_VALUE;
 
         // Distance along ray to next voxel boundary on each axis
-        float tMaxX = stepX > 0 ? (x + 1 - pos.x) / dir.x : (stepX < 0 ? (pos.x - x) / -dir.x : Float.MAX_VALUE);
-        float tMaxY = stepY > 0 ? (y + 1 - pos.y) / dir.y : (stepY < 0 ? (pos.y - y) / -dir.y : Float.MAX_VALUE);
-        float tMaxZ = stepZ > 0 ? (z + 1 - pos.z) / dir.z : (stepZ < 0 ? (pos.z - z) / -dir.z : Float.MAX_VALUE);
+        float tMaxX = stepX > 0 ? (x + 1 - originX) / dx : (stepX < 0 ? (originX - x) / -dx : Float.MAX_VALUE);
+        float tMaxY = stepY > 0 ? (y + 1 - originY) / dy : (stepY < 0 ? (originY - y) / -dy : Float.MAX_VALUE);
+        float tMaxZ = stepZ > 0 ? (z + 1 - originZ) / dz : (stepZ < 0 ? (originZ - z) / -dz : Float.MAX_VALUE);
 
         float distance = 0;
 
         // Traverse voxels along the ray
         while (distance < maxDistance) {
-            // Check if current voxel is solid or a door block (non-solid but targetable/breakable)
             BlockType block = world.getBlock(x, y, z);
-            boolean isDoorBlock = block == BlockType.DOOR_LOWER || block == BlockType.DOOR_UPPER;
-            if (block != BlockType.AIR && (block.isSolid() || isDoorBlock)) {
-                Vector3 hitPos = new Vector3(origin).add(new Vector3(dir).scl(distance));
-                return new RaycastResult(x, y, z, block, hitPos, distance);
+            if (filter.test(block)) {
+                out.set(x, y, z, block,
+                    originX + dx * distance, originY + dy * distance, originZ + dz * distance, distance);
+                return true;
             }
 
             // Step to next voxel
@@ -78,6 +107,6 @@ public class Raycast {
             }
         }
 
-        return null; // No hit within max distance
+        return false; // No hit within max distance
     }
 }
@@ -4,14 +4,24 @@ import com.badlogic.gdx.math.Vector3;
 
 /**
  * Result of a raycast against the voxel world.
+ *
+ * <p>Instances created with the no-argument constructor are reusable holders for the
+ * allocation-free {@link Raycast#cast(World, float, float, float, float, float, float,
+ * float, java.util.function.Predicate, RaycastResult)} overload: each hit overwrites
+ * the previous one, including the {@link #getHitPosition()} vector.</p>
  */
 public class RaycastResult {
-    private final int blockX;
-    private final int blockY;
-    private final int blockZ;
-    private final BlockType blockType;
+    private int blockX;
+    private int blockY;
+    private int blockZ;
+    private BlockType blockType;
     private final Vector3 hitPosition;
-    private final float distance;
+    private float distance;
+
+    /** An empty holder to pass to {@link Raycast#cast} and reuse across casts. */
+    public RaycastResult() {
+        this.hitPosition = new Vector3();
+    }
 
     public RaycastResult(int blockX, int blockY, int blockZ, BlockType blockType, Vector3 hitPosition, float distance) {
         this.blockX = blockX;
@@ -22,6 +32,16 @@ public class RaycastResult {
         this.distance = distance;
     }
 
+    void set(int blockX, int blockY, int blockZ, BlockType blockType,
+             float hitX, float hitY, float hitZ, float distance) {
+        this.blockX = blockX;
+        this.blockY = blockY;
+        this.blockZ = blockZ;
+        this.blockType = blockType;
+        this.hitPosition.set(hitX, hitY, hitZ);
+        this.distance = distance;
+    }
+
     public int getBlockX() {
         return blockX;
     }
@@ -1,6 +1,7 @@
 package ragamuffin.world;
 
 import com.badlogic.gdx.math.Vector3;
+import ragamuffin.building.Material;
 import ragamuffin.building.SmallItem;
 import ragamuffin.entity.AABB;
 import ragamuffin.entity.DamageReason;
@@ -8,13 +9,17 @@ import ragamuffin.entity.Player;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Application;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
+import java.util.function.LongConsumer;
 
 /**
  * Manages the voxel world - chunk loading/unloading and world data access.
  */
 public class World {
-    private static final int RENDER_DISTANCE_DESKTOP = 8;
+    private static final int RENDER_DISTANCE_DESKTOP = 10;
     private static final int RENDER_DISTANCE_WEB = 6;
     private static final int RENDER_DISTANCE = detectRenderDistance();
     private static final int WORLD_CHUNK_RADIUS = 15; // Half world size in chunks (480/2/16=15)
@@ -29,42 +34,109 @@ public class World {
     }
 
     private final long seed;
-    private final Map<String, Chunk> loadedChunks;
+    private final ChunkMap<Chunk> loadedChunks; // Packed ChunkPos key -> chunk
     private final Map<LandmarkType, Landmark> landmarks;
+    private LandmarkIndex landmarkIndex; // Built on first query after the landmarks change
     private WorldGenerator generator;
     private final Set<String> policeTapedBlocks; // Blocks with police tape
     private final Set<String> protectedBlocks; // Blocks protected from breaking
     private final Set<String> planningNoticeBlocks; // Blocks with planning notices (Phase 7)
-    private final Set<String> dirtyChunks; // Chunks needing mesh rebuild
+    private final ChunkMap<Chunk> dirtyChunks; // Loaded chunks needing mesh rebuild
     private final Set<String> openDoors; // Open door positions (world coords of DOOR_LOWER)
-    private final Set<String> playerPlacedBlocks; // Positions where player has placed blocks
+    private final ChunkKeySet playerPlacedBlocks; // Positions where player has placed blocks (ChunkPos layout)
     private final List<SmallItem> smallItems; // Small items placed without grid snapping
     private final List<FlagPosition> flagPositions; // Issue #658: animated flag poles
     private final List<PropPosition> propPositions; // Issue #669: non-block 3D props
 
+    // Most recently looked-up chunk. Block queries (collision, line of sight,
+    // pathfinding) are strongly clustered, so this skips the map probe most of the time.
+    private Chunk lastChunk;
+    // Scratch buffer for keys unloaded by updateLoadedChunks()
+    private long[] unloadBuffer = new long[64];
+    // Incremented on every setBlock and stamped on the edited chunk (see Chunk.getRevision)
+    private long blockRevision;
+    // blockRevision when generate() finished; chunks edited later have a higher revision
+    private long generatedRevision;
+    // Player-placed positions (ChunkPos layout, block coordinates) changed since the
+    // last drainPlayerBlockChanges(); overflows rather than growing without bound
+    private long[] playerBlockChanges = new long[64];
+    private int playerBlockChangeCount;
+    private boolean playerBlockChangesOverflowed;
+    private static final int MAX_PLAYER_BLOCK_CHANGES = 4096;
+    private static final long[] NO_KEYS = new long[0];
+
     public World(long seed) {
         this.seed = seed;
-        this.loadedChunks = new HashMap<>();
+        this.loadedChunks = new ChunkMap<>(2048);
         this.landmarks = new HashMap<>();
         this.policeTapedBlocks = new HashSet<>();
         this.protectedBlocks = new HashSet<>();
         this.planningNoticeBlocks = new HashSet<>();
-        this.dirtyChunks = new HashSet<>();
+        this.dirtyChunks = new ChunkMap<>(2048);
         this.openDoors = new HashSet<>();
-        this.playerPlacedBlocks = new HashSet<>();
+        this.playerPlacedBlocks = new ChunkKeySet();
         this.smallItems = new ArrayList<>();
         this.flagPositions = new ArrayList<>();
         this.propPositions = new ArrayList<>();
     }
 
+    /**
+     * Seed this world was created with; generation from the same seed always
+     * produces the same town.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
     /**
      * Generate the world using the world generator.
      */
     public void generate() {
+        generate(Collections.emptySet());
+    }
+
+    /**
+     * Generate the world, leaving the terrain of the given chunks unfilled because
+     * {@link WorldSave} is about to replace them with saved contents.
+     */
+    void generate(Set<Long> savedChunkKeys) {
         generator = new WorldGenerator(seed);
+        generator.setSkippedTerrainChunks(savedChunkKeys);
         generator.generateWorld(this);
+        // Generation overwrites blocks many times over; drop stale palette entries
+        // so all-STONE / all-AIR chunks fall back to the single-block representation
+        for (Chunk chunk : loadedChunks.values()) {
+            chunk.compact();
+        }
         // Mark all generated chunks dirty so the mesh builder processes them on startup
-        dirtyChunks.addAll(loadedChunks.keySet());
+        for (Chunk chunk : loadedChunks.values()) {
+            dirtyChunks.put(chunk.getKey(), chunk);
+        }
+        generatedRevision = blockRevision;
+        if (Gdx.app != null) {
+            Gdx.app.log("World", "Generated in " + generator.getTimingReport());
+        }
+    }
+
+    /**
+     * Whether a block in this chunk has been set since {@link #generate} finished,
+     * i.e. its contents may differ from what the seed generates and must be saved.
+     */
+    public boolean isModifiedSinceGeneration(Chunk chunk) {
+        return chunk.getRevision() > generatedRevision;
+    }
+
+    /**
+     * Replace (or add) a loaded chunk with one read from a save. The chunk counts
+     * as modified since generation and is marked dirty for meshing.
+     */
+    void installChunk(Chunk chunk) {
+        loadedChunks.put(chunk.getKey(), chunk);
+        if (lastChunk != null && lastChunk.getKey() == chunk.getKey()) {
+            lastChunk = chunk;
+        }
+        chunk.setRevision(++blockRevision);
+        dirtyChunks.put(chunk.getKey(), chunk);
     }
 
     /**
@@ -103,7 +175,45 @@ public class World {
         int localZ = Math.floorMod(z, Chunk.SIZE);
 
         chunk.setBlock(localX, localY, localZ, type);
+        chunk.setRevision(++blockRevision);
         markBlockDirty(x, y, z);
+        if (!playerPlacedBlocks.isEmpty() && playerPlacedBlocks.contains(ChunkPos.pack(x, y, z))) {
+            logPlayerBlockChange(x, y, z); // e.g. a player-built wall knocked out
+        }
+    }
+
+    /**
+     * Record that a loaded chunk was filled directly through {@link Chunk#setBlock}
+     * rather than {@link #setBlock}: stamps a new edit revision and marks it dirty.
+     * Used by the world generator after its parallel terrain fill.
+     */
+    void markChunkFilled(Chunk chunk) {
+        chunk.setRevision(++blockRevision);
+        dirtyChunks.put(chunk.getKey(), chunk);
+    }
+
+    /**
+     * Edit revision of the whole world: changes whenever any block is set or a
+     * chunk is filled or loaded from a save.
+     */
+    public long getBlockRevision() {
+        return blockRevision;
+    }
+
+    /**
+     * Latest edit revision across the navigable chunks (chunk Y -1 to 1) of a
+     * chunk column, or 0 if none of them has been edited. Changes whenever a
+     * block in the column is set, so navigation caches can detect stale data.
+     */
+    public long getColumnRevision(int chunkX, int chunkZ) {
+        long revision = 0;
+        for (int chunkY = -1; chunkY <= 1; chunkY++) {
+            Chunk chunk = getChunk(chunkX, chunkY, chunkZ);
+            if (chunk != null) {
+                revision = Math.max(revision, chunk.getRevision());
+            }
+        }
+        return revision;
     }
 
     /**
@@ -114,26 +224,64 @@ public class World {
      */
     public void setPlayerBlock(int x, int y, int z, BlockType type) {
         setBlock(x, y, z, type);
-        String key = x + "," + y + "," + z;
+        long key = ChunkPos.pack(x, y, z);
         if (type == BlockType.AIR) {
             playerPlacedBlocks.remove(key);
-        } else {
-            playerPlacedBlocks.add(key);
+        } else if (playerPlacedBlocks.add(key)) {
+            logPlayerBlockChange(x, y, z);
+        }
+    }
+
+    /**
+     * Hand every player-placed block position changed since the last call (placed,
+     * removed, or overwritten by {@link #setBlock}) to the consumer, packed with
+     * {@link ChunkPos#pack} using block coordinates, and clear the log. Positions
+     * may repeat. The log has a single reader: {@link ragamuffin.building.StructureTracker}.
+     *
+     * @return false if too many changes piled up (or the player-placed set was
+     *         replaced wholesale) and the log was dropped; the caller must then
+     *         rescan from {@link #forEachPlayerPlacedBlock}
+     */
+    public boolean drainPlayerBlockChanges(LongConsumer consumer) {
+        boolean complete = !playerBlockChangesOverflowed;
+        if (complete) {
+            for (int i = 0; i < playerBlockChangeCount; i++) {
+                consumer.accept(playerBlockChanges[i]);
+            }
+        }
+        playerBlockChangeCount = 0;
+        playerBlockChangesOverflowed = false;
+        return complete;
+    }
+
+    private void logPlayerBlockChange(int x, int y, int z) {
+        if (playerBlockChangesOverflowed) {
+            return;
         }
+        if (playerBlockChangeCount == MAX_PLAYER_BLOCK_CHANGES) {
+            playerBlockChangesOverflowed = true;
+            playerBlockChangeCount = 0;
+            return;
+        }
+        if (playerBlockChangeCount == playerBlockChanges.length) {
+            playerBlockChanges = Arrays.copyOf(playerBlockChanges, playerBlockChanges.length * 2);
+        }
+        playerBlockChanges[playerBlockChangeCount++] = ChunkPos.pack(x, y, z);
     }
 
     /**
      * Check if a block position was placed by the player (not world-generated).
      */
     public boolean isPlayerPlaced(int x, int y, int z) {
-        return playerPlacedBlocks.contains(x + "," + y + "," + z);
+        return playerPlacedBlocks.contains(ChunkPos.pack(x, y, z));
     }
 
     /**
-     * Get the set of all player-placed block positions (as "x,y,z" keys).
+     * Hand every player-placed block position to the consumer, packed with
+     * {@link ChunkPos#pack} using block coordinates, in no particular order.
      */
-    public Set<String> getPlayerPlacedBlocks() {
-        return playerPlacedBlocks;
+    public void forEachPlayerPlacedBlock(LongConsumer consumer) {
+        playerPlacedBlocks.forEach(consumer);
     }
 
     /**
@@ -215,37 +363,47 @@ public class World {
      * Get a chunk at chunk coordinates, or null if not loaded.
      */
     public Chunk getChunk(int chunkX, int chunkY, int chunkZ) {
-        String key = getChunkKey(chunkX, chunkY, chunkZ);
-        return loadedChunks.get(key);
+        long key = ChunkPos.pack(chunkX, chunkY, chunkZ);
+        Chunk chunk = lastChunk;
+        if (chunk != null && chunk.getKey() == key) {
+            return chunk;
+        }
+        chunk = loadedChunks.get(key);
+        if (chunk != null) {
+            lastChunk = chunk;
+        }
+        return chunk;
     }
 
     /**
      * Get or create a chunk at chunk coordinates.
      */
     public Chunk getOrCreateChunk(int chunkX, int chunkY, int chunkZ) {
-        String key = getChunkKey(chunkX, chunkY, chunkZ);
-        return loadedChunks.computeIfAbsent(key, k -> new Chunk(chunkX, chunkY, chunkZ));
+        Chunk chunk = getChunk(chunkX, chunkY, chunkZ);
+        if (chunk == null) {
+            chunk = new Chunk(chunkX, chunkY, chunkZ);
+            loadedChunks.put(chunk.getKey(), chunk);
+            lastChunk = chunk;
+        }
+        return chunk;
     }
 
     /**
      * Check if a chunk is currently loaded.
      */
     public boolean isChunkLoaded(int chunkX, int chunkY, int chunkZ) {
-        String key = getChunkKey(chunkX, chunkY, chunkZ);
-        return loadedChunks.containsKey(key);
+        return getChunk(chunkX, chunkY, chunkZ) != null;
     }
 
     /**
      * Update which chunks are loaded based on player position.
-     * Returns the set of chunk keys that were unloaded, so callers can
-     * dispose any associated renderer resources (e.g. GPU mesh models).
+     * Returns the packed {@link ChunkPos} keys of the chunks that were unloaded, so
+     * callers can dispose any associated renderer resources (e.g. GPU mesh models).
      */
-    public Set<String> updateLoadedChunks(Vector3 playerPos) {
+    public long[] updateLoadedChunks(Vector3 playerPos) {
         int playerChunkX = Math.floorDiv((int) playerPos.x, Chunk.SIZE);
         int playerChunkZ = Math.floorDiv((int) playerPos.z, Chunk.SIZE);
 
-        Set<String> chunksToKeep = new HashSet<>();
-
         // Load chunks within render distance (both ground-level and underground)
         for (int dx = -RENDER_DISTANCE; dx <= RENDER_DISTANCE; dx++) {
             for (int dz = -RENDER_DISTANCE; dz <= RENDER_DISTANCE; dz++) {
@@ -254,8 +412,7 @@ public class World {
 
                 // Load ground-level chunk (chunkY = 0) and underground chunk (chunkY = -1)
                 for (int cy = -1; cy <= 0; cy++) {
-                    String key = getChunkKey(chunkX, cy, chunkZ);
-                    chunksToKeep.add(key);
+                    long key = ChunkPos.pack(chunkX, cy, chunkZ);
 
                     // Generate chunk if not already loaded
                     if (!loadedChunks.containsKey(key)) {
@@ -264,7 +421,7 @@ public class World {
                             generator.generateChunk(chunk, this);
                         }
                         loadedChunks.put(key, chunk);
-                        dirtyChunks.add(key);
+                        dirtyChunks.put(key, chunk);
                     }
                 }
             }
@@ -274,54 +431,67 @@ public class World {
         // World is 480 blocks = 30 chunks across, from chunk -15 to +14
         int worldChunkMin = -WORLD_CHUNK_RADIUS;
         int worldChunkMax = WORLD_CHUNK_RADIUS - 1;
-        Set<String> unloadedKeys = new HashSet<>();
-        loadedChunks.keySet().removeIf(key -> {
-            if (!chunksToKeep.contains(key)) {
-                // Parse chunk coords from key
-                String[] parts = key.split(",");
-                int cx = Integer.parseInt(parts[0]);
-                int cy = Integer.parseInt(parts[1]);
-                int cz = Integer.parseInt(parts[2]);
-                // Keep chunks within the generated world (surface and underground)
-                boolean inWorldBounds = cx >= worldChunkMin && cx <= worldChunkMax &&
-                       cz >= worldChunkMin && cz <= worldChunkMax &&
-                       cy >= -1 && cy <= 0;
-                if (!inWorldBounds) {
-                    unloadedKeys.add(key);
-                    return true;
+        int unloadCount = 0;
+        for (Chunk chunk : loadedChunks.values()) {
+            int cx = chunk.getChunkX();
+            int cy = chunk.getChunkY();
+            int cz = chunk.getChunkZ();
+            boolean inRenderDistance = Math.abs(cx - playerChunkX) <= RENDER_DISTANCE &&
+                   Math.abs(cz - playerChunkZ) <= RENDER_DISTANCE &&
+                   cy >= -1 && cy <= 0;
+            // Keep chunks within the generated world (surface and underground)
+            boolean inWorldBounds = cx >= worldChunkMin && cx <= worldChunkMax &&
+                   cz >= worldChunkMin && cz <= worldChunkMax &&
+                   cy >= -1 && cy <= 0;
+            if (!inRenderDistance && !inWorldBounds) {
+                if (unloadCount == unloadBuffer.length) {
+                    unloadBuffer = Arrays.copyOf(unloadBuffer, unloadCount * 2);
                 }
+                unloadBuffer[unloadCount++] = chunk.getKey();
             }
-            return false;
-        });
-        // Also remove from dirtyChunks so we don't try to build meshes for unloaded chunks
-        dirtyChunks.removeAll(unloadedKeys);
-        return unloadedKeys;
+        }
+        if (unloadCount == 0) {
+            return NO_KEYS;
+        }
+        for (int i = 0; i < unloadCount; i++) {
+            loadedChunks.remove(unloadBuffer[i]);
+            // Also remove from dirtyChunks so we don't try to build meshes for unloaded chunks
+            dirtyChunks.remove(unloadBuffer[i]);
+        }
+        lastChunk = null;
+        return Arrays.copyOf(unloadBuffer, unloadCount);
     }
 
     /**
-     * Get all currently loaded chunk keys.
+     * Get all currently loaded chunk keys as "x,y,z" strings (diagnostics only —
+     * use {@link #getChunk} or {@link #getLoadedChunks()} on hot paths).
      */
     public List<String> getLoadedChunkKeys() {
-        return new ArrayList<>(loadedChunks.keySet());
+        List<String> keys = new ArrayList<>(loadedChunks.size());
+        for (Chunk chunk : loadedChunks.values()) {
+            keys.add(ChunkPos.toString(chunk.getKey()));
+        }
+        return keys;
     }
 
     /**
      * Get all loaded chunks.
      */
     public Collection<Chunk> getLoadedChunks() {
-        return loadedChunks.values();
+        List<Chunk> chunks = new ArrayList<>(loadedChunks.size());
+        for (Chunk chunk : loadedChunks.values()) {
+            chunks.add(chunk);
+        }
+        return chunks;
     }
 
     /**
      * Get chunks that have been loaded or modified since last cleared.
      */
     public List<Chunk> getDirtyChunks() {
-        List<Chunk> dirty = new ArrayList<>();
-        for (String key : dirtyChunks) {
-            Chunk chunk = loadedChunks.get(key);
-            if (chunk != null) {
-                dirty.add(chunk);
-            }
+        List<Chunk> dirty = new ArrayList<>(dirtyChunks.size());
+        for (Chunk chunk : dirtyChunks.values()) {
+            dirty.add(chunk);
         }
         return dirty;
     }
@@ -337,16 +507,18 @@ public class World {
      * Mark a single chunk as clean (mesh rebuilt).
      */
     public void markChunkClean(Chunk chunk) {
-        String key = getChunkKey(chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ());
-        dirtyChunks.remove(key);
+        dirtyChunks.remove(chunk.getKey());
     }
 
     /**
      * Mark a specific chunk dirty by chunk coordinates (needs mesh rebuild).
+     * Chunks that are not loaded have no mesh, so marking them is a no-op.
      */
     public void markChunkDirty(int chunkX, int chunkY, int chunkZ) {
-        String key = getChunkKey(chunkX, chunkY, chunkZ);
-        dirtyChunks.add(key);
+        Chunk chunk = getChunk(chunkX, chunkY, chunkZ);
+        if (chunk != null) {
+            dirtyChunks.put(chunk.getKey(), chunk);
+        }
     }
 
     /**
@@ -375,6 +547,7 @@ public class World {
      */
     public void addLandmark(Landmark landmark) {
         landmarks.put(landmark.getType(), landmark);
+        landmarkIndex = null;
     }
 
     /**
@@ -396,26 +569,31 @@ public class World {
      * @return the landmark, or null if the block is not part of a landmark
      */
     public LandmarkType getLandmarkAt(int x, int y, int z) {
-        for (Landmark landmark : landmarks.values()) {
-            if (landmark.contains(x, y, z)) {
-                return landmark.getType();
-            }
-        }
-        return null;
+        Landmark landmark = landmarkIndex().landmarkAt(x, y, z);
+        return landmark != null ? landmark.getType() : null;
     }
 
     /**
-     * Get the render distance in chunks.
+     * Collect the landmarks whose footprint overlaps an X/Z area, at any height.
+     * Bounds are inclusive block coordinates; results are appended to {@code out}
+     * in no particular order.
      */
-    public int getRenderDistance() {
-        return RENDER_DISTANCE;
+    public void getLandmarksInArea(int minX, int minZ, int maxX, int maxZ, List<Landmark> out) {
+        landmarkIndex().landmarksIn(minX, minZ, maxX, maxZ, out);
+    }
+
+    private LandmarkIndex landmarkIndex() {
+        if (landmarkIndex == null) {
+            landmarkIndex = new LandmarkIndex(landmarks.values());
+        }
+        return landmarkIndex;
     }
 
     /**
-     * Get chunk key for storage.
+     * Get the render distance in chunks.
      */
-    private String getChunkKey(int chunkX, int chunkY, int chunkZ) {
-        return chunkX + "," + chunkY + "," + chunkZ;
+    public int getRenderDistance() {
+        return RENDER_DISTANCE;
     }
 
     /**
@@ -885,4 +1063,126 @@ public class World {
         BlockType type = getBlock(x, y, z);
         return type == BlockType.DOOR_LOWER || type == BlockType.DOOR_UPPER;
     }
+
+    // ── Save support ──────────────────────────────────────────────────────────
+
+    /**
+     * Write the state {@link WorldSave} keeps outside chunk data: police tape,
+     * protected blocks, planning notices, open doors, player-placed blocks, small
+     * items and props. Flags and landmarks are regenerated from the seed.
+     */
+    void writeAuxiliaryState(DataOutput out) throws IOException {
+        writeKeys(out, policeTapedBlocks);
+        writeKeys(out, protectedBlocks);
+        writeKeys(out, planningNoticeBlocks);
+        writeKeys(out, openDoors);
+        long[] placed = playerPlacedBlocks.toArray();
+        out.writeInt(placed.length);
+        for (long key : placed) {
+            out.writeUTF(ChunkPos.toString(key)); // Same "x,y,z" keys as the sets above
+        }
+
+        out.writeInt(smallItems.size());
+        for (SmallItem item : smallItems) {
+            out.writeUTF(item.getMaterial().name());
+            Vector3 pos = item.getPosition();
+            out.writeFloat(pos.x);
+            out.writeFloat(pos.y);
+            out.writeFloat(pos.z);
+        }
+
+        out.writeInt(propPositions.size());
+        for (PropPosition prop : propPositions) {
+            out.writeUTF(prop.getType().name());
+            out.writeFloat(prop.getWorldX());
+            out.writeFloat(prop.getWorldY());
+            out.writeFloat(prop.getWorldZ());
+            out.writeFloat(prop.getRotationY());
+        }
+    }
+
+    /**
+     * Replace this world's auxiliary state with data written by
+     * {@link #writeAuxiliaryState}. Entries naming materials or props that no
+     * longer exist are dropped.
+     */
+    void readAuxiliaryState(DataInput in) throws IOException {
+        Set<String> taped = readKeys(in);
+        Set<String> protectedKeys = readKeys(in);
+        Set<String> notices = readKeys(in);
+        Set<String> doors = readKeys(in);
+        Set<String> placed = readKeys(in);
+
+        List<SmallItem> items = new ArrayList<>();
+        int itemCount = in.readInt();
+        for (int i = 0; i < itemCount; i++) {
+            String material = in.readUTF();
+            Vector3 pos = new Vector3(in.readFloat(), in.readFloat(), in.readFloat());
+            try {
+                items.add(new SmallItem(Material.valueOf(material), pos));
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        List<PropPosition> props = new ArrayList<>();
+        int propCount = in.readInt();
+        for (int i = 0; i < propCount; i++) {
+            String type = in.readUTF();
+            float x = in.readFloat(), y = in.readFloat(), z = in.readFloat(), rotation = in.readFloat();
+            try {
+                props.add(new PropPosition(x, y, z, PropType.valueOf(type), rotation));
+            } catch (IllegalArgumentException ignored) {}
+        }
+
+        replace(policeTapedBlocks, taped);
+        replace(protectedBlocks, protectedKeys);
+        replace(planningNoticeBlocks, notices);
+        replace(openDoors, doors);
+        playerPlacedBlocks.clear();
+        for (String key : placed) {
+            playerPlacedBlocks.add(parseBlockKey(key));
+        }
+        playerBlockChangesOverflowed = true; // Structures must be rescanned from scratch
+        playerBlockChangeCount = 0;
+        smallItems.clear();
+        smallItems.addAll(items);
+        propPositions.clear();
+        propPositions.addAll(props);
+    }
+
+    private static void writeKeys(DataOutput out, Set<String> keys) throws IOException {
+        out.writeInt(keys.size());
+        for (String key : keys) {
+            out.writeUTF(key);
+        }
+    }
+
+    private static Set<String> readKeys(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Bad key count " + count);
+        }
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            keys.add(in.readUTF());
+        }
+        return keys;
+    }
+
+    /** Pack an {@code "x,y,z"} save key into the {@link ChunkPos} layout. */
+    private static long parseBlockKey(String key) throws IOException {
+        int firstComma = key.indexOf(',');
+        int secondComma = key.indexOf(',', firstComma + 1);
+        try {
+            return ChunkPos.pack(Integer.parseInt(key.substring(0, firstComma)),
+                Integer.parseInt(key.substring(firstComma + 1, secondComma)),
+                Integer.parseInt(key.substring(secondComma + 1)));
+        } catch (RuntimeException e) {
+            throw new IOException("Bad block key " + key, e);
+        }
+    }
+
+    private static void replace(Set<String> target, Set<String> contents) {
+        target.clear();
+        target.addAll(contents);
+    }
 }
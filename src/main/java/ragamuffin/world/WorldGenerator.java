@@ -1,15 +1,24 @@
 package ragamuffin.world;
 
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector3;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Procedurally generates a dense British town with landmarks.
@@ -26,6 +35,11 @@ import java.util.Set;
  *   <li>BUILDING_PLACEMENT — buildings are selected from the catalogue and placed on plots</li>
  *   <li>NPC_SPAWNING — shopkeeper and other landmark-specific NPC spawn points are registered</li>
  * </ol>
+ *
+ * <p>The terrain stage fills chunk columns on a pool of worker threads; every later
+ * stage draws from the single seeded {@link Random} and runs on the calling thread.
+ * Each column is written in the same block order regardless of which thread fills
+ * it, so a given seed produces byte-identical chunks for any worker count.</p>
  */
 public class WorldGenerator {
 
@@ -142,10 +156,19 @@ public class WorldGenerator {
 
     private final Random random;
     private final long seed;
-
-    // Heightmap cache for performance — maps (x,z) to terrain height
+    private final int workerThreads;
+
+    // Heightmap cache for performance — dense over the world bounds, indexed by
+    // (x + WORLD_SIZE/2) * WORLD_SIZE + (z + WORLD_SIZE/2); UNSET_HEIGHT until computed.
+    // Terrain workers each write only the cells of their own chunk columns.
+    private static final int UNSET_HEIGHT = Integer.MIN_VALUE;
+    private final int[] heightMap = new int[WORLD_SIZE * WORLD_SIZE];
+    // Heights outside the world bounds (chunks generated on demand past the edge)
     private final Map<Long, Integer> heightCache = new HashMap<>();
 
+    // Chunks whose terrain fill is skipped because a save will replace them (keys: ChunkPos)
+    private Set<Long> skippedTerrainChunks = Collections.emptySet();
+
     // Flat zones — areas that must stay at BASE_HEIGHT (buildings, roads)
     private final Set<Long> flatZones = new HashSet<>();
 
@@ -158,6 +181,9 @@ public class WorldGenerator {
     /** Tracks which generation stage is currently executing (or last completed). */
     private GenerationStage currentStage = GenerationStage.NOT_STARTED;
 
+    /** Wall-clock nanoseconds spent in each stage by the last {@link #generateWorld} call. */
+    private final Map<GenerationStage, Long> stageNanos = new EnumMap<>(GenerationStage.class);
+
     /**
      * All building plots identified during {@link GenerationStage#PLOT_IDENTIFICATION}.
      * Populated by {@link #stage3IdentifyPlots()}.
@@ -197,9 +223,25 @@ public class WorldGenerator {
     /** X start offset for the western residential rows. */
     private final int resOffX;
 
+    /**
+     * Create a generator that fills terrain on one worker per core (at most 8), or
+     * on the calling thread on WebGL.
+     */
     public WorldGenerator(long seed) {
+        this(seed, detectWorkerCount());
+    }
+
+    /**
+     * Create a generator with an explicit terrain worker count. The output does not
+     * depend on the count.
+     *
+     * @param workerThreads threads used to fill terrain; 1 or less fills inline
+     */
+    public WorldGenerator(long seed, int workerThreads) {
         this.seed = seed;
         this.random = new Random(seed);
+        this.workerThreads = Math.max(1, workerThreads);
+        Arrays.fill(heightMap, UNSET_HEIGHT);
 
         // Derive independent zone offsets from the seed using distinct multipliers.
         // Each offset is in the range [-8, +8] blocks and snapped to multiples of 4
@@ -218,6 +260,24 @@ public class WorldGenerator {
         resOffX    = snapToGrid(zoneRng.nextInt(9)  - 4);
     }
 
+    /**
+     * Leave the terrain of these chunks unfilled; {@link WorldSave} replaces them
+     * with saved contents once generation finishes. Later stages still run over them
+     * so the rest of the town is unchanged.
+     */
+    void setSkippedTerrainChunks(Set<Long> chunkKeys) {
+        this.skippedTerrainChunks = chunkKeys;
+    }
+
+    private static int detectWorkerCount() {
+        try {
+            if (Gdx.app != null && Gdx.app.getType() == Application.ApplicationType.WebGL) {
+                return 1;
+            }
+        } catch (Exception ignored) {}
+        return Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    }
+
     /** Round {@code v} to the nearest multiple of 4 (street-grid unit). */
     private static int snapToGrid(int v) {
         return Math.round(v / 4.0f) * 4;
@@ -228,6 +288,9 @@ public class WorldGenerator {
      * Uses value noise with multiple octaves for natural-looking hills.
      * Areas marked as flat zones return BASE_HEIGHT.
      * Areas near buildings are blended smoothly from BASE_HEIGHT to natural height.
+     *
+     * <p>Safe to call from terrain workers for distinct in-world columns, as long as
+     * no flat or near-building zones are being marked at the same time.</p>
      */
     public int getTerrainHeight(int x, int z) {
         long key = packCoord(x, z);
@@ -237,9 +300,20 @@ public class WorldGenerator {
             return BASE_HEIGHT;
         }
 
-        Integer cached = heightCache.get(key);
-        if (cached != null) {
-            return cached;
+        int halfWorld = WORLD_SIZE / 2;
+        int hx = x + halfWorld;
+        int hz = z + halfWorld;
+        boolean inWorld = hx >= 0 && hx < WORLD_SIZE && hz >= 0 && hz < WORLD_SIZE;
+        if (inWorld) {
+            int cached = heightMap[hx * WORLD_SIZE + hz];
+            if (cached != UNSET_HEIGHT) {
+                return cached;
+            }
+        } else {
+            Integer cached = heightCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
         }
 
         // Multi-octave value noise for natural terrain
@@ -264,7 +338,11 @@ public class WorldGenerator {
         int terrainY = BASE_HEIGHT + Math.max(0, Math.round(height));
         terrainY = Math.min(terrainY, BASE_HEIGHT + MAX_TERRAIN_HEIGHT);
 
-        heightCache.put(key, terrainY);
+        if (inWorld) {
+            heightMap[hx * WORLD_SIZE + hz] = terrainY;
+        } else {
+            heightCache.put(key, terrainY);
+        }
         return terrainY;
     }
 
@@ -559,29 +637,35 @@ public class WorldGenerator {
     public void generateWorld(World world) {
         // Clear random state
         random.setSeed(seed);
-
-        // Mark flat zones BEFORE generating terrain, so buildings sit on flat ground
-        markAllFlatZones();
+        stageNanos.clear();
 
         // ── Stage 1: Terrain ──────────────────────────────────────────────────
         currentStage = GenerationStage.TERRAIN;
+        long start = System.nanoTime();
+        // Mark flat zones BEFORE generating terrain, so buildings sit on flat ground
+        markAllFlatZones();
         stage1Terrain(world);
+        start = endStage(GenerationStage.TERRAIN, start);
 
         // ── Stage 2: Roads ────────────────────────────────────────────────────
         currentStage = GenerationStage.ROADS;
         stage2Roads(world);
+        start = endStage(GenerationStage.ROADS, start);
 
         // ── Stage 3: Plot identification ──────────────────────────────────────
         currentStage = GenerationStage.PLOT_IDENTIFICATION;
         stage3IdentifyPlots();
+        start = endStage(GenerationStage.PLOT_IDENTIFICATION, start);
 
         // ── Stage 4: Building placement ───────────────────────────────────────
         currentStage = GenerationStage.BUILDING_PLACEMENT;
         stage4PlaceBuildings(world);
+        start = endStage(GenerationStage.BUILDING_PLACEMENT, start);
 
         // ── Stage 5: NPC spawn-point registration ─────────────────────────────
         currentStage = GenerationStage.NPC_SPAWNING;
         stage5RegisterNpcSpawnPoints(world);
+        endStage(GenerationStage.NPC_SPAWNING, start);
 
         currentStage = GenerationStage.COMPLETE;
 
@@ -589,24 +673,136 @@ public class WorldGenerator {
         world.updateLoadedChunks(new Vector3(0, 0, 0));
     }
 
+    private long endStage(GenerationStage stage, long start) {
+        long now = System.nanoTime();
+        stageNanos.put(stage, now - start);
+        return now;
+    }
+
+    /**
+     * Milliseconds the last {@link #generateWorld} call spent in a stage, or 0 if the
+     * stage has not run. Terrain time includes marking the flat building zones.
+     */
+    public float getStageTimeMillis(GenerationStage stage) {
+        Long nanos = stageNanos.get(stage);
+        return nanos == null ? 0f : nanos / 1_000_000f;
+    }
+
+    /**
+     * One-line summary of per-stage timings from the last {@link #generateWorld}
+     * call, e.g. {@code "TERRAIN 412.3 ms, ROADS 8.1 ms, ... (total 655.0 ms)"}.
+     */
+    public String getTimingReport() {
+        StringBuilder sb = new StringBuilder();
+        long total = 0;
+        for (Map.Entry<GenerationStage, Long> entry : stageNanos.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(entry.getKey()).append(' ')
+              .append(String.format("%.1f", entry.getValue() / 1_000_000f)).append(" ms");
+            total += entry.getValue();
+        }
+        return sb.append(String.format(" (total %.1f ms)", total / 1_000_000f)).toString();
+    }
+
     // ── Stage 1: Terrain ──────────────────────────────────────────────────────
 
     private void stage1Terrain(World world) {
-        int halfWorld = WORLD_SIZE / 2;
-        for (int x = -halfWorld; x < halfWorld; x++) {
-            for (int z = -halfWorld; z < halfWorld; z++) {
-                int terrainHeight = getTerrainHeight(x, z);
-                // Bedrock (indestructible bottom layer at increased depth)
-                world.setBlock(x, BEDROCK_DEPTH, z, BlockType.BEDROCK);
-                // Stone layers from bedrock+1 up to -1
-                for (int y = BEDROCK_DEPTH + 1; y <= -1; y++) {
-                    world.setBlock(x, y, z, BlockType.STONE);
+        int halfChunks = WORLD_SIZE / 2 / Chunk.SIZE;
+        int undergroundChunkY = Math.floorDiv(BEDROCK_DEPTH, Chunk.HEIGHT);
+        int surfaceChunkY = Math.floorDiv(BASE_HEIGHT, Chunk.HEIGHT);
+
+        // Create every chunk up front, on this thread and in the order a block-by-block
+        // fill would create them, so the world's chunk table is the same either way.
+        // Each row of chunk columns (one chunk X) is then filled as an independent task.
+        List<Chunk[]> rows = new ArrayList<>();
+        for (int cx = -halfChunks; cx < halfChunks; cx++) {
+            Chunk[] row = new Chunk[halfChunks * 4];
+            for (int cz = -halfChunks; cz < halfChunks; cz++) {
+                int i = (cz + halfChunks) * 2;
+                row[i] = world.getOrCreateChunk(cx, undergroundChunkY, cz);
+                row[i + 1] = world.getOrCreateChunk(cx, surfaceChunkY, cz);
+            }
+            rows.add(row);
+        }
+
+        if (workerThreads <= 1) {
+            for (Chunk[] row : rows) {
+                fillTerrainRow(row);
+            }
+        } else {
+            AtomicInteger threadId = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(workerThreads, r -> {
+                Thread t = new Thread(r, "world-gen-" + threadId.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (Chunk[] row : rows) {
+                    tasks.add(() -> {
+                        fillTerrainRow(row);
+                        return null;
+                    });
+                }
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
                 }
-                // Fill dirt from y=0 up to terrainHeight-1, grass on top
-                for (int y = 0; y < terrainHeight; y++) {
-                    world.setBlock(x, y, z, BlockType.DIRT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Terrain generation interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Terrain generation failed", e.getCause());
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        for (Chunk[] row : rows) {
+            for (Chunk chunk : row) {
+                world.markChunkFilled(chunk);
+            }
+        }
+    }
+
+    /**
+     * Fill one row of chunk columns (underground chunk, surface chunk, ...) with bedrock,
+     * stone, dirt and grass. Writes go straight to the chunks; the world is only
+     * touched afterwards, on the generating thread.
+     */
+    private void fillTerrainRow(Chunk[] row) {
+        for (int i = 0; i < row.length; i += 2) {
+            Chunk underground = row[i];
+            Chunk surface = row[i + 1];
+            boolean fillUnderground = !skippedTerrainChunks.contains(underground.getKey());
+            boolean fillSurface = !skippedTerrainChunks.contains(surface.getKey());
+            if (!fillUnderground && !fillSurface) {
+                continue;
+            }
+            int baseX = underground.getChunkX() * Chunk.SIZE;
+            int baseZ = underground.getChunkZ() * Chunk.SIZE;
+            int undergroundBaseY = underground.getChunkY() * Chunk.HEIGHT;
+            int surfaceBaseY = surface.getChunkY() * Chunk.HEIGHT;
+            for (int lx = 0; lx < Chunk.SIZE; lx++) {
+                for (int lz = 0; lz < Chunk.SIZE; lz++) {
+                    int terrainHeight = getTerrainHeight(baseX + lx, baseZ + lz);
+                    if (fillUnderground) {
+                        // Bedrock (indestructible bottom layer at increased depth)
+                        underground.setBlock(lx, BEDROCK_DEPTH - undergroundBaseY, lz, BlockType.BEDROCK);
+                        // Stone layers from bedrock+1 up to -1
+                        for (int y = BEDROCK_DEPTH + 1; y <= -1; y++) {
+                            underground.setBlock(lx, y - undergroundBaseY, lz, BlockType.STONE);
+                        }
+                    }
+                    if (fillSurface) {
+                        // Fill dirt from y=0 up to terrainHeight-1, grass on top
+                        for (int y = 0; y < terrainHeight; y++) {
+                            surface.setBlock(lx, y - surfaceBaseY, lz, BlockType.DIRT);
+                        }
+                        surface.setBlock(lx, terrainHeight - surfaceBaseY, lz, BlockType.GRASS); // Surface layer
+                    }
                 }
-                world.setBlock(x, terrainHeight, z, BlockType.GRASS); // Surface layer
             }
         }
     }
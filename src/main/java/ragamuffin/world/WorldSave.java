@@ -0,0 +1,273 @@
+package ragamuffin.world;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary save for a {@link World}. Generation is deterministic, so a save holds
+ * only what the seed cannot reproduce: the seed itself, the state World keeps
+ * outside chunk data (police tape, doors, player-placed blocks, small items, props)
+ * and the blocks of every chunk edited since generation.
+ *
+ * <p>Layout under the save directory:</p>
+ * <ul>
+ *   <li>{@code world.dat} — header, seed and auxiliary state</li>
+ *   <li>{@code regions/r.<x>.<z>.dat} — the edited chunks of one
+ *       {@link #REGION_SIZE}x{@link #REGION_SIZE} area of chunk columns, each chunk
+ *       deflated on its own</li>
+ * </ul>
+ *
+ * <p>Saving is incremental: a region file is only rewritten when one of its chunks
+ * has been edited since the last save, so periodic autosaves touch a handful of
+ * small files. Loading regenerates the town from the seed, skipping the terrain
+ * fill for stored chunks, and then swaps the stored chunks in.</p>
+ *
+ * <p>Files are written to a temporary name and renamed into place, so an
+ * interrupted save leaves the previous file intact. Not thread-safe.</p>
+ */
+public class WorldSave {
+
+    /** Width of a region in chunk columns (X and Z). */
+    public static final int REGION_SIZE = 8;
+
+    /** Bumped whenever the file layout changes; older saves are rejected. */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int WORLD_MAGIC = 0x52475357;  // "RGSW"
+    private static final int REGION_MAGIC = 0x52475352; // "RGSR"
+    private static final String WORLD_FILE = "world.dat";
+    private static final String REGION_DIRECTORY = "regions";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final FileHandle directory;
+
+    // Revision of each chunk as of the last save/load, to find regions that changed
+    private final ChunkMap<Long> savedRevisions = new ChunkMap<>();
+    // World the revisions belong to; saving a different world starts from scratch
+    private World savedWorld;
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+    private final ByteArrayOutputStream scratch = new ByteArrayOutputStream(Chunk.VOLUME / 2);
+
+    private int lastRegionsWritten;
+
+    /**
+     * @param directory directory the save lives in; created on first save
+     */
+    public WorldSave(FileHandle directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Whether a save exists in this directory.
+     */
+    public boolean exists() {
+        return directory.child(WORLD_FILE).exists();
+    }
+
+    /**
+     * Delete the save from disk. The next {@link #save} writes every edited chunk.
+     */
+    public void delete() {
+        if (directory.exists()) {
+            directory.deleteDirectory();
+        }
+        savedRevisions.clear();
+        savedWorld = null;
+    }
+
+    /**
+     * Number of region files rewritten by the last {@link #save}.
+     */
+    public int getLastRegionsWritten() {
+        return lastRegionsWritten;
+    }
+
+    /**
+     * Write the world to disk, rewriting only regions that contain a chunk edited
+     * since the last save or load. The world file is always rewritten.
+     *
+     * @return the number of chunks written
+     */
+    public int save(World world) throws IOException {
+        FileHandle regionDir = directory.child(REGION_DIRECTORY);
+        if (world != savedWorld) {
+            // A different world (e.g. after a restart): nothing on disk is reusable
+            if (regionDir.exists()) {
+                regionDir.deleteDirectory();
+            }
+            savedRevisions.clear();
+            savedWorld = world;
+        }
+        regionDir.mkdirs();
+
+        Map<Long, List<Chunk>> regions = new HashMap<>();
+        for (Chunk chunk : world.getLoadedChunks()) {
+            if (world.isModifiedSinceGeneration(chunk)) {
+                regions.computeIfAbsent(regionKey(chunk), k -> new ArrayList<>()).add(chunk);
+            }
+        }
+
+        int chunksWritten = 0;
+        lastRegionsWritten = 0;
+        for (Map.Entry<Long, List<Chunk>> region : regions.entrySet()) {
+            List<Chunk> chunks = region.getValue();
+            if (!hasUnsavedChunk(chunks)) {
+                continue;
+            }
+            long key = region.getKey();
+            writeRegion(regionDir.child(regionFileName(ChunkPos.x(key), ChunkPos.z(key))), chunks);
+            for (Chunk chunk : chunks) {
+                savedRevisions.put(chunk.getKey(), chunk.getRevision());
+            }
+            chunksWritten += chunks.size();
+            lastRegionsWritten++;
+        }
+
+        writeWorldFile(world);
+        return chunksWritten;
+    }
+
+    /**
+     * Recreate the saved world: generate the town from the saved seed, then
+     * replace every stored chunk and restore the auxiliary state.
+     *
+     * @throws IOException if the save is missing, truncated or from an unsupported
+     *         format version
+     */
+    public World load() throws IOException {
+        byte[] worldBytes = directory.child(WORLD_FILE).readBytes();
+        DataInputStream worldIn = new DataInputStream(new ByteArrayInputStream(worldBytes));
+        readHeader(worldIn, WORLD_MAGIC, WORLD_FILE);
+        long seed = worldIn.readLong();
+
+        Map<Long, byte[]> stored = new LinkedHashMap<>();
+        FileHandle regionDir = directory.child(REGION_DIRECTORY);
+        if (regionDir.exists()) {
+            for (FileHandle file : regionDir.list()) {
+                if (file.name().startsWith("r.") && file.name().endsWith(".dat")) {
+                    readRegion(file, stored);
+                }
+            }
+        }
+
+        World world = new World(seed);
+        world.generate(stored.keySet());
+
+        savedRevisions.clear();
+        for (Map.Entry<Long, byte[]> entry : stored.entrySet()) {
+            long key = entry.getKey();
+            Chunk chunk = new Chunk(ChunkPos.x(key), ChunkPos.y(key), ChunkPos.z(key));
+            inflater.reset();
+            chunk.readBlocks(new DataInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(entry.getValue()), inflater)));
+            world.installChunk(chunk);
+            savedRevisions.put(key, chunk.getRevision());
+        }
+        world.readAuxiliaryState(worldIn);
+        savedWorld = world;
+        return world;
+    }
+
+    private boolean hasUnsavedChunk(List<Chunk> chunks) {
+        for (Chunk chunk : chunks) {
+            Long saved = savedRevisions.get(chunk.getKey());
+            if (saved == null || saved != chunk.getRevision()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeRegion(FileHandle file, List<Chunk> chunks) throws IOException {
+        FileHandle temp = file.sibling(file.name() + TEMP_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(temp.write(false)))) {
+            out.writeInt(REGION_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(chunks.size());
+            for (Chunk chunk : chunks) {
+                byte[] payload = compress(chunk);
+                out.writeLong(chunk.getKey());
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+        }
+        temp.moveTo(file);
+    }
+
+    private void readRegion(FileHandle file, Map<Long, byte[]> stored) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            readHeader(in, REGION_MAGIC, file.name());
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long key = in.readLong();
+                int length = in.readInt();
+                if (length < 0 || length > Chunk.VOLUME * 2) {
+                    throw new IOException("Bad chunk length " + length + " in " + file.name());
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                stored.put(key, payload);
+            }
+        }
+    }
+
+    private void writeWorldFile(World world) throws IOException {
+        FileHandle file = directory.child(WORLD_FILE);
+        FileHandle temp = file.sibling(WORLD_FILE + TEMP_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(temp.write(false)))) {
+            out.writeInt(WORLD_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(world.getSeed());
+            world.writeAuxiliaryState(out);
+        }
+        temp.moveTo(file);
+    }
+
+    private byte[] compress(Chunk chunk) throws IOException {
+        scratch.reset();
+        deflater.reset();
+        DeflaterOutputStream deflated = new DeflaterOutputStream(scratch, deflater);
+        DataOutputStream out = new DataOutputStream(deflated);
+        chunk.writeBlocks(out);
+        out.flush();
+        deflated.finish();
+        return scratch.toByteArray();
+    }
+
+    private static void readHeader(DataInputStream in, int magic, String name) throws IOException {
+        if (in.readInt() != magic) {
+            throw new IOException(name + " is not a Ragamuffin save file");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(name + " has unsupported save version " + version);
+        }
+    }
+
+    private static long regionKey(Chunk chunk) {
+        return ChunkPos.pack(Math.floorDiv(chunk.getChunkX(), REGION_SIZE), 0,
+            Math.floorDiv(chunk.getChunkZ(), REGION_SIZE));
+    }
+
+    static String regionFileName(int regionX, int regionZ) {
+        return "r." + regionX + "." + regionZ + ".dat";
+    }
+}
@@ -0,0 +1,127 @@
+package ragamuffin.ai;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ragamuffin.entity.NPC;
+import ragamuffin.entity.NPCType;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.World;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DDA line-of-sight trace and its per-tick cache.
+ */
+class LineOfSightTest {
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        world = new World(42);
+    }
+
+    /** Reference trace: samples the eye-to-eye segment every 0.005 blocks. */
+    private boolean fineSampledClear(Vector3 from, Vector3 to) {
+        Vector3 a = new Vector3(from.x, from.y + LineOfSight.EYE_HEIGHT, from.z);
+        Vector3 b = new Vector3(to.x, to.y + LineOfSight.EYE_HEIGHT, to.z);
+        int sx = (int) Math.floor(a.x), sy = (int) Math.floor(a.y), sz = (int) Math.floor(a.z);
+        int ex = (int) Math.floor(b.x), ey = (int) Math.floor(b.y), ez = (int) Math.floor(b.z);
+        int samples = (int) (a.dst(b) / 0.005f) + 1;
+        Vector3 p = new Vector3();
+        for (int i = 0; i <= samples; i++) {
+            p.set(a).lerp(b, i / (float) samples);
+            int x = (int) Math.floor(p.x), y = (int) Math.floor(p.y), z = (int) Math.floor(p.z);
+            if ((x == sx && y == sy && z == sz) || (x == ex && y == ey && z == ez)) continue;
+            BlockType block = world.getBlock(x, y, z);
+            if (block.isSolid() && block != BlockType.GLASS) return false;
+        }
+        return true;
+    }
+
+    @Test
+    void traceFindsEveryBlockTheLineCrosses() {
+        Random random = new Random(7);
+        for (int i = 0; i < 400; i++) {
+            world.setBlock(random.nextInt(30), 1 + random.nextInt(4), random.nextInt(30),
+                random.nextInt(4) == 0 ? BlockType.GLASS : BlockType.BRICK);
+        }
+        for (int i = 0; i < 500; i++) {
+            Vector3 from = new Vector3(random.nextFloat() * 30f, 1f + random.nextFloat() * 2f, random.nextFloat() * 30f);
+            Vector3 to = new Vector3(random.nextFloat() * 30f, 1f + random.nextFloat() * 2f, random.nextFloat() * 30f);
+            if (!fineSampledClear(from, to)) {
+                assertFalse(LineOfSight.isClear(world, from, to),
+                    "A block the sampled segment passes through must block " + from + " -> " + to);
+            }
+        }
+    }
+
+    @Test
+    void clippedCornerBlocksSight() {
+        // The near-diagonal line cuts the corner of block (5, 2, 4) for under 0.1 blocks,
+        // between crossing x = 5 at z = 4.955 and crossing z = 5 at x = 5.045
+        world.setBlock(5, 2, 4, BlockType.BRICK);
+        Vector3 from = new Vector3(0.5f, 1.5f, 0.5f);
+        Vector3 to = new Vector3(10.5f, 1.5f, 10.4f);
+
+        assertFalse(LineOfSight.isClear(world, from, to));
+        assertFalse(LineOfSight.isClear(world, to, from), "Sight must be symmetric");
+    }
+
+    @Test
+    void observersInOneBlockShareATraceUntilTheNextTick() {
+        LineOfSight los = new LineOfSight();
+        Vector3 target = new Vector3(20.5f, 1f, 5.5f);
+
+        assertTrue(los.canSee(world, new Vector3(5.2f, 1f, 5.2f), target));
+        assertTrue(los.canSee(world, new Vector3(5.8f, 1.1f, 5.7f), target));
+        assertEquals(1, los.getTraceCount());
+
+        // A wall built mid-tick is only seen after beginTick
+        for (int y = 1; y <= 3; y++) {
+            world.setBlock(10, y, 5, BlockType.BRICK);
+        }
+        assertTrue(los.canSee(world, new Vector3(5.5f, 1f, 5.5f), target));
+        los.beginTick();
+        assertFalse(los.canSee(world, new Vector3(5.5f, 1f, 5.5f), target));
+        assertEquals(2, los.getTraceCount());
+    }
+
+    @Test
+    void observersSharingAnEyeBlockTraceOnce() {
+        for (int y = 1; y <= 3; y++) {
+            world.setBlock(10, y, 5, BlockType.BRICK);
+        }
+        List<NPC> observers = List.of(
+            new NPC(NPCType.POLICE, 5.5f, 1f, 5.5f),   // behind the wall
+            new NPC(NPCType.POLICE, 15.5f, 1f, 8.5f),  // same side as the target
+            new NPC(NPCType.POLICE, 5.5f, 1f, 5.6f));  // same block as the first
+        boolean[] visible = new boolean[observers.size()];
+        LineOfSight los = new LineOfSight();
+        Vector3 target = new Vector3(20.5f, 1f, 5.5f);
+
+        for (int i = 0; i < observers.size(); i++) {
+            visible[i] = los.canSee(world, observers.get(i).getPosition(), target);
+        }
+
+        assertArrayEquals(new boolean[]{false, true, false}, visible);
+        assertEquals(2, los.getTraceCount());
+    }
+
+    @Test
+    void cacheGrowsPastItsInitialCapacity() {
+        LineOfSight los = new LineOfSight();
+        Vector3 target = new Vector3(0.5f, 1f, 0.5f);
+        for (int i = 0; i < 500; i++) {
+            assertTrue(los.canSee(world, new Vector3(i + 0.5f, 1f, 3.5f), target));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertTrue(los.canSee(world, new Vector3(i + 0.5f, 1f, 3.5f), target));
+        }
+        assertEquals(500, los.getTraceCount());
+    }
+}
@@ -0,0 +1,222 @@
+package ragamuffin.ai;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.Test;
+import ragamuffin.core.WitnessSystem;
+import ragamuffin.entity.NPC;
+import ragamuffin.entity.NPCState;
+import ragamuffin.entity.NPCType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the uniform-grid NPC spatial index. Every query is checked against
+ * the plain list scan it replaces.
+ */
+class NPCSpatialIndexTest {
+
+    private static final NPCType[] TYPES = {
+        NPCType.PUBLIC, NPCType.POLICE, NPCType.YOUTH_GANG, NPCType.PENSIONER, NPCType.DOG
+    };
+
+    private static List<NPC> randomNPCs(Random random, int count, float spread) {
+        List<NPC> npcs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            NPCType type = TYPES[random.nextInt(TYPES.length)];
+            NPC npc = new NPC(type, (random.nextFloat() - 0.5f) * spread, 1 + random.nextInt(3),
+                (random.nextFloat() - 0.5f) * spread);
+            if (random.nextInt(10) == 0) {
+                npc.takeDamage(Float.MAX_VALUE);
+            }
+            npcs.add(npc);
+        }
+        return npcs;
+    }
+
+    private static List<NPC> scanWithin(List<NPC> npcs, Vector3 center, float radius) {
+        List<NPC> result = new ArrayList<>();
+        for (NPC npc : npcs) {
+            if (npc.getPosition().dst2(center) <= radius * radius) {
+                result.add(npc);
+            }
+        }
+        return result;
+    }
+
+    private static NPC scanNearest(List<NPC> npcs, NPCType type, Vector3 center) {
+        NPC best = null;
+        float bestDist = Float.MAX_VALUE;
+        for (NPC npc : npcs) {
+            if (!npc.isAlive() || (type != null && npc.getType() != type)) continue;
+            float d = npc.getPosition().dst2(center);
+            if (d < bestDist) {
+                bestDist = d;
+                best = npc;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void testForEachWithinMatchesListScanInListOrder() {
+        Random random = new Random(42);
+        List<NPC> npcs = randomNPCs(random, 200, 300f);
+        NPCSpatialIndex index = new NPCSpatialIndex(npcs);
+
+        for (int q = 0; q < 300; q++) {
+            Vector3 center = new Vector3((random.nextFloat() - 0.5f) * 320f, 2f,
+                (random.nextFloat() - 0.5f) * 320f);
+            float radius = 1f + random.nextFloat() * (q % 10 == 0 ? 200f : 25f);
+            List<NPC> found = new ArrayList<>();
+            index.forEachWithin(center, radius, found::add);
+            assertEquals(scanWithin(npcs, center, radius), found,
+                "Query " + q + " at " + center + " r=" + radius);
+        }
+    }
+
+    @Test
+    void testCollectWithinReusesTheListAndMatchesListScan() {
+        Random random = new Random(19);
+        List<NPC> npcs = randomNPCs(random, 200, 300f);
+        NPCSpatialIndex index = new NPCSpatialIndex(npcs);
+
+        List<NPC> scratch = new ArrayList<>();
+        for (int q = 0; q < 100; q++) {
+            Vector3 center = new Vector3((random.nextFloat() - 0.5f) * 320f, 2f,
+                (random.nextFloat() - 0.5f) * 320f);
+            float radius = 1f + random.nextFloat() * 40f;
+            assertSame(scratch, index.collectWithin(center, radius, scratch));
+            assertEquals(scanWithin(npcs, center, radius), scratch,
+                "Query " + q + " at " + center + " r=" + radius);
+        }
+    }
+
+    @Test
+    void testNearestMatchesListScan() {
+        Random random = new Random(7);
+        List<NPC> npcs = randomNPCs(random, 150, 400f);
+        NPCSpatialIndex index = new NPCSpatialIndex(npcs);
+
+        for (int q = 0; q < 300; q++) {
+            Vector3 center = new Vector3((random.nextFloat() - 0.5f) * 600f, 1f,
+                (random.nextFloat() - 0.5f) * 600f);
+            NPCType type = q % 6 == 0 ? null : TYPES[random.nextInt(TYPES.length)];
+            assertSame(scanNearest(npcs, type, center), index.nearest(type, center),
+                "Query " + q + " for " + type + " at " + center);
+        }
+    }
+
+    @Test
+    void testNearestRespectsMaxRadius() {
+        List<NPC> npcs = new ArrayList<>();
+        npcs.add(new NPC(NPCType.POLICE, 30, 1, 0));
+        NPCSpatialIndex index = new NPCSpatialIndex(npcs);
+
+        assertNull(index.nearest(NPCType.POLICE, new Vector3(0, 1, 0), 20f));
+        assertSame(npcs.get(0), index.nearest(NPCType.POLICE, new Vector3(0, 1, 0), 40f));
+        assertNull(index.nearest(NPCType.DOG, new Vector3(0, 1, 0)));
+    }
+
+    @Test
+    void testFindFirstWithinReturnsEarliestMatchInList() {
+        List<NPC> npcs = new ArrayList<>();
+        NPC farPolice = new NPC(NPCType.POLICE, 9, 1, 0);
+        NPC nearPublic = new NPC(NPCType.PUBLIC, 1, 1, 0);
+        NPC nearPolice = new NPC(NPCType.POLICE, 2, 1, 0);
+        npcs.add(farPolice);
+        npcs.add(nearPublic);
+        npcs.add(nearPolice);
+        NPCSpatialIndex index = new NPCSpatialIndex(npcs);
+
+        Vector3 center = new Vector3(0, 1, 0);
+        // List order wins over distance, exactly like the loop it replaces
+        assertSame(farPolice, index.findFirstWithin(center, 10f, n -> n.getType() == NPCType.POLICE));
+        assertSame(nearPolice, index.findFirstWithin(center, 5f, n -> n.getType() == NPCType.POLICE));
+        assertNull(index.findFirstWithin(center, 5f, n -> n.getType() == NPCType.DOG));
+    }
+
+    @Test
+    void testSmallMovesSinceRebuildAreStillFound() {
+        List<NPC> npcs = new ArrayList<>();
+        NPC npc = new NPC(NPCType.PUBLIC, 7.9f, 1, 7.9f);
+        npcs.add(npc);
+        NPCSpatialIndex index = new NPCSpatialIndex(npcs);
+        index.rebuild();
+
+        // Walk across a cell boundary without rebuilding
+        npc.getPosition().set(9.5f, 1, 9.5f);
+        assertSame(npc, index.findFirstWithin(new Vector3(12, 1, 12), 4f, n -> true));
+        // Its old spot no longer matches — hits use the current position
+        assertNull(index.findFirstWithin(new Vector3(6, 1, 6), 1f, n -> true));
+    }
+
+    @Test
+    void testListChangesTriggerRebuild() {
+        List<NPC> npcs = new ArrayList<>();
+        NPCSpatialIndex index = new NPCSpatialIndex(npcs);
+        assertNull(index.nearest(null, new Vector3()));
+
+        NPC added = new NPC(NPCType.DOG, 50, 1, 50);
+        npcs.add(added);
+        assertSame(added, index.nearest(null, new Vector3()));
+
+        int rebuilds = index.getRebuildCount();
+        index.nearest(null, new Vector3());
+        assertEquals(rebuilds, index.getRebuildCount(), "Unchanged list should not rebuild");
+
+        npcs.remove(added);
+        assertNull(index.nearest(null, new Vector3()));
+    }
+
+    @Test
+    void testNestedQueries() {
+        Random random = new Random(3);
+        List<NPC> npcs = randomNPCs(random, 80, 60f);
+        NPCSpatialIndex index = new NPCSpatialIndex(npcs);
+
+        int[] pairs = {0};
+        index.forEachWithin(new Vector3(0, 2, 0), 15f, a ->
+            index.forEachWithin(a.getPosition(), 5f, b -> pairs[0]++));
+
+        int expected = 0;
+        for (NPC a : scanWithin(npcs, new Vector3(0, 2, 0), 15f)) {
+            expected += scanWithin(npcs, a.getPosition(), 5f).size();
+        }
+        assertEquals(expected, pairs[0]);
+    }
+
+    @Test
+    void testNPCManagerKeepsIndexCurrent() {
+        NPCManager manager = new NPCManager();
+        NPCSpatialIndex index = manager.getSpatialIndex();
+        assertTrue(index.indexes(manager.getNPCs()));
+
+        NPC police = manager.spawnNPC(NPCType.POLICE, 20, 1, 20);
+        assertSame(police, index.nearest(NPCType.POLICE, new Vector3(0, 1, 0)));
+
+        manager.removeNPC(police);
+        assertNull(index.nearest(NPCType.POLICE, new Vector3(0, 1, 0)));
+    }
+
+    @Test
+    void testWitnessSystemPicksSameWitnessesWithIndex() {
+        List<NPC> scanned = randomNPCs(new Random(11), 120, 80f);
+        List<NPC> indexed = randomNPCs(new Random(11), 120, 80f);
+
+        new WitnessSystem(new Random(1)).registerCrime(5f, 2f, -3f, "breaking windows", scanned, null);
+        WitnessSystem withIndex = new WitnessSystem(new Random(1));
+        withIndex.setNPCSpatialIndex(new NPCSpatialIndex(indexed));
+        withIndex.registerCrime(5f, 2f, -3f, "breaking windows", indexed, null);
+
+        int witnesses = 0;
+        for (int i = 0; i < scanned.size(); i++) {
+            assertEquals(scanned.get(i).getState(), indexed.get(i).getState(), "NPC " + i);
+            if (indexed.get(i).getState() == NPCState.WITNESS) witnesses++;
+        }
+        assertTrue(witnesses > 0, "Crime should have been witnessed");
+    }
+}
@@ -0,0 +1,184 @@
+package ragamuffin.ai;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.World;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for hierarchical NPC navigation.
+ */
+class NavigationGraphTest {
+
+    private static final int LENGTH = 192;
+    private static final int WIDTH = 48;
+
+    private World world;
+    private Pathfinder pathfinder;
+    private NavigationGraph navigation;
+
+    @BeforeEach
+    void setUp() {
+        world = new World(12345);
+        pathfinder = new Pathfinder();
+        navigation = new NavigationGraph(pathfinder);
+
+        // Long flat strip of ground
+        for (int x = 0; x < LENGTH; x++) {
+            for (int z = 0; z < WIDTH; z++) {
+                world.setBlock(x, 0, z, BlockType.GRASS);
+            }
+        }
+    }
+
+    @Test
+    void testLongTripAcrossManyChunks() {
+        Vector3 start = new Vector3(2, 1, 5);
+        Vector3 end = new Vector3(LENGTH - 3, 1, 40);
+
+        List<Vector3> path = navigation.findPath(world, start, end);
+
+        assertNotNull(path);
+        assertContinuousAndWalkable(path);
+        assertEquals(new Vector3(2.5f, 1, 5.5f), path.get(0));
+        assertEquals(new Vector3(LENGTH - 2.5f, 1, 40.5f), path.get(path.size() - 1));
+    }
+
+    @Test
+    void testLongDetourThatFlatSearchCannotFind() {
+        // A wall right across the strip with a single gap at the far end, so the
+        // route must run the length of the wall — far beyond the flat search's node budget
+        for (int x = 0; x < LENGTH; x++) {
+            world.setBlock(x, 1, 24, BlockType.BRICK);
+            world.setBlock(x, 2, 24, BlockType.BRICK);
+        }
+        world.setBlock(LENGTH - 2, 1, 24, BlockType.AIR);
+        world.setBlock(LENGTH - 2, 2, 24, BlockType.AIR);
+
+        Vector3 start = new Vector3(30, 1, 10);
+        Vector3 end = new Vector3(30, 1, 38);
+        assertNull(pathfinder.findPath(world, start, end), "Flat A* should exhaust its node budget");
+
+        List<Vector3> path = navigation.findPath(world, start, end);
+        assertNotNull(path);
+        assertContinuousAndWalkable(path);
+        boolean usedGap = false;
+        for (Vector3 waypoint : path) {
+            if ((int) Math.floor(waypoint.x) == LENGTH - 2 && (int) Math.floor(waypoint.z) == 24) {
+                usedGap = true;
+            }
+        }
+        assertTrue(usedGap, "Route should pass through the only gap in the wall");
+    }
+
+    @Test
+    void testBlockEditRebuildsOnlyAffectedClusters() {
+        Vector3 start = new Vector3(2, 1, 5);
+        Vector3 end = new Vector3(LENGTH - 3, 1, 5);
+        assertNotNull(navigation.findPath(world, start, end));
+        int builds = navigation.getClusterBuildCount();
+
+        // Same query again: nothing changed, nothing rebuilt
+        assertNotNull(navigation.findPath(world, start, end));
+        assertEquals(builds, navigation.getClusterBuildCount());
+
+        // A single pillar mid-route: only its cluster and the neighbours sharing its borders go stale
+        world.setBlock(LENGTH / 2 + 8, 1, 8, BlockType.BRICK);
+        assertNotNull(navigation.findPath(world, start, end));
+        int rebuilt = navigation.getClusterBuildCount() - builds;
+        assertTrue(rebuilt > 0 && rebuilt <= 5, "Expected only clusters around the edit to rebuild, got " + rebuilt);
+    }
+
+    @Test
+    void testWallCutsRouteAndDoorwayRestoresIt() {
+        Vector3 start = new Vector3(2, 1, 5);
+        Vector3 end = new Vector3(LENGTH - 3, 1, 5);
+        assertNotNull(navigation.findPath(world, start, end));
+
+        int wallX = LENGTH / 2 + 3;
+        for (int z = 0; z < WIDTH; z++) {
+            world.setBlock(wallX, 1, z, BlockType.BRICK);
+            world.setBlock(wallX, 2, z, BlockType.BRICK);
+        }
+        assertNull(navigation.findPath(world, start, end), "Wall should cut the route");
+
+        world.setBlock(wallX, 1, 30, BlockType.AIR);
+        world.setBlock(wallX, 2, 30, BlockType.AIR);
+        List<Vector3> path = navigation.findPath(world, start, end);
+        assertNotNull(path, "Doorway should reopen the route");
+        assertContinuousAndWalkable(path);
+    }
+
+    @Test
+    void testShortTripUsesFlatPathfinder() {
+        Vector3 start = new Vector3(10, 1, 10);
+        Vector3 end = new Vector3(30, 1, 20);
+        assertEquals(pathfinder.findPath(world, start, end), navigation.findPath(world, start, end));
+        assertEquals(0, navigation.getClusterBuildCount());
+    }
+
+    @Test
+    void testUnreachableTargetReturnsNull() {
+        // Box in the target
+        for (int x = 169; x <= 171; x++) {
+            for (int z = 19; z <= 21; z++) {
+                if (x == 170 && z == 20) {
+                    continue;
+                }
+                world.setBlock(x, 1, z, BlockType.BRICK);
+                world.setBlock(x, 2, z, BlockType.BRICK);
+            }
+        }
+        assertNull(navigation.findPath(world, new Vector3(5, 1, 5), new Vector3(170, 1, 20)));
+    }
+
+    @Test
+    void testFailedRouteIsRememberedUntilAnEdit() {
+        Vector3 start = new Vector3(5, 1, 5);
+        Vector3 end = new Vector3(170, 1, 20);
+        for (int x = 169; x <= 171; x++) {
+            for (int z = 19; z <= 21; z++) {
+                if (x == 170 && z == 20) {
+                    continue;
+                }
+                world.setBlock(x, 1, z, BlockType.BRICK);
+                world.setBlock(x, 2, z, BlockType.BRICK);
+            }
+        }
+        assertNull(navigation.findPath(world, start, end));
+        int searches = navigation.getAbstractSearchCount();
+
+        // Another NPC in the same start cluster re-plans: answered from the cache
+        assertNull(navigation.findPath(world, new Vector3(8, 1, 9), end));
+        assertEquals(searches, navigation.getAbstractSearchCount());
+
+        // Knocking a hole in the box invalidates the failure
+        world.setBlock(169, 1, 20, BlockType.AIR);
+        world.setBlock(169, 2, 20, BlockType.AIR);
+        List<Vector3> path = navigation.findPath(world, start, end);
+        assertNotNull(path);
+        assertContinuousAndWalkable(path);
+        assertEquals(searches + 1, navigation.getAbstractSearchCount());
+    }
+
+    /** Each step moves at most one block on every axis and lands on a walkable cell. */
+    private void assertContinuousAndWalkable(List<Vector3> path) {
+        for (int i = 0; i < path.size(); i++) {
+            Vector3 p = path.get(i);
+            int x = (int) Math.floor(p.x);
+            int y = (int) Math.floor(p.y);
+            int z = (int) Math.floor(p.z);
+            assertTrue(Pathfinder.isWalkable(world, x, y, z), "Waypoint " + i + " not walkable: " + p);
+            if (i > 0) {
+                Vector3 prev = path.get(i - 1);
+                assertTrue(Math.abs(p.x - prev.x) <= 1 && Math.abs(p.y - prev.y) <= 1 && Math.abs(p.z - prev.z) <= 1,
+                    "Waypoints " + (i - 1) + " and " + i + " are not adjacent: " + prev + " -> " + p);
+            }
+        }
+    }
+}
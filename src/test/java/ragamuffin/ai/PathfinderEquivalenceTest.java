@@ -0,0 +1,271 @@
+package ragamuffin.ai;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.Test;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.World;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the workspace-based A* in {@link Pathfinder} returns exactly the
+ * same waypoints as the original object-per-node implementation, kept here
+ * verbatim as {@link LegacyPathfinder}.
+ */
+class PathfinderEquivalenceTest {
+
+    @Test
+    void testPathsMatchLegacyOnRandomObstacleFields() {
+        Pathfinder pathfinder = new Pathfinder();
+        LegacyPathfinder legacy = new LegacyPathfinder();
+        int compared = 0;
+        int found = 0;
+
+        for (long seed = 1; seed <= 6; seed++) {
+            World world = buildObstacleField(seed);
+            Random random = new Random(seed * 31);
+            for (int q = 0; q < 40; q++) {
+                Vector3 start = new Vector3(random.nextInt(60) + 2, 1, random.nextInt(60) + 2);
+                Vector3 end = new Vector3(random.nextInt(60) + 2, 1, random.nextInt(60) + 2);
+
+                List<Vector3> expected = legacy.findPath(world, start, end);
+                List<Vector3> actual = pathfinder.findPath(world, start, end);
+                assertEquals(expected, actual, "Path mismatch for seed " + seed + " from " + start + " to " + end);
+                compared++;
+                if (expected != null) {
+                    found++;
+                }
+            }
+        }
+        assertEquals(240, compared);
+        assertTrue(found > 100, "Most queries should find a path, found " + found);
+    }
+
+    @Test
+    void testRepeatedQueriesReuseWorkspaceCleanly() {
+        Pathfinder pathfinder = new Pathfinder();
+        LegacyPathfinder legacy = new LegacyPathfinder();
+        World world = buildObstacleField(99);
+        Vector3 start = new Vector3(3, 1, 3);
+        Vector3 end = new Vector3(60, 1, 58);
+
+        List<Vector3> expected = legacy.findPath(world, start, end);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expected, pathfinder.findPath(world, start, end));
+        }
+    }
+
+    /** 64x64 grass field with random walls, boulders and one- and two-step mounds. */
+    private static World buildObstacleField(long seed) {
+        World world = new World(seed);
+        Random random = new Random(seed);
+        for (int x = 0; x < 64; x++) {
+            for (int z = 0; z < 64; z++) {
+                world.setBlock(x, 0, z, BlockType.GRASS);
+            }
+        }
+        for (int w = 0; w < 12; w++) {
+            int x = random.nextInt(60);
+            int z = random.nextInt(60);
+            int len = 5 + random.nextInt(15);
+            boolean alongX = random.nextBoolean();
+            for (int i = 0; i < len; i++) {
+                int bx = alongX ? x + i : x;
+                int bz = alongX ? z : z + i;
+                world.setBlock(bx, 1, bz, BlockType.BRICK);
+                world.setBlock(bx, 2, bz, BlockType.BRICK);
+            }
+        }
+        for (int m = 0; m < 30; m++) {
+            int x = random.nextInt(62);
+            int z = random.nextInt(62);
+            world.setBlock(x, 1, z, BlockType.GRASS);
+            if (random.nextInt(3) == 0) {
+                world.setBlock(x, 2, z, BlockType.STONE);
+            }
+        }
+        return world;
+    }
+
+    /**
+     * The original A* implementation: a Node per neighbour, string-keyed
+     * HashMap/HashSet and PriorityQueue.remove for decrease-key.
+     */
+    private static class LegacyPathfinder {
+        private static final int MAX_SEARCH_NODES = 2000;
+        private static final float DIAGONAL_COST = 1.414f;
+        private static final float STRAIGHT_COST = 1.0f;
+
+        List<Vector3> findPath(World world, Vector3 start, Vector3 end) {
+            int startX = (int) Math.floor(start.x);
+            int startY = (int) Math.floor(start.y);
+            int startZ = (int) Math.floor(start.z);
+            int endX = (int) Math.floor(end.x);
+            int endY = (int) Math.floor(end.y);
+            int endZ = (int) Math.floor(end.z);
+
+            if (startX == endX && startY == endY && startZ == endZ) {
+                List<Vector3> trivial = new ArrayList<>();
+                trivial.add(new Vector3(endX + 0.5f, endY, endZ + 0.5f));
+                return trivial;
+            }
+
+            int dx = Math.abs(endX - startX);
+            int dz = Math.abs(endZ - startZ);
+            if (Math.abs(endY - startY) <= 1 && dx + dz <= 20) {
+                List<Vector3> losPath = tryLineOfSightPath(world, startX, startY, startZ, endX, endY, endZ);
+                if (losPath != null) {
+                    return losPath;
+                }
+            }
+
+            if (!isWalkable(world, startX, startY, startZ) || !isWalkable(world, endX, endY, endZ)) {
+                return null;
+            }
+
+            PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.f));
+            Map<String, Node> allNodes = new HashMap<>();
+            Node startNode = new Node(startX, startY, startZ);
+            startNode.g = 0;
+            startNode.h = heuristic(startX, startY, startZ, endX, endY, endZ);
+            startNode.f = startNode.h;
+            openSet.add(startNode);
+            allNodes.put(startNode.key(), startNode);
+            Set<String> closedSet = new HashSet<>();
+            int nodesExplored = 0;
+
+            while (!openSet.isEmpty() && nodesExplored < MAX_SEARCH_NODES) {
+                Node current = openSet.poll();
+                nodesExplored++;
+                if (current.x == endX && current.y == endY && current.z == endZ) {
+                    return reconstructPath(current);
+                }
+                closedSet.add(current.key());
+                for (Node neighbor : getNeighbors(world, current)) {
+                    if (closedSet.contains(neighbor.key())) {
+                        continue;
+                    }
+                    float tentativeG = current.g + cost(current, neighbor);
+                    Node existingNeighbor = allNodes.get(neighbor.key());
+                    if (existingNeighbor == null) {
+                        neighbor.g = tentativeG;
+                        neighbor.h = heuristic(neighbor.x, neighbor.y, neighbor.z, endX, endY, endZ);
+                        neighbor.f = neighbor.g + neighbor.h;
+                        neighbor.parent = current;
+                        openSet.add(neighbor);
+                        allNodes.put(neighbor.key(), neighbor);
+                    } else if (tentativeG < existingNeighbor.g) {
+                        existingNeighbor.g = tentativeG;
+                        existingNeighbor.f = existingNeighbor.g + existingNeighbor.h;
+                        existingNeighbor.parent = current;
+                        openSet.remove(existingNeighbor);
+                        openSet.add(existingNeighbor);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private List<Vector3> tryLineOfSightPath(World world, int x0, int y0, int z0, int x1, int y1, int z1) {
+            List<Vector3> path = new ArrayList<>();
+            path.add(new Vector3(x0 + 0.5f, y0, z0 + 0.5f));
+            int dx = Math.abs(x1 - x0);
+            int dz = Math.abs(z1 - z0);
+            int sx = x0 < x1 ? 1 : -1;
+            int sz = z0 < z1 ? 1 : -1;
+            int err = dx - dz;
+            int cx = x0;
+            int cz = z0;
+            int cy = y0;
+            while (cx != x1 || cz != z1) {
+                int e2 = 2 * err;
+                if (e2 > -dz) {
+                    err -= dz;
+                    cx += sx;
+                } else {
+                    err += dx;
+                    cz += sz;
+                }
+                if (!isWalkable(world, cx, cy, cz)) {
+                    if (isWalkable(world, cx, cy + 1, cz)) {
+                        cy += 1;
+                    } else if (isWalkable(world, cx, cy - 1, cz)) {
+                        cy -= 1;
+                    } else {
+                        return null;
+                    }
+                }
+                path.add(new Vector3(cx + 0.5f, cy, cz + 0.5f));
+            }
+            return path;
+        }
+
+        private boolean isWalkable(World world, int x, int y, int z) {
+            if (!world.getBlock(x, y - 1, z).isSolid()) {
+                return false;
+            }
+            return !world.getBlock(x, y, z).isSolid() && !world.getBlock(x, y + 1, z).isSolid();
+        }
+
+        private List<Node> getNeighbors(World world, Node node) {
+            List<Node> neighbors = new ArrayList<>();
+            int[][] directions = {
+                {0, 0, 1}, {0, 0, -1}, {1, 0, 0}, {-1, 0, 0},
+                {1, 0, 1}, {-1, 0, 1}, {1, 0, -1}, {-1, 0, -1}
+            };
+            for (int[] dir : directions) {
+                int nx = node.x + dir[0];
+                int ny = node.y + dir[1];
+                int nz = node.z + dir[2];
+                if (isWalkable(world, nx, ny, nz)) {
+                    neighbors.add(new Node(nx, ny, nz));
+                } else if (isWalkable(world, nx, ny + 1, nz)) {
+                    neighbors.add(new Node(nx, ny + 1, nz));
+                } else if (isWalkable(world, nx, ny - 1, nz)) {
+                    neighbors.add(new Node(nx, ny - 1, nz));
+                }
+            }
+            return neighbors;
+        }
+
+        private float heuristic(int x1, int y1, int z1, int x2, int y2, int z2) {
+            int dx = x2 - x1;
+            int dy = y2 - y1;
+            int dz = z2 - z1;
+            return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+
+        private float cost(Node from, Node to) {
+            int dx = Math.abs(to.x - from.x);
+            int dz = Math.abs(to.z - from.z);
+            return dx > 0 && dz > 0 ? DIAGONAL_COST : STRAIGHT_COST;
+        }
+
+        private List<Vector3> reconstructPath(Node end) {
+            List<Vector3> path = new ArrayList<>();
+            for (Node current = end; current != null; current = current.parent) {
+                path.add(new Vector3(current.x + 0.5f, current.y, current.z + 0.5f));
+            }
+            Collections.reverse(path);
+            return path;
+        }
+
+        private static class Node {
+            int x, y, z;
+            float g, h, f;
+            Node parent;
+
+            Node(int x, int y, int z) {
+                this.x = x;
+                this.y = y;
+                this.z = z;
+            }
+
+            String key() {
+                return x + "," + y + "," + z;
+            }
+        }
+    }
+}
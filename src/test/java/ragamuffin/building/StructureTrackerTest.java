@@ -5,6 +5,10 @@ import org.junit.jupiter.api.Test;
 import ragamuffin.world.BlockType;
 import ragamuffin.world.World;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -290,4 +294,81 @@ class StructureTrackerTest {
                 "Larger structure should spawn more builders. Small: " + smallBuilderCount +
                         " (125 blocks), Large: " + largeBuilderCount + " (250 blocks)");
     }
+
+    private void buildBox(int x0, int y0, int z0, int sx, int sy, int sz, BlockType type) {
+        for (int x = x0; x < x0 + sx; x++) {
+            for (int y = y0; y < y0 + sy; y++) {
+                for (int z = z0; z < z0 + sz; z++) {
+                    world.setPlayerBlock(x, y, z, type);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testUpdateTracksPlacementsWithoutFullScans() {
+        tracker.update(world); // First call for a world is a full scan
+        assertEquals(1, tracker.getFullScanCount());
+        assertFalse(tracker.update(world), "Nothing changed");
+
+        buildBox(20, 1, 20, 5, 2, 5, BlockType.BRICK);
+        assertTrue(tracker.update(world));
+        assertEquals(1, tracker.getLargeStructures().size());
+        StructureTracker.Structure structure = tracker.getLargeStructures().get(0);
+        assertEquals(50, structure.getComplexity());
+
+        // Extending the structure updates the same object in place
+        world.setPlayerBlock(25, 1, 20, BlockType.BRICK);
+        assertTrue(tracker.update(world));
+        assertEquals(1, tracker.getLargeStructures().size());
+        assertSame(structure, tracker.getLargeStructures().get(0));
+        assertEquals(51, structure.getComplexity());
+        assertEquals(1, tracker.getFullScanCount(), "Edits should never trigger a full scan");
+    }
+
+    @Test
+    void testRemovingBridgeSplitsStructure() {
+        buildBox(20, 1, 20, 3, 2, 3, BlockType.WOOD);   // 18 blocks
+        buildBox(24, 1, 20, 3, 2, 3, BlockType.WOOD);   // 18 blocks
+        world.setPlayerBlock(23, 1, 21, BlockType.WOOD); // Bridge
+        tracker.update(world);
+        assertEquals(1, tracker.getStructures().size());
+        assertEquals(37, tracker.getStructures().get(0).getComplexity());
+
+        // Knocking the bridge out (not via setPlayerBlock) still reaches the tracker
+        world.setBlock(23, 1, 21, BlockType.AIR);
+        assertTrue(tracker.update(world));
+        assertEquals(2, tracker.getStructures().size());
+        assertEquals(18, tracker.getStructures().get(0).getComplexity());
+        assertEquals(18, tracker.getStructures().get(1).getComplexity());
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchFullScan() {
+        Random random = new Random(7);
+        BlockType[] types = {BlockType.WOOD, BlockType.BRICK, BlockType.GLASS, BlockType.AIR};
+        StructureTracker fresh = new StructureTracker();
+        tracker.update(world);
+        for (int step = 0; step < 40; step++) {
+            for (int i = 0; i < 60; i++) {
+                int x = 10 + random.nextInt(12);
+                int y = 1 + random.nextInt(4);
+                int z = 10 + random.nextInt(12);
+                world.setPlayerBlock(x, y, z, types[random.nextInt(types.length)]);
+            }
+            tracker.update(world);
+            fresh.scanForStructures(world);
+            assertEquals(sizes(fresh), sizes(tracker), "Step " + step);
+        }
+        assertEquals(1, tracker.getFullScanCount());
+    }
+
+    private static List<Integer> sizes(StructureTracker tracker) {
+        List<Integer> sizes = new ArrayList<>();
+        for (StructureTracker.Structure s : tracker.getStructures()) {
+            sizes.add(s.getComplexity());
+        }
+        sizes.sort(null);
+        return sizes;
+    }
 }
@@ -0,0 +1,94 @@
+package ragamuffin.core;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FixedTimestep} and {@link PositionInterpolator}, which
+ * together run the PLAYING simulation at a fixed rate and smooth it for drawing.
+ */
+class FixedTimestepTest {
+
+    @Test
+    void stepCountDoesNotDependOnFrameRate() {
+        FixedTimestep at144 = new FixedTimestep(1f / 30f, 8);
+        FixedTimestep at20 = new FixedTimestep(1f / 30f, 8);
+        int steps144 = 0, steps20 = 0;
+        for (int i = 0; i < 144 * 10; i++) {
+            steps144 += at144.advance(1f / 144f);
+        }
+        for (int i = 0; i < 20 * 10; i++) {
+            steps20 += at20.advance(1f / 20f);
+        }
+        // Ten seconds at either frame rate simulates ten seconds (float error aside)
+        assertEquals(300, steps144, 1);
+        assertEquals(300, steps20, 1);
+    }
+
+    @Test
+    void remainderCarriesOverAsAlpha() {
+        FixedTimestep clock = new FixedTimestep(0.1f, 8);
+        assertEquals(0, clock.advance(0.025f));
+        assertEquals(0.25f, clock.getAlpha(), 1e-4f);
+        assertEquals(1, clock.advance(0.1f));
+        assertEquals(0.25f, clock.getAlpha(), 1e-4f);
+        assertEquals(0, clock.advance(-1f), "Negative deltas are ignored");
+
+        clock.reset();
+        assertEquals(0f, clock.getAlpha());
+    }
+
+    @Test
+    void longFrameIsCappedAndExcessTimeDropped() {
+        FixedTimestep clock = new FixedTimestep(0.1f, 3);
+        assertEquals(3, clock.advance(2.05f));
+        assertTrue(clock.getAlpha() < 1f);
+        assertEquals(0, clock.advance(0f), "The dropped time is not replayed on later frames");
+    }
+
+    @Test
+    void interpolatorDrawsBetweenStepsAndRestoresSimulatedPositions() {
+        PositionInterpolator interpolator = new PositionInterpolator();
+        Vector3 walker = new Vector3(0f, 0f, 0f);
+        Vector3 teleporter = new Vector3(0f, 0f, 0f);
+
+        interpolator.beginCapture();
+        interpolator.capture(walker);
+        interpolator.capture(teleporter);
+        interpolator.endCapture();
+        walker.set(1f, 0f, 0f);
+        teleporter.set(50f, 0f, 0f);
+
+        interpolator.apply(0.25f);
+        assertEquals(0.25f, walker.x, 1e-6f);
+        assertEquals(50f, teleporter.x, "Moves beyond the snap distance are not interpolated");
+
+        interpolator.restore();
+        assertEquals(1f, walker.x);
+        assertEquals(50f, teleporter.x);
+    }
+
+    @Test
+    void interpolatorForgetsPositionsNoLongerCaptured() {
+        PositionInterpolator interpolator = new PositionInterpolator();
+        Vector3 a = new Vector3();
+        Vector3 b = new Vector3();
+        interpolator.beginCapture();
+        interpolator.capture(a);
+        interpolator.capture(b);
+        interpolator.endCapture();
+        assertEquals(2, interpolator.getTrackedCount());
+
+        interpolator.beginCapture();
+        interpolator.capture(a);
+        interpolator.endCapture();
+        assertEquals(1, interpolator.getTrackedCount());
+
+        b.set(1f, 0f, 0f);
+        interpolator.apply(0f);
+        assertEquals(1f, b.x, "Untracked positions are left alone");
+        interpolator.restore();
+    }
+}
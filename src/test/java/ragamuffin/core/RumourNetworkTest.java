@@ -0,0 +1,236 @@
+package ragamuffin.core;
+
+import org.junit.jupiter.api.Test;
+import ragamuffin.entity.NPC;
+import ragamuffin.entity.NPCType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for rumour propagation. The neighbour-sweep update is checked against the
+ * original all-pairs implementation, kept here as {@link LegacyRumourNetwork}.
+ */
+class RumourNetworkTest {
+
+    private static final float DELTA = 1f / 64f; // Exact in binary, so both cooldown clocks agree
+
+    private static List<NPC> crowd(long seed, int count, float spread) {
+        Random random = new Random(seed);
+        List<NPC> npcs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            NPCType type = i % 25 == 0 ? NPCType.BARMAN : NPCType.PUBLIC;
+            NPC npc = new NPC(type, random.nextFloat() * spread, 1, random.nextFloat() * spread);
+            if (i % 7 == 0) {
+                npc.getRumours().add(new Rumour(RumourType.LOOT_TIP, "Tip number " + i));
+            }
+            npcs.add(npc);
+        }
+        return npcs;
+    }
+
+    private static void wander(List<NPC> npcs, Random random, float spread) {
+        for (NPC npc : npcs) {
+            float x = npc.getPosition().x + (random.nextFloat() - 0.5f) * 0.6f;
+            float z = npc.getPosition().z + (random.nextFloat() - 0.5f) * 0.6f;
+            npc.getPosition().set(Math.max(0, Math.min(spread, x)), 1, Math.max(0, Math.min(spread, z)));
+        }
+    }
+
+    private static String describe(NPC npc) {
+        StringBuilder sb = new StringBuilder();
+        for (Rumour r : npc.getRumours()) {
+            sb.append(r.getText()).append('#').append(r.getHops()).append(';');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void testSpreadingMatchesAllPairsSweepUnderFixedSeed() {
+        float spread = 60f;
+        List<NPC> expectedNpcs = crowd(99, 200, spread);
+        List<NPC> actualNpcs = crowd(99, 200, spread);
+        LegacyRumourNetwork legacy = new LegacyRumourNetwork(new Random(5));
+        RumourNetwork network = new RumourNetwork(new Random(5));
+        Random moveA = new Random(17);
+        Random moveB = new Random(17);
+
+        int changes = 0;
+        String[] previous = new String[actualNpcs.size()];
+        // 90 seconds of frames: long enough for pair cooldowns to expire and re-fire
+        for (int frame = 0; frame < 90 * 64; frame++) {
+            if (frame == 1000) {
+                expectedNpcs.get(3).takeDamage(Float.MAX_VALUE);
+                actualNpcs.get(3).takeDamage(Float.MAX_VALUE);
+            }
+            legacy.update(expectedNpcs, DELTA);
+            network.update(actualNpcs, DELTA);
+            for (int i = 0; i < actualNpcs.size(); i++) {
+                String expected = describe(expectedNpcs.get(i));
+                String actual = describe(actualNpcs.get(i));
+                assertEquals(expected, actual, "NPC " + i + " at frame " + frame);
+                if (!actual.equals(previous[i])) {
+                    changes++;
+                    previous[i] = actual;
+                }
+            }
+            wander(expectedNpcs, moveA, spread);
+            wander(actualNpcs, moveB, spread);
+        }
+        assertTrue(changes > 200, "Rumours should have spread widely, saw " + changes + " changes");
+    }
+
+    @Test
+    void testPairWaitsForCooldownBeforeExchangingAgain() {
+        // The barman always listens, so every exchange goes one way
+        NPC a = new NPC(NPCType.PUBLIC, 0, 1, 0);
+        NPC barman = new NPC(NPCType.BARMAN, 1, 1, 0);
+        List<NPC> npcs = List.of(a, barman);
+        RumourNetwork network = new RumourNetwork(new Random(1));
+
+        a.getRumours().add(new Rumour(RumourType.LOOT_TIP, "first"));
+        network.update(npcs, 1f);
+        assertEquals(1, barman.getRumours().size());
+
+        // Within the cooldown nothing else is exchanged
+        a.getRumours().add(new Rumour(RumourType.LOOT_TIP, "second"));
+        for (int i = 0; i < 59; i++) {
+            network.update(npcs, 1f);
+        }
+        assertEquals(1, barman.getRumours().size());
+
+        // Exactly EXCHANGE_COOLDOWN seconds after the first exchange the pair may talk again
+        network.update(npcs, 1f);
+        assertEquals(2, barman.getRumours().size());
+        assertEquals("second", barman.getRumours().get(1).getText());
+    }
+
+    @Test
+    void testDistantNPCsNeverExchange() {
+        NPC a = new NPC(NPCType.PUBLIC, 0, 1, 0);
+        NPC b = new NPC(NPCType.PUBLIC, RumourNetwork.SPREAD_DISTANCE + 0.5f, 1, 0);
+        a.getRumours().add(new Rumour(RumourType.LOOT_TIP, "secret"));
+        RumourNetwork network = new RumourNetwork(new Random(1));
+        for (int i = 0; i < 10; i++) {
+            network.update(List.of(a, b), 0.1f);
+        }
+        assertTrue(b.getRumours().isEmpty());
+    }
+
+    @Test
+    void testCooldownsSurviveClockRebase() {
+        NPC a = new NPC(NPCType.PUBLIC, 0, 1, 0);
+        NPC b = new NPC(NPCType.BARMAN, 1, 1, 0);
+        RumourNetwork network = new RumourNetwork(new Random(1));
+        // Run the clock to just short of the rebase point while the NPCs are apart
+        b.getPosition().set(100, 1, 0);
+        for (int i = 0; i < 4090; i++) {
+            network.update(List.of(a, b), 1f);
+        }
+        b.getPosition().set(1, 1, 0);
+        a.getRumours().add(new Rumour(RumourType.LOOT_TIP, "first"));
+        network.update(List.of(a, b), 1f); // Exchange at t=4091, cooldown ends at 4151
+        assertEquals(1, b.getRumours().size());
+
+        a.getRumours().add(new Rumour(RumourType.LOOT_TIP, "second"));
+        for (int i = 0; i < 59; i++) {
+            network.update(List.of(a, b), 1f); // Crosses the rebase at 4096
+        }
+        assertEquals(1, b.getRumours().size(), "Cooldown should carry across the rebase");
+        network.update(List.of(a, b), 1f);
+        assertEquals(2, b.getRumours().size());
+    }
+
+    /**
+     * The original all-pairs update with per-frame decremented boxed cooldowns,
+     * retained verbatim as the reference for equivalence testing.
+     */
+    private static final class LegacyRumourNetwork {
+        private final Random random;
+        private final Map<Long, Float> exchangeCooldowns = new HashMap<>();
+
+        LegacyRumourNetwork(Random random) {
+            this.random = random;
+        }
+
+        void update(List<NPC> npcs, float delta) {
+            List<Long> toRemove = new ArrayList<>();
+            for (Map.Entry<Long, Float> entry : exchangeCooldowns.entrySet()) {
+                float remaining = entry.getValue() - delta;
+                if (remaining <= 0f) {
+                    toRemove.add(entry.getKey());
+                } else {
+                    entry.setValue(remaining);
+                }
+            }
+            for (Long key : toRemove) {
+                exchangeCooldowns.remove(key);
+            }
+
+            int n = npcs.size();
+            for (int i = 0; i < n; i++) {
+                NPC a = npcs.get(i);
+                if (!a.isAlive()) continue;
+                for (int j = i + 1; j < n; j++) {
+                    NPC b = npcs.get(j);
+                    if (!b.isAlive()) continue;
+                    if (a.getPosition().dst(b.getPosition()) > RumourNetwork.SPREAD_DISTANCE) continue;
+                    long pairKey = pairKey(a, b);
+                    if (exchangeCooldowns.containsKey(pairKey)) continue;
+                    tryExchange(a, b);
+                    exchangeCooldowns.put(pairKey, RumourNetwork.EXCHANGE_COOLDOWN);
+                }
+            }
+
+            for (NPC npc : npcs) {
+                if (npc.getType() == NPCType.BARMAN) continue;
+                npc.getRumours().removeIf(Rumour::isExpired);
+            }
+        }
+
+        private void tryExchange(NPC speaker, NPC listener) {
+            if (random.nextBoolean()) {
+                NPC tmp = speaker;
+                speaker = listener;
+                listener = tmp;
+            }
+            if (speaker.getType() == NPCType.BARMAN && listener.getType() != NPCType.BARMAN) {
+                NPC tmp = speaker;
+                speaker = listener;
+                listener = tmp;
+            }
+            List<Rumour> speakerRumours = speaker.getRumours();
+            if (speakerRumours.isEmpty()) return;
+            Rumour toSpread = speakerRumours.get(speakerRumours.size() - 1);
+            int listenerMax = (listener.getType() == NPCType.BARMAN)
+                ? RumourNetwork.BARMAN_MAX_RUMOURS : RumourNetwork.NPC_MAX_RUMOURS;
+            List<Rumour> listenerRumours = listener.getRumours();
+            for (Rumour existing : listenerRumours) {
+                if (existing.getText().equals(toSpread.getText())) return;
+            }
+            if (listenerRumours.size() >= listenerMax) {
+                if (listener.getType() != NPCType.BARMAN) {
+                    listenerRumours.remove(0);
+                } else {
+                    return;
+                }
+            }
+            listenerRumours.add(toSpread.spread());
+        }
+
+        private long pairKey(NPC a, NPC b) {
+            int ha = System.identityHashCode(a);
+            int hb = System.identityHashCode(b);
+            if (ha < hb) {
+                return ((long) ha << 32) | (hb & 0xFFFFFFFFL);
+            } else {
+                return ((long) hb << 32) | (ha & 0xFFFFFFFFL);
+            }
+        }
+    }
+}
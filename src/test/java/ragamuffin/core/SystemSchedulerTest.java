@@ -0,0 +1,156 @@
+package ragamuffin.core;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SystemScheduler}.
+ */
+class SystemSchedulerTest {
+
+    private static final float STEP = 1f / 30f;
+    private final Vector3 player = new Vector3();
+
+    @Test
+    void systemsTickAtTheirIntervalWithTheElapsedTime() {
+        SystemScheduler scheduler = new SystemScheduler(8);
+        List<Float> everyStep = new ArrayList<>();
+        List<Float> halfSecond = new ArrayList<>();
+        scheduler.register(GameSystem.of("step", 0f, null, everyStep::add));
+        scheduler.register(GameSystem.of("half", 0.5f, null, halfSecond::add));
+
+        for (int i = 0; i < 300; i++) {
+            scheduler.update(STEP, player);
+        }
+
+        assertEquals(300, everyStep.size());
+        assertEquals(STEP, everyStep.get(0), 1e-6f);
+        assertEquals(20, halfSecond.size(), 1);
+        float total = 0f;
+        for (float d : halfSecond) {
+            assertTrue(d >= 0.5f - 1e-4f && d < 0.5f + STEP + 1e-4f, "delta " + d);
+            total += d;
+        }
+        // No simulated time is lost or invented, beyond the start phase and the unticked tail
+        assertEquals(10f, total, 0.5f + STEP);
+    }
+
+    @Test
+    void systemsSharingAnIntervalAreStaggered() {
+        SystemScheduler scheduler = new SystemScheduler(8);
+        int[] firstTickStep = new int[4];
+        int[] step = {0};
+        for (int s = 0; s < firstTickStep.length; s++) {
+            int id = s;
+            firstTickStep[id] = -1;
+            scheduler.register(GameSystem.of("s" + s, 1f, null, d -> {
+                if (firstTickStep[id] < 0) firstTickStep[id] = step[0];
+            }));
+        }
+        for (step[0] = 0; step[0] < 60; step[0]++) {
+            scheduler.update(STEP, player);
+        }
+        for (int a = 0; a < firstTickStep.length; a++) {
+            assertTrue(firstTickStep[a] >= 0);
+            for (int b = a + 1; b < firstTickStep.length; b++) {
+                assertNotEquals(firstTickStep[a], firstTickStep[b], "systems " + a + " and " + b);
+            }
+        }
+    }
+
+    @Test
+    void limitDefersTicksToLaterStepsWithoutLosingTime() {
+        SystemScheduler scheduler = new SystemScheduler(1);
+        float[] total = new float[3];
+        int[] ticksThisStep = {0};
+        for (int s = 0; s < total.length; s++) {
+            int id = s;
+            // Zero-length intervals tick every step; 1e-6 makes these interval systems due every step
+            scheduler.register(GameSystem.of("s" + s, 1e-6f, null, d -> {
+                total[id] += d;
+                ticksThisStep[0]++;
+            }));
+        }
+        for (int i = 0; i < 30; i++) {
+            ticksThisStep[0] = 0;
+            scheduler.update(STEP, player);
+            assertEquals(1, ticksThisStep[0]);
+        }
+        // Round-robin: each system got a third of the ticks, each carrying the time it waited
+        for (int s = 0; s < total.length; s++) {
+            assertEquals(10, scheduler.getTickCount(s));
+            assertEquals(1f, total[s], 3 * STEP);
+        }
+    }
+
+    @Test
+    void irrelevantSystemsAreSkippedAndTheirTimeDiscarded() {
+        SystemScheduler scheduler = new SystemScheduler();
+        List<Float> ticks = new ArrayList<>();
+        boolean[] relevant = {false};
+        scheduler.register(GameSystem.of("shop", 0f, pos -> relevant[0] && pos.x < 10f, ticks::add));
+
+        for (int i = 0; i < 30; i++) {
+            scheduler.update(STEP, player);
+        }
+        assertTrue(ticks.isEmpty());
+
+        relevant[0] = true;
+        scheduler.update(STEP, player);
+        assertEquals(List.of(STEP), ticks, "No catch-up for the time spent irrelevant");
+
+        player.x = 20f;
+        scheduler.update(STEP, player);
+        assertEquals(1, ticks.size(), "Out of range of the player");
+    }
+
+    @Test
+    void ticksAndStepsAreTimed() {
+        SystemScheduler scheduler = new SystemScheduler();
+        scheduler.register(GameSystem.of("busy", 0f, null, d -> {
+            long end = System.nanoTime() + 200_000L;
+            while (System.nanoTime() < end) {
+                // spin
+            }
+        }));
+        scheduler.update(STEP, player);
+        scheduler.recordStep(2_000_000L);
+
+        assertEquals("busy", scheduler.getName(0));
+        assertTrue(scheduler.getAverageMillis(0) >= 0.2f);
+        assertTrue(scheduler.getPeakMillis(0) >= scheduler.getAverageMillis(0));
+        assertEquals(2f, scheduler.getStepAverageMillis(), 1e-4f);
+        assertEquals(2f, scheduler.getStepPeakMillis(), 1e-4f);
+    }
+
+    @Test
+    void inlineSectionsAreTimedAndNeverTicked() {
+        SystemScheduler scheduler = new SystemScheduler();
+        List<Float> ticks = new ArrayList<>();
+        scheduler.register(GameSystem.of("scheduled", 0f, null, ticks::add));
+        for (int i = 0; i < 3; i++) {
+            scheduler.beginSection("NPCs");
+            long end = System.nanoTime() + 200_000L;
+            while (System.nanoTime() < end) {
+                // spin
+            }
+            scheduler.beginSection("HUD"); // Ends "NPCs"
+            scheduler.endSection();
+            scheduler.update(STEP, player);
+        }
+
+        assertEquals(3, scheduler.getSystemCount());
+        assertEquals(3, ticks.size());
+        assertEquals("NPCs", scheduler.getName(1));
+        assertEquals(3, scheduler.getTickCount(1));
+        assertEquals(0f, scheduler.getTickInterval(1));
+        assertTrue(scheduler.getAverageMillis(1) >= 0.2f);
+        assertEquals("HUD", scheduler.getName(2));
+        assertEquals(3, scheduler.getTickCount(2));
+    }
+}
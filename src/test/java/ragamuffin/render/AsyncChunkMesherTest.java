@@ -0,0 +1,120 @@
+package ragamuffin.render;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ragamuffin.test.HeadlessTestHelper;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.Chunk;
+import ragamuffin.world.World;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AsyncChunkMesher — background chunk meshing with stale-result discard.
+ * The GPU upload is mocked; only the hand-off to ChunkRenderer.uploadChunk is verified.
+ */
+class AsyncChunkMesherTest {
+
+    private AsyncChunkMesher mesher;
+
+    @BeforeAll
+    static void setup() {
+        HeadlessTestHelper.initHeadless();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (mesher != null) {
+            mesher.dispose();
+        }
+    }
+
+    @Test
+    void workerThreadBuildsAndUploadsMesh() throws InterruptedException {
+        mesher = new AsyncChunkMesher(2);
+        World world = new World(0);
+        world.setBlock(8, 8, 8, BlockType.GRASS);
+        Chunk chunk = world.getChunk(0, 0, 0);
+        ChunkRenderer renderer = mock(ChunkRenderer.class);
+
+        assertTrue(mesher.submit(chunk, world));
+        int uploaded = 0;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (uploaded == 0 && System.currentTimeMillis() < deadline) {
+            uploaded = mesher.uploadCompleted(renderer, AsyncChunkMesher.DEFAULT_UPLOAD_BUDGET_MS);
+            Thread.sleep(5);
+        }
+
+        assertEquals(1, uploaded);
+        verify(renderer).uploadChunk(eq(chunk), argThat(mesh -> mesh.getFaceCount() == 6));
+        assertEquals(0, mesher.getPendingCount());
+    }
+
+    @Test
+    void resubmittedChunkDiscardsStaleMesh() {
+        mesher = new AsyncChunkMesher(0);
+        World world = new World(0);
+        world.setBlock(8, 8, 8, BlockType.GRASS);
+        Chunk chunk = world.getChunk(0, 0, 0);
+        ChunkRenderer renderer = mock(ChunkRenderer.class);
+
+        mesher.submit(chunk, world);
+        // Chunk is re-dirtied before the first mesh is uploaded
+        world.setBlock(8, 9, 8, BlockType.GRASS);
+        mesher.submit(chunk, world);
+
+        assertEquals(1, mesher.uploadCompleted(renderer, AsyncChunkMesher.DEFAULT_UPLOAD_BUDGET_MS));
+        // Only the newer mesh (two-block column, top face at y = 10) reaches the renderer
+        verify(renderer, times(1)).uploadChunk(eq(chunk), any(MeshData.class));
+        verify(renderer).uploadChunk(eq(chunk), argThat(mesh ->
+            mesh.getVerticesArray().length > 0 && maxY(mesh) == 10.0f));
+    }
+
+    @Test
+    void cancelledChunkIsNotUploaded() {
+        mesher = new AsyncChunkMesher(0);
+        World world = new World(0);
+        world.setBlock(8, 8, 8, BlockType.GRASS);
+        Chunk chunk = world.getChunk(0, 0, 0);
+        ChunkRenderer renderer = mock(ChunkRenderer.class);
+
+        mesher.submit(chunk, world);
+        mesher.cancel(chunk.getKey());
+
+        assertEquals(0, mesher.uploadCompleted(renderer, AsyncChunkMesher.DEFAULT_UPLOAD_BUDGET_MS));
+        verify(renderer, never()).uploadChunk(any(), any());
+        assertEquals(0, mesher.getPendingCount());
+    }
+
+    @Test
+    void submitRefusesWhenPendingQueueIsFull() {
+        mesher = new AsyncChunkMesher(0);
+        World world = new World(0);
+        int accepted = 0;
+        for (int i = 0; i < 64; i++) {
+            if (mesher.submit(world.getOrCreateChunk(i, 0, 0), world)) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted > 0 && accepted < 64, "Pending meshes must be capped");
+        assertEquals(accepted, mesher.getPendingCount());
+
+        mesher.uploadCompleted(mock(ChunkRenderer.class), 1000f);
+        assertEquals(0, mesher.getPendingCount());
+        assertTrue(mesher.submit(world.getOrCreateChunk(100, 0, 0), world));
+    }
+
+    private static float maxY(MeshData mesh) {
+        float[] verts = mesh.getVerticesArray();
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = 1; i < verts.length; i += 12) {
+            max = Math.max(max, verts[i]);
+        }
+        return max;
+    }
+}
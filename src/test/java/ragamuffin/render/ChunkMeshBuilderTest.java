@@ -1,5 +1,6 @@
 package ragamuffin.render;
 
+import com.badlogic.gdx.graphics.Color;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import ragamuffin.test.HeadlessTestHelper;
@@ -178,4 +179,130 @@ class ChunkMeshBuilderTest {
         assertEquals(5, meshData.getFaceCount(),
             "East face of boundary block should be culled because neighbouring chunk has a solid block flush against it");
     }
+
+    @Test
+    void packedVerticesUseThreeWordsPerVertex() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        chunk.setBlock(8, 8, 8, BlockType.STONE);
+        MeshData meshData = new ChunkMeshBuilder().build(chunk);
+
+        assertEquals(1, meshData.getMeshCount());
+        assertEquals(6 * 4 * MeshData.FLOATS_PER_VERTEX, meshData.getVerticesArray(0).length);
+        assertEquals(12, MeshData.createVertexAttributes().vertexSize,
+            "Packed vertex should be 12 bytes (4 shorts + 4 colour bytes)");
+    }
+
+    @Test
+    void packedVerticesDecodeToPositionNormalAndColour() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        chunk.setBlock(8, 8, 8, BlockType.GRASS);
+        chunk.setBlock(3, 0, 3, BlockType.FENCE_THIN);
+        MeshData meshData = new ChunkMeshBuilder().build(chunk);
+
+        float[] verts = meshData.getVerticesArray();
+        int topFaces = 0;
+        int fenceVerts = 0;
+        for (int i = 0; i < verts.length; i += MeshData.UNPACKED_FLOATS_PER_VERTEX) {
+            float nx = verts[i + 3], ny = verts[i + 4], nz = verts[i + 5];
+            assertEquals(1f, Math.abs(nx) + Math.abs(ny) + Math.abs(nz), "Normal must be a unit axis");
+            if (verts[i] > 3f && verts[i] < 4f) {
+                fenceVerts++;
+                // 1/8-block fence post centred in the cell survives quantisation exactly
+                assertTrue(verts[i] == 3.4375f || verts[i] == 3.5625f, "Fence X " + verts[i]);
+            }
+            if (ny == 1f && verts[i + 1] == 9f) {
+                topFaces++;
+                Color top = BlockType.GRASS.getTopColor();
+                assertEquals(top.r, verts[i + 8], 1f / 255f);
+                assertEquals(top.g, verts[i + 9], 1f / 255f);
+                assertEquals(top.b, verts[i + 10], 1f / 255f);
+            }
+        }
+        assertEquals(4, topFaces, "The grass block's top face should have four vertices at y=9");
+        assertEquals(24, fenceVerts);
+    }
+
+    @Test
+    void faceIndexMatchesAxisNormals() {
+        assertEquals(MeshData.FACE_WEST, MeshData.faceIndex(-1, 0, 0));
+        assertEquals(MeshData.FACE_EAST, MeshData.faceIndex(1, 0, 0));
+        assertEquals(MeshData.FACE_BOTTOM, MeshData.faceIndex(0, -1, 0));
+        assertEquals(MeshData.FACE_TOP, MeshData.faceIndex(0, 1, 0));
+        assertEquals(MeshData.FACE_NORTH, MeshData.faceIndex(0, 0, -1));
+        assertEquals(MeshData.FACE_SOUTH, MeshData.faceIndex(0, 0, 1));
+    }
+
+    @Test
+    void lodMeshMergesTexturedBlocks() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        for (int x = 0; x < Chunk.SIZE; x++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                chunk.setBlock(x, 0, z, BlockType.STONE);
+            }
+        }
+        ChunkMeshBuilder builder = new ChunkMeshBuilder();
+        MeshData full = builder.build(chunk);
+        MeshData lod = builder.build(chunk, 2);
+
+        assertEquals(1, full.getLodScale());
+        assertEquals(2, lod.getLodScale());
+        // Textured stone is never merged at full detail; the LOD slab is six quads
+        assertTrue(full.getFaceCount() > 256);
+        assertEquals(6, lod.getFaceCount());
+        assertEquals(full.getFaceConnectivity(), lod.getFaceConnectivity());
+    }
+
+    @Test
+    void lodMeshShowsTheExposedBlockOnEachSide() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        for (int x = 0; x < Chunk.SIZE; x++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                chunk.setBlock(x, 0, z, BlockType.DIRT);
+                chunk.setBlock(x, 1, z, BlockType.DIRT);
+                chunk.setBlock(x, 2, z, BlockType.DIRT);
+                chunk.setBlock(x, 3, z, BlockType.GRASS);
+            }
+        }
+        float[] verts = new ChunkMeshBuilder().build(chunk, 2).getVerticesArray();
+        Color grassTop = BlockType.GRASS.getTopColor();
+        Color dirtBottom = BlockType.DIRT.getBottomColor();
+        int topVerts = 0;
+        for (int i = 0; i < verts.length; i += MeshData.UNPACKED_FLOATS_PER_VERTEX) {
+            float ny = verts[i + 4];
+            if (ny == 1f) {
+                topVerts++;
+                assertEquals(4f, verts[i + 1], "Top of the ground stays at its real height");
+                assertEquals(grassTop.g, verts[i + 9], 1f / 255f);
+            } else if (ny == -1f) {
+                assertEquals(dirtBottom.g, verts[i + 9], 1f / 255f);
+            }
+        }
+        assertEquals(4, topVerts, "The whole top should merge into one quad");
+    }
+
+    @Test
+    void lodMeshThickensThinWallsInsteadOfDroppingThem() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        for (int y = 0; y < 8; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                chunk.setBlock(5, y, z, BlockType.BRICK);
+            }
+        }
+        float[] verts = new ChunkMeshBuilder().build(chunk, 4).getVerticesArray();
+        assertTrue(verts.length > 0);
+        float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE;
+        for (int i = 0; i < verts.length; i += MeshData.UNPACKED_FLOATS_PER_VERTEX) {
+            minX = Math.min(minX, verts[i]);
+            maxX = Math.max(maxX, verts[i]);
+            assertEquals(0f, verts[i + 1] % 4f, "Vertices lie on the 4-block grid");
+        }
+        assertEquals(4f, minX);
+        assertEquals(8f, maxX);
+    }
+
+    @Test
+    void lodScaleMustDivideTheChunk() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> new ChunkMeshBuilder().build(chunk, 3));
+    }
 }
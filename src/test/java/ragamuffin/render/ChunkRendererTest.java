@@ -0,0 +1,341 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ragamuffin.test.HeadlessTestHelper;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.Chunk;
+import ragamuffin.world.World;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for GPU buffer reuse, occlusion culling, the sorted transparent pass and
+ * level-of-detail selection in ChunkRenderer. GL calls go
+ * to a Mockito mock, so only which Mesh objects end up drawing each chunk, and
+ * which chunks are chosen for drawing, is checked.
+ */
+class ChunkRendererTest {
+
+    private GL20 previousGl;
+    private GL20 previousGl20;
+    private ChunkRenderer renderer;
+    private ChunkMeshBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        HeadlessTestHelper.initHeadless();
+        previousGl = Gdx.gl;
+        previousGl20 = Gdx.gl20;
+        Gdx.gl = Gdx.gl20 = mock(GL20.class);
+        renderer = new ChunkRenderer();
+        builder = new ChunkMeshBuilder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderer.dispose();
+        Gdx.gl = previousGl;
+        Gdx.gl20 = previousGl20;
+    }
+
+    @Test
+    void rebuildingAChunkReusesItsMesh() {
+        Chunk chunk = new Chunk(2, 0, 3);
+        chunk.setBlock(4, 4, 4, BlockType.GRASS);
+        renderer.updateChunk(chunk, builder);
+        List<Mesh> before = renderer.getChunkMeshes(chunk.getKey());
+        assertEquals(1, before.size());
+
+        // Place and break blocks: the chunk keeps drawing from the same buffers
+        chunk.setBlock(10, 4, 4, BlockType.DIRT);
+        renderer.updateChunk(chunk, builder);
+        chunk.setBlock(10, 4, 4, BlockType.AIR);
+        renderer.updateChunk(chunk, builder);
+
+        List<Mesh> after = renderer.getChunkMeshes(chunk.getKey());
+        assertEquals(1, after.size());
+        assertSame(before.get(0), after.get(0));
+        assertEquals(0, renderer.getPooledSlotCount());
+    }
+
+    @Test
+    void transparentFacesGetTheirOwnSlot() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        chunk.setBlock(4, 4, 4, BlockType.GRASS);
+        renderer.updateChunk(chunk, builder);
+        assertEquals(1, renderer.getChunkMeshes(chunk.getKey()).size());
+
+        chunk.setBlock(8, 4, 4, BlockType.GLASS);
+        renderer.updateChunk(chunk, builder);
+        assertEquals(2, renderer.getChunkMeshes(chunk.getKey()).size());
+
+        chunk.setBlock(8, 4, 4, BlockType.AIR);
+        renderer.updateChunk(chunk, builder);
+        assertEquals(1, renderer.getChunkMeshes(chunk.getKey()).size());
+        assertEquals(1, renderer.getPooledSlotCount(), "The glass slot should be pooled");
+    }
+
+    @Test
+    void removedChunkSlotsAreReusedByNewChunks() {
+        Chunk first = new Chunk(0, 0, 0);
+        first.setBlock(1, 1, 1, BlockType.GRASS);
+        renderer.updateChunk(first, builder);
+        Mesh mesh = renderer.getChunkMeshes(first.getKey()).get(0);
+
+        renderer.removeChunk(first);
+        assertTrue(renderer.getChunkMeshes(first.getKey()).isEmpty());
+        assertEquals(1, renderer.getPooledSlotCount());
+
+        Chunk second = new Chunk(5, 0, 5);
+        second.setBlock(2, 2, 2, BlockType.DIRT);
+        renderer.updateChunk(second, builder);
+        assertSame(mesh, renderer.getChunkMeshes(second.getKey()).get(0));
+        assertEquals(0, renderer.getPooledSlotCount());
+    }
+
+    @Test
+    void emptiedChunkReleasesItsSlots() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        chunk.setBlock(1, 1, 1, BlockType.GRASS);
+        renderer.updateChunk(chunk, builder);
+
+        chunk.setBlock(1, 1, 1, BlockType.AIR);
+        renderer.updateChunk(chunk, builder);
+        assertTrue(renderer.getChunkMeshes(chunk.getKey()).isEmpty());
+        assertEquals(1, renderer.getPooledSlotCount());
+    }
+
+    @Test
+    void slotCapacityRoundsUpAndRespectsIndexLimit() {
+        assertEquals(ChunkRenderer.SLOT_GRANULARITY, ChunkRenderer.slotCapacity(4));
+        assertEquals(ChunkRenderer.SLOT_GRANULARITY * 2, ChunkRenderer.slotCapacity(ChunkRenderer.SLOT_GRANULARITY + 4));
+        assertEquals(MeshData.MAX_VERTICES_PER_MESH, ChunkRenderer.slotCapacity(MeshData.MAX_VERTICES_PER_MESH));
+        assertEquals(0, ChunkRenderer.slotCapacity(MeshData.MAX_VERTICES_PER_MESH) % 4);
+    }
+
+    /**
+     * 3x3 surface chunks with a solid two-block floor, over 3x3 solid underground
+     * chunks that each hold a sealed room.
+     */
+    private Chunk[][] buildTownWithBasements() {
+        Chunk[][] layers = new Chunk[2][9];
+        for (int i = 0; i < 9; i++) {
+            Chunk surface = new Chunk(i % 3, 0, i / 3);
+            Chunk underground = new Chunk(i % 3, -1, i / 3);
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    surface.setBlock(x, 0, z, BlockType.STONE);
+                    surface.setBlock(x, 1, z, BlockType.GRASS);
+                    for (int y = 0; y < Chunk.HEIGHT; y++) {
+                        boolean room = x > 3 && x < 12 && z > 3 && z < 12 && y > 50 && y < 60;
+                        underground.setBlock(x, y, z, room ? BlockType.AIR : BlockType.STONE);
+                    }
+                }
+            }
+            layers[0][i] = surface;
+            layers[1][i] = underground;
+        }
+        for (Chunk[] layer : layers) {
+            for (Chunk chunk : layer) {
+                renderer.updateChunk(chunk, builder);
+            }
+        }
+        return layers;
+    }
+
+    private static PerspectiveCamera overheadCamera() {
+        PerspectiveCamera camera = new PerspectiveCamera(67, 800, 600);
+        camera.position.set(24, 40, 24);
+        camera.up.set(0, 0, -1);
+        camera.direction.set(0, -1, 0);
+        camera.near = 0.1f;
+        camera.far = 300f;
+        camera.update();
+        return camera;
+    }
+
+    @Test
+    void sealedUndergroundChunksAreOcclusionCulled() {
+        buildTownWithBasements();
+        PerspectiveCamera camera = overheadCamera();
+
+        renderer.setOcclusionCulling(false);
+        assertEquals(18, renderer.collectVisible(camera).size(), "Frustum culling alone draws every chunk");
+
+        renderer.setOcclusionCulling(true);
+        // Every surface chunk, plus the basement directly under the camera's chunk
+        assertEquals(10, renderer.collectVisible(camera).size());
+    }
+
+    @Test
+    void shaftThroughTheFloorRevealsTheBasement() {
+        Chunk[][] layers = buildTownWithBasements();
+        PerspectiveCamera camera = overheadCamera();
+        assertEquals(10, renderer.collectVisible(camera).size());
+
+        // Dig from the surface of chunk (0,0,0) down into its basement room
+        Chunk surface = layers[0][0];
+        Chunk underground = layers[1][0];
+        surface.setBlock(6, 0, 6, BlockType.AIR);
+        surface.setBlock(6, 1, 6, BlockType.AIR);
+        for (int y = 55; y < Chunk.HEIGHT; y++) {
+            underground.setBlock(6, y, 6, BlockType.AIR);
+        }
+        renderer.updateChunk(surface, builder);
+        renderer.updateChunk(underground, builder);
+
+        assertEquals(11, renderer.collectVisible(camera).size());
+    }
+
+    private static PerspectiveCamera cameraAt(float x, float y, float z) {
+        PerspectiveCamera camera = new PerspectiveCamera(67, 800, 600);
+        camera.position.set(x, y, z);
+        camera.direction.set(0, 0, -1);
+        camera.near = 0.1f;
+        camera.far = 300f;
+        camera.update();
+        return camera;
+    }
+
+    /** The transparent mesh of a chunk with fewer than 16k glass faces (always listed last). */
+    private Mesh glassMesh(Chunk chunk) {
+        List<Mesh> meshes = renderer.getChunkMeshes(chunk.getKey());
+        return meshes.get(meshes.size() - 1);
+    }
+
+    /** Local centre (x, y, z) of each transparent quad, in the order it sits in the GPU buffer. */
+    private float[][] transparentQuadCentres(Chunk chunk) {
+        Mesh mesh = glassMesh(chunk);
+        float[] vertices = new float[mesh.getNumVertices() * MeshData.FLOATS_PER_VERTEX];
+        mesh.getVertices(vertices);
+        float[][] centres = new float[mesh.getNumVertices() / 4][3];
+        for (int q = 0; q < centres.length; q++) {
+            for (int v = q * 4; v < q * 4 + 4; v++) {
+                centres[q][0] += MeshData.unpackX(vertices, v) / 4f;
+                centres[q][1] += MeshData.unpackY(vertices, v) / 4f;
+                centres[q][2] += MeshData.unpackZ(vertices, v) / 4f;
+            }
+        }
+        return centres;
+    }
+
+    private static float lastQuadX(float[][] centres) {
+        return centres[centres.length - 1][0];
+    }
+
+    @Test
+    void transparentChunksAreOrderedBackToFront() {
+        Chunk near = new Chunk(0, 0, 0);
+        Chunk far = new Chunk(0, 0, -3);
+        Chunk solid = new Chunk(1, 0, -1);
+        near.setBlock(8, 4, 8, BlockType.GLASS);
+        far.setBlock(8, 4, 8, BlockType.GLASS);
+        solid.setBlock(8, 4, 8, BlockType.GRASS);
+        renderer.updateChunk(near, builder);
+        renderer.updateChunk(far, builder);
+        renderer.updateChunk(solid, builder);
+        Mesh nearGlass = glassMesh(near);
+        Mesh farGlass = glassMesh(far);
+
+        PerspectiveCamera camera = cameraAt(8, 5, 20);
+        renderer.collectVisible(camera);
+        List<ChunkRenderer.ChunkMeshes> ordered = renderer.sortTransparent(camera);
+        // Only chunks with glass take part, farthest first
+        assertEquals(2, ordered.size());
+        assertSame(farGlass, ordered.get(0).transparent.get(0).mesh);
+        assertSame(nearGlass, ordered.get(1).transparent.get(0).mesh);
+
+        // Looking back from the other side flips the order
+        camera.position.set(8, 5, -80);
+        camera.direction.set(0, 0, 1);
+        camera.update();
+        renderer.collectVisible(camera);
+        ordered = renderer.sortTransparent(camera);
+        assertEquals(2, ordered.size());
+        assertSame(nearGlass, ordered.get(0).transparent.get(0).mesh);
+        assertSame(farGlass, ordered.get(1).transparent.get(0).mesh);
+    }
+
+    @Test
+    void transparentFacesAreSortedWhenTheCameraChangesCell() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        chunk.setBlock(4, 4, 4, BlockType.GLASS);
+        chunk.setBlock(6, 4, 4, BlockType.GLASS);
+        renderer.updateChunk(chunk, builder);
+
+        // Between the panes, just past the first: its +X face is nearest, so drawn last
+        PerspectiveCamera camera = cameraAt(5.1f, 4.5f, 4.5f);
+        renderer.collectVisible(camera);
+        renderer.sortTransparent(camera);
+        float[][] centres = transparentQuadCentres(chunk);
+        assertEquals(5f, lastQuadX(centres), 0.001f);
+        for (int q = 1; q < centres.length; q++) {
+            assertTrue(camera.position.dst2(centres[q - 1][0], centres[q - 1][1], centres[q - 1][2])
+                >= camera.position.dst2(centres[q][0], centres[q][1], centres[q][2]),
+                "Quads should run back to front");
+        }
+
+        // Same block cell: no re-sort, even though the second pane is now nearer
+        camera.position.set(5.9f, 4.5f, 4.5f);
+        camera.update();
+        renderer.collectVisible(camera);
+        renderer.sortTransparent(camera);
+        assertEquals(5f, lastQuadX(transparentQuadCentres(chunk)), 0.001f);
+
+        // New cell: the second pane's far (+X) side is now nearest
+        camera.position.set(7.9f, 4.5f, 4.5f);
+        camera.update();
+        renderer.collectVisible(camera);
+        renderer.sortTransparent(camera);
+        assertEquals(7f, lastQuadX(transparentQuadCentres(chunk)), 0.001f);
+    }
+
+    @Test
+    void lodSelectionUsesHysteresis() {
+        float boundary = ChunkRenderer.LOD_HALF_DISTANCE;
+        float margin = ChunkRenderer.LOD_HYSTERESIS;
+        assertEquals(1, ChunkRenderer.selectLodScale(1, boundary + margin - 1));
+        assertEquals(2, ChunkRenderer.selectLodScale(1, boundary + margin + 1));
+        assertEquals(2, ChunkRenderer.selectLodScale(2, boundary - margin + 1));
+        assertEquals(1, ChunkRenderer.selectLodScale(2, boundary - margin - 1));
+        // Jumps straight to the right level when far from its current one
+        assertEquals(4, ChunkRenderer.selectLodScale(1, ChunkRenderer.LOD_QUARTER_DISTANCE + 50));
+        assertEquals(1, ChunkRenderer.selectLodScale(4, 0));
+    }
+
+    @Test
+    void distantChunksAreRebuiltAtLowerDetail() {
+        World world = new World(1L);
+        Chunk chunk = world.getOrCreateChunk(0, 0, 0);
+        chunk.setBlock(4, 4, 4, BlockType.GRASS);
+        renderer.updateChunk(chunk, builder);
+        assertEquals(1, renderer.getUploadedLodScale(chunk.getKey()), "No camera yet: full detail");
+
+        Vector3 eye = new Vector3(8, 10, Chunk.SIZE + ChunkRenderer.LOD_QUARTER_DISTANCE + 50);
+        assertEquals(1, renderer.updateLevelsOfDetail(eye, world));
+        assertTrue(world.getDirtyChunks().contains(chunk));
+        assertEquals(4, renderer.getLodScale(chunk));
+        renderer.updateChunk(chunk, builder);
+        world.markChunkClean(chunk);
+        assertEquals(4, renderer.getUploadedLodScale(chunk.getKey()));
+
+        // Stepping just inside the boundary is not enough to switch back
+        eye.z = Chunk.SIZE + ChunkRenderer.LOD_QUARTER_DISTANCE - ChunkRenderer.LOD_HYSTERESIS / 2;
+        assertEquals(0, renderer.updateLevelsOfDetail(eye, world));
+        assertTrue(world.getDirtyChunks().isEmpty());
+
+        renderer.setLevelOfDetail(false);
+        assertEquals(1, renderer.updateLevelsOfDetail(eye, world));
+        assertEquals(1, renderer.getLodScale(chunk));
+    }
+}
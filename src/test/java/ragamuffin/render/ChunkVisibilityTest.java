@@ -0,0 +1,78 @@
+package ragamuffin.render;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ragamuffin.test.HeadlessTestHelper;
+import ragamuffin.world.BlockType;
+import ragamuffin.world.Chunk;
+import ragamuffin.world.ChunkSnapshot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for chunk face-to-face connectivity used by occlusion culling.
+ */
+class ChunkVisibilityTest {
+
+    @BeforeAll
+    static void setup() {
+        HeadlessTestHelper.initHeadless();
+    }
+
+    private static Chunk solidChunk() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    chunk.setBlock(x, y, z, BlockType.STONE);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    private static long connectivity(Chunk chunk) {
+        return new ChunkVisibility().compute(ChunkSnapshot.capture(chunk, null));
+    }
+
+    @Test
+    void airChunkConnectsEveryFace() {
+        assertEquals(ChunkVisibility.ALL_CONNECTED, connectivity(new Chunk(0, 0, 0)));
+    }
+
+    @Test
+    void solidChunkConnectsNothing() {
+        assertEquals(ChunkVisibility.NONE_CONNECTED, connectivity(solidChunk()));
+    }
+
+    @Test
+    void tunnelConnectsOnlyItsEnds() {
+        Chunk chunk = solidChunk();
+        for (int x = 0; x < Chunk.SIZE; x++) {
+            chunk.setBlock(x, 10, 5, BlockType.AIR);
+        }
+        long connectivity = connectivity(chunk);
+        assertTrue(ChunkVisibility.isConnected(connectivity, MeshData.FACE_WEST, MeshData.FACE_EAST));
+        assertTrue(ChunkVisibility.isConnected(connectivity, MeshData.FACE_EAST, MeshData.FACE_WEST));
+        assertFalse(ChunkVisibility.isConnected(connectivity, MeshData.FACE_WEST, MeshData.FACE_TOP));
+        assertFalse(ChunkVisibility.isConnected(connectivity, MeshData.FACE_NORTH, MeshData.FACE_SOUTH));
+    }
+
+    @Test
+    void seeThroughBlocksDoNotSeal() {
+        Chunk chunk = solidChunk();
+        // A glass-walled shaft from top to bottom
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            chunk.setBlock(7, y, 7, y % 2 == 0 ? BlockType.GLASS : BlockType.AIR);
+        }
+        long connectivity = connectivity(chunk);
+        assertTrue(ChunkVisibility.isConnected(connectivity, MeshData.FACE_TOP, MeshData.FACE_BOTTOM));
+        assertFalse(ChunkVisibility.isConnected(connectivity, MeshData.FACE_TOP, MeshData.FACE_WEST));
+    }
+
+    @Test
+    void meshBuilderRecordsConnectivity() {
+        MeshData meshData = new ChunkMeshBuilder().build(solidChunk());
+        assertEquals(ChunkVisibility.NONE_CONNECTED, meshData.getFaceConnectivity());
+    }
+}
@@ -0,0 +1,85 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import ragamuffin.test.HeadlessTestHelper;
+import ragamuffin.world.FlagPosition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that FlagRenderer animates flags through FlagShader's time uniform
+ * instead of rebuilding geometry. GL calls go to a Mockito mock that reports
+ * every shader as compiled and linked.
+ */
+class FlagRendererTest {
+
+    private FlagRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        HeadlessTestHelper.initHeadless();
+        HeadlessTestHelper.mockGl20();
+        renderer = new FlagRenderer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderer.dispose();
+        HeadlessTestHelper.restoreGl();
+    }
+
+    @Test
+    void wavingReusesTheSameGeometry() {
+        renderer.setFlags(List.of(
+            new FlagPosition(0f, 10f, 0f, 1f, 0f, 0f, 0f, 0f, 1f, 0f),
+            new FlagPosition(5f, 10f, 0f, 0f, 1f, 0f, 1f, 1f, 1f, 1.5f)));
+        ModelBatch modelBatch = mock(ModelBatch.class);
+        Environment environment = new Environment();
+
+        renderer.render(modelBatch, environment);
+        Model panel = renderer.getPanelModel();
+        assertNotNull(panel);
+
+        for (int frame = 0; frame < 30; frame++) {
+            renderer.update(1f / 60f);
+            renderer.render(modelBatch, environment);
+        }
+
+        assertSame(panel, renderer.getPanelModel(), "Animating must not rebuild the flag model");
+        ArgumentCaptor<ModelInstance> panels = ArgumentCaptor.forClass(ModelInstance.class);
+        ArgumentCaptor<Shader> shaders = ArgumentCaptor.forClass(Shader.class);
+        verify(modelBatch, times(31 * 2)).render(panels.capture(), same(environment), shaders.capture());
+        for (ModelInstance instance : panels.getAllValues()) {
+            assertSame(panel, instance.model);
+            assertTrue(instance.userData instanceof FlagPosition);
+        }
+        FlagShader shader = (FlagShader) shaders.getValue();
+        assertEquals(0.5f, shader.getTime(), 1e-4f, "Shader time should follow update()");
+    }
+
+    @Test
+    void shaderTimeWrapsToOneWavePeriod() {
+        renderer.setFlags(List.of(new FlagPosition(0f, 10f, 0f, 1f, 0f, 0f, 0f, 0f, 1f, 0f)));
+        ModelBatch modelBatch = mock(ModelBatch.class);
+
+        renderer.update(1000f);
+        renderer.render(modelBatch, new Environment());
+
+        ArgumentCaptor<Shader> shaders = ArgumentCaptor.forClass(Shader.class);
+        verify(modelBatch).render(any(ModelInstance.class), any(Environment.class), shaders.capture());
+        float time = ((FlagShader) shaders.getValue()).getTime();
+        assertTrue(time >= 0f && time < 1f / 1.2f, "Time should stay within one period, was " + time);
+    }
+}
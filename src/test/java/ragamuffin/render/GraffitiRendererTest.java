@@ -0,0 +1,121 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ragamuffin.core.GraffitiSystem.BlockFace;
+import ragamuffin.core.GraffitiSystem.GraffitiMark;
+import ragamuffin.core.GraffitiSystem.TagStyle;
+import ragamuffin.test.HeadlessTestHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that GraffitiRenderer batches marks per chunk and only rebuilds a chunk's
+ * mesh when its marks change. GL calls go to a Mockito mock that reports every
+ * shader as compiled and linked; marks are mocks so their fade can be set directly.
+ */
+class GraffitiRendererTest {
+
+    private GL20 gl;
+    private GraffitiRenderer renderer;
+    private PerspectiveCamera camera;
+
+    @BeforeEach
+    void setUp() {
+        HeadlessTestHelper.initHeadless();
+        gl = HeadlessTestHelper.mockGl20();
+        renderer = new GraffitiRenderer();
+
+        // Looking down +X along the street, with both test chunks in view
+        camera = new PerspectiveCamera(90f, 800, 600);
+        camera.position.set(-4f, 5f, 8f);
+        camera.lookAt(20f, 5f, 8f);
+        camera.far = 200f;
+        camera.update();
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderer.dispose();
+        HeadlessTestHelper.restoreGl();
+    }
+
+    private static GraffitiMark mark(float x, float y, float z, float alpha) {
+        GraffitiMark mark = mock(GraffitiMark.class);
+        when(mark.getBlockPos()).thenReturn(new Vector3(x, y, z));
+        when(mark.getFace()).thenReturn(BlockFace.WEST);
+        when(mark.getStyle()).thenReturn(TagStyle.PLAYER_TAG);
+        when(mark.getAlpha()).thenReturn(alpha);
+        return mark;
+    }
+
+    @Test
+    void thousandsOfMarksDrawInOneCallPerChunk() {
+        List<GraffitiMark> marks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            marks.add(mark(2f + i % 12, 1f + (i / 12) % 30, 2f + (i / 360), 1f));
+        }
+        marks.add(mark(20f, 4f, 8f, 1f)); // next chunk along X
+
+        renderer.render(marks, camera);
+
+        verify(gl, times(1)).glDrawElements(eq(GL20.GL_TRIANGLES), eq(1000 * 6), eq(GL20.GL_UNSIGNED_SHORT), anyInt());
+        verify(gl, times(1)).glDrawElements(eq(GL20.GL_TRIANGLES), eq(6), eq(GL20.GL_UNSIGNED_SHORT), anyInt());
+    }
+
+    @Test
+    void chunkIsOnlyRebuiltWhenItsMarksChange() {
+        GraffitiMark a = mark(2f, 4f, 8f, 1f);
+        GraffitiMark b = mark(20f, 4f, 8f, 1f);
+        List<GraffitiMark> marks = new ArrayList<>(List.of(a, b));
+
+        renderer.render(marks, camera);
+        assertEquals(2, renderer.getRebuildCount());
+
+        renderer.render(marks, camera);
+        assertEquals(2, renderer.getRebuildCount(), "Unchanged marks must not rebuild");
+
+        // Fading within one step is not visible, so nothing rebuilds
+        when(a.getAlpha()).thenReturn(0.99f);
+        renderer.render(marks, camera);
+        assertEquals(2, renderer.getRebuildCount());
+
+        // Crossing a fade step rebuilds only the mark's chunk
+        when(a.getAlpha()).thenReturn(0.5f);
+        renderer.render(marks, camera);
+        assertEquals(3, renderer.getRebuildCount());
+
+        // Scrubbing hides the mark
+        when(b.isScrubbed()).thenReturn(true);
+        renderer.render(marks, camera);
+        assertEquals(4, renderer.getRebuildCount());
+
+        // A mark that disappears from the list (new game) empties its chunk
+        marks.remove(a);
+        renderer.render(marks, camera);
+        assertEquals(5, renderer.getRebuildCount());
+    }
+
+    @Test
+    void quadCoversTheTaggedFace() {
+        GraffitiMark mark = mark(3f, 4f, 5f, 1f);
+        when(mark.getFace()).thenReturn(BlockFace.SOUTH);
+
+        Vector3[] corners = GraffitiRenderer.computeQuadVertices(mark);
+
+        float z = 6f + GraffitiRenderer.DEPTH_OFFSET;
+        assertEquals(new Vector3(3f, 4f, z), corners[0]);
+        assertEquals(new Vector3(4f, 4f, z), corners[1]);
+        assertEquals(new Vector3(4f, 5f, z), corners[2]);
+        assertEquals(new Vector3(3f, 5f, z), corners[3]);
+    }
+}
@@ -0,0 +1,131 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import ragamuffin.test.HeadlessTestHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for grouping model parts into instanced draws in InstancedPartBatch. GL
+ * calls go to a Mockito mock, so only the grouping and what reaches the ModelBatch
+ * is checked.
+ */
+class InstancedPartBatchTest {
+
+    private static final long ATTRS = VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal;
+
+    private GL20 previousGl;
+    private GL20 previousGl20;
+    private GL30 previousGl30;
+    private final List<Model> models = new ArrayList<>();
+    private InstancedPartBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        HeadlessTestHelper.initHeadless();
+        previousGl = Gdx.gl;
+        previousGl20 = Gdx.gl20;
+        previousGl30 = Gdx.gl30;
+        GL30 gl = mock(GL30.class);
+        Gdx.gl = Gdx.gl20 = Gdx.gl30 = gl;
+        batch = new InstancedPartBatch();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batch.dispose();
+        for (Model model : models) {
+            model.dispose();
+        }
+        Gdx.gl = previousGl;
+        Gdx.gl20 = previousGl20;
+        Gdx.gl30 = previousGl30;
+    }
+
+    private Model box(float size, Material material) {
+        Model model = new ModelBuilder().createBox(size, size, size, material, ATTRS);
+        models.add(model);
+        return model;
+    }
+
+    private Model box(float size, Color color) {
+        return box(size, new Material(ColorAttribute.createDiffuse(color)));
+    }
+
+    @Test
+    void identicalGeometryFromDifferentModelsSharesOneGroup() {
+        ModelInstance red = new ModelInstance(box(0.4f, Color.RED));
+        ModelInstance blue = new ModelInstance(box(0.4f, Color.BLUE));
+        red.transform.setToTranslation(1f, 0f, 0f);
+        blue.transform.setToTranslation(-1f, 0f, 0f);
+
+        assertTrue(batch.add(red));
+        assertTrue(batch.add(blue));
+
+        assertEquals(1, batch.getGroupCount(), "Same box in two colours should be one draw");
+        assertEquals(2, batch.getQueuedInstanceCount());
+    }
+
+    @Test
+    void differentGeometryGetsItsOwnGroup() {
+        batch.add(new ModelInstance(box(0.4f, Color.RED)));
+        batch.add(new ModelInstance(box(0.2f, Color.RED)));
+
+        assertEquals(2, batch.getGroupCount());
+    }
+
+    @Test
+    void blendedPartsAreLeftToTheModelBatch() {
+        Material glass = new Material(ColorAttribute.createDiffuse(Color.WHITE), new BlendingAttribute(0.5f));
+
+        assertFalse(batch.add(new ModelInstance(box(0.4f, glass))));
+        assertEquals(0, batch.getQueuedInstanceCount());
+    }
+
+    @Test
+    void flushSubmitsOneInstancedRenderablePerGroup() {
+        Model model = box(0.4f, Color.RED);
+        // More instances than the initial instance buffer holds
+        for (int i = 0; i < 100; i++) {
+            ModelInstance instance = new ModelInstance(model);
+            instance.transform.setToTranslation(i, 0f, 0f);
+            batch.add(instance);
+        }
+        ModelBatch modelBatch = mock(ModelBatch.class);
+        Environment environment = new Environment();
+
+        batch.flush(modelBatch, environment);
+
+        ArgumentCaptor<Renderable> captor = ArgumentCaptor.forClass(Renderable.class);
+        verify(modelBatch, times(1)).render(captor.capture());
+        Renderable renderable = captor.getValue();
+        assertTrue(renderable.meshPart.mesh.isInstanced());
+        assertSame(environment, renderable.environment);
+        assertEquals(0, batch.getQueuedInstanceCount(), "Flushing should start a new frame");
+
+        // Nothing queued: nothing drawn
+        batch.flush(modelBatch, environment);
+        verify(modelBatch, times(1)).render(any(Renderable.class));
+    }
+}
@@ -0,0 +1,34 @@
+package ragamuffin.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for choosing the baked impostor view in NPCImpostorAtlas. Baking the
+ * atlas needs a real framebuffer, so only the view selection is checked here.
+ */
+class NPCImpostorAtlasTest {
+
+    @Test
+    void npcFacingTheCameraShowsTheFrontView() {
+        assertEquals(0, NPCImpostorAtlas.viewIndex(0f, 0f));
+        assertEquals(0, NPCImpostorAtlas.viewIndex(135f, 135f));
+    }
+
+    @Test
+    void turningTheNpcStepsThroughTheViews() {
+        assertEquals(2, NPCImpostorAtlas.viewIndex(90f, 0f));
+        assertEquals(4, NPCImpostorAtlas.viewIndex(180f, 0f));
+        // Moving the camera the other way round is the same as turning the NPC back
+        assertEquals(6, NPCImpostorAtlas.viewIndex(0f, 90f));
+    }
+
+    @Test
+    void anglesSnapToTheNearestViewAndWrap() {
+        assertEquals(0, NPCImpostorAtlas.viewIndex(350f, 0f));
+        assertEquals(1, NPCImpostorAtlas.viewIndex(50f, 0f));
+        assertEquals(7, NPCImpostorAtlas.viewIndex(-40f, 0f));
+        assertEquals(0, NPCImpostorAtlas.viewIndex(720f, 0f));
+    }
+}
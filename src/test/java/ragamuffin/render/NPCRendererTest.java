@@ -1,5 +1,12 @@
 package ragamuffin.render;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Vector3;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import ragamuffin.ai.NPCManager;
@@ -10,6 +17,7 @@ import ragamuffin.test.HeadlessTestHelper;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Tests for NPC visibility and spawning - verifies NPCs are spawned near player
@@ -146,4 +154,108 @@ class NPCRendererTest {
         assertEquals(2.0f, NPCType.COUNCIL_BUILDER.getAttackCooldown(), 0.01f,
             "Council worker has 2.0s attack cooldown");
     }
+
+    /**
+     * NPCs behind the camera or outside its field of view are culled; one just
+     * past the edge of the view, whose model could still reach into it, is kept.
+     */
+    @Test
+    void npcsOutsideTheFrustumAreCulled() {
+        PerspectiveCamera camera = lookingNorth();
+
+        assertTrue(NPCRenderer.isInFrustum(camera, new NPC(NPCType.PUBLIC, 0f, 1f, -10f)),
+            "NPC in front of the camera should be drawn");
+        assertFalse(NPCRenderer.isInFrustum(camera, new NPC(NPCType.PUBLIC, 0f, 1f, 10f)),
+            "NPC behind the camera should be culled");
+        assertFalse(NPCRenderer.isInFrustum(camera, new NPC(NPCType.DOG, 60f, 1f, -10f)),
+            "NPC far off to the side should be culled");
+        assertFalse(NPCRenderer.isInFrustum(camera, new NPC(NPCType.PUBLIC, 0f, 1f, -250f)),
+            "NPC beyond the far plane should be culled");
+    }
+
+    @Test
+    void animationDetailDropsWithDistance() {
+        assertEquals(NPCRenderer.AnimationLod.NEAR, NPCRenderer.animationLod(5f));
+        assertEquals(NPCRenderer.AnimationLod.MID,
+            NPCRenderer.animationLod(NPCRenderer.MID_ANIMATION_DISTANCE + 1f));
+        assertEquals(NPCRenderer.AnimationLod.FAR,
+            NPCRenderer.animationLod(NPCRenderer.FAR_ANIMATION_DISTANCE + 1f));
+    }
+
+    /**
+     * A mid-range NPC is posed once, then its parts are moved along with it on
+     * the frames between pose updates instead of being re-animated.
+     */
+    @Test
+    void midRangeNpcsReplayTheirLastPose() {
+        GL20 previousGl = Gdx.gl;
+        GL20 previousGl20 = Gdx.gl20;
+        Gdx.gl = Gdx.gl20 = mock(GL20.class);
+        NPCRenderer renderer = new NPCRenderer();
+        try {
+            ModelBatch modelBatch = mock(ModelBatch.class);
+            when(modelBatch.getCamera()).thenReturn(lookingNorth());
+            Environment environment = new Environment();
+            NPC npc = new NPC(NPCType.PUBLIC, 0f, 1f, -(NPCRenderer.MID_ANIMATION_DISTANCE + 6f));
+
+            renderer.render(modelBatch, environment, List.of(npc));
+            List<ModelInstance> parts = renderer.getReducedPoseParts(npc);
+            assertFalse(parts.isEmpty(), "First frame at mid range should pose the NPC");
+            ModelInstance torso = parts.get(0);
+            Vector3 before = torso.transform.getTranslation(new Vector3());
+
+            npc.getPosition().add(0.5f, 0f, 0f);
+            renderer.render(modelBatch, environment, List.of(npc));
+
+            Vector3 after = torso.transform.getTranslation(new Vector3());
+            assertEquals(before.x + 0.5f, after.x, 1e-4f, "Replayed parts should follow the NPC");
+            assertEquals(before.z, after.z, 1e-4f);
+            verify(modelBatch, times(parts.size() * 2)).render(any(ModelInstance.class), same(environment));
+        } finally {
+            renderer.dispose();
+            Gdx.gl = previousGl;
+            Gdx.gl20 = previousGl20;
+        }
+    }
+
+    /**
+     * Cached poses of NPCs that stop being rendered (e.g. despawned) are dropped
+     * by the periodic prune, so the cache does not grow without bound.
+     */
+    @Test
+    void posesOfRemovedNpcsArePruned() {
+        GL20 previousGl = Gdx.gl;
+        GL20 previousGl20 = Gdx.gl20;
+        Gdx.gl = Gdx.gl20 = mock(GL20.class);
+        NPCRenderer renderer = new NPCRenderer();
+        try {
+            ModelBatch modelBatch = mock(ModelBatch.class);
+            when(modelBatch.getCamera()).thenReturn(lookingNorth());
+            Environment environment = new Environment();
+            NPC npc = new NPC(NPCType.PUBLIC, 0f, 1f, -(NPCRenderer.MID_ANIMATION_DISTANCE + 6f));
+
+            renderer.render(modelBatch, environment, List.of(npc));
+            assertFalse(renderer.getReducedPoseParts(npc).isEmpty());
+
+            for (int i = 0; i < NPCRenderer.PRUNE_INTERVAL; i++) {
+                renderer.render(modelBatch, environment, List.of());
+            }
+            assertTrue(renderer.getReducedPoseParts(npc).isEmpty(),
+                "Pose of an NPC no longer rendered should be pruned");
+        } finally {
+            renderer.dispose();
+            Gdx.gl = previousGl;
+            Gdx.gl20 = previousGl20;
+        }
+    }
+
+    private static PerspectiveCamera lookingNorth() {
+        PerspectiveCamera camera = new PerspectiveCamera(67f, 1280f, 720f);
+        camera.position.set(0f, 2f, 0f);
+        camera.lookAt(0f, 2f, -1f);
+        camera.near = 0.1f;
+        camera.far = 200f;
+        camera.update();
+        return camera;
+    }
 }
@@ -0,0 +1,58 @@
+package ragamuffin.render;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ragamuffin.test.HeadlessTestHelper;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that ParticleSystem draws every active particle with a single draw call.
+ * GL calls go to a Mockito mock that reports every shader as compiled and linked.
+ */
+class ParticleRendererTest {
+
+    private GL20 gl;
+    private ParticleSystem particles;
+
+    @BeforeEach
+    void setUp() {
+        HeadlessTestHelper.initHeadless();
+        gl = HeadlessTestHelper.mockGl20();
+        particles = new ParticleSystem();
+    }
+
+    @AfterEach
+    void tearDown() {
+        particles.dispose();
+        HeadlessTestHelper.restoreGl();
+    }
+
+    @Test
+    void allParticlesDrawInOneCall() {
+        particles.emitCombatHit(0f, 1f, 0f);
+        particles.emitBlockBreak(2f, 1f, 0f, 0.5f, 0.5f, 0.5f);
+        particles.emitFootstepDust(0f, 0f, 2f);
+        PerspectiveCamera camera = new PerspectiveCamera(67f, 800, 600);
+        camera.update();
+
+        particles.render(camera, 800, 600);
+
+        verify(gl, times(1)).glDrawElements(eq(GL20.GL_TRIANGLES), eq(24 * 6), eq(GL20.GL_UNSIGNED_SHORT), anyInt());
+    }
+
+    @Test
+    void nothingIsDrawnWithoutParticles() {
+        PerspectiveCamera camera = new PerspectiveCamera(67f, 800, 600);
+        camera.update();
+
+        particles.render(camera, 800, 600);
+
+        verify(gl, never()).glDrawElements(anyInt(), anyInt(), anyInt(), anyInt());
+        verify(gl, never()).glCreateProgram();
+    }
+}
@@ -3,6 +3,9 @@ package ragamuffin.render;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -165,17 +168,59 @@ class ParticleSystemTest {
     }
 
     // -----------------------------------------------------------------------
-    // Pool limit (512 particles)
+    // Pool limit (MAX_PARTICLES)
     // -----------------------------------------------------------------------
 
     @Test
     void poolLimitNotExceededByExcessiveEmission() {
-        // Each emitCombatHit emits 8 particles; 70 calls = 560 > 512 pool limit
-        for (int i = 0; i < 70; i++) {
+        // Each emitCombatHit emits 8 particles; emit 64 more than the pool holds
+        int calls = ParticleSystem.MAX_PARTICLES / 8 + 8;
+        for (int i = 0; i < calls; i++) {
+            ps.emitCombatHit(0f, 0f, 0f);
+        }
+        assertEquals(ParticleSystem.MAX_PARTICLES, ps.getActiveCount(),
+            "A full pool should recycle particles rather than grow");
+    }
+
+    @Test
+    void fullPoolRecyclesTheOldestParticles() {
+        for (int i = 0; i < ParticleSystem.MAX_PARTICLES / 8; i++) {
+            ps.emitCombatHit(0f, 0f, 0f);
+        }
+        int oldest = ps.activeSlot(0);
+        ps.emitFootstepDust(0f, 0f, 0f);
+        assertEquals(ParticleSystem.MAX_PARTICLES, ps.getActiveCount());
+        assertEquals(oldest, ps.activeSlot(ParticleSystem.MAX_PARTICLES - 4),
+            "The oldest slot should be reused for the first new particle");
+    }
+
+    @Test
+    void updateKeepsSpawnOrderAfterTheRingWraps() {
+        for (int i = 0; i < ParticleSystem.MAX_PARTICLES / 8 + 2; i++) {
             ps.emitCombatHit(0f, 0f, 0f);
         }
-        // Active count must not exceed MAX_PARTICLES
-        assertTrue(ps.getActiveCount() <= 512,
-            "Active particle count should not exceed pool limit of 512, was " + ps.getActiveCount());
+        int[] before = new int[ps.getActiveCount()];
+        for (int n = 0; n < before.length; n++) {
+            before[n] = ps.activeSlot(n);
+        }
+        ps.update(0.001f);
+        assertEquals(before.length, ps.getActiveCount());
+        for (int n = 0; n < before.length; n++) {
+            assertEquals(before[n], ps.activeSlot(n), "Surviving particles should keep spawn order");
+        }
+    }
+
+    @Test
+    void expiredSlotsAreReused() {
+        ps.emitCombatHit(0f, 0f, 0f);
+        Set<Integer> slots = new HashSet<>();
+        for (int n = 0; n < ps.getActiveCount(); n++) {
+            slots.add(ps.activeSlot(n));
+        }
+        ps.update(1.0f);
+        ps.emitCombatHit(0f, 0f, 0f);
+        for (int n = 0; n < ps.getActiveCount(); n++) {
+            assertTrue(slots.contains(ps.activeSlot(n)), "Freed slots should be handed out again");
+        }
     }
 }
@@ -4,6 +4,12 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.headless.HeadlessApplication;
 import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
 import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.nio.IntBuffer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Helper for initializing LibGDX headless backend in tests.
@@ -13,6 +19,8 @@ public class HeadlessTestHelper {
 
     private static HeadlessApplication application;
     private static boolean initialized = false;
+    private static GL20 previousGl;
+    private static GL20 previousGl20;
 
     /**
      * Initialize the headless backend. Safe to call multiple times.
@@ -38,4 +46,37 @@ public class HeadlessTestHelper {
     public static boolean isInitialized() {
         return initialized && Gdx.app != null;
     }
+
+    /**
+     * Install a Mockito GL20 as {@code Gdx.gl} and {@code Gdx.gl20} so renderers
+     * can be built headless. Every shader compiles and links, and shader, program,
+     * buffer and texture handles are 1. Undo with {@link #restoreGl()}.
+     */
+    public static GL20 mockGl20() {
+        previousGl = Gdx.gl;
+        previousGl20 = Gdx.gl20;
+        GL20 gl = mock(GL20.class);
+        when(gl.glCreateShader(anyInt())).thenReturn(1);
+        when(gl.glCreateProgram()).thenReturn(1);
+        when(gl.glGenBuffer()).thenReturn(1);
+        when(gl.glGenTexture()).thenReturn(1);
+        doAnswer(inv -> {
+            ((IntBuffer) inv.getArgument(2)).put(0, 1);
+            return null;
+        }).when(gl).glGetShaderiv(anyInt(), eq(GL20.GL_COMPILE_STATUS), any(IntBuffer.class));
+        doAnswer(inv -> {
+            ((IntBuffer) inv.getArgument(2)).put(0, 1);
+            return null;
+        }).when(gl).glGetProgramiv(anyInt(), eq(GL20.GL_LINK_STATUS), any(IntBuffer.class));
+        Gdx.gl = Gdx.gl20 = gl;
+        return gl;
+    }
+
+    /**
+     * Put back the GL instances replaced by {@link #mockGl20()}.
+     */
+    public static void restoreGl() {
+        Gdx.gl = previousGl;
+        Gdx.gl20 = previousGl20;
+    }
 }
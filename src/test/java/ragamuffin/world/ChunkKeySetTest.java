@@ -0,0 +1,59 @@
+package ragamuffin.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the open-addressing chunk key set.
+ */
+public class ChunkKeySetTest {
+
+    @Test
+    public void testAddContainsRemove() {
+        ChunkKeySet set = new ChunkKeySet();
+        long key = ChunkPos.pack(0, 0, 0);
+        assertEquals(0L, key, "The origin packs to 0, which must still be a valid key");
+        assertFalse(set.contains(key));
+        assertTrue(set.add(key));
+        assertFalse(set.add(key));
+        assertTrue(set.contains(key));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove(key));
+        assertFalse(set.remove(key));
+        assertFalse(set.contains(key));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testMatchesHashSetUnderChurn() {
+        ChunkKeySet set = new ChunkKeySet(4);
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            long key = ChunkPos.pack(random.nextInt(40) - 20, random.nextInt(8), random.nextInt(40) - 20);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), set.remove(key));
+            } else {
+                assertEquals(reference.add(key), set.add(key));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        for (long key : reference) {
+            assertTrue(set.contains(key));
+        }
+
+        Set<Long> iterated = new HashSet<>();
+        set.forEach(iterated::add);
+        assertEquals(reference, iterated);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(reference.iterator().next()));
+    }
+}
@@ -0,0 +1,88 @@
+package ragamuffin.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the open-addressing chunk map.
+ */
+public class ChunkMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        ChunkMap<String> map = new ChunkMap<>();
+        long key = ChunkPos.pack(3, 0, -2);
+        assertNull(map.put(key, "a"));
+        assertEquals("a", map.get(key));
+        assertTrue(map.containsKey(key));
+        assertEquals("a", map.put(key, "b"));
+        assertEquals(1, map.size());
+
+        assertEquals("b", map.remove(key));
+        assertNull(map.get(key));
+        assertNull(map.remove(key));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testNullValuesRejected() {
+        ChunkMap<String> map = new ChunkMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    public void testGrowsPastInitialCapacity() {
+        ChunkMap<Integer> map = new ChunkMap<>(4);
+        for (int i = 0; i < 1000; i++) {
+            map.put(ChunkPos.pack(i, 0, -i), i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(ChunkPos.pack(i, 0, -i)));
+        }
+    }
+
+    @Test
+    public void testRandomChurnMatchesHashMap() {
+        // Heavy put/remove churn exercises probe-run collisions and backward-shift deletion
+        ChunkMap<Long> map = new ChunkMap<>(16);
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int op = 0; op < 20000; op++) {
+            long key = ChunkPos.pack(random.nextInt(32) - 16, random.nextInt(2) - 1, random.nextInt(32) - 16);
+            if (random.nextBoolean()) {
+                assertEquals(reference.put(key, (long) op), map.put(key, (long) op));
+            } else {
+                assertEquals(reference.remove(key), map.remove(key));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        for (Map.Entry<Long, Long> e : reference.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+    }
+
+    @Test
+    public void testValuesIteratesEveryEntryOnce() {
+        ChunkMap<Integer> map = new ChunkMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(ChunkPos.pack(i % 10, 0, i / 10), i);
+        }
+        Set<Integer> seen = new HashSet<>();
+        for (Integer v : map.values()) {
+            assertTrue(seen.add(v));
+        }
+        assertEquals(100, seen.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.values().iterator().hasNext());
+    }
+}
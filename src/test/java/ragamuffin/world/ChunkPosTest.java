@@ -0,0 +1,51 @@
+package ragamuffin.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for packed chunk coordinate keys.
+ */
+public class ChunkPosTest {
+
+    @Test
+    public void testPackUnpackRoundTrip() {
+        int[][] coords = {
+            {0, 0, 0}, {1, 0, 1}, {-1, -1, -1}, {15, 0, -15},
+            {-33554432, -2048, 33554431}, {33554431, 2047, -33554432}
+        };
+        for (int[] c : coords) {
+            long key = ChunkPos.pack(c[0], c[1], c[2]);
+            assertEquals(c[0], ChunkPos.x(key), "x of " + c[0] + "," + c[1] + "," + c[2]);
+            assertEquals(c[1], ChunkPos.y(key), "y of " + c[0] + "," + c[1] + "," + c[2]);
+            assertEquals(c[2], ChunkPos.z(key), "z of " + c[0] + "," + c[1] + "," + c[2]);
+        }
+    }
+
+    @Test
+    public void testDistinctCoordinatesGiveDistinctKeys() {
+        Set<Long> keys = new HashSet<>();
+        for (int x = -20; x <= 20; x++) {
+            for (int y = -2; y <= 2; y++) {
+                for (int z = -20; z <= 20; z++) {
+                    assertTrue(keys.add(ChunkPos.pack(x, y, z)), "Duplicate key at " + x + "," + y + "," + z);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testToStringMatchesLegacyFormat() {
+        assertEquals("-3,-1,7", ChunkPos.toString(ChunkPos.pack(-3, -1, 7)));
+    }
+
+    @Test
+    public void testChunkKeyMatchesPack() {
+        Chunk chunk = new Chunk(-4, -1, 9);
+        assertEquals(ChunkPos.pack(-4, -1, 9), chunk.getKey());
+    }
+}
@@ -0,0 +1,86 @@
+package ragamuffin.world;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ragamuffin.test.HeadlessTestHelper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChunkSnapshot — the immutable chunk copy used for off-thread meshing.
+ */
+class ChunkSnapshotTest {
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        HeadlessTestHelper.initHeadless();
+        world = new World(0);
+    }
+
+    @Test
+    void snapshotCopiesChunkBlocks() {
+        world.setBlock(5, 10, 7, BlockType.BRICK);
+        Chunk chunk = world.getChunk(0, 0, 0);
+
+        ChunkSnapshot snapshot = ChunkSnapshot.capture(chunk, world);
+        assertEquals(BlockType.BRICK, snapshot.getBlock(5, 10, 7));
+        assertEquals(BlockType.AIR, snapshot.getBlock(5, 11, 7));
+        assertEquals(0, snapshot.getChunkX());
+        assertEquals(0, snapshot.getChunkY());
+        assertEquals(0, snapshot.getChunkZ());
+    }
+
+    @Test
+    void snapshotIncludesOneVoxelNeighbourBorder() {
+        world.setBlock(0, 0, 0, BlockType.GRASS);
+        world.setBlock(-1, 0, 0, BlockType.STONE);   // West neighbour chunk
+        world.setBlock(16, 0, 0, BlockType.DIRT);    // East neighbour chunk
+        world.setBlock(0, -1, 0, BlockType.BEDROCK); // Chunk below
+        world.setBlock(0, 0, 16, BlockType.GLASS);   // South neighbour chunk
+
+        ChunkSnapshot snapshot = ChunkSnapshot.capture(world.getChunk(0, 0, 0), world);
+        assertEquals(BlockType.STONE, snapshot.getBlock(-1, 0, 0));
+        assertEquals(BlockType.DIRT, snapshot.getBlock(Chunk.SIZE, 0, 0));
+        assertEquals(BlockType.BEDROCK, snapshot.getBlock(0, -1, 0));
+        assertEquals(BlockType.GLASS, snapshot.getBlock(0, 0, Chunk.SIZE));
+        // Beyond the border is always AIR
+        assertEquals(BlockType.AIR, snapshot.getBlock(-2, 0, 0));
+    }
+
+    @Test
+    void snapshotWithoutWorldHasAirBorder() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        chunk.setBlock(0, 0, 0, BlockType.GRASS);
+        ChunkSnapshot snapshot = ChunkSnapshot.capture(chunk, null);
+        assertEquals(BlockType.GRASS, snapshot.getBlock(0, 0, 0));
+        assertEquals(BlockType.AIR, snapshot.getBlock(-1, 0, 0));
+    }
+
+    @Test
+    void snapshotIsUnaffectedByLaterEdits() {
+        world.setBlock(3, 3, 3, BlockType.BRICK);
+        ChunkSnapshot snapshot = ChunkSnapshot.capture(world.getChunk(0, 0, 0), world);
+
+        world.setBlock(3, 3, 3, BlockType.AIR);
+        world.setBlock(-1, 3, 3, BlockType.STONE);
+        assertEquals(BlockType.BRICK, snapshot.getBlock(3, 3, 3));
+        assertEquals(BlockType.AIR, snapshot.getBlock(-1, 3, 3));
+    }
+
+    @Test
+    void snapshotRecordsOpenDoorsForBothHalves() {
+        world.setBlock(4, 5, 4, BlockType.DOOR_LOWER);
+        world.setBlock(4, 6, 4, BlockType.DOOR_UPPER);
+        world.setBlock(8, 5, 8, BlockType.DOOR_LOWER);
+        world.setBlock(8, 6, 8, BlockType.DOOR_UPPER);
+        world.toggleDoor(4, 5, 4);
+
+        ChunkSnapshot snapshot = ChunkSnapshot.capture(world.getChunk(0, 0, 0), world);
+        assertTrue(snapshot.isDoorOpen(4, 5, 4));
+        assertTrue(snapshot.isDoorOpen(4, 6, 4));
+        assertFalse(snapshot.isDoorOpen(8, 5, 8));
+        assertFalse(snapshot.isDoorOpen(8, 6, 8));
+    }
+}
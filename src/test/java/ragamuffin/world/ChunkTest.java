@@ -57,4 +57,105 @@ class ChunkTest {
         assertEquals(5, localY);
         assertEquals(4, localZ);
     }
+
+    @Test
+    void newChunkUsesUniformStorage() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        assertTrue(chunk.isUniform());
+        assertEquals(Chunk.BITS_UNIFORM, chunk.getBitsPerBlock());
+
+        // Writing the uniform block type again must not allocate voxel storage
+        chunk.setBlock(3, 3, 3, BlockType.AIR);
+        assertTrue(chunk.isUniform());
+    }
+
+    @Test
+    void secondBlockTypeSwitchesToNibbleStorage() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        chunk.setBlock(1, 2, 3, BlockType.STONE);
+        assertFalse(chunk.isUniform());
+        assertEquals(Chunk.BITS_NIBBLE, chunk.getBitsPerBlock());
+        assertEquals(BlockType.STONE, chunk.getBlock(1, 2, 3));
+        assertEquals(BlockType.AIR, chunk.getBlock(0, 2, 3));
+        assertEquals(BlockType.AIR, chunk.getBlock(2, 2, 3));
+    }
+
+    @Test
+    void paletteOverSixteenTypesWidensToByteStorage() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        BlockType[] types = BlockType.values();
+        for (int i = 0; i < types.length; i++) {
+            chunk.setBlock(i % Chunk.SIZE, i / Chunk.SIZE, 0, types[i]);
+        }
+        assertEquals(Chunk.BITS_BYTE, chunk.getBitsPerBlock());
+        for (int i = 0; i < types.length; i++) {
+            assertEquals(types[i], chunk.getBlock(i % Chunk.SIZE, i / Chunk.SIZE, 0));
+        }
+    }
+
+    @Test
+    void everyVoxelRoundTripsThroughPackedStorage() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        BlockType[] types = {BlockType.STONE, BlockType.DIRT, BlockType.GRASS, BlockType.BRICK, BlockType.AIR};
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    chunk.setBlock(x, y, z, types[(x + y * 3 + z * 7) % types.length]);
+                }
+            }
+        }
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    assertEquals(types[(x + y * 3 + z * 7) % types.length], chunk.getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    void compactCollapsesFullyOverwrittenChunkToUniform() {
+        Chunk chunk = new Chunk(0, -1, 0);
+        for (int y = 0; y < Chunk.HEIGHT; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    chunk.setBlock(x, y, z, BlockType.STONE);
+                }
+            }
+        }
+        assertFalse(chunk.isUniform());
+        long before = chunk.estimateMemoryBytes();
+
+        chunk.compact();
+        assertTrue(chunk.isUniform());
+        assertEquals(1, chunk.getPaletteSize());
+        assertEquals(BlockType.STONE, chunk.getBlock(7, 40, 9));
+        assertTrue(chunk.estimateMemoryBytes() < before);
+    }
+
+    @Test
+    void compactDropsStalePaletteEntriesAndNarrowsStorage() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        BlockType[] types = BlockType.values();
+        for (int i = 0; i < types.length; i++) {
+            chunk.setBlock(i % Chunk.SIZE, i / Chunk.SIZE, 0, types[i]);
+        }
+        // Overwrite everything except a handful of voxels with AIR
+        for (int i = 4; i < types.length; i++) {
+            chunk.setBlock(i % Chunk.SIZE, i / Chunk.SIZE, 0, BlockType.AIR);
+        }
+        assertEquals(Chunk.BITS_BYTE, chunk.getBitsPerBlock());
+
+        chunk.compact();
+        assertEquals(Chunk.BITS_NIBBLE, chunk.getBitsPerBlock());
+        assertEquals(4, chunk.getPaletteSize());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(types[i], chunk.getBlock(i, 0, 0));
+        }
+        assertEquals(BlockType.AIR, chunk.getBlock(5, 0, 0));
+
+        // Still writable after compaction
+        chunk.setBlock(15, 63, 15, BlockType.GLASS);
+        assertEquals(BlockType.GLASS, chunk.getBlock(15, 63, 15));
+    }
 }
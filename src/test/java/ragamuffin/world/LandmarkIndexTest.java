@@ -0,0 +1,94 @@
+package ragamuffin.world;
+
+import org.junit.jupiter.api.Test;
+import ragamuffin.test.HeadlessTestHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the landmark grid behind {@link World#getLandmarkAt} and
+ * {@link World#getLandmarksInArea}.
+ */
+class LandmarkIndexTest {
+
+    @Test
+    void pointQueriesMatchLinearScanOnGeneratedWorld() {
+        HeadlessTestHelper.initHeadless();
+        World world = new World(42);
+        world.generate();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int x = random.nextInt(400) - 200;
+            int y = random.nextInt(40) - 20;
+            int z = random.nextInt(400) - 200;
+            LandmarkType expected = null;
+            for (Landmark landmark : world.getAllLandmarks()) {
+                if (landmark.contains(x, y, z)) {
+                    expected = landmark.getType();
+                    break;
+                }
+            }
+            assertEquals(expected, world.getLandmarkAt(x, y, z), "at " + x + "," + y + "," + z);
+        }
+    }
+
+    @Test
+    void overlappingLandmarksResolveInRegistrationOrder() {
+        Landmark park = new Landmark(LandmarkType.PARK, -10, 0, -10, 40, 1, 40);
+        Landmark statue = new Landmark(LandmarkType.STATUE, 4, 0, 4, 3, 5, 3);
+        LandmarkIndex index = new LandmarkIndex(List.of(statue, park));
+
+        assertSame(statue, index.landmarkAt(5, 0, 5));
+        assertSame(statue, index.landmarkAt(5, 3, 5));
+        assertSame(park, index.landmarkAt(0, 0, 0));
+        assertSame(park, index.landmarkAt(29, 0, 29), "Far edge of a footprint spanning several cells");
+        assertNull(index.landmarkAt(30, 0, 29), "Footprints are exclusive at the far edge");
+        assertNull(index.landmarkAt(0, 1, 0), "Above the park");
+        assertNull(index.landmarkAt(-500, 0, 500), "Outside the grid");
+    }
+
+    @Test
+    void areaQueryReturnsEachOverlappingLandmarkOnce() {
+        World world = new World(1);
+        Landmark canal = new Landmark(LandmarkType.CANAL, -120, 0, 40, 240, 1, 8);
+        Landmark church = new Landmark(LandmarkType.CHURCH, 10, 0, 10, 12, 17, 18);
+        Landmark bunker = new Landmark(LandmarkType.UNDERGROUND_BUNKER, 100, -20, 100, 10, 6, 10);
+        world.addLandmark(canal);
+        world.addLandmark(church);
+        world.addLandmark(bunker);
+
+        List<Landmark> out = new ArrayList<>();
+        world.getLandmarksInArea(0, 0, 50, 50, out);
+        assertEquals(2, out.size());
+        assertTrue(out.contains(canal));
+        assertTrue(out.contains(church));
+
+        out.clear();
+        world.getLandmarksInArea(22, 28, 30, 39, out);
+        assertTrue(out.isEmpty(), "Box just past the church and just short of the canal");
+
+        out.clear();
+        world.getLandmarksInArea(109, 109, 200, 200, out);
+        assertEquals(List.of(bunker), out);
+    }
+
+    @Test
+    void addingALandmarkRebuildsTheIndex() {
+        World world = new World(1);
+        world.addLandmark(new Landmark(LandmarkType.GREGGS, 0, 0, 0, 8, 5, 8));
+        assertEquals(LandmarkType.GREGGS, world.getLandmarkAt(2, 1, 2));
+        assertNull(world.getLandmarkAt(60, 1, 60));
+
+        world.addLandmark(new Landmark(LandmarkType.LIBRARY, 56, 0, 56, 16, 7, 12));
+        assertEquals(LandmarkType.LIBRARY, world.getLandmarkAt(60, 1, 60));
+
+        // Re-registering a type replaces its footprint
+        world.addLandmark(new Landmark(LandmarkType.GREGGS, 20, 0, 20, 8, 5, 8));
+        assertNull(world.getLandmarkAt(2, 1, 2));
+        assertEquals(LandmarkType.GREGGS, world.getLandmarkAt(22, 1, 22));
+    }
+}
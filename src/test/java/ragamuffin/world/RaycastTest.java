@@ -155,4 +155,49 @@ class RaycastTest {
         assertEquals(0, result.getBlockZ());
         assertEquals(BlockType.DOOR_UPPER, result.getBlockType());
     }
+
+    @Test
+    void testHolderIsReusedAcrossCasts() {
+        World world = new World(12345);
+        world.setBlock(0, 0, 0, BlockType.STONE);
+        world.setBlock(3, 0, 0, BlockType.BRICK);
+        RaycastResult out = new RaycastResult();
+        Vector3 hitPosition = out.getHitPosition();
+
+        assertTrue(Raycast.cast(world, 0.5f, 5f, 0.5f, 0f, -1f, 0f, 10f, Raycast.TARGETABLE, out));
+        assertEquals(BlockType.STONE, out.getBlockType());
+        assertEquals(4f, out.getDistance(), 1e-5f);
+        assertEquals(1f, out.getHitPosition().y, 1e-5f);
+
+        // Unnormalised direction is fine; the same holder and hit vector are overwritten
+        assertTrue(Raycast.cast(world, 3.5f, 5f, 0.5f, 0f, -2f, 0f, 10f, Raycast.TARGETABLE, out));
+        assertEquals(3, out.getBlockX());
+        assertEquals(BlockType.BRICK, out.getBlockType());
+        assertSame(hitPosition, out.getHitPosition());
+
+        // A miss leaves the previous hit in place
+        assertFalse(Raycast.cast(world, 8.5f, 5f, 0.5f, 0f, -1f, 0f, 10f, Raycast.TARGETABLE, out));
+        assertEquals(3, out.getBlockX());
+    }
+
+    @Test
+    void testFilterSelectsWhichBlocksStopTheRay() {
+        World world = new World(12345);
+        world.setBlock(0, 3, 0, BlockType.GLASS);
+        world.setBlock(0, 0, 0, BlockType.STONE);
+        world.setBlock(2, 3, 0, BlockType.BRICK);
+        world.setBlock(2, 1, 0, BlockType.DOOR_LOWER);
+        RaycastResult out = new RaycastResult();
+
+        assertTrue(Raycast.cast(world, 0.5f, 5f, 0.5f, 0f, -1f, 0f, 10f, Raycast.TARGETABLE, out));
+        assertEquals(BlockType.GLASS, out.getBlockType());
+
+        assertTrue(Raycast.cast(world, 0.5f, 5f, 0.5f, 0f, -1f, 0f, 10f,
+            block -> block.isSolid() && block != BlockType.GLASS, out));
+        assertEquals(BlockType.STONE, out.getBlockType(), "An opaque filter passes through glass");
+
+        assertTrue(Raycast.cast(world, 2.5f, 5f, 0.5f, 0f, -1f, 0f, 10f,
+            block -> block == BlockType.DOOR_LOWER || block == BlockType.DOOR_UPPER, out));
+        assertEquals(1, out.getBlockY(), "A door filter passes through the brick above");
+    }
 }
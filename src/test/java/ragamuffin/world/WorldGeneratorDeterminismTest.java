@@ -0,0 +1,63 @@
+package ragamuffin.world;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import ragamuffin.test.HeadlessTestHelper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression tests pinning generated worlds to content hashes recorded from the
+ * original single-threaded generator, so parallel terrain filling can never change
+ * the town a seed produces.
+ */
+public class WorldGeneratorDeterminismTest {
+
+    @BeforeAll
+    public static void initGdx() {
+        HeadlessTestHelper.initHeadless();
+    }
+
+    /**
+     * FNV-1a over every chunk in key order: the chunk key, then each voxel's block
+     * ordinal.
+     */
+    static long hashChunks(World world) {
+        long[] keys = world.getLoadedChunks().stream().mapToLong(Chunk::getKey).sorted().toArray();
+        long h = 0xcbf29ce484222325L;
+        for (long key : keys) {
+            Chunk chunk = world.getChunk(ChunkPos.x(key), ChunkPos.y(key), ChunkPos.z(key));
+            h = (h ^ key) * 0x100000001b3L;
+            for (int y = 0; y < Chunk.HEIGHT; y++) {
+                for (int z = 0; z < Chunk.SIZE; z++) {
+                    for (int x = 0; x < Chunk.SIZE; x++) {
+                        h = (h ^ chunk.getBlock(x, y, z).ordinal()) * 0x100000001b3L;
+                    }
+                }
+            }
+        }
+        return h;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "12345, 1, 29dec219499bd06c",
+        "12345, 4, 29dec219499bd06c",
+        "42, 1, 5b6e0a878365d4ff",
+        "42, 4, 5b6e0a878365d4ff",
+        "-9876543210, 3, 038b1ea5bbe4b3d3",
+        "20240601, 8, 4da396e92e0e4245",
+    })
+    public void testChunkContentsMatchRecordedHash(long seed, int workerThreads, String expectedHex) {
+        World world = new World(seed);
+        WorldGenerator generator = new WorldGenerator(seed, workerThreads);
+        generator.generateWorld(world);
+
+        assertEquals(expectedHex, String.format("%016x", hashChunks(world)),
+            "Seed " + seed + " with " + workerThreads + " terrain workers");
+        assertEquals(WorldGenerator.GenerationStage.COMPLETE, generator.getCurrentStage());
+        assertTrue(generator.getStageTimeMillis(WorldGenerator.GenerationStage.TERRAIN) > 0f);
+        assertTrue(generator.getTimingReport().startsWith("TERRAIN "));
+    }
+}
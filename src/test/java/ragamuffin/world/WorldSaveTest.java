@@ -0,0 +1,156 @@
+package ragamuffin.world;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ragamuffin.building.Material;
+import ragamuffin.building.SmallItem;
+import ragamuffin.test.HeadlessTestHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary world save: round trips, incremental region writes and
+ * rejection of damaged saves.
+ */
+public class WorldSaveTest {
+
+    @TempDir
+    File tempDir;
+
+    private FileHandle saveDir;
+
+    @BeforeEach
+    public void setUp() {
+        HeadlessTestHelper.initHeadless();
+        saveDir = new FileHandle(new File(tempDir, "save"));
+    }
+
+    @Test
+    public void testRoundTripRestoresBlocksAndAuxiliaryState() throws IOException {
+        World world = new World(12345);
+        world.generate();
+        world.setPlayerBlock(3, 5, 3, BlockType.BRICK);
+        world.setBlock(-100, -10, 90, BlockType.AIR);
+        world.addPoliceTape(3, 5, 3);
+        world.addPlanningNotice(4, 5, 3);
+        world.toggleDoor(10, 1, 10);
+        world.placeSmallItem(new SmallItem(Material.values()[0], new Vector3(1.5f, 2f, 3.25f)));
+        int propCount = world.getPropPositions().size();
+        if (propCount > 0) {
+            world.removeProp(0);
+        }
+
+        WorldSave save = new WorldSave(saveDir);
+        assertEquals(2, save.save(world), "Only the two edited chunks should be written");
+        assertTrue(save.exists());
+
+        World loaded = new WorldSave(saveDir).load();
+        assertEquals(12345, loaded.getSeed());
+        assertEquals(WorldGeneratorDeterminismTest.hashChunks(world),
+            WorldGeneratorDeterminismTest.hashChunks(loaded));
+        assertEquals(BlockType.BRICK, loaded.getBlock(3, 5, 3));
+        assertEquals(BlockType.AIR, loaded.getBlock(-100, -10, 90));
+        assertTrue(loaded.isPlayerPlaced(3, 5, 3));
+        assertTrue(loaded.hasPoliceTape(3, 5, 3));
+        assertTrue(loaded.isProtected(3, 5, 3));
+        assertTrue(loaded.hasPlanningNotice(4, 5, 3));
+        assertTrue(loaded.isDoorOpen(10, 1, 10));
+        assertEquals(1, loaded.getSmallItems().size());
+        assertEquals(new Vector3(1.5f, 2f, 3.25f), loaded.getSmallItems().get(0).getPosition());
+        assertEquals(world.getPropPositions().size(), loaded.getPropPositions().size());
+    }
+
+    @Test
+    public void testSavesAreIncremental() throws IOException {
+        World world = new World(42);
+        world.generate();
+        WorldSave save = new WorldSave(saveDir);
+        assertEquals(0, save.save(world), "A freshly generated world has nothing to store");
+
+        world.setBlock(0, 20, 0, BlockType.STONE);
+        world.setBlock(200, 20, 200, BlockType.STONE);
+        assertEquals(2, save.save(world));
+        assertEquals(2, save.getLastRegionsWritten());
+
+        assertEquals(0, save.save(world), "Nothing changed since the last save");
+        assertEquals(0, save.getLastRegionsWritten());
+
+        world.setBlock(1, 20, 0, BlockType.STONE);
+        assertEquals(1, save.save(world));
+        assertEquals(1, save.getLastRegionsWritten(), "Only the edited region is rewritten");
+
+        // A loaded world starts in sync with its save
+        WorldSave reopened = new WorldSave(saveDir);
+        World loaded = reopened.load();
+        assertEquals(0, reopened.save(loaded));
+        assertEquals(BlockType.STONE, loaded.getBlock(1, 20, 0));
+    }
+
+    @Test
+    public void testSavingDifferentWorldDropsOldRegions() throws IOException {
+        WorldSave save = new WorldSave(saveDir);
+        World first = new World(1);
+        first.generate();
+        first.setBlock(0, 20, 0, BlockType.STONE);
+        save.save(first);
+
+        World second = new World(2);
+        second.generate();
+        save.save(second);
+
+        World loaded = new WorldSave(saveDir).load();
+        assertEquals(2, loaded.getSeed());
+        assertEquals(BlockType.AIR, loaded.getBlock(0, 20, 0));
+    }
+
+    @Test
+    public void testDamagedSaveIsRejected() {
+        saveDir.child("world.dat").writeBytes(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, false);
+        assertThrows(IOException.class, () -> new WorldSave(saveDir).load());
+
+        WorldSave save = new WorldSave(saveDir);
+        save.delete();
+        assertFalse(save.exists());
+    }
+
+    @Test
+    public void testChunkBlocksRoundTripAtEveryWidth() throws IOException {
+        Chunk uniform = new Chunk(0, 0, 0);
+        Chunk nibble = new Chunk(0, 0, 0);
+        nibble.setBlock(1, 2, 3, BlockType.GRASS);
+        Chunk wide = new Chunk(0, 0, 0);
+        BlockType[] types = BlockType.values();
+        for (int i = 0; i < Math.min(types.length, 40); i++) {
+            wide.setBlock(i % Chunk.SIZE, i, i / Chunk.SIZE, types[i]);
+        }
+        assertEquals(Chunk.BITS_BYTE, wide.getBitsPerBlock());
+
+        for (Chunk original : new Chunk[] {uniform, nibble, wide}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            original.writeBlocks(new DataOutputStream(bytes));
+            Chunk copy = new Chunk(0, 0, 0);
+            copy.readBlocks(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            assertEquals(original.getBitsPerBlock(), copy.getBitsPerBlock());
+            for (int y = 0; y < Chunk.HEIGHT; y++) {
+                for (int z = 0; z < Chunk.SIZE; z++) {
+                    for (int x = 0; x < Chunk.SIZE; x++) {
+                        assertEquals(original.getBlock(x, y, z), copy.getBlock(x, y, z));
+                    }
+                }
+            }
+            // Further edits keep working on the restored palette
+            copy.setBlock(0, 0, 0, BlockType.DIRT);
+            assertEquals(BlockType.DIRT, copy.getBlock(0, 0, 0));
+        }
+    }
+}
@@ -5,8 +5,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ragamuffin.test.HeadlessTestHelper;
 
-import java.util.Set;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -73,6 +71,17 @@ public class WorldTest {
         assertFalse(world.isChunkLoaded(farChunk, 0, 0));
     }
 
+    @Test
+    public void testGetChunkAfterUnloadReturnsNull() {
+        // The one-entry chunk cache must not hand back a chunk after it is unloaded
+        int farChunk = 20;
+        world.updateLoadedChunks(new Vector3(farChunk * Chunk.SIZE, 0, 0));
+        assertNotNull(world.getChunk(farChunk, 0, 0));
+
+        world.updateLoadedChunks(new Vector3(0, 0, 0));
+        assertNull(world.getChunk(farChunk, 0, 0));
+    }
+
     @Test
     public void testAddAndGetLandmark() {
         Landmark landmark = new Landmark(LandmarkType.PARK, 10, 0, 10, 20, 5, 20);
@@ -100,25 +109,27 @@ public class WorldTest {
         assertTrue(world.isChunkLoaded(farChunk, 0, 0));
 
         // Move back to origin — the far chunk should be unloaded and its key returned
-        Set<String> unloaded = world.updateLoadedChunks(new Vector3(0, 0, 0));
+        long[] unloaded = world.updateLoadedChunks(new Vector3(0, 0, 0));
 
-        // The far chunk was outside world bounds so it should appear in the unloaded set
+        // The far chunk was outside world bounds so it should appear in the unloaded keys
         assertFalse(world.isChunkLoaded(farChunk, 0, 0),
             "Far chunk should be unloaded after player moves away");
-        assertFalse(unloaded.isEmpty(),
-            "updateLoadedChunks should return the set of unloaded chunk keys");
-        // The unloaded keys should be well-formed "x,y,z" strings
-        for (String key : unloaded) {
-            String[] parts = key.split(",");
-            assertEquals(3, parts.length, "Each key should be in 'x,y,z' format");
+        assertTrue(unloaded.length > 0,
+            "updateLoadedChunks should return the unloaded chunk keys");
+        boolean foundFarChunk = false;
+        for (long key : unloaded) {
+            if (key == ChunkPos.pack(farChunk, 0, 0)) {
+                foundFarChunk = true;
+            }
         }
+        assertTrue(foundFarChunk, "Unloaded keys should include the far chunk's packed key");
     }
 
     @Test
     public void testUpdateLoadedChunksReturnsEmptyWhenNothingUnloaded() {
         // Load chunks at origin — nothing should be unloaded on first call
-        Set<String> unloaded = world.updateLoadedChunks(new Vector3(0, 0, 0));
-        assertTrue(unloaded.isEmpty(),
+        long[] unloaded = world.updateLoadedChunks(new Vector3(0, 0, 0));
+        assertEquals(0, unloaded.length,
             "No chunks should be unloaded on first updateLoadedChunks call");
     }
 }